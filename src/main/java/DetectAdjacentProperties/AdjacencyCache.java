@@ -0,0 +1,125 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code AdjacencyCache} class stores the valid adjacent pairs of recently analysed property sets.
+ * Entries are keyed by a region key combined with a fingerprint of the property set, evicted in
+ * least-recently-used order once the cache is full, and discarded whenever the dataset version changes.
+ */
+@Layer(LayerType.BACK_END)
+public class AdjacencyCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 16;
+
+    private final Map<String, List<AdjacentPropertyPair>> entries;
+    private long datasetVersion;
+
+    /**
+     * Constructs an adjacency cache holding at most the given number of entries.
+     *
+     * @param maxEntries The maximum number of cached property sets.
+     */
+    public AdjacencyCache(int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<AdjacentPropertyPair>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Gets the valid adjacent pairs of a property set, computing them only on a cache miss.
+     *
+     * @param regionKey      A key describing the region being analysed, such as "District:Madeira".
+     * @param properties     The properties of the region.
+     * @param datasetVersion The version of the dataset the properties belong to.
+     * @return An unmodifiable list of valid adjacent pairs.
+     */
+    @CyclomaticComplexity(2)
+    public synchronized List<AdjacentPropertyPair> getValidAdjacentPairs(String regionKey, List<PropertyPolygon> properties,
+                                                                         long datasetVersion) {
+        if (datasetVersion != this.datasetVersion) {
+            entries.clear();
+            this.datasetVersion = datasetVersion;
+        }
+        String key = regionKey + "#" + fingerprint(properties);
+        return entries.computeIfAbsent(key,
+                k -> Collections.unmodifiableList(AdjacencyDetector.findValidAdjacentPairs(properties)));
+    }
+
+    /**
+     * Gets the valid adjacent pairs of a property set, keyed only by its fingerprint.
+     *
+     * @param properties     The properties to analyse.
+     * @param datasetVersion The version of the dataset the properties belong to.
+     * @return An unmodifiable list of valid adjacent pairs.
+     */
+    @CyclomaticComplexity(1)
+    public List<AdjacentPropertyPair> getValidAdjacentPairs(List<PropertyPolygon> properties, long datasetVersion) {
+        return getValidAdjacentPairs("", properties, datasetVersion);
+    }
+
+    /**
+     * Removes every cached entry.
+     */
+    @CyclomaticComplexity(1)
+    public synchronized void invalidate() {
+        entries.clear();
+    }
+
+    /**
+     * Gets the number of cached property sets.
+     *
+     * @return The number of entries in the cache.
+     */
+    @CyclomaticComplexity(1)
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Computes an order-independent fingerprint of a property set from the IDs and owners of its properties.
+     * Owners are included so that a set whose ownership changed is not served stale pairs.
+     *
+     * @param properties The properties to fingerprint.
+     * @return A string identifying the property set.
+     */
+    @CyclomaticComplexity(2)
+    public static String fingerprint(List<PropertyPolygon> properties) {
+        long sum = 0;
+        long xor = 0;
+        for (PropertyPolygon property : properties) {
+            long h = mix(((long) property.getObjectId() << 32) ^ property.getOwner().hashCode());
+            sum += h;
+            xor ^= Long.rotateLeft(h, 17);
+        }
+        return properties.size() + ":" + Long.toHexString(sum) + ":" + Long.toHexString(xor);
+    }
+
+    /**
+     * Scrambles the bits of a value so that similar inputs produce unrelated hashes.
+     *
+     * @param value The value to scramble.
+     * @return The mixed value.
+     */
+    @CyclomaticComplexity(1)
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
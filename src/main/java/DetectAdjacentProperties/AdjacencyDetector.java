@@ -144,6 +144,34 @@ public class AdjacencyDetector {
         return adjacentPairs;
     }
 
+    /**
+     * Finds adjacent properties, treating vertices closer than a snapping tolerance as shared.
+     * A tolerance of zero keeps the exact vertex comparison of {@link #findAdjacentProperties(List)}.
+     *
+     * @param properties A list of PropertyPolygon objects to check for adjacency.
+     * @param tolerance  The snapping tolerance, in the units of the coordinates.
+     * @return A list of AdjacentPropertyPair objects, representing pairs of adjacent properties.
+     */
+    @CyclomaticComplexity(2)
+    public static List<AdjacentPropertyPair> findAdjacentProperties(List<PropertyPolygon> properties, double tolerance) {
+        if (tolerance == 0) return findAdjacentProperties(properties);
+        return ToleranceAdjacencyDetector.findAdjacentProperties(properties, tolerance);
+    }
+
+    /**
+     * Finds valid adjacent property pairs with different owners, treating vertices closer than a snapping
+     * tolerance as shared. A tolerance of zero keeps the exact vertex comparison of {@link #findValidAdjacentPairs(List)}.
+     *
+     * @param properties A list of PropertyPolygon objects to check for adjacency.
+     * @param tolerance  The snapping tolerance, in the units of the coordinates.
+     * @return A list of AdjacentPropertyPair objects, representing pairs of adjacent properties.
+     */
+    @CyclomaticComplexity(2)
+    public static List<AdjacentPropertyPair> findValidAdjacentPairs(List<PropertyPolygon> properties, double tolerance) {
+        if (tolerance == 0) return findValidAdjacentPairs(properties);
+        return ToleranceAdjacencyDetector.findValidAdjacentPairs(properties, tolerance);
+    }
+
     /**
      * Checks if a property is valid based on its polygon and area.
      *
@@ -151,7 +179,7 @@ public class AdjacencyDetector {
      * @return True if the property is valid, false otherwise.
      */
     @CyclomaticComplexity(5)
-    private static boolean isValidProperty(PropertyPolygon property) {
+    static boolean isValidProperty(PropertyPolygon property) {
         return property != null &&
                 property.getPolygon() != null &&
                 property.getPolygon().getVertices() != null &&
@@ -0,0 +1,245 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+
+/**
+ * The {@code AdjacencyIndex} class keeps the adjacency between properties up to date as they change.
+ * Properties are indexed by their vertices, so adding, removing or updating a property only touches
+ * the properties that share a vertex with it. The set of valid adjacent pairs with different owners,
+ * used to generate exchange suggestions, is maintained incrementally alongside the adjacency.
+ */
+@Layer(LayerType.BACK_END)
+public class AdjacencyIndex {
+
+    private final Map<VertexCoordinate, Set<Integer>> propertiesByVertex = new HashMap<>();
+    private final Map<Integer, PropertyPolygon> propertiesById = new HashMap<>();
+    private final Map<Integer, List<VertexCoordinate>> indexedVertices = new HashMap<>();
+    private final Map<Integer, Set<Integer>> neighbours = new HashMap<>();
+    private final Set<Long> validPairKeys = new LinkedHashSet<>();
+
+    /**
+     * Constructs an empty adjacency index.
+     */
+    public AdjacencyIndex() {
+    }
+
+    /**
+     * Constructs an adjacency index containing the given properties.
+     *
+     * @param properties The properties to index.
+     */
+    public AdjacencyIndex(List<PropertyPolygon> properties) {
+        for (PropertyPolygon property : properties) {
+            addProperty(property);
+        }
+    }
+
+    /**
+     * Adds a property to the index, linking it to every indexed property it shares a vertex with.
+     * If a property with the same ID is already indexed, it is updated instead.
+     *
+     * @param property The property to add.
+     */
+    @CyclomaticComplexity(5)
+    public void addProperty(PropertyPolygon property) {
+        int id = property.getObjectId();
+        if (propertiesById.containsKey(id)) {
+            updateProperty(property);
+            return;
+        }
+
+        List<VertexCoordinate> vertices = snapshotVertices(property);
+        propertiesById.put(id, property);
+        indexedVertices.put(id, vertices);
+        neighbours.put(id, new HashSet<>());
+
+        for (VertexCoordinate vertex : vertices) {
+            Set<Integer> bucket = propertiesByVertex.computeIfAbsent(vertex, k -> new HashSet<>());
+            for (int other : bucket) {
+                if (other != id) link(id, other);
+            }
+            bucket.add(id);
+        }
+    }
+
+    /**
+     * Removes a property from the index, unlinking it from all of its neighbours.
+     *
+     * @param objectId The ID of the property to remove.
+     * @return True if the property was indexed, false otherwise.
+     */
+    @CyclomaticComplexity(4)
+    public boolean removeProperty(int objectId) {
+        if (propertiesById.remove(objectId) == null) return false;
+
+        for (int neighbour : neighbours.remove(objectId)) {
+            neighbours.get(neighbour).remove(objectId);
+            validPairKeys.remove(AdjacentPropertyPair.pairKey(objectId, neighbour));
+        }
+
+        for (VertexCoordinate vertex : indexedVertices.remove(objectId)) {
+            Set<Integer> bucket = propertiesByVertex.get(vertex);
+            if (bucket == null) continue;
+            bucket.remove(objectId);
+            if (bucket.isEmpty()) propertiesByVertex.remove(vertex);
+        }
+        return true;
+    }
+
+    /**
+     * Refreshes a property after its owner or geometry has changed.
+     * When the vertices are unchanged only the owner-dependent pairs of its neighbours are re-evaluated,
+     * otherwise the property is re-indexed under its new geometry.
+     *
+     * @param property The property that changed.
+     */
+    @CyclomaticComplexity(3)
+    public void updateProperty(PropertyPolygon property) {
+        int id = property.getObjectId();
+        if (!propertiesById.containsKey(id)) {
+            addProperty(property);
+            return;
+        }
+
+        if (!snapshotVertices(property).equals(indexedVertices.get(id))) {
+            removeProperty(id);
+            addProperty(property);
+            return;
+        }
+
+        propertiesById.put(id, property);
+        for (int neighbour : neighbours.get(id)) {
+            refreshPair(id, neighbour);
+        }
+    }
+
+    /**
+     * Checks whether a property is present in the index.
+     *
+     * @param objectId The ID of the property.
+     * @return True if the property is indexed, false otherwise.
+     */
+    @CyclomaticComplexity(1)
+    public boolean contains(int objectId) {
+        return propertiesById.containsKey(objectId);
+    }
+
+    /**
+     * Gets the number of indexed properties.
+     *
+     * @return The number of properties in the index.
+     */
+    @CyclomaticComplexity(1)
+    public int size() {
+        return propertiesById.size();
+    }
+
+    /**
+     * Gets the IDs of the properties adjacent to the given property.
+     *
+     * @param objectId The ID of the property.
+     * @return An unmodifiable set of adjacent property IDs, empty if the property is not indexed.
+     */
+    @CyclomaticComplexity(1)
+    public Set<Integer> getNeighbours(int objectId) {
+        return Collections.unmodifiableSet(neighbours.getOrDefault(objectId, Collections.emptySet()));
+    }
+
+    /**
+     * Gets every pair of adjacent properties in the index, regardless of owner.
+     *
+     * @return A list of AdjacentPropertyPair objects.
+     */
+    @CyclomaticComplexity(4)
+    public List<AdjacentPropertyPair> getAdjacentPairs() {
+        List<AdjacentPropertyPair> pairs = new ArrayList<>();
+        for (Map.Entry<Integer, Set<Integer>> entry : neighbours.entrySet()) {
+            int id = entry.getKey();
+            for (int neighbour : entry.getValue()) {
+                if (id < neighbour) pairs.add(new AdjacentPropertyPair(id, neighbour));
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Gets the pairs of valid adjacent properties that belong to different owners.
+     * This is the incrementally maintained equivalent of {@link AdjacencyDetector#findValidAdjacentPairs(List)}.
+     *
+     * @return A list of AdjacentPropertyPair objects.
+     */
+    @CyclomaticComplexity(2)
+    public List<AdjacentPropertyPair> getValidAdjacentPairs() {
+        List<AdjacentPropertyPair> pairs = new ArrayList<>(validPairKeys.size());
+        for (long key : validPairKeys) {
+            pairs.add(new AdjacentPropertyPair(AdjacentPropertyPair.firstId(key), AdjacentPropertyPair.secondId(key)));
+        }
+        return pairs;
+    }
+
+    /**
+     * Checks whether two properties currently form a valid adjacent pair with different owners.
+     *
+     * @param id1 The ID of the first property.
+     * @param id2 The ID of the second property.
+     * @return True if the pair is among {@link #getValidAdjacentPairs()}, false otherwise.
+     */
+    @CyclomaticComplexity(1)
+    public boolean isValidPair(int id1, int id2) {
+        return validPairKeys.contains(AdjacentPropertyPair.pairKey(id1, id2));
+    }
+
+    /**
+     * Records two properties as neighbours and evaluates whether they form a valid pair.
+     *
+     * @param id1 The ID of the first property.
+     * @param id2 The ID of the second property.
+     */
+    @CyclomaticComplexity(2)
+    private void link(int id1, int id2) {
+        if (neighbours.get(id1).add(id2)) {
+            neighbours.get(id2).add(id1);
+            refreshPair(id1, id2);
+        }
+    }
+
+    /**
+     * Adds or removes the pair from the valid pair set according to the current owners and validity.
+     *
+     * @param id1 The ID of the first property.
+     * @param id2 The ID of the second property.
+     */
+    @CyclomaticComplexity(4)
+    private void refreshPair(int id1, int id2) {
+        PropertyPolygon p1 = propertiesById.get(id1);
+        PropertyPolygon p2 = propertiesById.get(id2);
+        long key = AdjacentPropertyPair.pairKey(id1, id2);
+
+        if (AdjacencyDetector.isValidProperty(p1) && AdjacencyDetector.isValidProperty(p2)
+                && !p1.getOwner().equals(p2.getOwner())) {
+            validPairKeys.add(key);
+        } else {
+            validPairKeys.remove(key);
+        }
+    }
+
+    /**
+     * Copies the vertices of a property so later changes to its polygon can be detected.
+     *
+     * @param property The property whose vertices are copied.
+     * @return A copy of the vertex list, empty if the property has no polygon.
+     */
+    @CyclomaticComplexity(3)
+    private static List<VertexCoordinate> snapshotVertices(PropertyPolygon property) {
+        if (property.getPolygon() == null || property.getPolygon().getVertices() == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(property.getPolygon().getVertices());
+    }
+}
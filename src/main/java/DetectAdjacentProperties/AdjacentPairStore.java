@@ -0,0 +1,328 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+
+/**
+ * The {@code AdjacentPairStore} class holds adjacent property pairs in parallel primitive arrays, together with
+ * the owners of both properties resolved once when the pair is added. Owners are stored as dense integer codes,
+ * so pairs can be grouped and compared by owner without string lookups or scans of the property list.
+ * A store can be regrouped by owner pair, after which each owner pair occupies one contiguous slice.
+ */
+@Layer(LayerType.BACK_END)
+public class AdjacentPairStore {
+
+    private int[] id1 = new int[16];
+    private int[] id2 = new int[16];
+    private int[] ownerCode1 = new int[16];
+    private int[] ownerCode2 = new int[16];
+    private int size;
+    private final List<String> owners;
+    private final Map<String, Integer> ownerCodes;
+    private int[] sliceStarts;
+
+    /**
+     * Constructs an empty pair store.
+     */
+    public AdjacentPairStore() {
+        this.owners = new ArrayList<>();
+        this.ownerCodes = new HashMap<>();
+    }
+
+    /**
+     * Builds a store from adjacent pairs, resolving the owner of every property through a single map of the list.
+     * Pairs that reference properties missing from the list are skipped.
+     *
+     * @param pairs      The adjacent pairs.
+     * @param properties The properties the pairs refer to.
+     * @return A store holding the resolved pairs.
+     */
+    @CyclomaticComplexity(4)
+    public static AdjacentPairStore of(List<AdjacentPropertyPair> pairs, List<PropertyPolygon> properties) {
+        Map<Integer, PropertyPolygon> byId = new HashMap<>(properties.size() * 2);
+        for (PropertyPolygon property : properties) {
+            byId.put(property.getObjectId(), property);
+        }
+        AdjacentPairStore store = new AdjacentPairStore();
+        for (AdjacentPropertyPair pair : pairs) {
+            PropertyPolygon p1 = byId.get(pair.getPropertyId1());
+            PropertyPolygon p2 = byId.get(pair.getPropertyId2());
+            if (p1 != null && p2 != null) store.add(p1, p2);
+        }
+        return store;
+    }
+
+    /**
+     * Adds a pair of adjacent properties, recording their IDs and owners.
+     *
+     * @param p1 The first property.
+     * @param p2 The second property.
+     */
+    @CyclomaticComplexity(2)
+    public void add(PropertyPolygon p1, PropertyPolygon p2) {
+        if (size == id1.length) {
+            int capacity = size * 2;
+            id1 = Arrays.copyOf(id1, capacity);
+            id2 = Arrays.copyOf(id2, capacity);
+            ownerCode1 = Arrays.copyOf(ownerCode1, capacity);
+            ownerCode2 = Arrays.copyOf(ownerCode2, capacity);
+        }
+        id1[size] = p1.getObjectId();
+        id2[size] = p2.getObjectId();
+        ownerCode1[size] = ownerCode(p1.getOwner());
+        ownerCode2[size] = ownerCode(p2.getOwner());
+        size++;
+        sliceStarts = null;
+    }
+
+    /**
+     * Gets the number of pairs in the store.
+     *
+     * @return The number of pairs.
+     */
+    @CyclomaticComplexity(1)
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the ID of the first property of a pair.
+     *
+     * @param index The index of the pair.
+     * @return The ID of the first property.
+     */
+    @CyclomaticComplexity(1)
+    public int getId1(int index) {
+        return id1[index];
+    }
+
+    /**
+     * Gets the ID of the second property of a pair.
+     *
+     * @param index The index of the pair.
+     * @return The ID of the second property.
+     */
+    @CyclomaticComplexity(1)
+    public int getId2(int index) {
+        return id2[index];
+    }
+
+    /**
+     * Gets the owner code of the first property of a pair.
+     *
+     * @param index The index of the pair.
+     * @return The owner code of the first property.
+     */
+    @CyclomaticComplexity(1)
+    public int getOwnerCode1(int index) {
+        return ownerCode1[index];
+    }
+
+    /**
+     * Gets the owner code of the second property of a pair.
+     *
+     * @param index The index of the pair.
+     * @return The owner code of the second property.
+     */
+    @CyclomaticComplexity(1)
+    public int getOwnerCode2(int index) {
+        return ownerCode2[index];
+    }
+
+    /**
+     * Gets the owner name of a code.
+     *
+     * @param code The owner code.
+     * @return The owner name.
+     */
+    @CyclomaticComplexity(1)
+    public String getOwner(int code) {
+        return owners.get(code);
+    }
+
+    /**
+     * Gets the number of distinct owners in the store.
+     *
+     * @return The number of owner codes.
+     */
+    @CyclomaticComplexity(1)
+    public int ownerCount() {
+        return owners.size();
+    }
+
+    /**
+     * Gets an order-independent key of the owner pair of a pair, equal for both orientations.
+     *
+     * @param index The index of the pair.
+     * @return The packed owner pair key.
+     */
+    @CyclomaticComplexity(1)
+    public long ownerPairKey(int index) {
+        return AdjacentPropertyPair.pairKey(ownerCode1[index], ownerCode2[index]);
+    }
+
+    /**
+     * Passes every pair of the store, in order, to an action.
+     *
+     * @param action The action receiving the index, IDs and owner codes of each pair.
+     */
+    @CyclomaticComplexity(2)
+    public void forEach(PairConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(i, id1[i], id2[i], ownerCode1[i], ownerCode2[i]);
+        }
+    }
+
+    /**
+     * Reorders the pairs so that every owner pair occupies one contiguous slice.
+     * Slices appear in the order their owner pair was first seen and pairs keep their order within a slice.
+     * The reordering is a counting sort, linear in the number of pairs.
+     */
+    @CyclomaticComplexity(4)
+    public void groupByOwnerPair() {
+        Map<Long, Integer> groupOfKey = new HashMap<>();
+        int[] groupOfPair = new int[size];
+        for (int i = 0; i < size; i++) {
+            Integer group = groupOfKey.putIfAbsent(ownerPairKey(i), groupOfKey.size());
+            groupOfPair[i] = group == null ? groupOfKey.size() - 1 : group;
+        }
+
+        int[] starts = new int[groupOfKey.size() + 1];
+        for (int i = 0; i < size; i++) starts[groupOfPair[i] + 1]++;
+        for (int g = 0; g < groupOfKey.size(); g++) starts[g + 1] += starts[g];
+
+        int[] cursor = Arrays.copyOf(starts, groupOfKey.size());
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[cursor[groupOfPair[i]]++] = i;
+
+        id1 = permute(id1, order);
+        id2 = permute(id2, order);
+        ownerCode1 = permute(ownerCode1, order);
+        ownerCode2 = permute(ownerCode2, order);
+        sliceStarts = starts;
+    }
+
+    /**
+     * Gets the number of owner pair slices. The store must have been grouped with {@link #groupByOwnerPair()}.
+     *
+     * @return The number of distinct owner pairs.
+     * @throws IllegalStateException if the store is not grouped.
+     */
+    @CyclomaticComplexity(1)
+    public int sliceCount() {
+        return requireGrouped().length - 1;
+    }
+
+    /**
+     * Gets the index of the first pair of a slice.
+     *
+     * @param slice The slice number.
+     * @return The index of its first pair.
+     */
+    @CyclomaticComplexity(1)
+    public int sliceStart(int slice) {
+        return requireGrouped()[slice];
+    }
+
+    /**
+     * Gets the index after the last pair of a slice.
+     *
+     * @param slice The slice number.
+     * @return The index after its last pair.
+     */
+    @CyclomaticComplexity(1)
+    public int sliceEnd(int slice) {
+        return requireGrouped()[slice + 1];
+    }
+
+    /**
+     * Converts a range of the store into adjacent pair objects.
+     *
+     * @param from The first index, inclusive.
+     * @param to   The last index, exclusive.
+     * @return A list of AdjacentPropertyPair objects.
+     */
+    @CyclomaticComplexity(2)
+    public List<AdjacentPropertyPair> toPairs(int from, int to) {
+        List<AdjacentPropertyPair> pairs = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            pairs.add(new AdjacentPropertyPair(id1[i], id2[i]));
+        }
+        return pairs;
+    }
+
+    /**
+     * Converts the whole store into adjacent pair objects.
+     *
+     * @return A list of AdjacentPropertyPair objects.
+     */
+    @CyclomaticComplexity(1)
+    public List<AdjacentPropertyPair> toPairs() {
+        return toPairs(0, size);
+    }
+
+    /**
+     * Gets the code of an owner, assigning the next code to a new owner.
+     *
+     * @param owner The owner name.
+     * @return The owner code.
+     */
+    @CyclomaticComplexity(2)
+    private int ownerCode(String owner) {
+        Integer code = ownerCodes.putIfAbsent(owner, owners.size());
+        if (code != null) return code;
+        owners.add(owner);
+        return owners.size() - 1;
+    }
+
+    /**
+     * Gets the slice boundaries, checking that the store is grouped.
+     *
+     * @return The start of each slice, with one extra trailing entry.
+     */
+    @CyclomaticComplexity(2)
+    private int[] requireGrouped() {
+        if (sliceStarts == null) {
+            throw new IllegalStateException("Pairs must be grouped by owner pair before slicing");
+        }
+        return sliceStarts;
+    }
+
+    /**
+     * Reorders the first entries of an array.
+     *
+     * @param values The values to reorder.
+     * @param order  The source index of each position.
+     * @return A new array of the same capacity with the reordered values.
+     */
+    @CyclomaticComplexity(2)
+    private static int[] permute(int[] values, int[] order) {
+        int[] result = new int[values.length];
+        for (int i = 0; i < order.length; i++) {
+            result[i] = values[order[i]];
+        }
+        return result;
+    }
+
+    /**
+     * Receives the fields of one pair during bulk iteration.
+     */
+    @FunctionalInterface
+    public interface PairConsumer {
+
+        /**
+         * Receives one pair.
+         *
+         * @param index      The index of the pair.
+         * @param id1        The ID of the first property.
+         * @param id2        The ID of the second property.
+         * @param ownerCode1 The owner code of the first property.
+         * @param ownerCode2 The owner code of the second property.
+         */
+        void accept(int index, int id1, int id2, int ownerCode1, int ownerCode2);
+    }
+}
@@ -28,6 +28,7 @@ public class AdjacentPropertyPair {
 
     /**
      * Retrieves the owners of the properties in the pair.
+     * This scans the property list; for many pairs, resolve owners once with {@link AdjacentPairStore} instead.
      *
      * @param properties List of PropertyPolygon objects to search for owners.
      * @return An array containing the owners of the two properties.
@@ -56,7 +57,7 @@ public class AdjacentPropertyPair {
      * @return The ID of the first property.
      */
     @CyclomaticComplexity(1)
-    public long getPropertyId1() {
+    public int getPropertyId1() {
         return propertyId1;
     }
 
@@ -66,10 +67,46 @@ public class AdjacentPropertyPair {
      * @return The ID of the second property.
      */
     @CyclomaticComplexity(1)
-    public long getPropertyId2() {
+    public int getPropertyId2() {
         return propertyId2;
     }
 
+    /**
+     * Packs two property IDs into a single order-independent key, with the smaller ID in the high bits.
+     *
+     * @param id1 The ID of the first property.
+     * @param id2 The ID of the second property.
+     * @return A long key identifying the unordered pair.
+     */
+    @CyclomaticComplexity(1)
+    public static long pairKey(int id1, int id2) {
+        int low = Math.min(id1, id2);
+        int high = Math.max(id1, id2);
+        return ((long) low << 32) | (high & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Retrieves the smaller property ID from a key built by {@link #pairKey(int, int)}.
+     *
+     * @param key The packed pair key.
+     * @return The smaller property ID of the pair.
+     */
+    @CyclomaticComplexity(1)
+    public static int firstId(long key) {
+        return (int) (key >> 32);
+    }
+
+    /**
+     * Retrieves the larger property ID from a key built by {@link #pairKey(int, int)}.
+     *
+     * @param key The packed pair key.
+     * @return The larger property ID of the pair.
+     */
+    @CyclomaticComplexity(1)
+    public static int secondId(long key) {
+        return (int) key;
+    }
+
     /**
      * Provides a string representation of the AdjacentPropertyPair object.
      *
@@ -0,0 +1,164 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import Models.RegionId;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * The {@code BoundaryPairIndex} class holds the adjacent pairs of valid properties with different owners of a
+ * whole dataset, derived once from its {@link PropertyAdjacencyGraph} and partitioned by region.
+ * A pair belongs to a region when both of its properties lie in that region, which is exactly the set of pairs
+ * adjacency detection would find on the properties of the region alone. Regions are keyed by their full
+ * administrative path, so same-named municipalities or parishes in different parents stay apart. For every administrative level the pairs
+ * are ordered by region, so the pairs of any region are a contiguous slice found with one lookup.
+ * The index is tied to the dataset version it was built for.
+ */
+@Layer(LayerType.BACK_END)
+public class BoundaryPairIndex {
+
+    private final long datasetVersion;
+    private final int[] ids1;
+    private final int[] ids2;
+    private final Map<RegionId.Level, Partition> partitions = new EnumMap<>(RegionId.Level.class);
+
+    /**
+     * Builds the index from the adjacency graph of a whole dataset.
+     *
+     * @param graph          The adjacency graph of all properties.
+     * @param datasetVersion The version of the dataset the graph belongs to.
+     */
+    public BoundaryPairIndex(PropertyAdjacencyGraph graph, long datasetVersion) {
+        this.datasetVersion = datasetVersion;
+        long[] edges = graph.differentOwnerEdges();
+        this.ids1 = new int[edges.length];
+        this.ids2 = new int[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            ids1[i] = graph.getProperty(AdjacentPropertyPair.firstId(edges[i])).getObjectId();
+            ids2[i] = graph.getProperty(AdjacentPropertyPair.secondId(edges[i])).getObjectId();
+        }
+        for (RegionId.Level level : RegionId.Level.values()) {
+            if (level != RegionId.Level.ALL) partitions.put(level, new Partition(graph, edges, level));
+        }
+    }
+
+    /**
+     * Gets the dataset version the index was built for.
+     *
+     * @return The dataset version.
+     */
+    @CyclomaticComplexity(1)
+    public long getDatasetVersion() {
+        return datasetVersion;
+    }
+
+    /**
+     * Gets the number of different-owner pairs in the whole dataset.
+     *
+     * @return The number of pairs.
+     */
+    @CyclomaticComplexity(1)
+    public int size() {
+        return ids1.length;
+    }
+
+    /**
+     * Gets the number of different-owner pairs inside a region.
+     *
+     * @param region The region.
+     * @return The number of pairs whose properties both lie in the region.
+     */
+    @CyclomaticComplexity(2)
+    public int countIn(RegionId region) {
+        if (region.level() == RegionId.Level.ALL) return ids1.length;
+        return partitions.get(region.level()).count(region);
+    }
+
+    /**
+     * Gets the different-owner pairs inside a region, in the order of the dataset rows.
+     *
+     * @param region The region.
+     * @return The pairs whose properties both lie in the region; empty for an unknown region.
+     */
+    @CyclomaticComplexity(3)
+    public List<AdjacentPropertyPair> pairsIn(RegionId region) {
+        List<AdjacentPropertyPair> pairs = new ArrayList<>(countIn(region));
+        if (region.level() == RegionId.Level.ALL) {
+            for (int i = 0; i < ids1.length; i++) pairs.add(new AdjacentPropertyPair(ids1[i], ids2[i]));
+            return pairs;
+        }
+        partitions.get(region.level()).forEachPair(region, i -> pairs.add(new AdjacentPropertyPair(ids1[i], ids2[i])));
+        return pairs;
+    }
+
+    /**
+     * The pairs of one administrative level, ordered by region with a counting sort.
+     */
+    private static final class Partition {
+        private final Map<RegionId, Integer> slotOfRegion = new HashMap<>();
+        private final int[] starts;
+        private final int[] pairs;
+
+        /**
+         * Partitions the pairs whose properties share a region at a level.
+         *
+         * @param graph The adjacency graph the edges come from.
+         * @param edges The packed row pairs.
+         * @param level The administrative level.
+         */
+        Partition(PropertyAdjacencyGraph graph, long[] edges, RegionId.Level level) {
+            int[] slotOfPair = new int[edges.length];
+            for (int i = 0; i < edges.length; i++) {
+                PropertyPolygon p1 = graph.getProperty(AdjacentPropertyPair.firstId(edges[i]));
+                PropertyPolygon p2 = graph.getProperty(AdjacentPropertyPair.secondId(edges[i]));
+                RegionId region = RegionId.of(level, p1);
+                if (region == null || !region.equals(RegionId.of(level, p2))) {
+                    slotOfPair[i] = -1;
+                    continue;
+                }
+                Integer slot = slotOfRegion.putIfAbsent(region, slotOfRegion.size());
+                slotOfPair[i] = slot == null ? slotOfRegion.size() - 1 : slot;
+            }
+
+            this.starts = new int[slotOfRegion.size() + 1];
+            for (int slot : slotOfPair) {
+                if (slot >= 0) starts[slot + 1]++;
+            }
+            for (int s = 1; s < starts.length; s++) starts[s] += starts[s - 1];
+            int[] cursor = Arrays.copyOf(starts, slotOfRegion.size());
+            this.pairs = new int[starts[slotOfRegion.size()]];
+            for (int i = 0; i < slotOfPair.length; i++) {
+                if (slotOfPair[i] >= 0) pairs[cursor[slotOfPair[i]]++] = i;
+            }
+        }
+
+        /**
+         * Gets the number of pairs in a region.
+         *
+         * @param region The region.
+         * @return The number of pairs, or 0 for an unknown region.
+         */
+        @CyclomaticComplexity(2)
+        int count(RegionId region) {
+            Integer slot = slotOfRegion.get(region);
+            return slot == null ? 0 : starts[slot + 1] - starts[slot];
+        }
+
+        /**
+         * Passes the index of every pair in a region to an action.
+         *
+         * @param region The region.
+         * @param action Receives the pair indexes, in ascending order.
+         */
+        @CyclomaticComplexity(3)
+        void forEachPair(RegionId region, IntConsumer action) {
+            Integer slot = slotOfRegion.get(region);
+            if (slot == null) return;
+            for (int i = starts[slot]; i < starts[slot + 1]; i++) action.accept(pairs[i]);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code DatasetStatistics} class summarises the geometry of a set of properties in a single parallel pass.
+ * It records the coordinate bounds, the number of properties and vertices, a histogram of bounding box extents
+ * in powers of two, and the number of properties whose first vertex falls in each fixed-size density tile.
+ * Tiles are kept in a sparse map, so the empty sea between islands costs nothing.
+ */
+@Layer(LayerType.BACK_END)
+public final class DatasetStatistics {
+
+    public static final double DENSITY_TILE_SIZE = 1000.0;
+
+    static final int MIN_EXPONENT = -20;
+    static final int MAX_EXPONENT = 43;
+
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+    private final int propertyCount;
+    private final long vertexCount;
+    private final long[] extentHistogram;
+    private final Map<Long, Integer> tileCounts;
+
+    /**
+     * Constructs the statistics from a finished accumulator.
+     *
+     * @param accumulator The accumulator holding the reduced values.
+     */
+    private DatasetStatistics(Accumulator accumulator) {
+        this.minX = accumulator.minX;
+        this.minY = accumulator.minY;
+        this.maxX = accumulator.maxX;
+        this.maxY = accumulator.maxY;
+        this.propertyCount = accumulator.propertyCount;
+        this.vertexCount = accumulator.vertexCount;
+        this.extentHistogram = accumulator.extentHistogram;
+        this.tileCounts = Collections.unmodifiableMap(accumulator.tileCounts);
+    }
+
+    /**
+     * Computes the statistics of a list of properties with a parallel reduction over the list.
+     * Null properties, polygons and vertices are skipped, as in {@link CoordinateFinder}.
+     *
+     * @param properties The properties to summarise.
+     * @return The statistics of the properties.
+     */
+    @CyclomaticComplexity(2)
+    public static DatasetStatistics compute(List<PropertyPolygon> properties) {
+        if (properties == null) return new DatasetStatistics(new Accumulator());
+        return new DatasetStatistics(properties.parallelStream()
+                .collect(Accumulator::new, Accumulator::add, Accumulator::combine));
+    }
+
+    /**
+     * Checks whether any vertex was seen.
+     *
+     * @return true if the statistics contain no vertices, false otherwise.
+     */
+    @CyclomaticComplexity(1)
+    public boolean isEmpty() {
+        return vertexCount == 0;
+    }
+
+    /**
+     * Gets the smallest X coordinate.
+     *
+     * @return The smallest X coordinate, or positive infinity if there are no vertices.
+     */
+    @CyclomaticComplexity(1)
+    public double getMinX() {
+        return minX;
+    }
+
+    /**
+     * Gets the smallest Y coordinate.
+     *
+     * @return The smallest Y coordinate, or positive infinity if there are no vertices.
+     */
+    @CyclomaticComplexity(1)
+    public double getMinY() {
+        return minY;
+    }
+
+    /**
+     * Gets the largest X coordinate.
+     *
+     * @return The largest X coordinate, or negative infinity if there are no vertices.
+     */
+    @CyclomaticComplexity(1)
+    public double getMaxX() {
+        return maxX;
+    }
+
+    /**
+     * Gets the largest Y coordinate.
+     *
+     * @return The largest Y coordinate, or negative infinity if there are no vertices.
+     */
+    @CyclomaticComplexity(1)
+    public double getMaxY() {
+        return maxY;
+    }
+
+    /**
+     * Gets the number of properties with at least one vertex.
+     *
+     * @return The number of properties.
+     */
+    @CyclomaticComplexity(1)
+    public int getPropertyCount() {
+        return propertyCount;
+    }
+
+    /**
+     * Gets the total number of vertices.
+     *
+     * @return The number of vertices.
+     */
+    @CyclomaticComplexity(1)
+    public long getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * Gets an upper bound of the given quantile of the property extents, where the extent of a property is the
+     * larger side of its bounding box. The bound is the power of two closing the histogram bucket of the quantile.
+     *
+     * @param quantile The quantile, between 0 and 1.
+     * @return The extent bound, or NaN if there are no properties.
+     */
+    @CyclomaticComplexity(4)
+    public double getExtentQuantile(double quantile) {
+        if (propertyCount == 0) return Double.NaN;
+        long target = Math.max(1, (long) Math.ceil(quantile * propertyCount));
+        long seen = 0;
+        for (int bucket = 0; bucket < extentHistogram.length; bucket++) {
+            seen += extentHistogram[bucket];
+            if (seen >= target) return Math.scalb(1.0, bucket + MIN_EXPONENT);
+        }
+        return Math.scalb(1.0, MAX_EXPONENT);
+    }
+
+    /**
+     * Gets the number of properties whose first vertex falls in each density tile.
+     *
+     * @return An unmodifiable map from packed tile coordinates to property counts.
+     */
+    @CyclomaticComplexity(1)
+    public Map<Long, Integer> getTileCounts() {
+        return tileCounts;
+    }
+
+    /**
+     * Gets the largest number of properties in a single density tile.
+     *
+     * @return The largest tile count, or 0 if there are no properties.
+     */
+    @CyclomaticComplexity(1)
+    public int getMaxTileDensity() {
+        return tileCounts.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    /**
+     * Packs two cell coordinates into a single key.
+     *
+     * @param cellX The column of the cell.
+     * @param cellY The row of the cell.
+     * @return The packed key.
+     */
+    @CyclomaticComplexity(1)
+    static long packCell(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Gets the histogram bucket of an extent, clamping extents outside the supported range.
+     *
+     * @param extent The extent of a property.
+     * @return The bucket index.
+     */
+    @CyclomaticComplexity(2)
+    static int extentBucket(double extent) {
+        if (!(extent > 0)) return 0;
+        int exponent = Math.getExponent(extent);
+        if (extent > Math.scalb(1.0, exponent)) exponent++;
+        return Math.max(MIN_EXPONENT, Math.min(MAX_EXPONENT, exponent)) - MIN_EXPONENT;
+    }
+
+    /**
+     * Mutable partial result of the parallel reduction.
+     */
+    private static final class Accumulator {
+        private double minX = Double.POSITIVE_INFINITY;
+        private double minY = Double.POSITIVE_INFINITY;
+        private double maxX = Double.NEGATIVE_INFINITY;
+        private double maxY = Double.NEGATIVE_INFINITY;
+        private int propertyCount;
+        private long vertexCount;
+        private final long[] extentHistogram = new long[MAX_EXPONENT - MIN_EXPONENT + 1];
+        private final Map<Long, Integer> tileCounts = new HashMap<>();
+
+        /**
+         * Adds a property to the partial result.
+         *
+         * @param property The property to add.
+         */
+        @CyclomaticComplexity(7)
+        void add(PropertyPolygon property) {
+            if (property == null || property.getPolygon() == null || property.getPolygon().getVertices() == null) return;
+            double pMinX = Double.POSITIVE_INFINITY, pMinY = Double.POSITIVE_INFINITY;
+            double pMaxX = Double.NEGATIVE_INFINITY, pMaxY = Double.NEGATIVE_INFINITY;
+            VertexCoordinate first = null;
+            for (VertexCoordinate vertex : property.getPolygon().getVertices()) {
+                if (vertex == null) continue;
+                if (first == null) first = vertex;
+                pMinX = Math.min(pMinX, vertex.x());
+                pMinY = Math.min(pMinY, vertex.y());
+                pMaxX = Math.max(pMaxX, vertex.x());
+                pMaxY = Math.max(pMaxY, vertex.y());
+                vertexCount++;
+            }
+            if (first == null) return;
+
+            minX = Math.min(minX, pMinX);
+            minY = Math.min(minY, pMinY);
+            maxX = Math.max(maxX, pMaxX);
+            maxY = Math.max(maxY, pMaxY);
+            propertyCount++;
+            extentHistogram[extentBucket(Math.max(pMaxX - pMinX, pMaxY - pMinY))]++;
+            tileCounts.merge(packCell((int) Math.floor(first.x() / DENSITY_TILE_SIZE),
+                    (int) Math.floor(first.y() / DENSITY_TILE_SIZE)), 1, Integer::sum);
+        }
+
+        /**
+         * Merges another partial result into this one.
+         *
+         * @param other The other partial result.
+         */
+        @CyclomaticComplexity(2)
+        void combine(Accumulator other) {
+            minX = Math.min(minX, other.minX);
+            minY = Math.min(minY, other.minY);
+            maxX = Math.max(maxX, other.maxX);
+            maxY = Math.max(maxY, other.maxY);
+            propertyCount += other.propertyCount;
+            vertexCount += other.vertexCount;
+            for (int i = 0; i < extentHistogram.length; i++) {
+                extentHistogram[i] += other.extentHistogram[i];
+            }
+            other.tileCounts.forEach((tile, count) -> tileCounts.merge(tile, count, Integer::sum));
+        }
+    }
+}
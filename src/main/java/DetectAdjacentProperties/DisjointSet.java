@@ -0,0 +1,109 @@
+package DetectAdjacentProperties;
+
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+/**
+ * The {@code DisjointSet} class is a union-find structure over the dense integers {@code 0 .. size - 1}.
+ * It uses path compression and union by rank, so any sequence of operations runs in near-linear time.
+ * Instances are not thread-safe.
+ */
+@Layer(LayerType.BACK_END)
+public class DisjointSet {
+
+    private final int[] parent;
+    private final byte[] rank;
+    private int components;
+
+    /**
+     * Constructs a disjoint set in which every element is its own component.
+     *
+     * @param size The number of elements.
+     */
+    public DisjointSet(int size) {
+        this.parent = new int[size];
+        this.rank = new byte[size];
+        this.components = size;
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+        }
+    }
+
+    /**
+     * Finds the representative of the component containing an element, compressing the path on the way.
+     *
+     * @param element The element.
+     * @return The representative of its component.
+     */
+    @CyclomaticComplexity(3)
+    public int find(int element) {
+        int root = element;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[element] != root) {
+            int next = parent[element];
+            parent[element] = root;
+            element = next;
+        }
+        return root;
+    }
+
+    /**
+     * Merges the components of two elements.
+     *
+     * @param a The first element.
+     * @param b The second element.
+     * @return true if the elements were in different components, false otherwise.
+     */
+    @CyclomaticComplexity(4)
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) return false;
+
+        if (rank[rootA] < rank[rootB]) {
+            parent[rootA] = rootB;
+        } else if (rank[rootA] > rank[rootB]) {
+            parent[rootB] = rootA;
+        } else {
+            parent[rootB] = rootA;
+            rank[rootA]++;
+        }
+        components--;
+        return true;
+    }
+
+    /**
+     * Checks whether two elements belong to the same component.
+     *
+     * @param a The first element.
+     * @param b The second element.
+     * @return true if both elements share a representative, false otherwise.
+     */
+    @CyclomaticComplexity(1)
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * Gets the number of elements.
+     *
+     * @return The number of elements.
+     */
+    @CyclomaticComplexity(1)
+    public int size() {
+        return parent.length;
+    }
+
+    /**
+     * Gets the number of components.
+     *
+     * @return The number of distinct components.
+     */
+    @CyclomaticComplexity(1)
+    public int componentCount() {
+        return components;
+    }
+}
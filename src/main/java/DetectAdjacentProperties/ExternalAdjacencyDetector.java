@@ -0,0 +1,724 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * The {@code ExternalAdjacencyDetector} class detects adjacent properties without holding a vertex map in memory,
+ * for datasets too large for {@link PropertyAdjacencyGraph#fromProperties(List)}.
+ * Every vertex is written as a (x, y, property ID) tuple into sorted run files of bounded size. The runs are then
+ * merged, and each group of equal coordinates yields the pairs of properties sharing that vertex. Those pairs are
+ * written to a second set of sorted runs, whose merge removes the duplicates left by properties sharing several
+ * vertices. Memory use is bounded by the run size, independently of the dataset size, and each merge opens at most
+ * {@link #DEFAULT_MERGE_FAN_IN} runs, merging larger numbers of runs over several passes.
+ * Coordinates are compared by their exact bits, so vertices are shared only when they are identical.
+ */
+@Layer(LayerType.BACK_END)
+public class ExternalAdjacencyDetector {
+
+    public static final int DEFAULT_RUN_SIZE = 1 << 20;
+    public static final int DEFAULT_MERGE_FAN_IN = 64;
+
+    private static final int STREAM_BUFFER_BYTES = 1 << 16;
+
+    /**
+     * Finds adjacent properties with the default run size, collecting the pairs in a list.
+     *
+     * @param properties The properties to check, which may be streamed from disk.
+     * @param tempDir    The directory for the temporary run files.
+     * @return The adjacent pairs, ordered by their smaller and then larger property ID.
+     * @throws IOException if a run file cannot be written or read.
+     */
+    @CyclomaticComplexity(1)
+    public static List<AdjacentPropertyPair> findAdjacentProperties(Iterable<PropertyPolygon> properties, Path tempDir)
+            throws IOException {
+        List<AdjacentPropertyPair> pairs = new ArrayList<>();
+        findAdjacentProperties(properties, tempDir, DEFAULT_RUN_SIZE, pairs::add);
+        return pairs;
+    }
+
+    /**
+     * Finds adjacent properties with the default merge fan-in, passing each unique pair to a sink as soon as the
+     * final merge reaches it. All run files are deleted before the method returns.
+     *
+     * @param properties The properties to check, which may be streamed from disk.
+     * @param tempDir    The directory for the temporary run files.
+     * @param runSize    The largest number of tuples or pairs held in memory at once.
+     * @param sink       Receives the adjacent pairs, ordered by their smaller and then larger property ID.
+     * @throws IOException if a run file cannot be written or read.
+     * @throws IllegalArgumentException if the run size is not positive.
+     */
+    @CyclomaticComplexity(1)
+    public static void findAdjacentProperties(Iterable<PropertyPolygon> properties, Path tempDir, int runSize,
+                                              Consumer<AdjacentPropertyPair> sink) throws IOException {
+        findAdjacentProperties(properties, tempDir, runSize, DEFAULT_MERGE_FAN_IN, sink);
+    }
+
+    /**
+     * Finds adjacent properties, passing each unique pair to a sink as soon as the final merge reaches it.
+     * No merge reads more than {@code fanIn} runs at once; when there are more, groups of runs are first merged
+     * into larger runs until few enough remain. All run files are deleted before the method returns.
+     *
+     * @param properties The properties to check, which may be streamed from disk.
+     * @param tempDir    The directory for the temporary run files.
+     * @param runSize    The largest number of tuples or pairs held in memory at once.
+     * @param fanIn      The largest number of runs open at once.
+     * @param sink       Receives the adjacent pairs, ordered by their smaller and then larger property ID.
+     * @throws IOException if a run file cannot be written or read.
+     * @throws IllegalArgumentException if the run size is not positive or the fan-in is below two.
+     */
+    @CyclomaticComplexity(3)
+    static void findAdjacentProperties(Iterable<PropertyPolygon> properties, Path tempDir, int runSize, int fanIn,
+                                       Consumer<AdjacentPropertyPair> sink) throws IOException {
+        if (runSize <= 0) throw new IllegalArgumentException("Run size must be positive: " + runSize);
+        if (fanIn < 2) throw new IllegalArgumentException("Merge fan-in must be at least 2: " + fanIn);
+        List<Path> vertexRuns = new ArrayList<>();
+        List<Path> pairRuns = new ArrayList<>();
+        try {
+            writeVertexRuns(properties, tempDir, runSize, vertexRuns);
+            reduceRuns(vertexRuns, fanIn, tempDir, false, ExternalAdjacencyDetector::mergeVertexRuns);
+            PairCollector collector = new PairCollector(tempDir, runSize, pairRuns);
+            mergeVertexRuns(vertexRuns, collector);
+            collector.finish();
+            deleteAll(vertexRuns);
+
+            reduceRuns(pairRuns, fanIn, tempDir, true, ExternalAdjacencyDetector::mergePairRuns);
+            mergePairRuns(pairRuns, (x, y, key) -> sink.accept(
+                    new AdjacentPropertyPair(AdjacentPropertyPair.firstId(key), AdjacentPropertyPair.secondId(key))));
+        } finally {
+            deleteAll(vertexRuns);
+            deleteAll(pairRuns);
+        }
+    }
+
+    /**
+     * Streams the vertices of the properties into sorted run files.
+     *
+     * @param properties The properties to read.
+     * @param tempDir    The directory for the run files.
+     * @param runSize    The number of tuples per run.
+     * @param runs       Receives the paths of the written runs.
+     * @throws IOException if a run cannot be written.
+     */
+    @CyclomaticComplexity(7)
+    private static void writeVertexRuns(Iterable<PropertyPolygon> properties, Path tempDir, int runSize, List<Path> runs)
+            throws IOException {
+        VertexRun buffer = new VertexRun(runSize);
+        for (PropertyPolygon property : properties) {
+            if (property == null || property.getPolygon() == null || property.getPolygon().getVertices() == null) continue;
+            for (VertexCoordinate vertex : property.getPolygon().getVertices()) {
+                if (vertex == null) continue;
+                buffer.add(coordinateBits(vertex.x()), coordinateBits(vertex.y()), property.getObjectId());
+                if (buffer.size == runSize) runs.add(buffer.sortAndWrite(tempDir));
+            }
+        }
+        if (buffer.size > 0) runs.add(buffer.sortAndWrite(tempDir));
+    }
+
+    /**
+     * Merges runs in groups of {@code fanIn} until no more than {@code fanIn} remain. Each merged run is appended to
+     * the list before its inputs are deleted and removed, so the list always names every file still on disk.
+     *
+     * @param runs    The sorted runs, updated in place.
+     * @param fanIn   The largest number of runs merged at once.
+     * @param tempDir The directory for the merged runs.
+     * @param pairs   Whether the runs hold pair keys rather than vertex tuples.
+     * @param merge   Merges a group of runs into a record sink.
+     * @throws IOException if a run cannot be read or written.
+     */
+    @CyclomaticComplexity(3)
+    private static void reduceRuns(List<Path> runs, int fanIn, Path tempDir, boolean pairs, RunMerge merge)
+            throws IOException {
+        while (runs.size() > fanIn) {
+            List<Path> group = new ArrayList<>(runs.subList(0, fanIn));
+            Path merged = Files.createTempFile(tempDir, pairs ? "adjacency-pairs" : "adjacency-vertices", ".run");
+            runs.add(merged);
+            try (RunWriter out = new RunWriter(merged, pairs)) {
+                merge.merge(group, out);
+            }
+            deleteAll(group);
+            runs.subList(0, fanIn).clear();
+        }
+    }
+
+    /**
+     * Merges sorted vertex runs, passing every tuple to a sink in coordinate order.
+     *
+     * @param runs The sorted vertex runs.
+     * @param sink Receives the tuples.
+     * @throws IOException if a run cannot be read or the sink fails.
+     */
+    @CyclomaticComplexity(5)
+    private static void mergeVertexRuns(List<Path> runs, RecordSink sink) throws IOException {
+        PriorityQueue<VertexReader> heap = new PriorityQueue<>(VertexReader::compareTo);
+        try {
+            for (Path run : runs) {
+                VertexReader reader = new VertexReader(run);
+                if (advanceOrClose(reader)) heap.add(reader);
+            }
+            while (!heap.isEmpty()) {
+                VertexReader reader = heap.poll();
+                acceptOrClose(reader, sink, reader.x, reader.y, reader.id);
+                if (advanceOrClose(reader)) heap.add(reader);
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            closeAll(heap, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Merges sorted pair runs, passing each distinct key to a sink once, in ascending order.
+     *
+     * @param runs The sorted pair runs.
+     * @param sink Receives the distinct keys as the third value of each record.
+     * @throws IOException if a run cannot be read or the sink fails.
+     */
+    @CyclomaticComplexity(7)
+    private static void mergePairRuns(List<Path> runs, RecordSink sink) throws IOException {
+        PriorityQueue<PairReader> heap = new PriorityQueue<>(Comparator.comparingLong(reader -> reader.key));
+        try {
+            for (Path run : runs) {
+                PairReader reader = new PairReader(run);
+                if (advanceOrClose(reader)) heap.add(reader);
+            }
+            boolean first = true;
+            long previous = 0;
+            while (!heap.isEmpty()) {
+                PairReader reader = heap.poll();
+                long key = reader.key;
+                if (first || key != previous) {
+                    acceptOrClose(reader, sink, 0, 0, key);
+                    previous = key;
+                    first = false;
+                }
+                if (advanceOrClose(reader)) heap.add(reader);
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            closeAll(heap, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Advances a reader that is not held by any merge heap, closing it at the end of its run or if reading fails.
+     *
+     * @param reader The reader.
+     * @return true if the reader has a current record, false if it was closed at the end of its run.
+     * @throws IOException if the run cannot be read; the reader is closed first.
+     */
+    @CyclomaticComplexity(3)
+    private static boolean advanceOrClose(RunReader reader) throws IOException {
+        boolean advanced;
+        try {
+            advanced = reader.advance();
+        } catch (IOException | RuntimeException e) {
+            try {
+                reader.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+        if (!advanced) reader.close();
+        return advanced;
+    }
+
+    /**
+     * Passes a record to a sink on behalf of a reader that is not held by any merge heap, closing the reader if the
+     * sink fails.
+     *
+     * @param reader The reader the record was read from.
+     * @param sink   Receives the record.
+     * @param x      The x bits of a vertex tuple, or zero for a pair key.
+     * @param y      The y bits of a vertex tuple, or zero for a pair key.
+     * @param value  The property ID of a vertex tuple, or the pair key.
+     * @throws IOException if the sink fails; the reader is closed first.
+     */
+    @CyclomaticComplexity(2)
+    private static void acceptOrClose(RunReader reader, RecordSink sink, long x, long y, long value) throws IOException {
+        try {
+            sink.accept(x, y, value);
+        } catch (IOException | RuntimeException | Error e) {
+            closeAll(List.of(reader), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Closes every reader after a failed merge, even if some fail to close, recording their failures as suppressed
+     * by the original one.
+     *
+     * @param readers The readers to close.
+     * @param failure The failure that ended the merge.
+     */
+    @CyclomaticComplexity(3)
+    private static void closeAll(Collection<? extends RunReader> readers, Throwable failure) {
+        for (RunReader reader : readers) {
+            try {
+                reader.close();
+            } catch (IOException | RuntimeException suppressed) {
+                failure.addSuppressed(suppressed);
+            }
+        }
+    }
+
+    /**
+     * Sorts pair keys and writes them to a new run file.
+     *
+     * @param pairs   The pair keys.
+     * @param count   The number of keys to write.
+     * @param tempDir The directory for the run file.
+     * @return The path of the run file.
+     * @throws IOException if the run cannot be written.
+     */
+    @CyclomaticComplexity(2)
+    private static Path writePairRun(long[] pairs, int count, Path tempDir) throws IOException {
+        Arrays.sort(pairs, 0, count);
+        Path run = Files.createTempFile(tempDir, "adjacency-pairs", ".run");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(run), STREAM_BUFFER_BYTES))) {
+            for (int i = 0; i < count; i++) out.writeLong(pairs[i]);
+        }
+        return run;
+    }
+
+    /**
+     * Gets the bits of a coordinate, treating negative zero as zero.
+     *
+     * @param coordinate The coordinate.
+     * @return The bits used to compare it.
+     */
+    @CyclomaticComplexity(1)
+    static long coordinateBits(double coordinate) {
+        return Double.doubleToLongBits(coordinate + 0.0);
+    }
+
+    /**
+     * Deletes temporary files, ignoring files that are already gone, and clears the list.
+     *
+     * @param paths The files to delete.
+     * @throws IOException if a file cannot be deleted.
+     */
+    @CyclomaticComplexity(2)
+    private static void deleteAll(List<Path> paths) throws IOException {
+        for (Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+        paths.clear();
+    }
+
+    /**
+     * An in-memory run of vertex tuples held in parallel primitive arrays.
+     */
+    private static final class VertexRun {
+        private final long[] xs;
+        private final long[] ys;
+        private final int[] ids;
+        private int size;
+
+        /**
+         * Constructs an empty run.
+         *
+         * @param capacity The number of tuples the run holds.
+         */
+        VertexRun(int capacity) {
+            this.xs = new long[capacity];
+            this.ys = new long[capacity];
+            this.ids = new int[capacity];
+        }
+
+        /**
+         * Appends a tuple.
+         *
+         * @param x  The bits of the x-coordinate.
+         * @param y  The bits of the y-coordinate.
+         * @param id The property ID.
+         */
+        @CyclomaticComplexity(1)
+        void add(long x, long y, int id) {
+            xs[size] = x;
+            ys[size] = y;
+            ids[size] = id;
+            size++;
+        }
+
+        /**
+         * Sorts the tuples, writes them to a new run file and empties the run.
+         *
+         * @param tempDir The directory for the run file.
+         * @return The path of the run file.
+         * @throws IOException if the run cannot be written.
+         */
+        @CyclomaticComplexity(2)
+        Path sortAndWrite(Path tempDir) throws IOException {
+            sort(0, size - 1);
+            Path run = Files.createTempFile(tempDir, "adjacency-vertices", ".run");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(run), STREAM_BUFFER_BYTES))) {
+                for (int i = 0; i < size; i++) {
+                    out.writeLong(xs[i]);
+                    out.writeLong(ys[i]);
+                    out.writeInt(ids[i]);
+                }
+            }
+            size = 0;
+            return run;
+        }
+
+        /**
+         * Sorts a range of tuples by coordinates with an in-place quicksort, recursing on the smaller side.
+         *
+         * @param low  The first index of the range.
+         * @param high The last index of the range.
+         */
+        @CyclomaticComplexity(6)
+        private void sort(int low, int high) {
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                long pivotX = xs[middle];
+                long pivotY = ys[middle];
+                int i = low;
+                int j = high;
+                while (i <= j) {
+                    while (compare(i, pivotX, pivotY) < 0) i++;
+                    while (compare(j, pivotX, pivotY) > 0) j--;
+                    if (i <= j) swap(i++, j--);
+                }
+                if (j - low < high - i) {
+                    sort(low, j);
+                    low = i;
+                } else {
+                    sort(i, high);
+                    high = j;
+                }
+            }
+        }
+
+        /**
+         * Compares the coordinates of a tuple with a pivot.
+         *
+         * @param index  The index of the tuple.
+         * @param pivotX The x bits of the pivot.
+         * @param pivotY The y bits of the pivot.
+         * @return A negative, zero or positive value as the tuple sorts before, with or after the pivot.
+         */
+        @CyclomaticComplexity(2)
+        private int compare(int index, long pivotX, long pivotY) {
+            int byX = Long.compare(xs[index], pivotX);
+            return byX != 0 ? byX : Long.compare(ys[index], pivotY);
+        }
+
+        /**
+         * Swaps two tuples.
+         *
+         * @param a The index of the first tuple.
+         * @param b The index of the second tuple.
+         */
+        @CyclomaticComplexity(1)
+        private void swap(int a, int b) {
+            long x = xs[a];
+            xs[a] = xs[b];
+            xs[b] = x;
+            long y = ys[a];
+            ys[a] = ys[b];
+            ys[b] = y;
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+        }
+    }
+
+    /**
+     * Receives the records of a merge: a vertex tuple, or a pair key as the last value.
+     */
+    @FunctionalInterface
+    private interface RecordSink {
+
+        /**
+         * Accepts a record.
+         *
+         * @param x     The x bits of a vertex tuple, or zero for a pair key.
+         * @param y     The y bits of a vertex tuple, or zero for a pair key.
+         * @param value The property ID of a vertex tuple, or the pair key.
+         * @throws IOException if the record cannot be written.
+         */
+        void accept(long x, long y, long value) throws IOException;
+    }
+
+    /**
+     * Merges a group of runs into a sink.
+     */
+    @FunctionalInterface
+    private interface RunMerge {
+
+        /**
+         * Merges runs.
+         *
+         * @param runs The sorted runs.
+         * @param sink Receives the merged records in order.
+         * @throws IOException if a run cannot be read or the sink fails.
+         */
+        void merge(List<Path> runs, RecordSink sink) throws IOException;
+    }
+
+    /**
+     * A sequential reader of a run file.
+     */
+    private abstract static class RunReader implements Closeable {
+        protected final DataInputStream in;
+
+        /**
+         * Opens a run.
+         *
+         * @param run The path of the run.
+         * @throws IOException if the run cannot be opened.
+         */
+        RunReader(Path run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), STREAM_BUFFER_BYTES));
+        }
+
+        /**
+         * Reads the next record.
+         *
+         * @return true if a record was read, false at the end of the run.
+         * @throws IOException if the run cannot be read.
+         */
+        abstract boolean advance() throws IOException;
+
+        /**
+         * Closes the run.
+         *
+         * @throws IOException if the run cannot be closed.
+         */
+        @Override
+        @CyclomaticComplexity(1)
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    /**
+     * Writes the records of an intermediate merge to a run file in the format of the runs being merged: a whole
+     * vertex tuple, or only the key of a pair.
+     */
+    private static final class RunWriter implements RecordSink, Closeable {
+        private final DataOutputStream out;
+        private final boolean pairs;
+
+        /**
+         * Creates the writer.
+         *
+         * @param run   The path of the run.
+         * @param pairs Whether the run holds pair keys rather than vertex tuples.
+         * @throws IOException if the run cannot be opened.
+         */
+        RunWriter(Path run, boolean pairs) throws IOException {
+            this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), STREAM_BUFFER_BYTES));
+            this.pairs = pairs;
+        }
+
+        /**
+         * Writes a record.
+         *
+         * @param x     The x bits of a vertex tuple.
+         * @param y     The y bits of a vertex tuple.
+         * @param value The property ID of a vertex tuple, or the pair key.
+         * @throws IOException if the record cannot be written.
+         */
+        @Override
+        @CyclomaticComplexity(2)
+        public void accept(long x, long y, long value) throws IOException {
+            if (pairs) {
+                out.writeLong(value);
+                return;
+            }
+            out.writeLong(x);
+            out.writeLong(y);
+            out.writeInt((int) value);
+        }
+
+        /**
+         * Flushes and closes the run.
+         *
+         * @throws IOException if the run cannot be written.
+         */
+        @Override
+        @CyclomaticComplexity(1)
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * Groups merged vertex tuples by coordinates and writes the pairs of properties sharing each vertex into
+     * sorted pair runs.
+     */
+    private static final class PairCollector implements RecordSink {
+        private final Path tempDir;
+        private final List<Path> pairRuns;
+        private final long[] pairs;
+        private int pairCount;
+        private int[] group = new int[8];
+        private int groupSize;
+        private long groupX;
+        private long groupY;
+
+        /**
+         * Creates the collector.
+         *
+         * @param tempDir  The directory for the pair runs.
+         * @param runSize  The number of pairs per run.
+         * @param pairRuns Receives the paths of the written pair runs.
+         */
+        PairCollector(Path tempDir, int runSize, List<Path> pairRuns) {
+            this.tempDir = tempDir;
+            this.pairRuns = pairRuns;
+            this.pairs = new long[runSize];
+        }
+
+        /**
+         * Adds a tuple, closing the current group when its coordinates change.
+         *
+         * @param x  The x bits of the vertex.
+         * @param y  The y bits of the vertex.
+         * @param id The property ID.
+         * @throws IOException if a pair run cannot be written.
+         */
+        @Override
+        @CyclomaticComplexity(4)
+        public void accept(long x, long y, long id) throws IOException {
+            if (groupSize > 0 && (x != groupX || y != groupY)) flushGroup();
+            groupX = x;
+            groupY = y;
+            if (groupSize == group.length) group = Arrays.copyOf(group, groupSize * 2);
+            group[groupSize++] = (int) id;
+        }
+
+        /**
+         * Writes the pairs of the last group and the remaining buffered pairs.
+         *
+         * @throws IOException if a pair run cannot be written.
+         */
+        @CyclomaticComplexity(2)
+        void finish() throws IOException {
+            flushGroup();
+            if (pairCount > 0) pairRuns.add(writePairRun(pairs, pairCount, tempDir));
+            pairCount = 0;
+        }
+
+        /**
+         * Buffers the pairs of distinct properties in the current group, writing a run whenever the buffer fills.
+         *
+         * @throws IOException if a pair run cannot be written.
+         */
+        @CyclomaticComplexity(5)
+        private void flushGroup() throws IOException {
+            for (int i = 0; i < groupSize; i++) {
+                for (int j = i + 1; j < groupSize; j++) {
+                    if (group[i] == group[j]) continue;
+                    pairs[pairCount++] = AdjacentPropertyPair.pairKey(group[i], group[j]);
+                    if (pairCount == pairs.length) {
+                        pairRuns.add(writePairRun(pairs, pairCount, tempDir));
+                        pairCount = 0;
+                    }
+                }
+            }
+            groupSize = 0;
+        }
+    }
+
+    /**
+     * A sequential reader of a vertex run, exposing its current tuple.
+     */
+    private static final class VertexReader extends RunReader implements Comparable<VertexReader> {
+        private long x;
+        private long y;
+        private int id;
+
+        /**
+         * Opens a vertex run.
+         *
+         * @param run The path of the run.
+         * @throws IOException if the run cannot be opened.
+         */
+        VertexReader(Path run) throws IOException {
+            super(run);
+        }
+
+        /**
+         * Reads the next tuple.
+         *
+         * @return true if a tuple was read, false at the end of the run.
+         * @throws IOException if the run cannot be read.
+         */
+        @Override
+        @CyclomaticComplexity(2)
+        boolean advance() throws IOException {
+            try {
+                x = in.readLong();
+            } catch (EOFException e) {
+                return false;
+            }
+            y = in.readLong();
+            id = in.readInt();
+            return true;
+        }
+
+        /**
+         * Compares the current tuples of two readers by coordinates.
+         *
+         * @param other The other reader.
+         * @return A negative, zero or positive value as this tuple sorts before, with or after the other.
+         */
+        @Override
+        @CyclomaticComplexity(2)
+        public int compareTo(VertexReader other) {
+            int byX = Long.compare(x, other.x);
+            return byX != 0 ? byX : Long.compare(y, other.y);
+        }
+    }
+
+    /**
+     * A sequential reader of a pair run, exposing its current key.
+     */
+    private static final class PairReader extends RunReader {
+        private long key;
+
+        /**
+         * Opens a pair run.
+         *
+         * @param run The path of the run.
+         * @throws IOException if the run cannot be opened.
+         */
+        PairReader(Path run) throws IOException {
+            super(run);
+        }
+
+        /**
+         * Reads the next key.
+         *
+         * @return true if a key was read, false at the end of the run.
+         * @throws IOException if the run cannot be read.
+         */
+        @Override
+        @CyclomaticComplexity(2)
+        boolean advance() throws IOException {
+            try {
+                key = in.readLong();
+                return true;
+            } catch (EOFException e) {
+                return false;
+            }
+        }
+    }
+}
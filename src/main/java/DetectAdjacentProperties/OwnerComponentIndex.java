@@ -0,0 +1,139 @@
+package DetectAdjacentProperties;
+
+import Models.Polygon;
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@code OwnerComponentIndex} class precomputes, once per dataset, which properties share a vertex with another
+ * property of the same owner. Each shared vertex and owner becomes a bucket of dataset rows, and every row keeps the
+ * list of buckets it belongs to in compressed sparse row form.
+ * A filtered view is merged by joining, inside the view, the rows that meet in a bucket. Connections through
+ * properties outside the view are therefore ignored, so the view splits into the same groups as with
+ * {@link PropertyMerger#mergeOwnerAdjacentProperties(List)}.
+ * <p>
+ * The number of properties using each vertex is counted once, over the whole dataset, and the dissolved outline of
+ * each component is cached by its members the first time it is merged, so switching back to a view or toggling the
+ * merge dissolves nothing again. Because vertices are counted over the dataset, an outline keeps every vertex shared
+ * with any property of the dataset, including properties outside the view that merging the view from scratch would
+ * not see; the areas and the members of each merged property are the same.
+ * <p>
+ * Buckets, counts and outlines reflect the owners and polygons at the time the index is built, so the index must be
+ * rebuilt whenever owners change.
+ */
+@Layer(LayerType.BACK_END)
+public class OwnerComponentIndex {
+
+    private final Map<Integer, Integer> rowByObjectId;
+    private final int[] offsets;
+    private final int[] buckets;
+    private final int bucketCount;
+    private final Map<VertexCoordinate, Integer> vertexUsers;
+    private final Map<List<Integer>, Optional<Polygon>> outlines = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs the index over every property of a dataset.
+     *
+     * @param properties The properties of the dataset.
+     */
+    public OwnerComponentIndex(List<PropertyPolygon> properties) {
+        Map<UnionFindPropertyMerger.VertexOwner, Integer> bucketIds = new HashMap<>();
+        int[] bucketOfEntry = new int[16];
+        int[] rowStarts = new int[properties.size() + 1];
+        int entries = 0;
+
+        rowByObjectId = new HashMap<>(properties.size() * 2);
+        for (int row = 0; row < properties.size(); row++) {
+            PropertyPolygon property = properties.get(row);
+            rowByObjectId.putIfAbsent(property.getObjectId(), row);
+            for (VertexCoordinate vertex : property.getPolygon().getVertices()) {
+                if (entries == bucketOfEntry.length) bucketOfEntry = Arrays.copyOf(bucketOfEntry, entries * 2);
+                Integer id = bucketIds.putIfAbsent(new UnionFindPropertyMerger.VertexOwner(vertex, property.getOwner()),
+                        bucketIds.size());
+                bucketOfEntry[entries++] = id == null ? bucketIds.size() - 1 : id;
+            }
+            rowStarts[row + 1] = entries;
+        }
+
+        int[] bucketSizes = new int[bucketIds.size()];
+        for (int i = 0; i < entries; i++) bucketSizes[bucketOfEntry[i]]++;
+
+        offsets = new int[properties.size() + 1];
+        int[] kept = new int[entries];
+        int size = 0;
+        for (int row = 0; row < properties.size(); row++) {
+            for (int i = rowStarts[row]; i < rowStarts[row + 1]; i++) {
+                if (bucketSizes[bucketOfEntry[i]] > 1) kept[size++] = bucketOfEntry[i];
+            }
+            offsets[row + 1] = size;
+        }
+        buckets = Arrays.copyOf(kept, size);
+        bucketCount = bucketIds.size();
+        vertexUsers = PropertyMerger.countVertexUsers(properties);
+    }
+
+    /**
+     * Gets the number of distinct vertex and owner buckets in the dataset.
+     *
+     * @return The number of buckets.
+     */
+    @CyclomaticComplexity(1)
+    public int bucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Finds the same-owner components of a view of the dataset.
+     * Properties that are not part of the indexed dataset are treated as isolated.
+     *
+     * @param view The properties of the view.
+     * @return A disjoint set over the positions of the view.
+     */
+    @CyclomaticComplexity(5)
+    public DisjointSet findComponents(List<PropertyPolygon> view) {
+        DisjointSet components = new DisjointSet(view.size());
+        Map<Integer, Integer> firstPositionByBucket = new HashMap<>();
+        for (int position = 0; position < view.size(); position++) {
+            Integer row = rowByObjectId.get(view.get(position).getObjectId());
+            if (row == null) continue;
+            for (int i = offsets[row]; i < offsets[row + 1]; i++) {
+                Integer first = firstPositionByBucket.putIfAbsent(buckets[i], position);
+                if (first != null) components.union(first, position);
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Merges adjacent properties with the same owner within a view of the dataset.
+     *
+     * @param view The properties of the view.
+     * @return A list of PropertyPolygon objects after merging adjacent properties.
+     */
+    @CyclomaticComplexity(1)
+    public List<PropertyPolygon> mergeView(List<PropertyPolygon> view) {
+        return PropertyMerger.mergeProperties(view, UnionFindPropertyMerger.toGroups(view, findComponents(view)),
+                this::outline);
+    }
+
+    /**
+     * Gets the dissolved outline of a component, dissolving it only the first time the component is merged.
+     *
+     * @param group The properties of the component.
+     * @return The outline of the component, or {@code null} if it cannot be dissolved.
+     */
+    @CyclomaticComplexity(2)
+    private Polygon outline(List<PropertyPolygon> group) {
+        List<Integer> members = new ArrayList<>(group.size());
+        for (PropertyPolygon property : group) members.add(property.getObjectId());
+        Collections.sort(members);
+        return outlines.computeIfAbsent(members,
+                key -> Optional.ofNullable(PropertyMerger.dissolveGroup(group, vertexUsers))).orElse(null);
+    }
+}
@@ -0,0 +1,218 @@
+package DetectAdjacentProperties;
+
+import Models.Polygon;
+import Models.VertexCoordinate;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+
+/**
+ * The {@code PolygonDissolver} class dissolves a group of polygons into the outline of their union.
+ * Every ring is oriented counter-clockwise, so an edge shared by two neighbouring polygons appears once in each
+ * direction and the two copies cancel out. The edges that remain form the outer boundary, which is re-chained into
+ * closed rings with collinear vertices removed, except for vertices the caller asks to preserve, such as those
+ * shared with neighbouring properties. All steps run in time linear in the total number of edges.
+ */
+@Layer(LayerType.BACK_END)
+public class PolygonDissolver {
+
+    private static final double COLLINEAR_TOLERANCE = 1e-12;
+
+    /**
+     * Dissolves polygons into the outline of their union, removing every collinear vertex.
+     *
+     * @param polygons The polygons to dissolve.
+     * @return The dissolved polygon, or null if any polygon has fewer than three distinct vertices.
+     * @see #dissolve(List, Set)
+     */
+    @CyclomaticComplexity(1)
+    public static Polygon dissolve(List<Polygon> polygons) {
+        return dissolve(polygons, Set.of());
+    }
+
+    /**
+     * Dissolves polygons into the outline of their union.
+     * The result keeps each closed boundary ring separately, repeating its first vertex at the end, with the largest
+     * ring first.
+     *
+     * @param polygons  The polygons to dissolve.
+     * @param preserved The vertices to keep on the outline even where they are collinear.
+     * @return The dissolved polygon, or null if any polygon has fewer than three distinct vertices.
+     */
+    @CyclomaticComplexity(5)
+    public static Polygon dissolve(List<Polygon> polygons, Set<VertexCoordinate> preserved) {
+        Map<VertexCoordinate, Integer> vertexIds = new HashMap<>();
+        List<VertexCoordinate> vertices = new ArrayList<>();
+        Map<Long, Integer> edges = new LinkedHashMap<>();
+
+        for (Polygon polygon : polygons) {
+            int[] ring = toCounterClockwiseRing(polygon, vertexIds, vertices);
+            if (ring == null) return null;
+            for (int i = 0; i < ring.length; i++) {
+                addEdge(edges, ring[i], ring[(i + 1) % ring.length]);
+            }
+        }
+
+        List<List<VertexCoordinate>> rings = chainRings(edges, vertices, preserved);
+        if (rings.isEmpty()) return null;
+        rings.sort(Comparator.comparingDouble((List<VertexCoordinate> r) -> Math.abs(signedArea(r))).reversed());
+
+        for (List<VertexCoordinate> ring : rings) {
+            ring.add(ring.get(0));
+        }
+        return Polygon.ofRings(rings);
+    }
+
+    /**
+     * Converts a polygon into a ring of vertex IDs in counter-clockwise order, dropping a repeated closing vertex
+     * and consecutive duplicates.
+     *
+     * @param polygon   The polygon to convert.
+     * @param vertexIds The IDs assigned so far to each vertex, updated by this call.
+     * @param vertices  The vertices indexed by ID, updated by this call.
+     * @return The ring, or null if it has fewer than three distinct vertices.
+     */
+    @CyclomaticComplexity(7)
+    private static int[] toCounterClockwiseRing(Polygon polygon, Map<VertexCoordinate, Integer> vertexIds,
+                                                List<VertexCoordinate> vertices) {
+        if (polygon == null || polygon.getVertices() == null) return null;
+        int[] ring = new int[polygon.getVertices().size()];
+        int length = 0;
+        for (VertexCoordinate vertex : polygon.getVertices()) {
+            Integer id = vertexIds.putIfAbsent(vertex, vertices.size());
+            if (id == null) {
+                id = vertices.size();
+                vertices.add(vertex);
+            }
+            if (length == 0 || ring[length - 1] != id) ring[length++] = id;
+        }
+        while (length > 1 && ring[length - 1] == ring[0]) length--;
+        if (length < 3) return null;
+
+        ring = Arrays.copyOf(ring, length);
+        if (signedArea(ring, vertices) < 0) {
+            for (int i = 0, j = length - 1; i < j; i++, j--) {
+                int tmp = ring[i];
+                ring[i] = ring[j];
+                ring[j] = tmp;
+            }
+        }
+        return ring;
+    }
+
+    /**
+     * Adds a directed edge, cancelling it against an existing edge in the opposite direction.
+     *
+     * @param edges The multiplicity of each directed edge, keyed by {@code (from << 32) | to}.
+     * @param from  The start vertex ID.
+     * @param to    The end vertex ID.
+     */
+    @CyclomaticComplexity(2)
+    private static void addEdge(Map<Long, Integer> edges, int from, int to) {
+        long reverse = ((long) to << 32) | from;
+        Integer reverseCount = edges.get(reverse);
+        if (reverseCount != null) {
+            if (reverseCount == 1) edges.remove(reverse);
+            else edges.put(reverse, reverseCount - 1);
+            return;
+        }
+        edges.merge(((long) from << 32) | to, 1, Integer::sum);
+    }
+
+    /**
+     * Follows the remaining directed edges to build closed rings.
+     *
+     * @param edges     The multiplicity of each remaining directed edge.
+     * @param vertices  The vertices indexed by ID.
+     * @param preserved The vertices to keep even where they are collinear.
+     * @return The closed rings, without a repeated closing vertex and with collinear vertices removed.
+     */
+    @CyclomaticComplexity(6)
+    private static List<List<VertexCoordinate>> chainRings(Map<Long, Integer> edges, List<VertexCoordinate> vertices,
+                                                           Set<VertexCoordinate> preserved) {
+        Map<Integer, Deque<Integer>> outgoing = new HashMap<>();
+        List<Integer> starts = new ArrayList<>();
+        for (Map.Entry<Long, Integer> edge : edges.entrySet()) {
+            int from = (int) (edge.getKey() >>> 32);
+            for (int i = 0; i < edge.getValue(); i++) {
+                outgoing.computeIfAbsent(from, k -> new ArrayDeque<>()).add((int) (long) edge.getKey());
+                starts.add(from);
+            }
+        }
+
+        List<List<VertexCoordinate>> rings = new ArrayList<>();
+        for (int start : starts) {
+            Deque<Integer> next = outgoing.get(start);
+            if (next == null || next.isEmpty()) continue;
+            List<VertexCoordinate> ring = new ArrayList<>();
+            int current = start;
+            do {
+                ring.add(vertices.get(current));
+                current = outgoing.get(current).poll();
+            } while (current != start && outgoing.containsKey(current) && !outgoing.get(current).isEmpty());
+            List<VertexCoordinate> simplified = removeCollinear(ring, preserved);
+            if (simplified.size() >= 3) rings.add(simplified);
+        }
+        return rings;
+    }
+
+    /**
+     * Removes vertices lying on the straight line between their neighbours, unless they are preserved.
+     *
+     * @param ring      The ring, without a repeated closing vertex.
+     * @param preserved The vertices to keep even where they are collinear.
+     * @return The ring without collinear vertices.
+     */
+    @CyclomaticComplexity(4)
+    private static List<VertexCoordinate> removeCollinear(List<VertexCoordinate> ring, Set<VertexCoordinate> preserved) {
+        List<VertexCoordinate> result = new ArrayList<>(ring.size());
+        int n = ring.size();
+        for (int i = 0; i < n; i++) {
+            VertexCoordinate prev = ring.get((i + n - 1) % n);
+            VertexCoordinate curr = ring.get(i);
+            VertexCoordinate next = ring.get((i + 1) % n);
+            double cross = (curr.x() - prev.x()) * (next.y() - curr.y()) - (curr.y() - prev.y()) * (next.x() - curr.x());
+            double scale = Math.abs(curr.x() - prev.x()) + Math.abs(curr.y() - prev.y())
+                    + Math.abs(next.x() - curr.x()) + Math.abs(next.y() - curr.y());
+            if (Math.abs(cross) > COLLINEAR_TOLERANCE * scale * scale || preserved.contains(curr)) result.add(curr);
+        }
+        return result;
+    }
+
+    /**
+     * Computes the signed area of a ring of vertex IDs with the shoelace formula.
+     *
+     * @param ring     The ring of vertex IDs.
+     * @param vertices The vertices indexed by ID.
+     * @return The signed area, positive for counter-clockwise rings.
+     */
+    @CyclomaticComplexity(2)
+    private static double signedArea(int[] ring, List<VertexCoordinate> vertices) {
+        double area = 0;
+        for (int i = 0; i < ring.length; i++) {
+            VertexCoordinate a = vertices.get(ring[i]);
+            VertexCoordinate b = vertices.get(ring[(i + 1) % ring.length]);
+            area += a.x() * b.y() - b.x() * a.y();
+        }
+        return area / 2;
+    }
+
+    /**
+     * Computes the signed area of a ring with the shoelace formula.
+     *
+     * @param ring The ring, without a repeated closing vertex.
+     * @return The signed area, positive for counter-clockwise rings.
+     */
+    @CyclomaticComplexity(2)
+    static double signedArea(List<VertexCoordinate> ring) {
+        double area = 0;
+        for (int i = 0; i < ring.size(); i++) {
+            VertexCoordinate a = ring.get(i);
+            VertexCoordinate b = ring.get((i + 1) % ring.size());
+            area += a.x() * b.y() - b.x() * a.y();
+        }
+        return area / 2;
+    }
+}
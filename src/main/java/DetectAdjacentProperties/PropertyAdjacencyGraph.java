@@ -0,0 +1,467 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+import java.util.function.IntConsumer;
+
+/**
+ * The {@code PropertyAdjacencyGraph} class is an immutable adjacency graph of properties stored in
+ * compressed sparse row (CSR) form. Each property is identified by a dense row number, the position it had
+ * in the list the graph was built from. The neighbours of row {@code r} are stored in
+ * {@code neighbours[offsets[r] .. offsets[r + 1])}, sorted in ascending order, so degree lookup is O(1)
+ * and neighbour iteration needs no hashing.
+ */
+@Layer(LayerType.BACK_END)
+public final class PropertyAdjacencyGraph {
+
+    private final List<PropertyPolygon> rows;
+    private final Map<Integer, Integer> rowByObjectId;
+    private final int[] offsets;
+    private final int[] neighbours;
+
+    /**
+     * Constructs a graph from its rows and CSR arrays.
+     *
+     * @param rows       The properties, indexed by row.
+     * @param offsets    The start of each row's neighbours, with one extra trailing entry.
+     * @param neighbours The concatenated neighbour rows.
+     */
+    private PropertyAdjacencyGraph(List<PropertyPolygon> rows, int[] offsets, int[] neighbours) {
+        this.rows = List.copyOf(rows);
+        this.offsets = offsets;
+        this.neighbours = neighbours;
+        this.rowByObjectId = new HashMap<>(rows.size() * 2);
+        for (int row = 0; row < rows.size(); row++) {
+            rowByObjectId.putIfAbsent(rows.get(row).getObjectId(), row);
+        }
+    }
+
+    /**
+     * Builds the graph of properties that share at least one vertex.
+     * Vertices are grouped with a single hash lookup each, after which all work is done on primitive arrays.
+     *
+     * @param properties The properties to include, in row order.
+     * @return The adjacency graph of the properties.
+     */
+    @CyclomaticComplexity(7)
+    public static PropertyAdjacencyGraph fromProperties(List<PropertyPolygon> properties) {
+        Map<VertexCoordinate, Integer> vertexIds = new HashMap<>();
+        int[] vertexOfEntry = new int[16];
+        int[] rowOfEntry = new int[16];
+        int entries = 0;
+
+        for (int row = 0; row < properties.size(); row++) {
+            for (VertexCoordinate vertex : properties.get(row).getPolygon().getVertices()) {
+                if (entries == vertexOfEntry.length) {
+                    vertexOfEntry = Arrays.copyOf(vertexOfEntry, entries * 2);
+                    rowOfEntry = Arrays.copyOf(rowOfEntry, entries * 2);
+                }
+                Integer vertexId = vertexIds.putIfAbsent(vertex, vertexIds.size());
+                vertexOfEntry[entries] = vertexId == null ? vertexIds.size() - 1 : vertexId;
+                rowOfEntry[entries] = row;
+                entries++;
+            }
+        }
+
+        int[] rowsByVertex = groupByVertex(vertexOfEntry, rowOfEntry, entries, vertexIds.size());
+        int[] bucketStarts = bucketStarts(vertexOfEntry, entries, vertexIds.size());
+
+        EdgeBuffer edges = new EdgeBuffer();
+        for (int v = 0; v < vertexIds.size(); v++) {
+            for (int i = bucketStarts[v]; i < bucketStarts[v + 1]; i++) {
+                for (int j = i + 1; j < bucketStarts[v + 1]; j++) {
+                    int r1 = rowsByVertex[i];
+                    int r2 = rowsByVertex[j];
+                    if (r1 != r2 && !properties.get(r1).equals(properties.get(r2))) edges.add(r1, r2);
+                }
+            }
+        }
+        return fromEdges(properties, edges);
+    }
+
+    /**
+     * Builds a graph from a list of adjacent pairs expressed with property object IDs.
+     * Pairs that reference properties not present in the list are ignored.
+     *
+     * @param properties The properties to include, in row order.
+     * @param pairs      The adjacent pairs.
+     * @return The adjacency graph of the properties.
+     */
+    @CyclomaticComplexity(4)
+    public static PropertyAdjacencyGraph fromPairs(List<PropertyPolygon> properties, List<AdjacentPropertyPair> pairs) {
+        Map<Integer, Integer> rowByObjectId = new HashMap<>(properties.size() * 2);
+        for (int row = 0; row < properties.size(); row++) {
+            rowByObjectId.putIfAbsent(properties.get(row).getObjectId(), row);
+        }
+
+        EdgeBuffer edges = new EdgeBuffer();
+        for (AdjacentPropertyPair pair : pairs) {
+            Integer r1 = rowByObjectId.get(pair.getPropertyId1());
+            Integer r2 = rowByObjectId.get(pair.getPropertyId2());
+            if (r1 != null && r2 != null && !r1.equals(r2)) edges.add(r1, r2);
+        }
+        return fromEdges(properties, edges);
+    }
+
+    /**
+     * Builds a graph directly from previously computed CSR arrays, such as those read from an adjacency sidecar.
+     * The arrays are validated so that a corrupt source cannot produce out-of-range rows.
+     *
+     * @param properties The properties, indexed by row.
+     * @param offsets    The start of each row's neighbours, with one extra trailing entry.
+     * @param neighbours The concatenated neighbour rows, sorted within each row.
+     * @return The adjacency graph.
+     * @throws IllegalArgumentException if the arrays do not describe a graph over the given rows.
+     */
+    @CyclomaticComplexity(7)
+    public static PropertyAdjacencyGraph fromCsr(List<PropertyPolygon> properties, int[] offsets, int[] neighbours) {
+        if (offsets.length != properties.size() + 1 || offsets[0] != 0 || offsets[properties.size()] != neighbours.length) {
+            throw new IllegalArgumentException("CSR offsets do not match the number of properties");
+        }
+        for (int row = 0; row < properties.size(); row++) {
+            if (offsets[row] > offsets[row + 1]) {
+                throw new IllegalArgumentException("CSR offsets must be non-decreasing");
+            }
+        }
+        for (int neighbour : neighbours) {
+            if (neighbour < 0 || neighbour >= properties.size()) {
+                throw new IllegalArgumentException("CSR neighbour out of range: " + neighbour);
+            }
+        }
+        return new PropertyAdjacencyGraph(properties, offsets.clone(), neighbours.clone());
+    }
+
+    /**
+     * Gets a copy of the CSR offsets array.
+     *
+     * @return The start of each row's neighbours, with one extra trailing entry.
+     */
+    @CyclomaticComplexity(1)
+    public int[] getOffsets() {
+        return offsets.clone();
+    }
+
+    /**
+     * Gets a copy of the CSR neighbours array.
+     *
+     * @return The concatenated neighbour rows.
+     */
+    @CyclomaticComplexity(1)
+    public int[] getNeighbours() {
+        return neighbours.clone();
+    }
+
+    /**
+     * Gets the number of properties (rows) in the graph.
+     *
+     * @return The number of rows.
+     */
+    @CyclomaticComplexity(1)
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Gets the number of undirected edges in the graph.
+     *
+     * @return The number of edges.
+     */
+    @CyclomaticComplexity(1)
+    public int edgeCount() {
+        return neighbours.length / 2;
+    }
+
+    /**
+     * Gets the property stored at a row.
+     *
+     * @param row The row number.
+     * @return The property at that row.
+     */
+    @CyclomaticComplexity(1)
+    public PropertyPolygon getProperty(int row) {
+        return rows.get(row);
+    }
+
+    /**
+     * Gets the properties of the graph in row order.
+     *
+     * @return An unmodifiable list of the properties.
+     */
+    @CyclomaticComplexity(1)
+    public List<PropertyPolygon> getProperties() {
+        return rows;
+    }
+
+    /**
+     * Gets the row of a property from its object ID.
+     *
+     * @param objectId The object ID of the property.
+     * @return The row number, or -1 if the property is not in the graph.
+     */
+    @CyclomaticComplexity(1)
+    public int rowOf(int objectId) {
+        return rowByObjectId.getOrDefault(objectId, -1);
+    }
+
+    /**
+     * Gets the number of neighbours of a row.
+     *
+     * @param row The row number.
+     * @return The degree of the row.
+     */
+    @CyclomaticComplexity(1)
+    public int degree(int row) {
+        return offsets[row + 1] - offsets[row];
+    }
+
+    /**
+     * Gets the i-th neighbour of a row, in ascending row order.
+     *
+     * @param row   The row number.
+     * @param index The position of the neighbour, between 0 and {@code degree(row) - 1}.
+     * @return The row number of the neighbour.
+     */
+    @CyclomaticComplexity(1)
+    public int neighbourAt(int row, int index) {
+        return neighbours[offsets[row] + index];
+    }
+
+    /**
+     * Applies an action to every neighbour of a row.
+     *
+     * @param row    The row number.
+     * @param action The action receiving each neighbour row.
+     */
+    @CyclomaticComplexity(2)
+    public void forEachNeighbour(int row, IntConsumer action) {
+        for (int i = offsets[row]; i < offsets[row + 1]; i++) {
+            action.accept(neighbours[i]);
+        }
+    }
+
+    /**
+     * Checks whether two rows are adjacent, using a binary search over the sorted neighbours.
+     *
+     * @param row1 The first row.
+     * @param row2 The second row.
+     * @return True if the rows are adjacent, false otherwise.
+     */
+    @CyclomaticComplexity(1)
+    public boolean areAdjacent(int row1, int row2) {
+        return Arrays.binarySearch(neighbours, offsets[row1], offsets[row1 + 1], row2) >= 0;
+    }
+
+    /**
+     * Gets every row reachable from a row in at most {@code k} hops, excluding the row itself.
+     *
+     * @param row The starting row.
+     * @param k   The maximum number of hops.
+     * @return The reachable rows, ordered by hop distance.
+     */
+    @CyclomaticComplexity(5)
+    public int[] kHopNeighbourhood(int row, int k) {
+        BitSet visited = new BitSet(rows.size());
+        visited.set(row);
+        int[] queue = new int[Math.max(1, Math.min(rows.size(), 16))];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = row;
+
+        for (int hop = 0; hop < k && head < tail; hop++) {
+            int levelEnd = tail;
+            while (head < levelEnd) {
+                int current = queue[head++];
+                for (int i = offsets[current]; i < offsets[current + 1]; i++) {
+                    int next = neighbours[i];
+                    if (visited.get(next)) continue;
+                    visited.set(next);
+                    if (tail == queue.length) queue = Arrays.copyOf(queue, queue.length * 2);
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return Arrays.copyOfRange(queue, 1, tail);
+    }
+
+    /**
+     * Converts every edge of the graph into an adjacent pair of object IDs.
+     *
+     * @return A list of AdjacentPropertyPair objects.
+     */
+    @CyclomaticComplexity(3)
+    public List<AdjacentPropertyPair> toAdjacentPairs() {
+        List<AdjacentPropertyPair> pairs = new ArrayList<>(edgeCount());
+        for (int row = 0; row < rows.size(); row++) {
+            for (int i = offsets[row]; i < offsets[row + 1]; i++) {
+                if (row < neighbours[i]) {
+                    pairs.add(new AdjacentPropertyPair(rows.get(row).getObjectId(), rows.get(neighbours[i]).getObjectId()));
+                }
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Gets the edges between valid properties with different owners, the pairs used to generate suggestions.
+     *
+     * @return A list of AdjacentPropertyPair objects.
+     */
+    @CyclomaticComplexity(1)
+    public List<AdjacentPropertyPair> differentOwnerPairs() {
+        return differentOwnerPairStore().toPairs();
+    }
+
+    /**
+     * Gets the edges between valid properties with different owners as a pair store, with owners resolved
+     * directly from the rows.
+     *
+     * @return A store of the pairs used to generate suggestions.
+     */
+    @CyclomaticComplexity(2)
+    public AdjacentPairStore differentOwnerPairStore() {
+        AdjacentPairStore store = new AdjacentPairStore();
+        for (long edge : differentOwnerEdges()) {
+            store.add(rows.get(AdjacentPropertyPair.firstId(edge)), rows.get(AdjacentPropertyPair.secondId(edge)));
+        }
+        return store;
+    }
+
+    /**
+     * Gets the edges between valid properties with different owners as packed row pairs.
+     * Each row is checked for validity once, rather than once per edge.
+     *
+     * @return The edges, packed with {@link AdjacentPropertyPair#pairKey(int, int)} over rows, in row order.
+     */
+    @CyclomaticComplexity(6)
+    public long[] differentOwnerEdges() {
+        boolean[] valid = new boolean[rows.size()];
+        for (int row = 0; row < rows.size(); row++) {
+            valid[row] = AdjacencyDetector.isValidProperty(rows.get(row));
+        }
+        long[] edges = new long[neighbours.length];
+        int count = 0;
+        for (int row = 0; row < rows.size(); row++) {
+            if (!valid[row]) continue;
+            String owner = rows.get(row).getOwner();
+            for (int i = offsets[row]; i < offsets[row + 1]; i++) {
+                int other = neighbours[i];
+                if (row < other && valid[other] && !owner.equals(rows.get(other).getOwner())) {
+                    edges[count++] = AdjacentPropertyPair.pairKey(row, other);
+                }
+            }
+        }
+        return Arrays.copyOf(edges, count);
+    }
+
+    /**
+     * Groups the entries of a vertex/row listing by vertex with a counting sort.
+     *
+     * @param vertexOfEntry The vertex of each entry.
+     * @param rowOfEntry    The row of each entry.
+     * @param entries       The number of entries.
+     * @param vertexCount   The number of distinct vertices.
+     * @return The rows of all entries, ordered by vertex.
+     */
+    @CyclomaticComplexity(2)
+    private static int[] groupByVertex(int[] vertexOfEntry, int[] rowOfEntry, int entries, int vertexCount) {
+        int[] cursor = bucketStarts(vertexOfEntry, entries, vertexCount);
+        int[] grouped = new int[entries];
+        for (int e = 0; e < entries; e++) {
+            grouped[cursor[vertexOfEntry[e]]++] = rowOfEntry[e];
+        }
+        return grouped;
+    }
+
+    /**
+     * Computes where each vertex's group starts in the grouped listing.
+     *
+     * @param vertexOfEntry The vertex of each entry.
+     * @param entries       The number of entries.
+     * @param vertexCount   The number of distinct vertices.
+     * @return The start of each group, with one extra trailing entry.
+     */
+    @CyclomaticComplexity(3)
+    private static int[] bucketStarts(int[] vertexOfEntry, int entries, int vertexCount) {
+        int[] starts = new int[vertexCount + 1];
+        for (int e = 0; e < entries; e++) {
+            starts[vertexOfEntry[e] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            starts[v + 1] += starts[v];
+        }
+        return starts;
+    }
+
+    /**
+     * Builds the CSR arrays from a buffer of undirected edges, removing duplicates.
+     *
+     * @param properties The properties, indexed by row.
+     * @param edges      The undirected edges between rows.
+     * @return The adjacency graph.
+     */
+    @CyclomaticComplexity(5)
+    private static PropertyAdjacencyGraph fromEdges(List<PropertyPolygon> properties, EdgeBuffer edges) {
+        long[] keys = edges.sortedUniqueKeys();
+        int[] offsets = new int[properties.size() + 1];
+        for (long key : keys) {
+            offsets[(int) (key >>> 32) + 1]++;
+            offsets[(int) key + 1]++;
+        }
+        for (int row = 0; row < properties.size(); row++) {
+            offsets[row + 1] += offsets[row];
+        }
+
+        int[] cursor = Arrays.copyOf(offsets, offsets.length);
+        int[] neighbours = new int[keys.length * 2];
+        for (long key : keys) {
+            int r1 = (int) (key >>> 32);
+            int r2 = (int) key;
+            neighbours[cursor[r1]++] = r2;
+            neighbours[cursor[r2]++] = r1;
+        }
+        for (int row = 0; row < properties.size(); row++) {
+            Arrays.sort(neighbours, offsets[row], offsets[row + 1]);
+        }
+        return new PropertyAdjacencyGraph(properties, offsets, neighbours);
+    }
+
+    /**
+     * Growable buffer of undirected edges between rows, packed as {@code (low << 32) | high}.
+     */
+    private static final class EdgeBuffer {
+        private long[] keys = new long[16];
+        private int size;
+
+        /**
+         * Adds an undirected edge between two rows.
+         *
+         * @param r1 The first row.
+         * @param r2 The second row.
+         */
+        @CyclomaticComplexity(2)
+        void add(int r1, int r2) {
+            if (size == keys.length) keys = Arrays.copyOf(keys, size * 2);
+            keys[size++] = ((long) Math.min(r1, r2) << 32) | Math.max(r1, r2);
+        }
+
+        /**
+         * Sorts the edges and removes duplicates.
+         *
+         * @return The distinct edges in ascending order.
+         */
+        @CyclomaticComplexity(3)
+        long[] sortedUniqueKeys() {
+            Arrays.sort(keys, 0, size);
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (unique == 0 || keys[i] != keys[unique - 1]) keys[unique++] = keys[i];
+            }
+            return Arrays.copyOf(keys, unique);
+        }
+    }
+}
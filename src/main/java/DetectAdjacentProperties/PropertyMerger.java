@@ -5,6 +5,7 @@ import Utils.Annotations.CyclomaticComplexity;
 import Utils.Annotations.Layer;
 import Utils.Enums.LayerType;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -119,21 +120,50 @@ public class PropertyMerger {
 
     /**
      * Merges properties in the same group into a single property.
+     * The outline of the merged property is dissolved with {@link PolygonDissolver}, keeping every vertex a
+     * property outside the group also uses so that adjacency to the rest of the dataset is unchanged; groups
+     * containing a degenerate polygon keep the concatenation of every member's vertices instead.
+     * Members of a group are combined in the order they appear in the property list, so the result
+     * does not depend on the order in which a group was discovered.
      *
      * @param properties A list of PropertyPolygon objects representing the properties to be merged.
      * @param groups A list of lists, where each inner list contains the IDs of properties in the same connected component.
      * @return A list of PropertyPolygon objects after merging adjacent properties.
      */
-    @CyclomaticComplexity(5)
-    private static List<PropertyPolygon> mergeProperties(List<PropertyPolygon> properties, List<List<Integer>> groups) {
+    @CyclomaticComplexity(1)
+    static List<PropertyPolygon> mergeProperties(List<PropertyPolygon> properties, List<List<Integer>> groups) {
+        Map<VertexCoordinate, Integer> vertexUsers = countVertexUsers(properties);
+        return mergeProperties(properties, groups, group -> dissolveGroup(group, vertexUsers));
+    }
+
+    /**
+     * Merges properties in the same group into a single property, taking the outline of each group from the
+     * given dissolve step. Groups whose outline is {@code null} keep the concatenation of every member's
+     * vertices instead.
+     * Members of a group are combined, and passed to the dissolve step, in the order they appear in the
+     * property list.
+     *
+     * @param properties A list of PropertyPolygon objects representing the properties to be merged.
+     * @param groups A list of lists, where each inner list contains the IDs of properties in the same connected component.
+     * @param dissolve Gives the outline of the members of a group, or {@code null} if it cannot be dissolved.
+     * @return A list of PropertyPolygon objects after merging adjacent properties.
+     */
+    @CyclomaticComplexity(7)
+    static List<PropertyPolygon> mergeProperties(List<PropertyPolygon> properties, List<List<Integer>> groups,
+                                                 Function<List<PropertyPolygon>, Polygon> dissolve) {
         Map<Integer, PropertyPolygon> idToProperty = properties.stream()
                 .collect(Collectors.toMap(PropertyPolygon::getObjectId, p -> p));
+        Map<Integer, Integer> idToPosition = new HashMap<>(properties.size() * 2);
+        for (int i = 0; i < properties.size(); i++) {
+            idToPosition.put(properties.get(i).getObjectId(), i);
+        }
 
         Set<Integer> mergedIds = new HashSet<>();
         List<PropertyPolygon> mergedList = new ArrayList<>();
 
         for (List<Integer> group : groups) {
             List<PropertyPolygon> groupProps = group.stream()
+                    .sorted(Comparator.comparing(idToPosition::get))
                     .map(idToProperty::get)
                     .toList();
 
@@ -148,13 +178,15 @@ public class PropertyMerger {
                 allVertices.addAll(prop.getPolygon().getVertices());
             }
 
+            Polygon outline = dissolve.apply(groupProps);
+
             PropertyPolygon merged = new PropertyPolygon(
                     group.stream().min(Integer::compare).orElse(-1),            // Temporary ID for merged property
                     base.getParId(),
                     base.getParNum(),
                     totalLength,
                     totalArea,
-                    new Polygon(allVertices),
+                    outline != null ? outline : new Polygon(allVertices),
                     base.getOwner(),
                     base.getFreguesia(),
                     base.getMunicipio(),
@@ -174,4 +206,51 @@ public class PropertyMerger {
         return mergedList;
     }
 
-}
\ No newline at end of file
+    /**
+     * Dissolves the outline of a group, keeping every vertex a property outside the group also uses.
+     *
+     * @param group       The properties of the group.
+     * @param vertexUsers The number of properties using each vertex, over the properties being merged.
+     * @return The outline of the group, or {@code null} if a member polygon is degenerate.
+     */
+    @CyclomaticComplexity(2)
+    static Polygon dissolveGroup(List<PropertyPolygon> group, Map<VertexCoordinate, Integer> vertexUsers) {
+        List<Polygon> polygons = new ArrayList<>(group.size());
+        for (PropertyPolygon property : group) polygons.add(property.getPolygon());
+        return PolygonDissolver.dissolve(polygons, sharedVertices(group, vertexUsers));
+    }
+
+    /**
+     * Counts the properties using each vertex, counting a property once however often it repeats the vertex.
+     *
+     * @param properties The properties.
+     * @return The number of properties using each vertex.
+     */
+    @CyclomaticComplexity(3)
+    static Map<VertexCoordinate, Integer> countVertexUsers(List<PropertyPolygon> properties) {
+        Map<VertexCoordinate, Integer> users = new HashMap<>();
+        for (PropertyPolygon property : properties) {
+            for (VertexCoordinate vertex : new HashSet<>(property.getPolygon().getVertices())) {
+                users.merge(vertex, 1, Integer::sum);
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Finds the vertices of a group that properties outside the group also use.
+     *
+     * @param group       The properties of the group.
+     * @param vertexUsers The number of properties using each vertex, over the whole dataset.
+     * @return The vertices the group shares with other properties.
+     */
+    @CyclomaticComplexity(4)
+    private static Set<VertexCoordinate> sharedVertices(List<PropertyPolygon> group, Map<VertexCoordinate, Integer> vertexUsers) {
+        Map<VertexCoordinate, Integer> groupUsers = countVertexUsers(group);
+        Set<VertexCoordinate> shared = new HashSet<>();
+        for (Map.Entry<VertexCoordinate, Integer> entry : groupUsers.entrySet()) {
+            if (vertexUsers.getOrDefault(entry.getKey(), 0) > entry.getValue()) shared.add(entry.getKey());
+        }
+        return shared;
+    }
+}
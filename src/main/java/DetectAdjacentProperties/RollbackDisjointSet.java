@@ -0,0 +1,139 @@
+package DetectAdjacentProperties;
+
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.Arrays;
+
+/**
+ * The {@code RollbackDisjointSet} class is a union-find structure over the dense integers {@code 0 .. size - 1}
+ * whose unions can be undone. It uses union by size without path compression, so every {@link #find} takes
+ * O(log n) steps and every union changes a single parent link, which is recorded on a history stack.
+ * {@link #checkpoint()} marks the current state and {@link #rollback(int)} undoes every union made since, in
+ * constant time per union. Instances are not thread-safe.
+ */
+@Layer(LayerType.BACK_END)
+public class RollbackDisjointSet {
+
+    private final int[] parent;
+    private final int[] size;
+    private int[] history = new int[16];
+    private int historySize;
+    private int components;
+
+    /**
+     * Constructs a disjoint set in which every element is its own component.
+     *
+     * @param size The number of elements.
+     */
+    public RollbackDisjointSet(int size) {
+        this.parent = new int[size];
+        this.size = new int[size];
+        this.components = size;
+        for (int i = 0; i < size; i++) {
+            parent[i] = i;
+            this.size[i] = 1;
+        }
+    }
+
+    /**
+     * Finds the representative of the component containing an element.
+     *
+     * @param element The element.
+     * @return The representative of its component.
+     */
+    @CyclomaticComplexity(2)
+    public int find(int element) {
+        while (parent[element] != element) {
+            element = parent[element];
+        }
+        return element;
+    }
+
+    /**
+     * Merges the components of two elements, recording the union so it can be rolled back.
+     *
+     * @param a The first element.
+     * @param b The second element.
+     * @return true if the elements were in different components, false otherwise.
+     */
+    @CyclomaticComplexity(4)
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) return false;
+
+        if (size[rootA] < size[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        components--;
+        if (historySize == history.length) history = Arrays.copyOf(history, historySize * 2);
+        history[historySize++] = rootB;
+        return true;
+    }
+
+    /**
+     * Checks whether two elements belong to the same component.
+     *
+     * @param a The first element.
+     * @param b The second element.
+     * @return true if both elements share a representative, false otherwise.
+     */
+    @CyclomaticComplexity(1)
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * Marks the current state.
+     *
+     * @return The checkpoint to pass to {@link #rollback(int)}.
+     */
+    @CyclomaticComplexity(1)
+    public int checkpoint() {
+        return historySize;
+    }
+
+    /**
+     * Undoes every union made since a checkpoint, most recent first.
+     *
+     * @param checkpoint A checkpoint taken from this set that has not been rolled back past.
+     * @throws IllegalArgumentException if the checkpoint is not within the recorded history.
+     */
+    @CyclomaticComplexity(4)
+    public void rollback(int checkpoint) {
+        if (checkpoint < 0 || checkpoint > historySize) throw new IllegalArgumentException("Invalid checkpoint");
+        while (historySize > checkpoint) {
+            int child = history[--historySize];
+            int root = parent[child];
+            size[root] -= size[child];
+            parent[child] = child;
+            components++;
+        }
+    }
+
+    /**
+     * Gets the number of elements.
+     *
+     * @return The number of elements.
+     */
+    @CyclomaticComplexity(1)
+    public int size() {
+        return parent.length;
+    }
+
+    /**
+     * Gets the number of components.
+     *
+     * @return The number of distinct components.
+     */
+    @CyclomaticComplexity(1)
+    public int componentCount() {
+        return components;
+    }
+}
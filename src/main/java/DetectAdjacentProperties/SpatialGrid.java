@@ -1,5 +1,6 @@
 package DetectAdjacentProperties;
 
+import Models.BoundingBox;
 import Models.PropertyPolygon;
 import Models.VertexCoordinate;
 import Utils.Annotations.CyclomaticComplexity;
@@ -11,41 +12,52 @@ import java.util.*;
 /**
  * The {@code SpatialGrid} class manages a spatial grid for property polygons.
  * It allows for efficient insertion and retrieval of properties based on their spatial location.
- * The grid is divided into cells of a fixed size, and properties are stored in the cell corresponding
- * to their first vertex.
+ * The cell size is chosen from the {@link DatasetStatistics} of the properties so that almost every property fits
+ * in one cell; the few larger properties go to a second, coarser level sized to the largest property.
+ * Properties are stored in the cell corresponding to their first vertex, and cells are kept in sparse hash maps,
+ * so only occupied cells take memory.
  */
 @Layer(LayerType.BACK_END)
 class SpatialGrid {
 
-    private static final int CELL_SIZE = 150;
+    static final double FINE_EXTENT_QUANTILE = 0.95;
+
     private final double minX;
     private final double minY;
-    private final int MAX_GRID_X;
-    private final int MAX_GRID_Y;
-    private final Map<String, List<PropertyPolygon>> grid;
+    private final double cellSize;
+    private final double coarseCellSize;
+    private final Map<Long, List<PropertyPolygon>> grid;
+    private final Map<Long, List<PropertyPolygon>> coarseGrid;
 
     /**
      * Constructs a spatial grid using a list of properties.
-     * It automatically calculates the grid dimensions based on min/max coordinates.
+     * It sizes the cells from a single statistics pass over the properties; without vertices the grid has one cell.
      *
      * @param properties The list of property polygons to be managed by the grid.
      */
     public SpatialGrid(List<PropertyPolygon> properties) {
-        this.grid = new HashMap<>();
-
-        double[] minCoordinates = CoordinateFinder.findMinCoordinates(properties);
-        double[] maxCoordinates = CoordinateFinder.findMaxCoordinates(properties);
-
-        this.minX = minCoordinates[0];
-        this.minY = minCoordinates[1];
-        double maxX = maxCoordinates[0];
-        double maxY = maxCoordinates[1];
-
-        this.MAX_GRID_X = (int) Math.ceil((maxX - minX) / (double) CELL_SIZE);
-        this.MAX_GRID_Y = (int) Math.ceil((maxY - minY) / (double) CELL_SIZE);
-
-        System.out.printf("Grid criada automaticamente com %d colunas e %d linhas.%n", MAX_GRID_X, MAX_GRID_Y);
+        this(DatasetStatistics.compute(properties));
+    }
 
+    /**
+     * Constructs a spatial grid sized from precomputed dataset statistics.
+     *
+     * @param statistics The statistics of the properties that will be inserted.
+     */
+    SpatialGrid(DatasetStatistics statistics) {
+        this.grid = new HashMap<>();
+        this.coarseGrid = new HashMap<>();
+        if (statistics.isEmpty()) {
+            this.minX = 0;
+            this.minY = 0;
+            this.cellSize = Double.POSITIVE_INFINITY;
+            this.coarseCellSize = Double.POSITIVE_INFINITY;
+        } else {
+            this.minX = statistics.getMinX();
+            this.minY = statistics.getMinY();
+            this.cellSize = statistics.getExtentQuantile(FINE_EXTENT_QUANTILE);
+            this.coarseCellSize = Math.max(cellSize, statistics.getExtentQuantile(1.0));
+        }
     }
 
     /**
@@ -57,26 +69,38 @@ class SpatialGrid {
      */
     @CyclomaticComplexity(1)
     String getCellKey(double x, double y) {
-        int gridX = (int) Math.floor((x - minX) / CELL_SIZE);
-        int gridY = (int) Math.floor((y - minY) / CELL_SIZE);
-
-        gridX = Math.max(0, Math.min(gridX, MAX_GRID_X - 1));
-        gridY = Math.max(0, Math.min(gridY, MAX_GRID_Y - 1));
+        long cell = cellOf(x, y, cellSize);
+        return (int) (cell >> 32) + "-" + (int) cell;
+    }
 
-        return gridX + "-" + gridY;
+    /**
+     * Computes the packed cell of a point for a given cell size.
+     *
+     * @param x    The x-coordinate of the point.
+     * @param y    The y-coordinate of the point.
+     * @param size The cell size of the level.
+     * @return The packed cell coordinates.
+     */
+    @CyclomaticComplexity(1)
+    private long cellOf(double x, double y, double size) {
+        return DatasetStatistics.packCell((int) Math.floor((x - minX) / size), (int) Math.floor((y - minY) / size));
     }
 
     /**
      * Inserts a property into the spatial grid by placing it in the cell
-     * corresponding to its first vertex.
+     * corresponding to its first vertex, on the level its extent fits in.
      *
      * @param property The property polygon to be inserted.
      */
-    @CyclomaticComplexity(1)
+    @CyclomaticComplexity(2)
     public void insert(PropertyPolygon property) {
         VertexCoordinate firstVertex = property.getPolygon().getVertices().get(0);
-        String firstCellKey = getCellKey(firstVertex.x(), firstVertex.y());
-        grid.computeIfAbsent(firstCellKey, k -> new ArrayList<>()).add(property);
+        BoundingBox box = property.getPolygon().getBoundingBox();
+        boolean fits = Math.max(box.maxX() - box.minX(), box.maxY() - box.minY()) <= cellSize;
+        double size = fits ? cellSize : coarseCellSize;
+        (fits ? grid : coarseGrid)
+                .computeIfAbsent(cellOf(firstVertex.x(), firstVertex.y(), size), k -> new ArrayList<>())
+                .add(property);
     }
 
     /**
@@ -96,47 +120,55 @@ class SpatialGrid {
 
     /**
      * Retrieves a list of properties that are nearby a given property.
-     * It checks the adjacent cells in the grid to find nearby properties.
+     * It checks, on each level, the cells around every vertex of the property.
      *
      * @param property The property to check for nearby properties.
      * @return A list of nearby properties.
      */
-    @CyclomaticComplexity(8)
+    @CyclomaticComplexity(2)
     public List<PropertyPolygon> getNearbyProperties(PropertyPolygon property) {
         Set<PropertyPolygon> nearby = new HashSet<>();
-        List<String> propertyCells = getPropertyGridCells(property);
-
-        for (String cellKey : propertyCells) {
-            String[] parts = cellKey.split("-");
-            int x = Integer.parseInt(parts[0]);
-            int y = Integer.parseInt(parts[1]);
+        collectNearby(grid, cellSize, property, nearby);
+        if (!coarseGrid.isEmpty()) collectNearby(coarseGrid, coarseCellSize, property, nearby);
+        return new ArrayList<>(nearby);
+    }
 
+    /**
+     * Adds the properties of one level found in the cells around the vertices of a property.
+     *
+     * @param level    The cells of the level.
+     * @param size     The cell size of the level.
+     * @param property The property to check for nearby properties.
+     * @param nearby   The set of nearby properties to add to.
+     */
+    @CyclomaticComplexity(5)
+    private void collectNearby(Map<Long, List<PropertyPolygon>> level, double size, PropertyPolygon property,
+                               Set<PropertyPolygon> nearby) {
+        Set<Long> visited = new HashSet<>();
+        for (VertexCoordinate vertex : property.getPolygon().getVertices()) {
+            long cell = cellOf(vertex.x(), vertex.y(), size);
+            int x = (int) (cell >> 32);
+            int y = (int) cell;
             for (int dx = -1; dx <= 1; dx++) {
                 for (int dy = -1; dy <= 1; dy++) {
-                    int adjX = x + dx;
-                    int adjY = y + dy;
-
-                    if (adjX < 0 || adjX > MAX_GRID_X || adjY < 0 || adjY > MAX_GRID_Y) continue;
-
-                    String adjCellKey = adjX + "-" + adjY;
-                    addPropertiesFromCell(adjCellKey, property, nearby);
+                    long adjacent = DatasetStatistics.packCell(x + dx, y + dy);
+                    if (visited.add(adjacent)) addPropertiesFromCell(level.get(adjacent), property, nearby);
                 }
             }
         }
-        return new ArrayList<>(nearby);
     }
 
     /**
      * Adds properties from a specific cell to the nearby set, excluding the given property.
      *
-     * @param cellKey The key of the cell to check.
+     * @param cell     The properties of the cell, or null if the cell is empty.
      * @param property The property to exclude from the nearby set.
      * @param nearby   The set of nearby properties to add to.
      */
     @CyclomaticComplexity(4)
-    void addPropertiesFromCell(String cellKey, PropertyPolygon property, Set<PropertyPolygon> nearby) {
-        if (grid.containsKey(cellKey)) {
-            for (PropertyPolygon other : grid.get(cellKey)) {
+    void addPropertiesFromCell(List<PropertyPolygon> cell, PropertyPolygon property, Set<PropertyPolygon> nearby) {
+        if (cell != null) {
+            for (PropertyPolygon other : cell) {
                 if (!other.equals(property)) {
                     nearby.add(other);
                 }
@@ -144,4 +176,4 @@ class SpatialGrid {
         }
     }
 
-}
\ No newline at end of file
+}
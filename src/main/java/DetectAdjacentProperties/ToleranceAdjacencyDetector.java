@@ -0,0 +1,212 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+
+/**
+ * The {@code ToleranceAdjacencyDetector} class detects adjacent properties whose shared vertices do not coincide
+ * exactly, as happens with independently digitized neighbouring parcels. Two properties are adjacent when a vertex
+ * of one lies within the snapping tolerance of a vertex of the other.
+ * Vertices are hashed to a grid whose cells are as wide as the tolerance, so any match lies in the same or one of
+ * the eight surrounding cells, and only the vertices found there are compared by distance.
+ */
+@Layer(LayerType.BACK_END)
+public class ToleranceAdjacencyDetector {
+
+    /**
+     * Finds adjacent properties, treating vertices closer than the tolerance as shared.
+     *
+     * @param properties The properties to check for adjacency.
+     * @param tolerance  The largest distance between two vertices considered the same point; must be positive.
+     * @return A list of unique pairs of adjacent properties.
+     * @throws IllegalArgumentException if the tolerance is not positive or too small for the extent of the data.
+     */
+    @CyclomaticComplexity(1)
+    public static List<AdjacentPropertyPair> findAdjacentProperties(List<PropertyPolygon> properties, double tolerance) {
+        return toPairs(properties, findAdjacentRows(properties, tolerance), false);
+    }
+
+    /**
+     * Finds adjacent pairs of valid properties with different owners, treating vertices closer than the tolerance
+     * as shared.
+     *
+     * @param properties The properties to check for adjacency.
+     * @param tolerance  The largest distance between two vertices considered the same point; must be positive.
+     * @return A list of unique pairs of adjacent properties with different owners.
+     * @throws IllegalArgumentException if the tolerance is not positive or too small for the extent of the data.
+     */
+    @CyclomaticComplexity(1)
+    public static List<AdjacentPropertyPair> findValidAdjacentPairs(List<PropertyPolygon> properties, double tolerance) {
+        return toPairs(properties, findAdjacentRows(properties, tolerance), true);
+    }
+
+    /**
+     * Finds the pairs of list positions of properties that have a vertex within the tolerance of each other.
+     *
+     * @param properties The properties to check for adjacency.
+     * @param tolerance  The snapping tolerance.
+     * @return The packed position pairs, in the order they were found.
+     */
+    @CyclomaticComplexity(9)
+    static Set<Long> findAdjacentRows(List<PropertyPolygon> properties, double tolerance) {
+        if (!(tolerance > 0) || Double.isInfinite(tolerance)) {
+            throw new IllegalArgumentException("Snapping tolerance must be a positive number: " + tolerance);
+        }
+        VertexTable table = new VertexTable(properties);
+        int[] cellX = new int[table.size];
+        int[] cellY = new int[table.size];
+        Map<Long, Integer> cellIds = new HashMap<>();
+        int[] cellOfVertex = new int[table.size];
+        for (int v = 0; v < table.size; v++) {
+            cellX[v] = cellIndex(table.xs[v] - table.minX, tolerance);
+            cellY[v] = cellIndex(table.ys[v] - table.minY, tolerance);
+            Integer id = cellIds.putIfAbsent(DatasetStatistics.packCell(cellX[v], cellY[v]), cellIds.size());
+            cellOfVertex[v] = id == null ? cellIds.size() - 1 : id;
+        }
+        int[] cellStarts = new int[cellIds.size() + 1];
+        int[] verticesByCell = groupByCell(cellOfVertex, cellStarts);
+
+        double toleranceSquared = tolerance * tolerance;
+        Set<Long> pairs = new LinkedHashSet<>();
+        for (int v = 0; v < table.size; v++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                for (int dy = -1; dy <= 1; dy++) {
+                    Integer cell = cellIds.get(DatasetStatistics.packCell(cellX[v] + dx, cellY[v] + dy));
+                    if (cell == null) continue;
+                    for (int i = cellStarts[cell]; i < cellStarts[cell + 1]; i++) {
+                        int w = verticesByCell[i];
+                        if (table.rows[v] < table.rows[w] && table.distanceSquared(v, w) <= toleranceSquared) {
+                            pairs.add(AdjacentPropertyPair.pairKey(table.rows[v], table.rows[w]));
+                        }
+                    }
+                }
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Gets the grid index of an offset coordinate.
+     *
+     * @param offset    The distance from the dataset minimum.
+     * @param tolerance The cell size.
+     * @return The cell index.
+     * @throws IllegalArgumentException if the index does not fit the grid.
+     */
+    @CyclomaticComplexity(2)
+    private static int cellIndex(double offset, double tolerance) {
+        double index = Math.floor(offset / tolerance);
+        if (index >= Integer.MAX_VALUE - 1) {
+            throw new IllegalArgumentException("Snapping tolerance " + tolerance + " is too small for the extent of the data");
+        }
+        return (int) index;
+    }
+
+    /**
+     * Sorts vertex numbers by cell with a counting sort.
+     *
+     * @param cellOfVertex The cell of each vertex.
+     * @param cellStarts   Filled with the start of each cell, with one extra trailing entry.
+     * @return The vertex numbers ordered by cell.
+     */
+    @CyclomaticComplexity(4)
+    private static int[] groupByCell(int[] cellOfVertex, int[] cellStarts) {
+        for (int cell : cellOfVertex) cellStarts[cell + 1]++;
+        for (int c = 1; c < cellStarts.length; c++) cellStarts[c] += cellStarts[c - 1];
+        int[] cursor = Arrays.copyOf(cellStarts, cellStarts.length - 1);
+        int[] verticesByCell = new int[cellOfVertex.length];
+        for (int v = 0; v < cellOfVertex.length; v++) {
+            verticesByCell[cursor[cellOfVertex[v]]++] = v;
+        }
+        return verticesByCell;
+    }
+
+    /**
+     * Converts packed position pairs into adjacent pairs, skipping pairs of the same property.
+     *
+     * @param properties  The properties the positions refer to.
+     * @param rowPairs    The packed position pairs.
+     * @param onlyValid   Whether to keep only valid properties with different owners.
+     * @return A list of AdjacentPropertyPair objects.
+     */
+    @CyclomaticComplexity(6)
+    private static List<AdjacentPropertyPair> toPairs(List<PropertyPolygon> properties, Set<Long> rowPairs, boolean onlyValid) {
+        List<AdjacentPropertyPair> pairs = new ArrayList<>(rowPairs.size());
+        for (long key : rowPairs) {
+            PropertyPolygon p1 = properties.get(AdjacentPropertyPair.firstId(key));
+            PropertyPolygon p2 = properties.get(AdjacentPropertyPair.secondId(key));
+            if (p1.equals(p2)) continue;
+            if (onlyValid && (!AdjacencyDetector.isValidProperty(p1) || !AdjacencyDetector.isValidProperty(p2)
+                    || p1.getOwner().equals(p2.getOwner()))) continue;
+            pairs.add(new AdjacentPropertyPair(p1.getObjectId(), p2.getObjectId()));
+        }
+        return pairs;
+    }
+
+    /**
+     * The vertices of all properties flattened into primitive arrays, with the list position of their property.
+     */
+    private static final class VertexTable {
+        private double[] xs = new double[16];
+        private double[] ys = new double[16];
+        private int[] rows = new int[16];
+        private int size;
+        private double minX = Double.POSITIVE_INFINITY;
+        private double minY = Double.POSITIVE_INFINITY;
+
+        /**
+         * Flattens the vertices of the properties, skipping missing polygons and vertices.
+         *
+         * @param properties The properties to flatten.
+         */
+        VertexTable(List<PropertyPolygon> properties) {
+            for (int row = 0; row < properties.size(); row++) {
+                PropertyPolygon property = properties.get(row);
+                if (property == null || property.getPolygon() == null || property.getPolygon().getVertices() == null) continue;
+                for (VertexCoordinate vertex : property.getPolygon().getVertices()) {
+                    if (vertex != null) add(vertex, row);
+                }
+            }
+        }
+
+        /**
+         * Appends a vertex.
+         *
+         * @param vertex The vertex.
+         * @param row    The list position of its property.
+         */
+        @CyclomaticComplexity(2)
+        private void add(VertexCoordinate vertex, int row) {
+            if (size == xs.length) {
+                xs = Arrays.copyOf(xs, size * 2);
+                ys = Arrays.copyOf(ys, size * 2);
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            xs[size] = vertex.x();
+            ys[size] = vertex.y();
+            rows[size] = row;
+            minX = Math.min(minX, vertex.x());
+            minY = Math.min(minY, vertex.y());
+            size++;
+        }
+
+        /**
+         * Gets the squared distance between two vertices.
+         *
+         * @param v The first vertex number.
+         * @param w The second vertex number.
+         * @return The squared distance.
+         */
+        @CyclomaticComplexity(1)
+        double distanceSquared(int v, int w) {
+            double dx = xs[v] - xs[w];
+            double dy = ys[v] - ys[w];
+            return dx * dx + dy * dy;
+        }
+    }
+}
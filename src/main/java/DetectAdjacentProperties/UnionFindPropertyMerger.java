@@ -0,0 +1,143 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code UnionFindPropertyMerger} class merges adjacent properties with the same owner, producing the same
+ * result as {@link PropertyMerger#mergeOwnerAdjacentProperties(List)} in near-linear time.
+ * Properties are addressed by their position in the list, and every vertex shared by two properties of the same
+ * owner joins their components in a {@link DisjointSet}. Large inputs can be split into chunks whose unions are
+ * computed in parallel and then combined.
+ */
+@Layer(LayerType.BACK_END)
+public class UnionFindPropertyMerger {
+
+    static final int PARALLEL_THRESHOLD = 20_000;
+
+    /**
+     * Merges adjacent properties with the same owner, using the parallel union phase for large inputs.
+     *
+     * @param properties A list of PropertyPolygon objects representing the properties to be merged.
+     * @return A list of PropertyPolygon objects after merging adjacent properties.
+     */
+    @CyclomaticComplexity(1)
+    public static List<PropertyPolygon> mergeOwnerAdjacentProperties(List<PropertyPolygon> properties) {
+        return mergeOwnerAdjacentProperties(properties, properties.size() >= PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Merges adjacent properties with the same owner.
+     *
+     * @param properties A list of PropertyPolygon objects representing the properties to be merged.
+     * @param parallel   Whether the union phase should run in parallel.
+     * @return A list of PropertyPolygon objects after merging adjacent properties.
+     */
+    @CyclomaticComplexity(2)
+    public static List<PropertyPolygon> mergeOwnerAdjacentProperties(List<PropertyPolygon> properties, boolean parallel) {
+        DisjointSet components = parallel
+                ? findOwnerComponentsParallel(properties)
+                : findOwnerComponents(properties, 0, properties.size(), new HashMap<>());
+        return PropertyMerger.mergeProperties(properties, toGroups(properties, components));
+    }
+
+    /**
+     * Unions the properties of a range that share a vertex and an owner.
+     * Only the first property seen with each vertex and owner is remembered; every later one is joined to it.
+     *
+     * @param properties The full property list.
+     * @param start      The first position of the range.
+     * @param end        The position after the last one of the range.
+     * @param firstRow   The first position seen for each vertex and owner, updated by this call.
+     * @return A disjoint set over the positions {@code 0 .. end - start - 1} of the range.
+     */
+    @CyclomaticComplexity(4)
+    static DisjointSet findOwnerComponents(List<PropertyPolygon> properties, int start, int end,
+                                           Map<VertexOwner, Integer> firstRow) {
+        DisjointSet components = new DisjointSet(end - start);
+        for (int row = start; row < end; row++) {
+            PropertyPolygon property = properties.get(row);
+            for (VertexCoordinate vertex : property.getPolygon().getVertices()) {
+                Integer first = firstRow.putIfAbsent(new VertexOwner(vertex, property.getOwner()), row);
+                if (first != null) components.union(first - start, row - start);
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Finds the owner components by computing the unions of each chunk in parallel and then joining chunks
+     * that share a vertex and owner.
+     *
+     * @param properties The properties to group.
+     * @return A disjoint set over the positions of the properties.
+     */
+    @CyclomaticComplexity(5)
+    private static DisjointSet findOwnerComponentsParallel(List<PropertyPolygon> properties) {
+        int n = properties.size();
+        int chunks = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), n / 1024));
+        int chunkSize = (n + chunks - 1) / chunks;
+
+        List<Map<VertexOwner, Integer>> firstRows = new ArrayList<>();
+        for (int c = 0; c < chunks; c++) firstRows.add(new HashMap<>());
+        List<DisjointSet> local = IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> findOwnerComponents(properties, Math.min(n, c * chunkSize),
+                        Math.min(n, (c + 1) * chunkSize), firstRows.get(c)))
+                .toList();
+
+        DisjointSet components = new DisjointSet(n);
+        Map<VertexOwner, Integer> globalFirstRow = new HashMap<>();
+        for (int c = 0; c < chunks; c++) {
+            int start = Math.min(n, c * chunkSize);
+            for (int i = 0; i < local.get(c).size(); i++) {
+                components.union(start + i, start + local.get(c).find(i));
+            }
+            for (Map.Entry<VertexOwner, Integer> entry : firstRows.get(c).entrySet()) {
+                Integer first = globalFirstRow.putIfAbsent(entry.getKey(), entry.getValue());
+                if (first != null) components.union(first, entry.getValue());
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Lists the components with more than one property as groups of object IDs.
+     * Groups are ordered by their first property in the list and members keep list order.
+     *
+     * @param properties The properties that were grouped.
+     * @param components The components of the properties.
+     * @return A list of groups of property IDs.
+     */
+    @CyclomaticComplexity(5)
+    static List<List<Integer>> toGroups(List<PropertyPolygon> properties, DisjointSet components) {
+        int[] groupOfRoot = new int[properties.size()];
+        Arrays.fill(groupOfRoot, -1);
+        List<List<Integer>> groups = new ArrayList<>();
+        for (int row = 0; row < properties.size(); row++) {
+            int root = components.find(row);
+            if (groupOfRoot[root] < 0) {
+                groupOfRoot[root] = groups.size();
+                groups.add(new ArrayList<>());
+            }
+            groups.get(groupOfRoot[root]).add(properties.get(row).getObjectId());
+        }
+        groups.removeIf(group -> group.size() < 2);
+        return groups;
+    }
+
+    /**
+     * A vertex together with the owner of a property touching it. Two properties are joined when they
+     * produce equal keys, which mirrors the shared-vertex and same-owner test of {@link PropertyMerger}.
+     *
+     * @param vertex The vertex.
+     * @param owner  The owner of the property.
+     */
+    record VertexOwner(VertexCoordinate vertex, String owner) {
+    }
+}
@@ -0,0 +1,82 @@
+package Models;
+
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+/**
+ * The {@code BoundingBox} record represents an axis-aligned rectangle in the same coordinate space as
+ * {@link VertexCoordinate}. It is used to index and query properties spatially.
+ *
+ * @param minX The smallest X coordinate.
+ * @param minY The smallest Y coordinate.
+ * @param maxX The largest X coordinate.
+ * @param maxY The largest Y coordinate.
+ */
+@Layer(LayerType.BACK_END)
+public record BoundingBox(double minX, double minY, double maxX, double maxY) {
+
+    /**
+     * Constructor to initialize the bounding box, rejecting inverted boxes.
+     *
+     * @param minX The smallest X coordinate.
+     * @param minY The smallest Y coordinate.
+     * @param maxX The largest X coordinate.
+     * @param maxY The largest Y coordinate.
+     */
+    public BoundingBox {
+        if (minX > maxX || minY > maxY) {
+            throw new IllegalArgumentException("Bounding box minimum must not exceed its maximum");
+        }
+    }
+
+    /**
+     * Checks whether this box overlaps another box, including touching edges.
+     *
+     * @param other The other bounding box.
+     * @return true if the boxes share at least one point, false otherwise.
+     */
+    @CyclomaticComplexity(4)
+    public boolean intersects(BoundingBox other) {
+        return minX <= other.maxX && other.minX <= maxX && minY <= other.maxY && other.minY <= maxY;
+    }
+
+    /**
+     * Gets the smallest distance between this box and another box, which is zero when they intersect.
+     *
+     * @param other The other bounding box.
+     * @return The gap distance between the boxes.
+     */
+    @CyclomaticComplexity(1)
+    public double distanceTo(BoundingBox other) {
+        double dx = Math.max(0, Math.max(other.minX - maxX, minX - other.maxX));
+        double dy = Math.max(0, Math.max(other.minY - maxY, minY - other.maxY));
+        return Math.hypot(dx, dy);
+    }
+
+    /**
+     * Gets the smallest distance between this box and a point, which is zero when the point is inside.
+     *
+     * @param x The X coordinate of the point.
+     * @param y The Y coordinate of the point.
+     * @return The distance from the point to the box.
+     */
+    @CyclomaticComplexity(1)
+    public double distanceTo(double x, double y) {
+        double dx = Math.max(0, Math.max(minX - x, x - maxX));
+        double dy = Math.max(0, Math.max(minY - y, y - maxY));
+        return Math.hypot(dx, dy);
+    }
+
+    /**
+     * Gets the smallest box containing this box and another box.
+     *
+     * @param other The other bounding box.
+     * @return The union of both boxes.
+     */
+    @CyclomaticComplexity(1)
+    public BoundingBox union(BoundingBox other) {
+        return new BoundingBox(Math.min(minX, other.minX), Math.min(minY, other.minY),
+                Math.max(maxX, other.maxX), Math.max(maxY, other.maxY));
+    }
+}
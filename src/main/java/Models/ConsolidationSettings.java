@@ -0,0 +1,35 @@
+package Models;
+
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+/**
+ * The {@code ConsolidationSettings} record holds the limits and search budget of a consolidation plan optimization.
+ *
+ * @param maxAreaChange    The largest change of an owner's total area a plan may cause, as a fraction of it.
+ * @param starts           The number of independent searches, run in parallel.
+ * @param iterations       The number of moves each search tries.
+ * @param timeBudgetMillis The time, in milliseconds, after which every search stops early.
+ * @param seed             The seed of the first search; the others use the following seeds.
+ */
+@Layer(LayerType.BACK_END)
+public record ConsolidationSettings(double maxAreaChange, int starts, int iterations, long timeBudgetMillis, long seed) {
+
+    /**
+     * Settings allowing a 10% area change per owner, with one search per available processor.
+     */
+    public static final ConsolidationSettings DEFAULTS = new ConsolidationSettings(0.1,
+            Runtime.getRuntime().availableProcessors(), 200_000, 5_000, 50L);
+
+    /**
+     * Validates the settings.
+     *
+     * @throws IllegalArgumentException if the area change is negative or the starts, iterations or time budget
+     *                                  are not positive.
+     */
+    public ConsolidationSettings {
+        if (!(maxAreaChange >= 0)) throw new IllegalArgumentException("Maximum area change must not be negative");
+        if (starts <= 0 || iterations <= 0) throw new IllegalArgumentException("Starts and iterations must be positive");
+        if (timeBudgetMillis <= 0) throw new IllegalArgumentException("Time budget must be positive");
+    }
+}
@@ -0,0 +1,134 @@
+package Models;
+
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The {@code ExchangeCycle} class represents an exchange among three or more owners arranged in a cycle.
+ * The owner at each position gives its property to the owner at the next position, and the last owner gives
+ * its property to the first one, so every owner gives one property and receives one.
+ * It is scored with the same feasibility, value similarity and equity measures as {@link ExchangeSuggestion}.
+ */
+@Layer(LayerType.BACK_END)
+public class ExchangeCycle {
+    private final List<String> owners;
+    private final int[] propertyIds;
+    private final double[] percentChanges;
+    private final double areafeasibility;
+    private final double valueSimilarity;
+    private final double feability;
+    private final double score;
+
+    /**
+     * Constructor to initialize the ExchangeCycle object.
+     *
+     * @param owners          The owners in cycle order.
+     * @param propertyIds     The ID of the property each owner gives to the next one.
+     * @param percentChanges  The relative area change of each owner.
+     * @param areafeasibility The lowest area feasibility among the owners.
+     * @param valueSimilarity The lowest value similarity among the owners.
+     * @param score           The score for the exchange cycle.
+     */
+    public ExchangeCycle(List<String> owners, int[] propertyIds, double[] percentChanges,
+                         double areafeasibility, double valueSimilarity, double score) {
+        this.owners = List.copyOf(owners);
+        this.propertyIds = propertyIds.clone();
+        this.percentChanges = percentChanges.clone();
+        this.areafeasibility = areafeasibility;
+        this.valueSimilarity = valueSimilarity;
+        this.feability = areafeasibility * valueSimilarity;
+        this.score = score;
+    }
+
+    /**
+     * Gets the number of owners in the cycle.
+     *
+     * @return The cycle length.
+     */
+    @CyclomaticComplexity(1)
+    public int length() { return propertyIds.length; }
+
+    /**
+     * Gets the owners in cycle order.
+     *
+     * @return The owners.
+     */
+    @CyclomaticComplexity(1)
+    public List<String> getOwners() { return owners; }
+
+    /**
+     * Gets the ID of the property an owner gives to the next owner in the cycle.
+     *
+     * @param position The position of the owner.
+     * @return The ID of the given property.
+     */
+    @CyclomaticComplexity(1)
+    public int getPropertyGivenBy(int position) { return propertyIds[position]; }
+
+    /**
+     * Gets the ID of the property an owner receives from the previous owner in the cycle.
+     *
+     * @param position The position of the owner.
+     * @return The ID of the received property.
+     */
+    @CyclomaticComplexity(1)
+    public int getPropertyReceivedBy(int position) { return propertyIds[(position + length() - 1) % length()]; }
+
+    /**
+     * Gets the relative area change of an owner.
+     *
+     * @param position The position of the owner.
+     * @return The area change as a fraction of the area given.
+     */
+    @CyclomaticComplexity(1)
+    public double getPercentChange(int position) { return percentChanges[position]; }
+
+    /**
+     * Gets the lowest area feasibility among the owners.
+     *
+     * @return The area feasibility score.
+     */
+    @CyclomaticComplexity(1)
+    public double getAreafeasibility() { return areafeasibility; }
+
+    /**
+     * Gets the lowest value similarity among the owners.
+     *
+     * @return The value similarity score.
+     */
+    @CyclomaticComplexity(1)
+    public double getValueSimilarity() { return valueSimilarity; }
+
+    /**
+     * Gets the combined feasibility, the product of area feasibility and value similarity.
+     *
+     * @return The feasibility score.
+     */
+    @CyclomaticComplexity(1)
+    public double getFeability() { return feability; }
+
+    /**
+     * Gets the score for the exchange cycle.
+     *
+     * @return The score.
+     */
+    @CyclomaticComplexity(1)
+    public double getScore() { return score; }
+
+    /**
+     * Returns a string representation of the ExchangeCycle object.
+     *
+     * @return A string representation of the ExchangeCycle.
+     */
+    @CyclomaticComplexity(1)
+    @Override
+    public String toString() {
+        return "\nCiclo: " + owners + " | Terrenos: " + Arrays.toString(propertyIds) +
+                " | Viabilidade: " + String.format("%.2f", areafeasibility) +
+                " | Score: " + String.format("%.2f", score);
+    }
+}
@@ -19,6 +19,8 @@ public class ExchangeSuggestion {
 
     private double percentChangeA;
     private double percentChangeB;
+    private int componentChange;
+    private boolean componentChangeComputed;
 
     /**
      * Constructor to initialize the ExchangeSuggestion object.
@@ -130,6 +132,34 @@ public class ExchangeSuggestion {
     @CyclomaticComplexity(1)
     public void setValueSimilarity(double valueSimilarity) { this.valueSimilarity = valueSimilarity;}
 
+    /**
+     * Gets the change in the total number of same-owner components the exchange produces.
+     *
+     * @return The change in component count; negative when the exchange consolidates owners, and 0 when it
+     *         was not computed.
+     */
+    @CyclomaticComplexity(1)
+    public int getComponentChange() { return componentChange; }
+
+    /**
+     * Checks whether the change in the number of same-owner components was computed for the exchange.
+     *
+     * @return true if {@link #setComponentChange(int)} was called, false otherwise.
+     */
+    @CyclomaticComplexity(1)
+    public boolean hasComponentChange() { return componentChangeComputed; }
+
+    /**
+     * Sets the change in the total number of same-owner components the exchange produces.
+     *
+     * @param componentChange The change in component count.
+     */
+    @CyclomaticComplexity(1)
+    public void setComponentChange(int componentChange) {
+        this.componentChange = componentChange;
+        this.componentChangeComputed = true;
+    }
+
     public double getFeability() { return feability; }
     public void setFeability(double feability) { this.feability = feability; }
 
@@ -168,9 +198,20 @@ public class ExchangeSuggestion {
      */
     @CyclomaticComplexity(1)
     public void computeValueSimilarity(PropertyPolygon a, PropertyPolygon b) {
+        computeValueSimilarity(a, b, SuggestionParameters.DEFAULTS);
+    }
+
+    /**
+     * Computes the value similarity between two PropertyPolygon objects with the weights of a configuration.
+     *
+     * @param a          The first PropertyPolygon object.
+     * @param b          The second PropertyPolygon object.
+     * @param parameters The configuration holding the urbanization and tourism weights.
+     */
+    @CyclomaticComplexity(1)
+    public void computeValueSimilarity(PropertyPolygon a, PropertyPolygon b, SuggestionParameters parameters) {
         double urbanDiff = Math.abs(a.getUrbanizationScore() - b.getUrbanizationScore());
         double tourismDiff = Math.abs(a.getTourismScore() - b.getTourismScore());
-        this.valueSimilarity = 0.6 * (1 - urbanDiff) + 0.4 * (1 - tourismDiff);
+        this.valueSimilarity = parameters.urbanizationWeight() * (1 - urbanDiff) + parameters.tourismWeight() * (1 - tourismDiff);
     }
 }
-
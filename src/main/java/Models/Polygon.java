@@ -3,15 +3,19 @@ package Models;
 import Utils.Annotations.CyclomaticComplexity;
 import Utils.Annotations.Layer;
 import Utils.Enums.LayerType;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
  * The {@code Polygon} class represents a geometric shape defined by a list of vertices.
  * It provides methods to access and manipulate the vertices of the polygon.
+ * A polygon built from several closed rings, such as a dissolved outline with a hole or with parts touching at a
+ * single vertex, keeps each ring separately; its vertices are those of every ring in turn.
  */
 @Layer(LayerType.BACK_END)
 public class Polygon {
     private final List<VertexCoordinate> vertices;
+    private final List<List<VertexCoordinate>> rings;
 
     /**
      * Constructor to initialize the polygon with a list of coordinates.
@@ -19,7 +23,35 @@ public class Polygon {
      * @param vertices A list of VertexCoordinate objects representing the vertices of the polygon.
      */
     public Polygon(List<VertexCoordinate> vertices) {
+        this(vertices, null);
+    }
+
+    /**
+     * Constructor to initialize the polygon with its vertices and the rings they are made of.
+     *
+     * @param vertices The vertices of every ring in turn.
+     * @param rings    The rings, or null for a polygon made of a single ring.
+     */
+    private Polygon(List<VertexCoordinate> vertices, List<List<VertexCoordinate>> rings) {
         this.vertices = vertices;
+        this.rings = rings;
+    }
+
+    /**
+     * Creates a polygon made of several closed rings.
+     *
+     * @param rings The rings, each repeating its first vertex at the end.
+     * @return The polygon whose vertices are those of every ring in turn.
+     */
+    @CyclomaticComplexity(2)
+    public static Polygon ofRings(List<List<VertexCoordinate>> rings) {
+        List<VertexCoordinate> vertices = new ArrayList<>();
+        List<List<VertexCoordinate>> copies = new ArrayList<>(rings.size());
+        for (List<VertexCoordinate> ring : rings) {
+            vertices.addAll(ring);
+            copies.add(List.copyOf(ring));
+        }
+        return new Polygon(vertices, List.copyOf(copies));
     }
 
     /**
@@ -32,6 +64,152 @@ public class Polygon {
         return vertices;
     }
 
+    /**
+     * Gets the closed rings of the polygon.
+     *
+     * @return The rings of the polygon; a polygon built from a single list of vertices has that list as its only ring.
+     */
+    @CyclomaticComplexity(3)
+    public List<List<VertexCoordinate>> getRings() {
+        if (rings != null) return rings;
+        return vertices == null ? List.of() : List.of(vertices);
+    }
+
+    /**
+     * Gets the smallest axis-aligned box containing every vertex of the polygon.
+     *
+     * @return The bounding box of the polygon, or null if it has no vertices.
+     */
+    @CyclomaticComplexity(3)
+    public BoundingBox getBoundingBox() {
+        if (vertices == null || vertices.isEmpty()) return null;
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (VertexCoordinate v : vertices) {
+            minX = Math.min(minX, v.x());
+            minY = Math.min(minY, v.y());
+            maxX = Math.max(maxX, v.x());
+            maxY = Math.max(maxY, v.y());
+        }
+        return new BoundingBox(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Gets the centroid of the polygon, computed as the average of its vertices.
+     * The average always lies inside the bounding box, which keeps spatial index bounds valid.
+     *
+     * @return The centroid of the polygon, or null if it has no vertices.
+     */
+    @CyclomaticComplexity(3)
+    public VertexCoordinate getCentroid() {
+        if (vertices == null || vertices.isEmpty()) return null;
+        double sumX = 0, sumY = 0;
+        for (VertexCoordinate v : vertices) {
+            sumX += v.x();
+            sumY += v.y();
+        }
+        return new VertexCoordinate(sumX / vertices.size(), sumY / vertices.size());
+    }
+
+    /**
+     * Gets the smallest distance between this polygon and another polygon, measured between the edges of their
+     * rings. The distance is zero when the polygons touch, their edges cross or one lies inside the other.
+     *
+     * @param other The other polygon.
+     * @return The distance between the polygons, or positive infinity if either has no vertices.
+     */
+    @CyclomaticComplexity(9)
+    public double distanceTo(Polygon other) {
+        if (vertices == null || vertices.isEmpty() || other.vertices == null || other.vertices.isEmpty()) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (contains(other.vertices.get(0)) || other.contains(vertices.get(0))) return 0;
+        double best = Double.POSITIVE_INFINITY;
+        for (List<VertexCoordinate> ring : getRings()) {
+            for (List<VertexCoordinate> otherRing : other.getRings()) {
+                for (int i = 0; i < ring.size(); i++) {
+                    VertexCoordinate a = ring.get(i);
+                    VertexCoordinate b = ring.get((i + 1) % ring.size());
+                    for (int j = 0; j < otherRing.size(); j++) {
+                        best = Math.min(best, segmentDistance(a, b, otherRing.get(j), otherRing.get((j + 1) % otherRing.size())));
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks whether a point lies inside the polygon by the even-odd rule over every ring, so points inside a hole
+     * are outside.
+     *
+     * @param point The point.
+     * @return true if the point is inside the polygon, false otherwise.
+     */
+    @CyclomaticComplexity(6)
+    private boolean contains(VertexCoordinate point) {
+        boolean inside = false;
+        for (List<VertexCoordinate> ring : getRings()) {
+            for (int i = 0, j = ring.size() - 1; i < ring.size(); j = i++) {
+                VertexCoordinate a = ring.get(i);
+                VertexCoordinate b = ring.get(j);
+                if ((a.y() > point.y()) != (b.y() > point.y())
+                        && point.x() < (b.x() - a.x()) * (point.y() - a.y()) / (b.y() - a.y()) + a.x()) {
+                    inside = !inside;
+                }
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Gets the smallest distance between two segments, which is zero when they cross.
+     *
+     * @param a The first end of the first segment.
+     * @param b The second end of the first segment.
+     * @param c The first end of the second segment.
+     * @param d The second end of the second segment.
+     * @return The distance between the segments.
+     */
+    @CyclomaticComplexity(3)
+    private static double segmentDistance(VertexCoordinate a, VertexCoordinate b, VertexCoordinate c, VertexCoordinate d) {
+        if (cross(a, b, c) * cross(a, b, d) < 0 && cross(c, d, a) * cross(c, d, b) < 0) return 0;
+        return Math.min(Math.min(pointSegmentDistance(a, c, d), pointSegmentDistance(b, c, d)),
+                Math.min(pointSegmentDistance(c, a, b), pointSegmentDistance(d, a, b)));
+    }
+
+    /**
+     * Gets the cross product of the vectors from a to b and from a to c, whose sign tells on which side of the line
+     * through a and b the point c lies.
+     *
+     * @param a The origin of both vectors.
+     * @param b The end of the first vector.
+     * @param c The end of the second vector.
+     * @return The cross product.
+     */
+    @CyclomaticComplexity(1)
+    private static double cross(VertexCoordinate a, VertexCoordinate b, VertexCoordinate c) {
+        return (b.x() - a.x()) * (c.y() - a.y()) - (b.y() - a.y()) * (c.x() - a.x());
+    }
+
+    /**
+     * Gets the distance from a point to the closest point of a segment.
+     *
+     * @param p The point.
+     * @param a The first end of the segment.
+     * @param b The second end of the segment.
+     * @return The distance from the point to the segment.
+     */
+    @CyclomaticComplexity(2)
+    private static double pointSegmentDistance(VertexCoordinate p, VertexCoordinate a, VertexCoordinate b) {
+        double dx = b.x() - a.x();
+        double dy = b.y() - a.y();
+        double lengthSquared = dx * dx + dy * dy;
+        double t = lengthSquared == 0 ? 0 : ((p.x() - a.x()) * dx + (p.y() - a.y()) * dy) / lengthSquared;
+        t = Math.max(0, Math.min(1, t));
+        return Math.hypot(p.x() - (a.x() + t * dx), p.y() - (a.y() + t * dy));
+    }
+
     /**
      * Returns a string representation of the polygon as a list of its coordinates.
      *
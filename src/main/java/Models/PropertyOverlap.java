@@ -0,0 +1,16 @@
+package Models;
+
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+/**
+ * The {@code PropertyOverlap} record reports two properties whose interiors overlap, a registry error that also
+ * corrupts adjacency results.
+ *
+ * @param propertyId1 The object ID of the first property.
+ * @param propertyId2 The object ID of the second property.
+ * @param area        The approximate area of the overlap, in the units of the coordinates squared.
+ */
+@Layer(LayerType.BACK_END)
+public record PropertyOverlap(int propertyId1, int propertyId2, double area) {
+}
@@ -0,0 +1,161 @@
+package Models;
+
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.Locale;
+
+/**
+ * The {@code RegionId} record identifies a region of the dataset by its full administrative path, so that
+ * municipalities or parishes sharing a name in different parents remain distinct regions.
+ * Names are compared case-insensitively, as the region filters of {@code PropertyCollector} do,
+ * so they are stored in lower case. The components below the region's level are null.
+ *
+ * @param level        The administrative level of the region.
+ * @param district     The lower-case district name, or null for the whole dataset.
+ * @param municipality The lower-case municipality name, or null above the municipality level.
+ * @param parish       The lower-case parish name, or null above the parish level.
+ */
+@Layer(LayerType.BACK_END)
+public record RegionId(Level level, String district, String municipality, String parish) {
+
+    /**
+     * Constructor to initialize the region, normalising its path.
+     *
+     * @param level        The administrative level of the region.
+     * @param district     The district name; required from the district level down.
+     * @param municipality The municipality name; required from the municipality level down.
+     * @param parish       The parish name; required at the parish level.
+     * @throws IllegalArgumentException if the level, or a name its path requires, is null.
+     */
+    public RegionId {
+        if (level == null) throw new IllegalArgumentException("Region level cannot be null");
+        district = component(level, Level.DISTRICT, district);
+        municipality = component(level, Level.MUNICIPALITY, municipality);
+        parish = component(level, Level.PARISH, parish);
+    }
+
+    /**
+     * Gets the region covering the whole dataset.
+     *
+     * @return The region of all properties.
+     */
+    @CyclomaticComplexity(1)
+    public static RegionId all() {
+        return new RegionId(Level.ALL, null, null, null);
+    }
+
+    /**
+     * Gets a district.
+     *
+     * @param district The district name.
+     * @return The district region.
+     */
+    @CyclomaticComplexity(1)
+    public static RegionId district(String district) {
+        return new RegionId(Level.DISTRICT, district, null, null);
+    }
+
+    /**
+     * Gets a municipality within its district.
+     *
+     * @param district     The district name.
+     * @param municipality The municipality name.
+     * @return The municipality region.
+     */
+    @CyclomaticComplexity(1)
+    public static RegionId municipality(String district, String municipality) {
+        return new RegionId(Level.MUNICIPALITY, district, municipality, null);
+    }
+
+    /**
+     * Gets a parish within its municipality and district.
+     *
+     * @param district     The district name.
+     * @param municipality The municipality name.
+     * @param parish       The parish name.
+     * @return The parish region.
+     */
+    @CyclomaticComplexity(1)
+    public static RegionId parish(String district, String municipality, String parish) {
+        return new RegionId(Level.PARISH, district, municipality, parish);
+    }
+
+    /**
+     * Gets the region selected by the filters of the main window.
+     *
+     * @param filterType   The filter type, "District", "Municipality" or "Parish", or null for no filter.
+     * @param district     The selected district name.
+     * @param municipality The selected municipality name.
+     * @param parish       The selected parish name.
+     * @return The region, or null if the filter does not select a complete region path.
+     */
+    @CyclomaticComplexity(8)
+    public static RegionId fromFilter(String filterType, String district, String municipality, String parish) {
+        if (filterType == null) return all();
+        Level level = switch (filterType) {
+            case "District" -> Level.DISTRICT;
+            case "Municipality" -> Level.MUNICIPALITY;
+            case "Parish" -> Level.PARISH;
+            default -> null;
+        };
+        if (level == null || district == null) return null;
+        if (level != Level.DISTRICT && municipality == null) return null;
+        if (level == Level.PARISH && parish == null) return null;
+        return new RegionId(level, district, municipality, parish);
+    }
+
+    /**
+     * Gets the region containing a property at a level.
+     *
+     * @param level    The administrative level.
+     * @param property The property.
+     * @return The region of the property, or null if the property lacks a name its path requires.
+     */
+    @CyclomaticComplexity(5)
+    public static RegionId of(Level level, PropertyPolygon property) {
+        if (level == Level.ALL) return all();
+        if (property.getIlha() == null) return null;
+        if (level != Level.DISTRICT && property.getMunicipio() == null) return null;
+        if (level == Level.PARISH && property.getFreguesia() == null) return null;
+        return new RegionId(level, property.getIlha(), property.getMunicipio(), property.getFreguesia());
+    }
+
+    /**
+     * Checks whether a property lies in this region.
+     *
+     * @param property The property to check.
+     * @return true if the property belongs to the region, false otherwise.
+     */
+    @CyclomaticComplexity(1)
+    public boolean contains(PropertyPolygon property) {
+        return equals(of(level, property));
+    }
+
+    /**
+     * Normalises one component of a region path.
+     *
+     * @param level     The level of the region.
+     * @param component The level the component names.
+     * @param name      The name given for the component.
+     * @return The lower-case name, or null if the component lies below the region's level.
+     * @throws IllegalArgumentException if the component is required but null.
+     */
+    @CyclomaticComplexity(3)
+    private static String component(Level level, Level component, String name) {
+        if (level.compareTo(component) < 0) return null;
+        if (name == null) throw new IllegalArgumentException("Region " + component.name().toLowerCase(Locale.ROOT) + " cannot be null");
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * The administrative levels a region can be defined at, from the widest to the narrowest.
+     */
+    public enum Level {
+        ALL,
+        DISTRICT,
+        MUNICIPALITY,
+        PARISH
+    }
+}
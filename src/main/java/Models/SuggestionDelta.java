@@ -0,0 +1,28 @@
+package Models;
+
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.List;
+
+/**
+ * The {@code SuggestionDelta} record describes how the exchange suggestions changed after an update:
+ * the suggestions that no longer apply and the ones that replace or join them.
+ *
+ * @param added   The suggestions that became available.
+ * @param removed The suggestions that are no longer valid.
+ */
+@Layer(LayerType.BACK_END)
+public record SuggestionDelta(List<ExchangeSuggestion> added, List<ExchangeSuggestion> removed) {
+
+    /**
+     * Checks whether the update changed any suggestion.
+     *
+     * @return true if nothing was added or removed, false otherwise.
+     */
+    @CyclomaticComplexity(2)
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty();
+    }
+}
@@ -0,0 +1,44 @@
+package Models;
+
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.List;
+
+/**
+ * The {@code SuggestionPage} record holds one page of exchange suggestions in ranked order, with the cursor
+ * needed to request the page after it.
+ *
+ * @param suggestions The suggestions of the page, best first.
+ * @param cursor      The rank of the first suggestion of the page.
+ * @param nextCursor  The cursor of the next page, or -1 if this is the last one.
+ */
+@Layer(LayerType.BACK_END)
+public record SuggestionPage(List<ExchangeSuggestion> suggestions, int cursor, int nextCursor) {
+
+    /**
+     * Creates a page from a list already in ranked order.
+     *
+     * @param ranked   The ranked suggestions.
+     * @param cursor   The rank of the first suggestion of the page.
+     * @param pageSize The maximum number of suggestions of the page.
+     * @return The page.
+     */
+    @CyclomaticComplexity(2)
+    public static SuggestionPage of(List<ExchangeSuggestion> ranked, int cursor, int pageSize) {
+        int from = Math.min(cursor, ranked.size());
+        int to = from + Math.min(pageSize, ranked.size() - from);
+        return new SuggestionPage(List.copyOf(ranked.subList(from, to)), cursor, to < ranked.size() ? to : -1);
+    }
+
+    /**
+     * Checks whether there are suggestions after this page.
+     *
+     * @return true if a next page exists, false otherwise.
+     */
+    @CyclomaticComplexity(1)
+    public boolean hasMore() {
+        return nextCursor >= 0;
+    }
+}
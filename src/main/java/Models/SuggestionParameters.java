@@ -0,0 +1,38 @@
+package Models;
+
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+/**
+ * The {@code SuggestionParameters} record holds the thresholds and weights used to score exchange suggestions.
+ *
+ * @param minAreaFeasibility  The lowest area feasibility an exchange may have to be suggested.
+ * @param urbanizationWeight  The weight of the urbanization similarity in the value similarity.
+ * @param tourismWeight       The weight of the tourism similarity in the value similarity.
+ * @param referenceArea       The mean area, in square metres, from which an exchange is no longer discounted for size.
+ */
+@Layer(LayerType.BACK_END)
+public record SuggestionParameters(double minAreaFeasibility, double urbanizationWeight, double tourismWeight,
+                                   double referenceArea) {
+
+    /**
+     * The parameters the suggestions have always been generated with.
+     */
+    public static final SuggestionParameters DEFAULTS = new SuggestionParameters(0.85, 0.6, 0.4, 1000.0);
+
+    /**
+     * Validates the parameters.
+     *
+     * @throws IllegalArgumentException if the feasibility is outside [0, 1], a weight is negative or the
+     *                                  reference area is not positive.
+     */
+    public SuggestionParameters {
+        if (!(minAreaFeasibility >= 0 && minAreaFeasibility <= 1)) {
+            throw new IllegalArgumentException("Minimum area feasibility must be between 0 and 1");
+        }
+        if (!(urbanizationWeight >= 0) || !(tourismWeight >= 0)) {
+            throw new IllegalArgumentException("Value similarity weights must not be negative");
+        }
+        if (!(referenceArea > 0)) throw new IllegalArgumentException("Reference area must be positive");
+    }
+}
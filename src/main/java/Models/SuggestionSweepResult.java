@@ -0,0 +1,22 @@
+package Models;
+
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+/**
+ * The {@code SuggestionSweepResult} record summarises the suggestions one configuration of
+ * {@link SuggestionParameters} produces: how many there are and how their scores are distributed.
+ * The score statistics are 0 when there are no suggestions.
+ *
+ * @param parameters      The configuration evaluated.
+ * @param suggestionCount The number of suggestions.
+ * @param minScore        The lowest score.
+ * @param medianScore     The median score.
+ * @param p90Score        The 90th percentile score.
+ * @param maxScore        The highest score.
+ * @param meanScore       The mean score.
+ */
+@Layer(LayerType.BACK_END)
+public record SuggestionSweepResult(SuggestionParameters parameters, int suggestionCount, double minScore,
+                                    double medianScore, double p90Score, double maxScore, double meanScore) {
+}
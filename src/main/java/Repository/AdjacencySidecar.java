@@ -0,0 +1,206 @@
+package Repository;
+
+import DetectAdjacentProperties.PropertyAdjacencyGraph;
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * The {@code AdjacencySidecar} class persists the adjacency graph of a dataset in a binary file stored next to it,
+ * so that later loads of the same dataset can skip adjacency detection.
+ * The file holds a header with a format version and a content hash of the geometry, followed by the row object IDs
+ * and the CSR arrays of the graph. A sidecar whose hash or rows no longer match the dataset is deleted and rebuilt.
+ */
+@Layer(LayerType.BACK_END)
+public class AdjacencySidecar {
+
+    public static final String EXTENSION = ".adj";
+
+    static final int MAGIC = 0x5041444A;
+    static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 4 + 4;
+
+    /**
+     * Gets the path of the sidecar file of a dataset.
+     *
+     * @param datasetPath The path of the dataset CSV file.
+     * @return The path of its sidecar file.
+     */
+    @CyclomaticComplexity(1)
+    public static Path sidecarPath(String datasetPath) {
+        return Path.of(datasetPath + EXTENSION);
+    }
+
+    /**
+     * Loads the adjacency graph of a dataset from its sidecar, or detects it and writes a new sidecar
+     * when none exists or the existing one is stale.
+     *
+     * @param datasetPath The path of the dataset CSV file.
+     * @param properties  The properties parsed from the dataset, in row order.
+     * @return The adjacency graph of the properties.
+     */
+    @CyclomaticComplexity(2)
+    public static PropertyAdjacencyGraph loadOrBuild(String datasetPath, List<PropertyPolygon> properties) {
+        Path path = sidecarPath(datasetPath);
+        long hash = geometryHash(properties);
+        PropertyAdjacencyGraph graph = read(path, properties, hash);
+        if (graph == null) {
+            graph = PropertyAdjacencyGraph.fromProperties(properties);
+            write(path, hash, graph);
+        }
+        return graph;
+    }
+
+    /**
+     * Computes a 64-bit hash of the object IDs and vertex coordinates of the properties, in row order.
+     *
+     * @param properties The properties to hash.
+     * @return The content hash of the geometry.
+     */
+    @CyclomaticComplexity(3)
+    public static long geometryHash(List<PropertyPolygon> properties) {
+        long hash = mix(properties.size());
+        for (PropertyPolygon property : properties) {
+            hash = mix(hash ^ property.getObjectId());
+            List<VertexCoordinate> vertices = property.getPolygon().getVertices();
+            hash = mix(hash ^ vertices.size());
+            for (VertexCoordinate vertex : vertices) {
+                hash = mix(hash ^ Double.doubleToLongBits(vertex.x()));
+                hash = mix(hash ^ Double.doubleToLongBits(vertex.y()));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Reads a sidecar by memory-mapping it. A sidecar that does not match the properties is deleted.
+     *
+     * @param path       The path of the sidecar file.
+     * @param properties The properties the graph should describe, in row order.
+     * @param hash       The expected geometry hash.
+     * @return The adjacency graph, or null if the sidecar is missing or stale.
+     */
+    @CyclomaticComplexity(4)
+    static PropertyAdjacencyGraph read(Path path, List<PropertyPolygon> properties, long hash) {
+        if (!Files.isRegularFile(path)) return null;
+
+        PropertyAdjacencyGraph graph = null;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            graph = decode(buffer, properties, hash);
+        } catch (IOException | IllegalArgumentException e) {
+            CsvLogger.logError("Could not read adjacency sidecar " + path + ": " + e.getMessage());
+        }
+        if (graph == null) discard(path);
+        return graph;
+    }
+
+    /**
+     * Decodes the contents of a sidecar and checks them against the properties.
+     *
+     * @param buffer     The sidecar contents.
+     * @param properties The properties the graph should describe, in row order.
+     * @param hash       The expected geometry hash.
+     * @return The adjacency graph, or null if the contents do not match.
+     */
+    @CyclomaticComplexity(9)
+    private static PropertyAdjacencyGraph decode(ByteBuffer buffer, List<PropertyPolygon> properties, long hash) {
+        if (buffer.capacity() < HEADER_BYTES) return null;
+        if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getLong() != hash) return null;
+
+        int rowCount = buffer.getInt();
+        int neighbourCount = buffer.getInt();
+        if (rowCount != properties.size() || neighbourCount < 0) return null;
+        if (buffer.remaining() != 4L * (rowCount + rowCount + 1 + (long) neighbourCount)) return null;
+
+        IntBuffer ints = buffer.asIntBuffer();
+        for (PropertyPolygon property : properties) {
+            if (ints.get() != property.getObjectId()) return null;
+        }
+        int[] offsets = new int[rowCount + 1];
+        int[] neighbours = new int[neighbourCount];
+        ints.get(offsets);
+        ints.get(neighbours);
+        return PropertyAdjacencyGraph.fromCsr(properties, offsets, neighbours);
+    }
+
+    /**
+     * Writes a sidecar through a temporary file that is moved into place, so that readers never see a partial file.
+     * Failures are logged and otherwise ignored, since the sidecar is only a cache.
+     *
+     * @param path  The path of the sidecar file.
+     * @param hash  The geometry hash of the properties.
+     * @param graph The adjacency graph to persist.
+     */
+    @CyclomaticComplexity(3)
+    static void write(Path path, long hash, PropertyAdjacencyGraph graph) {
+        int[] offsets = graph.getOffsets();
+        int[] neighbours = graph.getNeighbours();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 4 * (graph.size() + offsets.length + neighbours.length));
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(hash).putInt(graph.size()).putInt(neighbours.length);
+        for (PropertyPolygon property : graph.getProperties()) {
+            buffer.putInt(property.getObjectId());
+        }
+        IntBuffer ints = buffer.asIntBuffer();
+        ints.put(offsets);
+        ints.put(neighbours);
+        buffer.rewind();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        } catch (IOException e) {
+            CsvLogger.logError("Could not write adjacency sidecar " + path + ": " + e.getMessage());
+            discard(temp);
+            return;
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            CsvLogger.logError("Could not write adjacency sidecar " + path + ": " + e.getMessage());
+            discard(temp);
+        }
+    }
+
+    /**
+     * Deletes a sidecar file, logging any failure.
+     *
+     * @param path The path of the file to delete.
+     */
+    @CyclomaticComplexity(2)
+    private static void discard(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            CsvLogger.logError("Could not delete adjacency sidecar " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Scrambles the bits of a value so that similar inputs produce unrelated hashes.
+     *
+     * @param value The value to scramble.
+     * @return The mixed value.
+     */
+    @CyclomaticComplexity(1)
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
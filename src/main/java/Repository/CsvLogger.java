@@ -9,6 +9,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 
 /**
  * The {@code CsvLogger} class provides methods to log messages to a CSV file.
@@ -45,6 +46,23 @@ public class CsvLogger {
         }
     }
 
+    /**
+     * Logs several error messages to the log file with a single write, all with the same timestamp.
+     *
+     * @param messages the error messages to log
+     */
+    @CyclomaticComplexity(3)
+    public static void logErrors(Collection<String> messages) {
+        String timestamp = getTimestamp();
+        try (FileWriter writer = new FileWriter("csv_errors.log", true)) {
+            for (String message : messages) {
+                writer.write("[" + timestamp + "] " + message + "\n");
+            }
+        } catch (IOException e) {
+            logger.error(String.valueOf(e));
+        }
+    }
+
     /**
      * Logs the start of the process with a timestamp.
      */
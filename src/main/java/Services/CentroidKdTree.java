@@ -0,0 +1,286 @@
+package Services;
+
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * The {@code CentroidKdTree} class is a static two-dimensional kd-tree over the centroids of properties.
+ * The tree is stored implicitly in primitive arrays: the node of a range is its middle element, which splits the
+ * range on X at even depths and on Y at odd depths. Properties are identified by their position in the list the
+ * tree was built from. Nearest-neighbour queries keep a bounded heap of the best matches, so their work depends on
+ * the number of neighbours asked for rather than on the size of the dataset.
+ */
+@Layer(LayerType.BACK_END)
+public class CentroidKdTree {
+
+    private final double[] xs;
+    private final double[] ys;
+    private final int[] rows;
+
+    /**
+     * Constructs a kd-tree over the centroids of the properties. Properties without vertices are not indexed.
+     *
+     * @param properties The properties to index.
+     */
+    public CentroidKdTree(List<PropertyPolygon> properties) {
+        double[] x = new double[properties.size()];
+        double[] y = new double[properties.size()];
+        int[] r = new int[properties.size()];
+        int size = 0;
+        for (int row = 0; row < properties.size(); row++) {
+            PropertyPolygon property = properties.get(row);
+            VertexCoordinate centroid = property.getPolygon() == null ? null : property.getPolygon().getCentroid();
+            if (centroid == null) continue;
+            x[size] = centroid.x();
+            y[size] = centroid.y();
+            r[size] = row;
+            size++;
+        }
+        this.xs = Arrays.copyOf(x, size);
+        this.ys = Arrays.copyOf(y, size);
+        this.rows = Arrays.copyOf(r, size);
+        build(0, size, 0);
+    }
+
+    /**
+     * Gets the number of indexed properties.
+     *
+     * @return The number of properties with a centroid.
+     */
+    @CyclomaticComplexity(1)
+    public int size() {
+        return rows.length;
+    }
+
+    /**
+     * Finds up to {@code k} properties nearest to a point, within a radius, that satisfy a filter.
+     *
+     * @param x      The X coordinate of the point.
+     * @param y      The Y coordinate of the point.
+     * @param k      The maximum number of properties to return.
+     * @param radius The maximum centroid distance; use positive infinity for no limit.
+     * @param filter Accepts the list positions of the properties that may be returned.
+     * @return The list positions of the matching properties, nearest first.
+     */
+    @CyclomaticComplexity(3)
+    public int[] nearest(double x, double y, int k, double radius, IntPredicate filter) {
+        if (k <= 0 || rows.length == 0) return new int[0];
+        NeighbourHeap heap = new NeighbourHeap(k);
+        search(0, rows.length, 0, x, y, radius * radius, filter, heap);
+        return heap.sortedRows();
+    }
+
+    /**
+     * Orders a range of the arrays into a kd-tree, recursing on both halves of its median.
+     *
+     * @param from  The first index of the range.
+     * @param to    The index after the range.
+     * @param depth The depth of the range in the tree.
+     */
+    @CyclomaticComplexity(2)
+    private void build(int from, int to, int depth) {
+        if (to - from <= 1) return;
+        int middle = (from + to) >>> 1;
+        select(from, to - 1, middle, depth % 2 == 0);
+        build(from, middle, depth + 1);
+        build(middle + 1, to, depth + 1);
+    }
+
+    /**
+     * Rearranges a range so that the element at {@code target} is the one a sort on the axis would put there,
+     * with smaller or equal elements before it and larger or equal elements after it.
+     *
+     * @param low    The first index of the range.
+     * @param high   The last index of the range.
+     * @param target The index to place.
+     * @param onX    Whether to compare X coordinates rather than Y.
+     */
+    @CyclomaticComplexity(7)
+    private void select(int low, int high, int target, boolean onX) {
+        double[] keys = onX ? xs : ys;
+        while (low < high) {
+            double pivot = keys[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (keys[i] < pivot) i++;
+                while (keys[j] > pivot) j--;
+                if (i <= j) swap(i++, j--);
+            }
+            if (target <= j) high = j;
+            else if (target >= i) low = i;
+            else return;
+        }
+    }
+
+    /**
+     * Swaps two entries of the arrays.
+     *
+     * @param a The first index.
+     * @param b The second index.
+     */
+    @CyclomaticComplexity(1)
+    private void swap(int a, int b) {
+        double x = xs[a];
+        xs[a] = xs[b];
+        xs[b] = x;
+        double y = ys[a];
+        ys[a] = ys[b];
+        ys[b] = y;
+        int row = rows[a];
+        rows[a] = rows[b];
+        rows[b] = row;
+    }
+
+    /**
+     * Searches a subtree, visiting the side of the split containing the point first and the other side only if
+     * it can still hold a closer match.
+     *
+     * @param from          The first index of the subtree.
+     * @param to            The index after the subtree.
+     * @param depth         The depth of the subtree.
+     * @param x             The X coordinate of the point.
+     * @param y             The Y coordinate of the point.
+     * @param radiusSquared The squared search radius.
+     * @param filter        Accepts the list positions that may be returned.
+     * @param heap          The best matches found so far.
+     */
+    @CyclomaticComplexity(6)
+    private void search(int from, int to, int depth, double x, double y, double radiusSquared, IntPredicate filter,
+                        NeighbourHeap heap) {
+        if (from >= to) return;
+        int middle = (from + to) >>> 1;
+        double dx = xs[middle] - x;
+        double dy = ys[middle] - y;
+        double distanceSquared = dx * dx + dy * dy;
+        if (distanceSquared <= radiusSquared && filter.test(rows[middle])) heap.offer(rows[middle], distanceSquared);
+
+        double split = depth % 2 == 0 ? dx : dy;
+        boolean leftFirst = split > 0;
+        search(leftFirst ? from : middle + 1, leftFirst ? middle : to, depth + 1, x, y, radiusSquared, filter, heap);
+        if (split * split <= Math.min(radiusSquared, heap.bound())) {
+            search(leftFirst ? middle + 1 : from, leftFirst ? to : middle, depth + 1, x, y, radiusSquared, filter, heap);
+        }
+    }
+
+    /**
+     * A bounded max-heap of the nearest matches, keyed by squared distance.
+     */
+    private static final class NeighbourHeap {
+        private final int[] rows;
+        private final double[] distances;
+        private int size;
+
+        /**
+         * Constructs an empty heap.
+         *
+         * @param capacity The number of matches to keep.
+         */
+        NeighbourHeap(int capacity) {
+            this.rows = new int[capacity];
+            this.distances = new double[capacity];
+        }
+
+        /**
+         * Gets the squared distance a new match must not exceed to enter the heap.
+         *
+         * @return The distance of the farthest kept match when full, positive infinity otherwise.
+         */
+        @CyclomaticComplexity(2)
+        double bound() {
+            return size < rows.length ? Double.POSITIVE_INFINITY : distances[0];
+        }
+
+        /**
+         * Adds a match, replacing the farthest one when full.
+         *
+         * @param row             The list position of the property.
+         * @param distanceSquared Its squared distance.
+         */
+        @CyclomaticComplexity(3)
+        void offer(int row, double distanceSquared) {
+            if (size < rows.length) {
+                rows[size] = row;
+                distances[size] = distanceSquared;
+                siftUp(size++);
+            } else if (distanceSquared < distances[0]) {
+                rows[0] = row;
+                distances[0] = distanceSquared;
+                siftDown(0);
+            }
+        }
+
+        /**
+         * Gets the kept matches, nearest first.
+         *
+         * @return The list positions of the matches.
+         */
+        @CyclomaticComplexity(2)
+        int[] sortedRows() {
+            int[] result = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                result[i] = rows[0];
+                rows[0] = rows[size - 1];
+                distances[0] = distances[size - 1];
+                size--;
+                siftDown(0);
+            }
+            return result;
+        }
+
+        /**
+         * Moves an entry up until its parent is not nearer.
+         *
+         * @param index The index of the entry.
+         */
+        @CyclomaticComplexity(2)
+        private void siftUp(int index) {
+            while (index > 0 && distances[(index - 1) / 2] < distances[index]) {
+                swap(index, (index - 1) / 2);
+                index = (index - 1) / 2;
+            }
+        }
+
+        /**
+         * Moves an entry down until no child is farther.
+         *
+         * @param index The index of the entry.
+         */
+        @CyclomaticComplexity(5)
+        private void siftDown(int index) {
+            while (true) {
+                int largest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && distances[left] > distances[largest]) largest = left;
+                if (right < size && distances[right] > distances[largest]) largest = right;
+                if (largest == index) return;
+                swap(index, largest);
+                index = largest;
+            }
+        }
+
+        /**
+         * Swaps two entries.
+         *
+         * @param a The first index.
+         * @param b The second index.
+         */
+        @CyclomaticComplexity(1)
+        private void swap(int a, int b) {
+            int row = rows[a];
+            rows[a] = rows[b];
+            rows[b] = row;
+            double distance = distances[a];
+            distances[a] = distances[b];
+            distances[b] = distance;
+        }
+    }
+}
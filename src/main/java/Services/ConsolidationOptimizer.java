@@ -0,0 +1,402 @@
+package Services;
+
+import DetectAdjacentProperties.AdjacentPropertyPair;
+import DetectAdjacentProperties.PropertyAdjacencyGraph;
+import Models.ConsolidationSettings;
+import Models.ExchangeSuggestion;
+import Models.PropertyPolygon;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code ConsolidationOptimizer} class builds a whole land consolidation plan: a set of exchanges that together
+ * minimize the fragmentation of owners, the total number of disconnected clusters of adjacent properties they hold.
+ * The candidate exchanges are the adjacent pairs of valid properties with different owners, and a plan uses each
+ * property at most once, so its owner assignment does not depend on the order of its exchanges.
+ * The plan is searched by simulated annealing: a move adds or removes one exchange, and is only tried when every
+ * owner's total area stays within the allowed change of its current area. The change in the number of components
+ * of a move is computed exactly by searching the owner clusters around the two properties, stopping once all of
+ * their same-owner neighbours have been reached. Independent searches with different seeds run in parallel until
+ * their iterations or the time budget run out, and the plan with the fewest components is kept.
+ */
+@Layer(LayerType.BACK_END)
+public class ConsolidationOptimizer {
+
+    private static final double INITIAL_TEMPERATURE = 2.0;
+    private static final double FINAL_TEMPERATURE = 0.05;
+    private static final int DEADLINE_CHECK_MASK = 1023;
+
+    /**
+     * Optimizes a consolidation plan with the default settings.
+     *
+     * @param graph The adjacency graph of the properties, with their current owners.
+     * @return The exchanges of the best plan found.
+     */
+    @CyclomaticComplexity(1)
+    public static List<ExchangeSuggestion> optimize(PropertyAdjacencyGraph graph) {
+        return optimize(graph, ConsolidationSettings.DEFAULTS);
+    }
+
+    /**
+     * Optimizes a consolidation plan.
+     *
+     * @param graph    The adjacency graph of the properties, with their current owners.
+     * @param settings The area change limit and search budget.
+     * @return The exchanges of the best plan found, the largest reduction in components first. Each carries its
+     *         area feasibility, value similarity, the area change of both owners and its own component change.
+     */
+    @CyclomaticComplexity(2)
+    public static List<ExchangeSuggestion> optimize(PropertyAdjacencyGraph graph, ConsolidationSettings settings) {
+        Problem problem = new Problem(graph, settings);
+        if (problem.candidateCount() == 0) return new ArrayList<>();
+        long deadline = System.nanoTime() + settings.timeBudgetMillis() * 1_000_000L;
+
+        Plan best = IntStream.range(0, settings.starts()).parallel()
+                .mapToObj(start -> new Annealer(problem, settings.seed() + start).run(settings.iterations(), deadline))
+                .min(Comparator.comparingInt(Plan::components).thenComparingInt(plan -> plan.candidates().length))
+                .orElseThrow();
+
+        List<ExchangeSuggestion> plan = new ArrayList<>(best.candidates().length);
+        for (int candidate : best.candidates()) plan.add(problem.toSuggestion(candidate));
+        return new ConsolidationScorer(graph).rankByConsolidation(plan);
+    }
+
+    /**
+     * Gets the number of same-owner components after carrying out a plan.
+     *
+     * @param graph The adjacency graph of the properties, with their current owners.
+     * @param plan  The exchanges of the plan, using each property at most once.
+     * @return The number of components over all owners.
+     */
+    @CyclomaticComplexity(2)
+    public static int componentCountAfter(PropertyAdjacencyGraph graph, List<ExchangeSuggestion> plan) {
+        Problem problem = new Problem(graph, ConsolidationSettings.DEFAULTS);
+        Annealer state = new Annealer(problem, 0);
+        for (ExchangeSuggestion exchange : plan) {
+            state.components += state.swapOwners(graph.rowOf(exchange.getPropertyFromA()), graph.rowOf(exchange.getPropertyFromB()));
+        }
+        return state.components;
+    }
+
+    /**
+     * A plan found by a search.
+     *
+     * @param components The number of components after the plan.
+     * @param candidates The candidates of the plan.
+     */
+    private record Plan(int components, int[] candidates) {
+    }
+
+    /**
+     * The immutable data shared by every search: the graph, the current owners and areas, and the candidates.
+     */
+    private static final class Problem {
+        private final PropertyAdjacencyGraph graph;
+        private final int[] offsets;
+        private final int[] neighbours;
+        private final int[] owners;
+        private final double[] areas;
+        private final double[] ownerAreas;
+        private final double maxAreaChange;
+        private final int[] candidateA;
+        private final int[] candidateB;
+        private final int components;
+
+        /**
+         * Prepares the problem.
+         *
+         * @param graph    The adjacency graph of the properties.
+         * @param settings The settings of the optimization.
+         */
+        Problem(PropertyAdjacencyGraph graph, ConsolidationSettings settings) {
+            this.graph = graph;
+            this.offsets = graph.getOffsets();
+            this.neighbours = graph.getNeighbours();
+            this.owners = new int[graph.size()];
+            this.areas = new double[graph.size()];
+            Map<String, Integer> ownerCodes = new HashMap<>();
+            for (int row = 0; row < graph.size(); row++) {
+                owners[row] = ownerCodes.computeIfAbsent(graph.getProperty(row).getOwner(), owner -> ownerCodes.size());
+                areas[row] = graph.getProperty(row).getShapeArea();
+            }
+            this.ownerAreas = new double[ownerCodes.size()];
+            for (int row = 0; row < graph.size(); row++) ownerAreas[owners[row]] += areas[row];
+            this.maxAreaChange = settings.maxAreaChange();
+
+            long[] edges = graph.differentOwnerEdges();
+            this.candidateA = new int[edges.length];
+            this.candidateB = new int[edges.length];
+            for (int i = 0; i < edges.length; i++) {
+                candidateA[i] = AdjacentPropertyPair.firstId(edges[i]);
+                candidateB[i] = AdjacentPropertyPair.secondId(edges[i]);
+            }
+            this.components = new ConsolidationScorer(graph).getComponentCount();
+        }
+
+        /**
+         * Gets the number of candidate exchanges.
+         *
+         * @return The number of candidates.
+         */
+        @CyclomaticComplexity(1)
+        int candidateCount() {
+            return candidateA.length;
+        }
+
+        /**
+         * Builds the suggestion of a candidate exchange.
+         *
+         * @param candidate The candidate.
+         * @return The suggestion, with the area change of each owner's current holdings.
+         */
+        @CyclomaticComplexity(1)
+        ExchangeSuggestion toSuggestion(int candidate) {
+            int a = candidateA[candidate];
+            int b = candidateB[candidate];
+            PropertyPolygon propertyA = graph.getProperty(a);
+            PropertyPolygon propertyB = graph.getProperty(b);
+            ExchangeSuggestion suggestion = new ExchangeSuggestion(propertyA.getObjectId(), propertyB.getObjectId(),
+                    SuggestionGenerator.calculateAreaFeasibility(areas[a], areas[b]));
+            suggestion.computeValueSimilarity(propertyA, propertyB);
+            double holdingsA = ownerAreas[owners[a]];
+            double holdingsB = ownerAreas[owners[b]];
+            suggestion.setPercentChangeA(SuggestionGenerator.calculateNetAreaChange(holdingsA, holdingsA - areas[a] + areas[b]));
+            suggestion.setPercentChangeB(SuggestionGenerator.calculateNetAreaChange(holdingsB, holdingsB - areas[b] + areas[a]));
+            return suggestion;
+        }
+    }
+
+    /**
+     * One simulated annealing search, holding its own owner assignment and plan.
+     */
+    private static final class Annealer {
+        private final Problem problem;
+        private final Random random;
+        private final int[] owners;
+        private final double[] ownerAreas;
+        private final int[] exchangeOf;
+        private final int[] planPosition;
+        private final int[] plan;
+        private int planSize;
+        private int components;
+
+        private final int[] visited;
+        private final int[] targets;
+        private final int[] queue;
+        private int stamp;
+
+        /**
+         * Prepares a search from the current owners and an empty plan.
+         *
+         * @param problem The problem.
+         * @param seed    The seed of the search.
+         */
+        Annealer(Problem problem, long seed) {
+            this.problem = problem;
+            this.random = new Random(seed);
+            this.owners = problem.owners.clone();
+            this.ownerAreas = problem.ownerAreas.clone();
+            this.exchangeOf = new int[owners.length];
+            Arrays.fill(exchangeOf, -1);
+            this.planPosition = new int[problem.candidateCount()];
+            Arrays.fill(planPosition, -1);
+            this.plan = new int[problem.candidateCount()];
+            this.components = problem.components;
+            this.visited = new int[owners.length];
+            this.targets = new int[owners.length];
+            this.queue = new int[owners.length];
+        }
+
+        /**
+         * Runs the search.
+         *
+         * @param iterations The number of moves to try.
+         * @param deadline   The {@link System#nanoTime()} at which to stop early.
+         * @return The plan with the fewest components seen, and the fewest exchanges among those.
+         */
+        @CyclomaticComplexity(10)
+        Plan run(int iterations, long deadline) {
+            Plan best = new Plan(components, new int[0]);
+            for (int iteration = 0; iteration < iterations; iteration++) {
+                if ((iteration & DEADLINE_CHECK_MASK) == 0 && System.nanoTime() > deadline) break;
+                int candidate = random.nextInt(problem.candidateCount());
+                int a = problem.candidateA[candidate];
+                int b = problem.candidateB[candidate];
+                boolean planned = planPosition[candidate] >= 0;
+                if (!planned && (exchangeOf[a] >= 0 || exchangeOf[b] >= 0)) continue;
+                if (!withinAreaLimits(a, b)) continue;
+
+                double temperature = INITIAL_TEMPERATURE
+                        * Math.pow(FINAL_TEMPERATURE / INITIAL_TEMPERATURE, (double) iteration / iterations);
+                int delta = swapOwners(a, b);
+                if (delta > 0 && random.nextDouble() >= Math.exp(-delta / temperature)) {
+                    int owner = owners[a];
+                    owners[a] = owners[b];
+                    owners[b] = owner;
+                    continue;
+                }
+
+                moveAreas(a, b);
+                if (planned) remove(candidate, a, b);
+                else add(candidate, a, b);
+                components += delta;
+                if (components < best.components()
+                        || (components == best.components() && planSize < best.candidates().length)) {
+                    best = new Plan(components, Arrays.copyOf(plan, planSize));
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Checks whether swapping the owners of two properties keeps both owners within the area change limit.
+         *
+         * @param a The first row.
+         * @param b The second row.
+         * @return true if both owners stay within the limit, false otherwise.
+         */
+        @CyclomaticComplexity(2)
+        private boolean withinAreaLimits(int a, int b) {
+            double transfer = problem.areas[b] - problem.areas[a];
+            return withinAreaLimit(owners[a], ownerAreas[owners[a]] + transfer)
+                    && withinAreaLimit(owners[b], ownerAreas[owners[b]] - transfer);
+        }
+
+        /**
+         * Checks whether an owner's total area is within the limit of its current area.
+         *
+         * @param owner The owner code.
+         * @param area  The total area of the owner.
+         * @return true if the change is within the limit, false otherwise.
+         */
+        @CyclomaticComplexity(1)
+        private boolean withinAreaLimit(int owner, double area) {
+            double before = problem.ownerAreas[owner];
+            return Math.abs(area - before) <= problem.maxAreaChange * before + 1e-9;
+        }
+
+        /**
+         * Moves the areas of two properties whose owners were just swapped.
+         *
+         * @param a The first row.
+         * @param b The second row.
+         */
+        @CyclomaticComplexity(1)
+        private void moveAreas(int a, int b) {
+            double transfer = problem.areas[b] - problem.areas[a];
+            ownerAreas[owners[b]] += transfer;
+            ownerAreas[owners[a]] -= transfer;
+        }
+
+        /**
+         * Adds a candidate to the plan.
+         *
+         * @param candidate The candidate.
+         * @param a         Its first row.
+         * @param b         Its second row.
+         */
+        @CyclomaticComplexity(1)
+        private void add(int candidate, int a, int b) {
+            planPosition[candidate] = planSize;
+            plan[planSize++] = candidate;
+            exchangeOf[a] = candidate;
+            exchangeOf[b] = candidate;
+        }
+
+        /**
+         * Removes a candidate from the plan, moving the last one into its place.
+         *
+         * @param candidate The candidate.
+         * @param a         Its first row.
+         * @param b         Its second row.
+         */
+        @CyclomaticComplexity(1)
+        private void remove(int candidate, int a, int b) {
+            int last = plan[--planSize];
+            plan[planPosition[candidate]] = last;
+            planPosition[last] = planPosition[candidate];
+            planPosition[candidate] = -1;
+            exchangeOf[a] = -1;
+            exchangeOf[b] = -1;
+        }
+
+        /**
+         * Swaps the owners of two properties.
+         *
+         * @param a The first row.
+         * @param b The second row.
+         * @return The change in the number of components.
+         */
+        @CyclomaticComplexity(1)
+        int swapOwners(int a, int b) {
+            int ownerA = owners[a];
+            int delta = recolor(a, owners[b]);
+            return delta + recolor(b, ownerA);
+        }
+
+        /**
+         * Changes the owner of a property. Leaving its owner splits its cluster into as many components as its
+         * same-owner neighbours fall into without it, and joining the new owner merges the components of its new
+         * same-owner neighbours.
+         *
+         * @param row   The row.
+         * @param owner The new owner code.
+         * @return The change in the number of components.
+         */
+        @CyclomaticComplexity(1)
+        private int recolor(int row, int owner) {
+            int split = componentsAround(row);
+            owners[row] = owner;
+            return split - componentsAround(row);
+        }
+
+        /**
+         * Counts the components, within the property's owner and without the property, of its same-owner
+         * neighbours. Each search stops as soon as every such neighbour has been reached.
+         *
+         * @param row The row.
+         * @return The number of distinct components among its same-owner neighbours.
+         */
+        @CyclomaticComplexity(10)
+        private int componentsAround(int row) {
+            int owner = owners[row];
+            stamp++;
+            visited[row] = stamp;
+            int remaining = 0;
+            for (int i = problem.offsets[row]; i < problem.offsets[row + 1]; i++) {
+                int neighbour = problem.neighbours[i];
+                if (owners[neighbour] == owner && targets[neighbour] != stamp) {
+                    targets[neighbour] = stamp;
+                    remaining++;
+                }
+            }
+
+            int found = 0;
+            for (int i = problem.offsets[row]; i < problem.offsets[row + 1] && remaining > 0; i++) {
+                int start = problem.neighbours[i];
+                if (owners[start] != owner || visited[start] == stamp) continue;
+                found++;
+                visited[start] = stamp;
+                remaining--;
+                int head = 0;
+                int tail = 0;
+                queue[tail++] = start;
+                while (head < tail && remaining > 0) {
+                    int current = queue[head++];
+                    for (int j = problem.offsets[current]; j < problem.offsets[current + 1]; j++) {
+                        int next = problem.neighbours[j];
+                        if (owners[next] != owner || visited[next] == stamp) continue;
+                        visited[next] = stamp;
+                        if (targets[next] == stamp) remaining--;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            return found;
+        }
+    }
+}
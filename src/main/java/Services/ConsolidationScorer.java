@@ -0,0 +1,326 @@
+package Services;
+
+import DetectAdjacentProperties.DisjointSet;
+import DetectAdjacentProperties.PropertyAdjacencyGraph;
+import DetectAdjacentProperties.RollbackDisjointSet;
+import Models.ExchangeSuggestion;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+
+/**
+ * The {@code ConsolidationScorer} class measures how much exchanges reduce the fragmentation of owners, the number
+ * of disconnected clusters of adjacent properties each owner holds, summed over all owners.
+ * An exchange swaps the owners of its two properties, which only changes whether the edges touching those
+ * properties join properties of the same owner. Each candidate is therefore a point in time at which a few edges
+ * appear or disappear: every edge is stored over the time intervals in which it joins one owner, in a segment tree
+ * over the candidates, and a depth-first walk of the tree unions the edges of each node into a
+ * {@link RollbackDisjointSet} and rolls them back on the way out. The component count at each leaf is the count
+ * after that exchange, so all candidates are evaluated in one pass without rebuilding the components of
+ * {@link DetectAdjacentProperties.PropertyMerger}.
+ */
+@Layer(LayerType.BACK_END)
+public class ConsolidationScorer {
+
+    private final PropertyAdjacencyGraph graph;
+    private final int[] owners;
+    private final int componentCount;
+
+    /**
+     * Constructs a scorer over an adjacency graph, with the current owners of its properties.
+     *
+     * @param graph The adjacency graph of the properties.
+     */
+    public ConsolidationScorer(PropertyAdjacencyGraph graph) {
+        this.graph = graph;
+        this.owners = new int[graph.size()];
+        Map<String, Integer> ownerCodes = new HashMap<>();
+        for (int row = 0; row < graph.size(); row++) {
+            owners[row] = ownerCodes.computeIfAbsent(graph.getProperty(row).getOwner(), owner -> ownerCodes.size());
+        }
+
+        DisjointSet components = new DisjointSet(graph.size());
+        for (int row = 0; row < graph.size(); row++) {
+            for (int i = 0; i < graph.degree(row); i++) {
+                int neighbour = graph.neighbourAt(row, i);
+                if (row < neighbour && owners[row] == owners[neighbour]) components.union(row, neighbour);
+            }
+        }
+        this.componentCount = components.componentCount();
+    }
+
+    /**
+     * Gets the current number of same-owner components.
+     *
+     * @return The number of components over all owners.
+     */
+    @CyclomaticComplexity(1)
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     * Sets the component change of every suggestion.
+     *
+     * @param suggestions The suggestions to score.
+     */
+    @CyclomaticComplexity(2)
+    public void score(List<ExchangeSuggestion> suggestions) {
+        int[] changes = componentChanges(suggestions);
+        for (int i = 0; i < changes.length; i++) {
+            suggestions.get(i).setComponentChange(changes[i]);
+        }
+    }
+
+    /**
+     * Scores suggestions and ranks them by consolidation: the largest reduction in components first, and by
+     * descending score among equal reductions.
+     *
+     * @param suggestions The suggestions to rank.
+     * @return The ranked suggestions.
+     */
+    @CyclomaticComplexity(1)
+    public List<ExchangeSuggestion> rankByConsolidation(List<ExchangeSuggestion> suggestions) {
+        score(suggestions);
+        List<ExchangeSuggestion> ranked = new ArrayList<>(suggestions);
+        ranked.sort(Comparator.comparingInt(ExchangeSuggestion::getComponentChange)
+                .thenComparing(Comparator.comparingDouble(ExchangeSuggestion::getScore).reversed()));
+        return ranked;
+    }
+
+    /**
+     * Computes, for each suggestion independently, the change in the number of same-owner components if its two
+     * properties swapped owners. Suggestions with a property outside the graph, or with the same property twice,
+     * produce no change.
+     *
+     * @param suggestions The suggestions.
+     * @return The change in component count of each suggestion, in order.
+     */
+    @CyclomaticComplexity(8)
+    public int[] componentChanges(List<ExchangeSuggestion> suggestions) {
+        int count = suggestions.size();
+        int[] changes = new int[count];
+        if (count == 0) return changes;
+
+        int[] rowA = new int[count];
+        int[] rowB = new int[count];
+        int[] starts = new int[graph.size() + 1];
+        for (int t = 0; t < count; t++) {
+            rowA[t] = graph.rowOf(suggestions.get(t).getPropertyFromA());
+            rowB[t] = graph.rowOf(suggestions.get(t).getPropertyFromB());
+            if (rowA[t] < 0 || rowB[t] < 0 || rowA[t] == rowB[t]) {
+                rowA[t] = -1;
+                rowB[t] = -1;
+                continue;
+            }
+            starts[rowA[t] + 1]++;
+            starts[rowB[t] + 1]++;
+        }
+        for (int row = 1; row < starts.length; row++) starts[row] += starts[row - 1];
+        int[] cursor = Arrays.copyOf(starts, graph.size());
+        int[] queries = new int[starts[graph.size()]];
+        for (int t = 0; t < count; t++) {
+            if (rowA[t] < 0) continue;
+            queries[cursor[rowA[t]]++] = t;
+            queries[cursor[rowB[t]]++] = t;
+        }
+
+        Timeline timeline = new Timeline(rowA, rowB, starts, queries);
+        RollbackDisjointSet components = new RollbackDisjointSet(graph.size());
+        EdgeSegmentTree tree = new EdgeSegmentTree(count);
+        for (int row = 0; row < graph.size(); row++) {
+            for (int i = 0; i < graph.degree(row); i++) {
+                int neighbour = graph.neighbourAt(row, i);
+                if (row < neighbour) timeline.addEdge(row, neighbour, components, tree);
+            }
+        }
+
+        int[] counts = new int[count];
+        tree.solve(components, counts);
+        for (int t = 0; t < count; t++) {
+            changes[t] = rowA[t] < 0 ? 0 : counts[t] - componentCount;
+        }
+        return changes;
+    }
+
+    /**
+     * The exchanges being evaluated, as swaps of owners between two rows, with the exchanges of each row.
+     */
+    private final class Timeline {
+        private final int[] rowA;
+        private final int[] rowB;
+        private final int[] starts;
+        private final int[] queries;
+
+        /**
+         * Constructs the timeline.
+         *
+         * @param rowA    The first row of each exchange, or -1 if it changes nothing.
+         * @param rowB    The second row of each exchange, or -1 if it changes nothing.
+         * @param starts  The start of each row's exchanges in {@code queries}, with one extra trailing entry.
+         * @param queries The exchanges of each row, in ascending order.
+         */
+        Timeline(int[] rowA, int[] rowB, int[] starts, int[] queries) {
+            this.rowA = rowA;
+            this.rowB = rowB;
+            this.starts = starts;
+            this.queries = queries;
+        }
+
+        /**
+         * Gets the owner of a row during an exchange.
+         *
+         * @param t   The exchange.
+         * @param row The row.
+         * @return The owner code of the row once the exchange is applied.
+         */
+        @CyclomaticComplexity(3)
+        private int ownerAt(int t, int row) {
+            if (row == rowA[t]) return owners[rowB[t]];
+            if (row == rowB[t]) return owners[rowA[t]];
+            return owners[row];
+        }
+
+        /**
+         * Adds an edge over the exchanges during which it joins one owner. An edge no exchange touches is
+         * unchanged throughout, so it is added to the components directly when it joins one owner.
+         *
+         * @param u          The first row.
+         * @param v          The second row.
+         * @param components The components shared by every exchange.
+         * @param tree       The segment tree of the edges that change.
+         */
+        @CyclomaticComplexity(12)
+        void addEdge(int u, int v, RollbackDisjointSet components, EdgeSegmentTree tree) {
+            boolean base = owners[u] == owners[v];
+            int i = starts[u];
+            int j = starts[v];
+            if (i == starts[u + 1] && j == starts[v + 1]) {
+                if (base) components.union(u, v);
+                return;
+            }
+
+            int activeFrom = base ? 0 : -1;
+            while (i < starts[u + 1] || j < starts[v + 1]) {
+                int t;
+                if (j == starts[v + 1] || (i < starts[u + 1] && queries[i] < queries[j])) {
+                    t = queries[i++];
+                } else if (i == starts[u + 1] || queries[j] < queries[i]) {
+                    t = queries[j++];
+                } else {
+                    t = queries[i++];
+                    j++;
+                }
+
+                boolean active = ownerAt(t, u) == ownerAt(t, v);
+                if (active && activeFrom < 0) activeFrom = t;
+                if (!active && activeFrom >= 0) {
+                    tree.add(activeFrom, t, u, v);
+                    activeFrom = -1;
+                }
+                if (base && activeFrom < 0) activeFrom = t + 1;
+                if (!base && activeFrom >= 0) {
+                    tree.add(activeFrom, t + 1, u, v);
+                    activeFrom = -1;
+                }
+            }
+            if (activeFrom >= 0 && activeFrom < tree.leaves) tree.add(activeFrom, tree.leaves, u, v);
+        }
+    }
+
+    /**
+     * A segment tree over the exchanges whose nodes hold the edges present during their whole interval.
+     */
+    private static final class EdgeSegmentTree {
+        private final int leaves;
+        private final int[][] edges;
+        private final int[] sizes;
+
+        /**
+         * Constructs an empty tree.
+         *
+         * @param leaves The number of exchanges.
+         */
+        EdgeSegmentTree(int leaves) {
+            this.leaves = leaves;
+            this.edges = new int[4 * leaves][];
+            this.sizes = new int[4 * leaves];
+        }
+
+        /**
+         * Adds an edge over an interval of exchanges.
+         *
+         * @param from The first exchange, inclusive.
+         * @param to   The last exchange, exclusive.
+         * @param u    The first row.
+         * @param v    The second row.
+         */
+        @CyclomaticComplexity(2)
+        void add(int from, int to, int u, int v) {
+            if (from < to) add(1, 0, leaves, from, to, u, v);
+        }
+
+        /**
+         * Adds an edge to the nodes covering an interval within a subtree.
+         *
+         * @param node The node.
+         * @param lo   The first exchange of the node.
+         * @param hi   The end of the node's exchanges, exclusive.
+         * @param from The first exchange, inclusive.
+         * @param to   The last exchange, exclusive.
+         * @param u    The first row.
+         * @param v    The second row.
+         */
+        @CyclomaticComplexity(6)
+        private void add(int node, int lo, int hi, int from, int to, int u, int v) {
+            if (from <= lo && hi <= to) {
+                if (edges[node] == null) edges[node] = new int[4];
+                if (sizes[node] == edges[node].length) edges[node] = Arrays.copyOf(edges[node], sizes[node] * 2);
+                edges[node][sizes[node]++] = u;
+                edges[node][sizes[node]++] = v;
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (from < mid) add(2 * node, lo, mid, from, to, u, v);
+            if (to > mid) add(2 * node + 1, mid, hi, from, to, u, v);
+        }
+
+        /**
+         * Walks the tree, recording the number of components at every exchange.
+         *
+         * @param components The components shared by every exchange; restored afterwards.
+         * @param counts     Receives the component count of each exchange.
+         */
+        @CyclomaticComplexity(1)
+        void solve(RollbackDisjointSet components, int[] counts) {
+            solve(1, 0, leaves, components, counts);
+        }
+
+        /**
+         * Walks a subtree, applying the edges of each node and rolling them back once the subtree is done.
+         *
+         * @param node       The node.
+         * @param lo         The first exchange of the node.
+         * @param hi         The end of the node's exchanges, exclusive.
+         * @param components The components.
+         * @param counts     Receives the component count of each exchange.
+         */
+        @CyclomaticComplexity(3)
+        private void solve(int node, int lo, int hi, RollbackDisjointSet components, int[] counts) {
+            int checkpoint = components.checkpoint();
+            for (int i = 0; i < sizes[node]; i += 2) {
+                components.union(edges[node][i], edges[node][i + 1]);
+            }
+            if (hi - lo == 1) {
+                counts[lo] = components.componentCount();
+            } else {
+                int mid = (lo + hi) >>> 1;
+                solve(2 * node, lo, mid, components, counts);
+                solve(2 * node + 1, mid, hi, components, counts);
+            }
+            components.rollback(checkpoint);
+        }
+    }
+}
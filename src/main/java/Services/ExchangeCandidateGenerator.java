@@ -0,0 +1,94 @@
+package Services;
+
+import DetectAdjacentProperties.AdjacentPropertyPair;
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code ExchangeCandidateGenerator} class proposes exchange pairs between nearby properties that do not
+ * necessarily share a vertex, such as a parcel a few metres away from an owner's cluster.
+ * Each property is paired with at most {@code k} of its nearest properties of other owners whose centroids lie
+ * within a radius, found through a {@link CentroidKdTree}. The work per property is therefore bounded by
+ * {@code k}, and the candidate pool grows linearly with the dataset instead of with the number of all pairs.
+ */
+@Layer(LayerType.BACK_END)
+public class ExchangeCandidateGenerator {
+
+    /**
+     * Generates candidate pairs between valid properties of different owners.
+     *
+     * @param properties The properties to pair.
+     * @param k          The maximum number of candidates per property.
+     * @param radius     The maximum distance between the centroids of a pair.
+     * @return The unique candidate pairs, ordered by the position of their first property in the list.
+     * @throws IllegalArgumentException if k is negative or the radius is negative or NaN.
+     */
+    @CyclomaticComplexity(6)
+    public static List<AdjacentPropertyPair> generateCandidates(List<PropertyPolygon> properties, int k, double radius) {
+        if (k < 0 || !(radius >= 0)) {
+            throw new IllegalArgumentException("Candidate count and radius must not be negative");
+        }
+        CentroidKdTree tree = new CentroidKdTree(properties);
+        boolean[] eligible = new boolean[properties.size()];
+        for (int row = 0; row < properties.size(); row++) {
+            eligible[row] = isCandidate(properties.get(row));
+        }
+        List<int[]> neighboursByRow = IntStream.range(0, properties.size()).parallel()
+                .mapToObj(row -> nearestOtherOwners(properties, eligible, tree, row, k, radius))
+                .toList();
+
+        Set<Long> seen = new HashSet<>();
+        List<AdjacentPropertyPair> candidates = new ArrayList<>();
+        for (int row = 0; row < properties.size(); row++) {
+            for (int neighbour : neighboursByRow.get(row)) {
+                if (seen.add(AdjacentPropertyPair.pairKey(row, neighbour))) {
+                    candidates.add(new AdjacentPropertyPair(properties.get(row).getObjectId(),
+                            properties.get(neighbour).getObjectId()));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Finds the nearest valid properties of other owners around a property.
+     *
+     * @param properties The properties.
+     * @param eligible   Whether each property can take part in an exchange.
+     * @param tree       The kd-tree over their centroids.
+     * @param row        The list position of the property.
+     * @param k          The maximum number of neighbours.
+     * @param radius     The maximum centroid distance.
+     * @return The list positions of the neighbours, nearest first.
+     */
+    @CyclomaticComplexity(4)
+    private static int[] nearestOtherOwners(List<PropertyPolygon> properties, boolean[] eligible, CentroidKdTree tree,
+                                            int row, int k, double radius) {
+        if (!eligible[row]) return new int[0];
+        PropertyPolygon property = properties.get(row);
+        VertexCoordinate centroid = property.getPolygon().getCentroid();
+        String owner = property.getOwner();
+        return tree.nearest(centroid.x(), centroid.y(), k, radius,
+                other -> eligible[other] && !owner.equals(properties.get(other).getOwner()));
+    }
+
+    /**
+     * Checks whether a property can take part in an exchange.
+     *
+     * @param property The property to check.
+     * @return true if it has vertices, a positive area and an owner, false otherwise.
+     */
+    @CyclomaticComplexity(5)
+    private static boolean isCandidate(PropertyPolygon property) {
+        return property.getPolygon() != null
+                && property.getPolygon().getCentroid() != null
+                && property.getShapeArea() > 0
+                && property.getOwner() != null;
+    }
+}
@@ -0,0 +1,412 @@
+package Services;
+
+import DetectAdjacentProperties.AdjacentPairStore;
+import DetectAdjacentProperties.AdjacentPropertyPair;
+import Models.ExchangeCycle;
+import Models.ExchangeSuggestion;
+import Models.PropertyPolygon;
+import Models.SuggestionParameters;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code ExchangeCycleFinder} class discovers exchanges among three or more owners, where each owner gives a
+ * property to the next owner in a cycle.
+ * A property can be given to an owner when it is adjacent to one of that owner's properties, so the adjacent pairs
+ * between different owners form a directed owner-level exchange graph with one arc per giver and receiver, holding
+ * at most {@link #MAX_GIFTS_PER_ARC} of the largest properties that can be given along it.
+ * Cycles of owners are enumerated by depth-first search up to a maximum length, starting from each owner in parallel
+ * and visiting only owners with a higher code, so every cycle is found once from its lowest owner and the search
+ * branches over owners rather than properties. Alongside the path, the search tracks which gifts of its last arc can
+ * be reached by a chain in which every owner receives a property whose area feasibility against the one it gives
+ * reaches the threshold used for two-owner suggestions, and is pruned once no chain remains. Each closed cycle of
+ * owners then gives the properties whose weakest area feasibility is the highest.
+ */
+@Layer(LayerType.BACK_END)
+public class ExchangeCycleFinder {
+
+    public static final int DEFAULT_MAX_LENGTH = 4;
+    static final int MAX_GIFTS_PER_ARC = 8;
+
+    /**
+     * Finds exchange cycles of up to {@link #DEFAULT_MAX_LENGTH} owners.
+     *
+     * @param adjacentPairs The list of adjacent property pairs.
+     * @param properties    The list of properties.
+     * @return The cycles, ordered by descending score.
+     */
+    @CyclomaticComplexity(1)
+    public static List<ExchangeCycle> findCycles(List<AdjacentPropertyPair> adjacentPairs, List<PropertyPolygon> properties) {
+        return findCycles(adjacentPairs, properties, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Finds exchange cycles among three or more owners.
+     *
+     * @param adjacentPairs The list of adjacent property pairs.
+     * @param properties    The list of properties.
+     * @param maxLength     The maximum number of owners in a cycle.
+     * @return The cycles, ordered by descending score.
+     * @throws IllegalArgumentException if the maximum length is less than 3.
+     */
+    @CyclomaticComplexity(2)
+    public static List<ExchangeCycle> findCycles(List<AdjacentPropertyPair> adjacentPairs, List<PropertyPolygon> properties,
+                                                 int maxLength) {
+        if (maxLength < 3) throw new IllegalArgumentException("Exchange cycles need at least 3 owners");
+        ExchangeGraph graph = new ExchangeGraph(AdjacentPairStore.of(adjacentPairs, properties),
+                SuggestionGenerator.mapProperties(properties));
+
+        List<ExchangeCycle> cycles = new ArrayList<>(IntStream.range(0, graph.ownerCount()).parallel()
+                .mapToObj(start -> new CycleSearch(graph, start, maxLength).run())
+                .flatMap(Collection::stream)
+                .toList());
+        cycles.sort(Comparator.comparingDouble(ExchangeCycle::getScore).reversed());
+        return cycles;
+    }
+
+    /**
+     * Checks whether an owner can receive one property in exchange for another.
+     *
+     * @param received The property received.
+     * @param given    The property given.
+     * @return true if their area feasibility reaches the threshold, false otherwise.
+     */
+    @CyclomaticComplexity(1)
+    static boolean isFeasible(PropertyPolygon received, PropertyPolygon given) {
+        return SuggestionGenerator.calculateAreaFeasibility(received.getShapeArea(), given.getShapeArea()) >= SuggestionParameters.DEFAULTS.minAreaFeasibility();
+    }
+
+    /**
+     * Scores a cycle in the same way as a two-owner suggestion: the weakest area feasibility and value similarity
+     * give the feasibility, the spread of area changes gives the equity, and small properties are discounted.
+     *
+     * @param owners The owners in cycle order.
+     * @param given  The property each owner gives to the next one.
+     * @return The scored cycle.
+     */
+    @CyclomaticComplexity(2)
+    static ExchangeCycle score(List<String> owners, PropertyPolygon[] given) {
+        int length = given.length;
+        double areaFeasibility = 1.0;
+        double valueSimilarity = 1.0;
+        double totalArea = 0;
+        double[] percentChanges = new double[length];
+        int[] propertyIds = new int[length];
+        for (int i = 0; i < length; i++) {
+            PropertyPolygon received = given[(i + length - 1) % length];
+            ExchangeSuggestion step = new ExchangeSuggestion(received.getObjectId(), given[i].getObjectId(),
+                    SuggestionGenerator.calculateAreaFeasibility(received.getShapeArea(), given[i].getShapeArea()));
+            step.computeValueSimilarity(received, given[i]);
+
+            areaFeasibility = Math.min(areaFeasibility, step.getAreafeasibility());
+            valueSimilarity = Math.min(valueSimilarity, step.getValueSimilarity());
+            percentChanges[i] = SuggestionGenerator.calculateNetAreaChange(given[i].getShapeArea(), received.getShapeArea());
+            propertyIds[i] = given[i].getObjectId();
+            totalArea += given[i].getShapeArea();
+        }
+
+        double spread = Arrays.stream(percentChanges).max().orElse(0) - Arrays.stream(percentChanges).min().orElse(0);
+        double equidade = 100.0 - spread * 100.0;
+        double areaFactor = Math.min(1.0, totalArea / length / SuggestionParameters.DEFAULTS.referenceArea());
+        double score = equidade * areaFactor * areaFeasibility * valueSimilarity;
+        return new ExchangeCycle(owners, propertyIds, percentChanges, areaFeasibility, valueSimilarity, score);
+    }
+
+    /**
+     * The directed owner-level exchange graph: for every owner, an arc to each owner it can give a property to,
+     * with the largest properties that can be given along it.
+     */
+    private static final class ExchangeGraph {
+        private final AdjacentPairStore store;
+        private final int[] arcStarts;
+        private final int[] arcReceivers;
+        private final int[] giftStarts;
+        private final PropertyPolygon[] giftProperties;
+
+        /**
+         * Builds the graph from the pairs between different owners. A property adjacent to several properties
+         * of the same owner is one gift to that owner, and only the largest gifts of each arc are kept.
+         *
+         * @param store       The adjacent pairs with their owners.
+         * @param propertyMap A map of property IDs to PropertyPolygon objects.
+         */
+        ExchangeGraph(AdjacentPairStore store, Map<Integer, PropertyPolygon> propertyMap) {
+            this.store = store;
+            Set<Long> seen = new HashSet<>();
+            Map<Long, List<PropertyPolygon>> giftsByArc = new TreeMap<>();
+            store.forEach((index, id1, id2, owner1, owner2) -> {
+                if (owner1 == owner2) return;
+                if (seen.add(((long) id1 << 32) | owner2)) addGift(giftsByArc, owner1, owner2, propertyMap.get(id1));
+                if (seen.add(((long) id2 << 32) | owner1)) addGift(giftsByArc, owner2, owner1, propertyMap.get(id2));
+            });
+
+            this.arcStarts = new int[store.ownerCount() + 1];
+            this.arcReceivers = new int[giftsByArc.size()];
+            this.giftStarts = new int[giftsByArc.size() + 1];
+            List<PropertyPolygon> gifts = new ArrayList<>();
+            int arc = 0;
+            for (Map.Entry<Long, List<PropertyPolygon>> entry : giftsByArc.entrySet()) {
+                arcStarts[(int) (entry.getKey() >>> 32) + 1]++;
+                arcReceivers[arc] = (int) (long) entry.getKey();
+                List<PropertyPolygon> arcGifts = entry.getValue();
+                arcGifts.sort(Comparator.comparingDouble(PropertyPolygon::getShapeArea).reversed()
+                        .thenComparingInt(PropertyPolygon::getObjectId));
+                gifts.addAll(arcGifts.subList(0, Math.min(arcGifts.size(), MAX_GIFTS_PER_ARC)));
+                giftStarts[++arc] = gifts.size();
+            }
+            for (int o = 1; o < arcStarts.length; o++) arcStarts[o] += arcStarts[o - 1];
+            this.giftProperties = gifts.toArray(new PropertyPolygon[0]);
+        }
+
+        /**
+         * Adds a gift to the arc from its giver to its receiver.
+         *
+         * @param giftsByArc The gifts of each arc, keyed by giver and receiver code.
+         * @param giver      The owner code of the giver.
+         * @param receiver   The owner code of the receiver.
+         * @param property   The property given, or null if it is unknown.
+         */
+        @CyclomaticComplexity(2)
+        private static void addGift(Map<Long, List<PropertyPolygon>> giftsByArc, int giver, int receiver,
+                                    PropertyPolygon property) {
+            if (property == null) return;
+            giftsByArc.computeIfAbsent(((long) giver << 32) | receiver, key -> new ArrayList<>()).add(property);
+        }
+
+        /**
+         * Gets the number of owners.
+         *
+         * @return The number of owner codes.
+         */
+        @CyclomaticComplexity(1)
+        int ownerCount() {
+            return store.ownerCount();
+        }
+
+        /**
+         * Gets the number of gifts kept on an arc.
+         *
+         * @param arc The arc.
+         * @return The number of gifts, at most {@link #MAX_GIFTS_PER_ARC}.
+         */
+        @CyclomaticComplexity(1)
+        int giftCount(int arc) {
+            return giftStarts[arc + 1] - giftStarts[arc];
+        }
+
+        /**
+         * Gets a gift of an arc.
+         *
+         * @param arc  The arc.
+         * @param gift The index of the gift within the arc.
+         * @return The property given.
+         */
+        @CyclomaticComplexity(1)
+        PropertyPolygon gift(int arc, int gift) {
+            return giftProperties[giftStarts[arc] + gift];
+        }
+    }
+
+    /**
+     * The depth-first enumeration of the cycles whose lowest owner is a given one. For every gift of the first arc,
+     * {@code reach[depth][first]} holds the gifts of the arc at that depth reachable by a feasible chain from it,
+     * as a bit mask.
+     */
+    private static final class CycleSearch {
+        private final ExchangeGraph graph;
+        private final int start;
+        private final int maxLength;
+        private final int[] path;
+        private final int[][] reach;
+        private final List<ExchangeCycle> cycles = new ArrayList<>();
+
+        /**
+         * Prepares a search.
+         *
+         * @param graph     The exchange graph.
+         * @param start     The lowest owner code of the cycles.
+         * @param maxLength The maximum number of owners in a cycle.
+         */
+        CycleSearch(ExchangeGraph graph, int start, int maxLength) {
+            this.graph = graph;
+            this.start = start;
+            this.maxLength = maxLength;
+            this.path = new int[maxLength];
+            this.reach = new int[maxLength][MAX_GIFTS_PER_ARC];
+        }
+
+        /**
+         * Runs the search.
+         *
+         * @return The best cycle for each sequence of owners.
+         */
+        @CyclomaticComplexity(4)
+        List<ExchangeCycle> run() {
+            for (int arc = graph.arcStarts[start]; arc < graph.arcStarts[start + 1]; arc++) {
+                if (graph.arcReceivers[arc] < start) continue;
+                path[0] = arc;
+                Arrays.fill(reach[0], 0);
+                for (int first = 0; first < graph.giftCount(arc); first++) reach[0][first] = 1 << first;
+                extend(1);
+            }
+            return cycles;
+        }
+
+        /**
+         * Extends the path with every arc of the owner receiving its last arc that a feasible chain reaches.
+         *
+         * @param depth The number of arcs on the path.
+         */
+        @CyclomaticComplexity(7)
+        private void extend(int depth) {
+            int owner = graph.arcReceivers[path[depth - 1]];
+            for (int arc = graph.arcStarts[owner]; arc < graph.arcStarts[owner + 1]; arc++) {
+                int next = graph.arcReceivers[arc];
+                boolean closes = next == start && depth >= 2;
+                if (!closes && (next <= start || depth + 1 >= maxLength || onPath(next, depth))) continue;
+                path[depth] = arc;
+                if (!step(depth)) continue;
+                if (closes) {
+                    record(depth + 1);
+                } else {
+                    extend(depth + 1);
+                }
+            }
+        }
+
+        /**
+         * Computes the gifts of the arc at a depth reachable from each gift of the first arc.
+         *
+         * @param depth The depth of the arc, whose predecessor's reach is already known.
+         * @return true if any gift is reachable, false otherwise.
+         */
+        @CyclomaticComplexity(6)
+        private boolean step(int depth) {
+            int previous = path[depth - 1];
+            int arc = path[depth];
+            int[] predecessors = new int[graph.giftCount(arc)];
+            for (int j = 0; j < predecessors.length; j++) {
+                for (int i = 0; i < graph.giftCount(previous); i++) {
+                    if (isFeasible(graph.gift(previous, i), graph.gift(arc, j))) predecessors[j] |= 1 << i;
+                }
+            }
+            int any = 0;
+            for (int first = 0; first < graph.giftCount(path[0]); first++) {
+                int mask = 0;
+                for (int j = 0; j < predecessors.length; j++) {
+                    if ((reach[depth - 1][first] & predecessors[j]) != 0) mask |= 1 << j;
+                }
+                reach[depth][first] = mask;
+                any |= mask;
+            }
+            return any != 0;
+        }
+
+        /**
+         * Checks whether an owner already gives a property on the path.
+         *
+         * @param owner The owner code.
+         * @param depth The number of arcs on the path.
+         * @return true if the owner is on the path, false otherwise.
+         */
+        @CyclomaticComplexity(3)
+        private boolean onPath(int owner, int depth) {
+            for (int i = 0; i < depth; i++) {
+                if (graph.arcReceivers[path[i]] == owner) return true;
+            }
+            return false;
+        }
+
+        /**
+         * Chooses the gifts of the closed path whose weakest area feasibility is the highest, scores them and keeps
+         * the cycle.
+         *
+         * @param length The number of arcs in the cycle.
+         */
+        @CyclomaticComplexity(6)
+        private void record(int length) {
+            PropertyPolygon[] best = null;
+            double bestFeasibility = -1;
+            for (int first = 0; first < graph.giftCount(path[0]); first++) {
+                PropertyPolygon[] given = new PropertyPolygon[length];
+                double feasibility = chooseGifts(first, given);
+                if (feasibility > bestFeasibility) {
+                    bestFeasibility = feasibility;
+                    best = given;
+                }
+            }
+            if (best == null) return;
+
+            List<String> owners = new ArrayList<>(length);
+            int owner = start;
+            for (int i = 0; i < length; i++) {
+                owners.add(graph.store.getOwner(owner));
+                owner = graph.arcReceivers[path[i]];
+            }
+            cycles.add(score(owners, best));
+        }
+
+        /**
+         * Chooses, for a gift of the first arc, the feasible chain of gifts around the cycle whose weakest area
+         * feasibility is the highest.
+         *
+         * @param first The gift of the first arc.
+         * @param given Receives the property given along each arc.
+         * @return The weakest area feasibility of the chain, or -1 if no feasible chain closes the cycle.
+         */
+        @CyclomaticComplexity(9)
+        private double chooseGifts(int first, PropertyPolygon[] given) {
+            int length = given.length;
+            double[][] weakest = new double[length][MAX_GIFTS_PER_ARC];
+            int[][] parent = new int[length][MAX_GIFTS_PER_ARC];
+            weakest[0][first] = 1.0;
+            for (int d = 1; d < length; d++) {
+                Arrays.fill(weakest[d], -1);
+                for (int j = 0; j < graph.giftCount(path[d]); j++) {
+                    if ((reach[d][first] & (1 << j)) == 0) continue;
+                    for (int i = 0; i < graph.giftCount(path[d - 1]); i++) {
+                        double value = Math.min(weakest[d - 1][i], chainFeasibility(path[d - 1], i, path[d], j));
+                        if ((d > 1 || i == first) && value > weakest[d][j]) {
+                            weakest[d][j] = value;
+                            parent[d][j] = i;
+                        }
+                    }
+                }
+            }
+
+            int last = -1;
+            double closing = -1;
+            for (int j = 0; j < graph.giftCount(path[length - 1]); j++) {
+                double value = Math.min(weakest[length - 1][j], chainFeasibility(path[length - 1], j, path[0], first));
+                if (value > closing) {
+                    closing = value;
+                    last = j;
+                }
+            }
+            if (closing < 0) return -1;
+            for (int d = length - 1, j = last; d >= 0; j = parent[d][j], d--) given[d] = graph.gift(path[d], j);
+            return closing;
+        }
+
+        /**
+         * Gets the area feasibility of an owner receiving one gift and giving the next.
+         *
+         * @param receivedArc The arc of the gift received.
+         * @param received    The gift received.
+         * @param givenArc    The arc of the gift given.
+         * @param given       The gift given.
+         * @return The area feasibility, or -1 if it is below the threshold.
+         */
+        @CyclomaticComplexity(2)
+        private double chainFeasibility(int receivedArc, int received, int givenArc, int given) {
+            PropertyPolygon in = graph.gift(receivedArc, received);
+            PropertyPolygon out = graph.gift(givenArc, given);
+            if (!isFeasible(in, out)) return -1;
+            return SuggestionGenerator.calculateAreaFeasibility(in.getShapeArea(), out.getShapeArea());
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package Services;
+
+import Models.ExchangeSuggestion;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code ExchangeSelectionEngine} class selects a set of exchange suggestions that can all be carried out,
+ * meaning that no property takes part in more than one of them.
+ * The properties are the vertices of a graph whose edges are the candidate exchanges, weighted by their score, so
+ * a conflict-free plan is a matching of that graph. A greedy pass takes the candidates from the highest score down
+ * while both properties are free; local improvement then replaces a selected exchange with up to two candidates
+ * on its freed properties whenever their combined score is higher, until no such replacement remains.
+ * Candidates with a score that is not positive never improve the plan and are not selected.
+ */
+@Layer(LayerType.BACK_END)
+public class ExchangeSelectionEngine {
+
+    private static final int MAX_IMPROVEMENT_PASSES = 16;
+
+    /**
+     * Selects a high-scoring set of suggestions in which no property appears twice.
+     *
+     * @param candidates The candidate suggestions, possibly sharing properties.
+     * @return The selected suggestions, ordered by descending score.
+     */
+    @CyclomaticComplexity(4)
+    public static List<ExchangeSuggestion> selectExchanges(List<ExchangeSuggestion> candidates) {
+        ConflictGraph graph = new ConflictGraph(candidates);
+        int[] selectedAt = new int[graph.propertyCount()];
+        Arrays.fill(selectedAt, -1);
+
+        for (int candidate : graph.byScore) {
+            if (graph.isFree(candidate, selectedAt)) graph.select(candidate, selectedAt);
+        }
+        for (int pass = 0; pass < MAX_IMPROVEMENT_PASSES; pass++) {
+            if (!improve(graph, selectedAt)) break;
+        }
+
+        List<ExchangeSuggestion> selected = new ArrayList<>();
+        for (int candidate : graph.byScore) {
+            if (selectedAt[graph.from[candidate]] == candidate) selected.add(candidates.get(candidate));
+        }
+        return selected;
+    }
+
+    /**
+     * Runs one pass of local improvement over the selected exchanges.
+     * Each selected exchange is tentatively dropped and its two properties are re-matched with the best
+     * candidates whose other property is free; the change is kept when it raises the total score.
+     *
+     * @param graph      The conflict graph.
+     * @param selectedAt The selected candidate at each property, or -1.
+     * @return true if any exchange was replaced, false otherwise.
+     */
+    @CyclomaticComplexity(5)
+    private static boolean improve(ConflictGraph graph, int[] selectedAt) {
+        boolean improved = false;
+        for (int candidate : graph.byScore) {
+            if (selectedAt[graph.from[candidate]] != candidate) continue;
+            graph.unselect(candidate, selectedAt);
+            int[] replacement = graph.bestReplacement(candidate, selectedAt);
+            double gain = graph.scoreOf(replacement[0]) + graph.scoreOf(replacement[1]) - graph.scores[candidate];
+            if (gain > 1e-9) {
+                for (int r : replacement) {
+                    if (r >= 0) graph.select(r, selectedAt);
+                }
+                improved = true;
+            } else {
+                graph.select(candidate, selectedAt);
+            }
+        }
+        return improved;
+    }
+
+    /**
+     * The candidates as edges between dense property indexes, with the candidates of every property
+     * listed from the highest score down.
+     */
+    private static final class ConflictGraph {
+        private final int[] from;
+        private final int[] to;
+        private final double[] scores;
+        private final int[] byScore;
+        private final int[] starts;
+        private final int[] incident;
+
+        /**
+         * Builds the graph of a list of candidates.
+         *
+         * @param candidates The candidate suggestions.
+         */
+        ConflictGraph(List<ExchangeSuggestion> candidates) {
+            int n = candidates.size();
+            this.from = new int[n];
+            this.to = new int[n];
+            this.scores = new double[n];
+            Map<Integer, Integer> indexOfProperty = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                ExchangeSuggestion suggestion = candidates.get(i);
+                from[i] = indexOfProperty.computeIfAbsent(suggestion.getPropertyFromA(), id -> indexOfProperty.size());
+                to[i] = indexOfProperty.computeIfAbsent(suggestion.getPropertyFromB(), id -> indexOfProperty.size());
+                scores[i] = suggestion.getScore();
+            }
+            this.byScore = IntStream.range(0, n).boxed()
+                    .filter(i -> scores[i] > 0 && from[i] != to[i])
+                    .sorted(Comparator.comparingDouble((Integer i) -> scores[i]).reversed())
+                    .mapToInt(Integer::intValue).toArray();
+
+            this.starts = new int[indexOfProperty.size() + 1];
+            for (int c : byScore) {
+                starts[from[c] + 1]++;
+                starts[to[c] + 1]++;
+            }
+            for (int p = 1; p < starts.length; p++) starts[p] += starts[p - 1];
+            int[] cursor = Arrays.copyOf(starts, indexOfProperty.size());
+            this.incident = new int[starts[indexOfProperty.size()]];
+            for (int c : byScore) {
+                incident[cursor[from[c]]++] = c;
+                incident[cursor[to[c]]++] = c;
+            }
+        }
+
+        /**
+         * Gets the number of distinct properties.
+         *
+         * @return The number of properties.
+         */
+        @CyclomaticComplexity(1)
+        int propertyCount() {
+            return starts.length - 1;
+        }
+
+        /**
+         * Gets the score of a candidate, treating a missing one as zero.
+         *
+         * @param candidate The candidate, or -1.
+         * @return Its score.
+         */
+        @CyclomaticComplexity(2)
+        double scoreOf(int candidate) {
+            return candidate < 0 ? 0.0 : scores[candidate];
+        }
+
+        /**
+         * Checks whether both properties of a candidate are unused.
+         *
+         * @param candidate  The candidate.
+         * @param selectedAt The selected candidate at each property.
+         * @return true if both properties are free, false otherwise.
+         */
+        @CyclomaticComplexity(2)
+        boolean isFree(int candidate, int[] selectedAt) {
+            return selectedAt[from[candidate]] < 0 && selectedAt[to[candidate]] < 0;
+        }
+
+        /**
+         * Marks a candidate as selected on both of its properties.
+         *
+         * @param candidate  The candidate.
+         * @param selectedAt The selected candidate at each property.
+         */
+        @CyclomaticComplexity(1)
+        void select(int candidate, int[] selectedAt) {
+            selectedAt[from[candidate]] = candidate;
+            selectedAt[to[candidate]] = candidate;
+        }
+
+        /**
+         * Frees both properties of a selected candidate.
+         *
+         * @param candidate  The candidate.
+         * @param selectedAt The selected candidate at each property.
+         */
+        @CyclomaticComplexity(1)
+        void unselect(int candidate, int[] selectedAt) {
+            selectedAt[from[candidate]] = -1;
+            selectedAt[to[candidate]] = -1;
+        }
+
+        /**
+         * Finds the best replacement for a dropped candidate: either one free candidate at its first property,
+         * possibly joining both, or one free candidate at each property whose other properties differ.
+         *
+         * @param dropped    The dropped candidate, whose properties are free.
+         * @param selectedAt The selected candidate at each property.
+         * @return Two candidates, either of which may be -1.
+         */
+        @CyclomaticComplexity(3)
+        int[] bestReplacement(int dropped, int[] selectedAt) {
+            int u = from[dropped];
+            int v = to[dropped];
+            int[] best = {bestFree(u, dropped, -1, -1, selectedAt)[0], -1};
+
+            int[] atU = bestFree(u, dropped, v, -1, selectedAt);
+            int[] atV = bestFree(v, dropped, u, atU[1], selectedAt);
+            if (scoreOf(atU[0]) + scoreOf(atV[0]) > scoreOf(best[0]) + scoreOf(best[1])) best = new int[]{atU[0], atV[0]};
+
+            atV = bestFree(v, dropped, u, -1, selectedAt);
+            atU = bestFree(u, dropped, v, atV[1], selectedAt);
+            if (scoreOf(atU[0]) + scoreOf(atV[0]) > scoreOf(best[0]) + scoreOf(best[1])) best = new int[]{atU[0], atV[0]};
+            return best;
+        }
+
+        /**
+         * Finds the best candidate at a property, other than the dropped one, whose other property is free
+         * and not excluded.
+         *
+         * @param property   The property.
+         * @param dropped    The dropped candidate.
+         * @param excludedA  A property the candidate must not lead to, or -1.
+         * @param excludedB  Another property the candidate must not lead to, or -1.
+         * @param selectedAt The selected candidate at each property.
+         * @return The candidate and its other property, or {-1, -1} if there is none.
+         */
+        @CyclomaticComplexity(6)
+        int[] bestFree(int property, int dropped, int excludedA, int excludedB, int[] selectedAt) {
+            for (int i = starts[property]; i < starts[property + 1]; i++) {
+                int candidate = incident[i];
+                int other = from[candidate] == property ? to[candidate] : from[candidate];
+                if (candidate != dropped && other != excludedA && other != excludedB && selectedAt[other] < 0) {
+                    return new int[]{candidate, other};
+                }
+            }
+            return new int[]{-1, -1};
+        }
+    }
+}
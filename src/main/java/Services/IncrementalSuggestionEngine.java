@@ -0,0 +1,229 @@
+package Services;
+
+import DetectAdjacentProperties.AdjacencyIndex;
+import DetectAdjacentProperties.AdjacentPropertyPair;
+import Models.ExchangeSuggestion;
+import Models.PropertyPolygon;
+import Models.SuggestionDelta;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * The {@code IncrementalSuggestionEngine} class keeps exchange suggestions up to date as owners change, without
+ * rerunning adjacency detection, grouping and scoring over the whole dataset.
+ * The adjacency lives in an {@link AdjacencyIndex}, and the valid pairs with different owners are kept grouped by
+ * owner pair together with the suggestion of every group, as {@link SuggestionGenerator} would build it. Within a
+ * group the pairs are ordered by their property IDs, as the generator orders them, and the suggestions are ranked
+ * with {@link SuggestionGenerator#RANKING}, so the suggestions equal a from-scratch run and do not depend on the
+ * order of past updates. When properties change owner, only their pairs move between groups, and only the groups that lost
+ * or gained a pair are scored again. Every owner change is reported to an optional listener, so indexes built
+ * from the owners elsewhere, such as the owner indexes of a {@link PropertyCollector}, can be brought up to date.
+ */
+@Layer(LayerType.BACK_END)
+public class IncrementalSuggestionEngine {
+
+    private final AdjacencyIndex index;
+    private final Map<Integer, PropertyPolygon> propertyMap;
+    private final Map<String, TreeSet<Long>> pairsByOwnerPair = new HashMap<>();
+    private final Map<Long, String> ownerPairOfPair = new HashMap<>();
+    private final Map<String, ExchangeSuggestion> suggestionByOwnerPair = new HashMap<>();
+    private final Consumer<Collection<PropertyPolygon>> ownerListener;
+
+    /**
+     * Constructs an engine over a list of properties, building their adjacency and initial suggestions.
+     *
+     * @param properties The properties to generate suggestions for.
+     */
+    public IncrementalSuggestionEngine(List<PropertyPolygon> properties) {
+        this(properties, changed -> { });
+    }
+
+    /**
+     * Constructs an engine over a list of properties that reports every owner change to a listener.
+     *
+     * @param properties    The properties to generate suggestions for.
+     * @param ownerListener Receives the properties whose owner changed, after the suggestions are updated.
+     */
+    public IncrementalSuggestionEngine(List<PropertyPolygon> properties, Consumer<Collection<PropertyPolygon>> ownerListener) {
+        this.ownerListener = ownerListener;
+        this.index = new AdjacencyIndex(properties);
+        this.propertyMap = SuggestionGenerator.mapProperties(properties);
+        for (AdjacentPropertyPair pair : index.getValidAdjacentPairs()) {
+            addPair(AdjacentPropertyPair.pairKey(pair.getPropertyId1(), pair.getPropertyId2()));
+        }
+        for (String ownerPair : pairsByOwnerPair.keySet()) {
+            score(ownerPair).ifPresent(suggestion -> suggestionByOwnerPair.put(ownerPair, suggestion));
+        }
+    }
+
+    /**
+     * Gets the current suggestions.
+     *
+     * @return The suggestions, in the order of {@link SuggestionGenerator#generateSuggestions(List, List)}.
+     */
+    @CyclomaticComplexity(1)
+    public List<ExchangeSuggestion> getSuggestions() {
+        List<ExchangeSuggestion> suggestions = new ArrayList<>(suggestionByOwnerPair.values());
+        suggestions.sort(SuggestionGenerator.RANKING);
+        return suggestions;
+    }
+
+    /**
+     * Accepts an exchange by swapping the owners of its two properties, and updates the suggestions.
+     *
+     * @param suggestion The accepted suggestion.
+     * @return The suggestions added and removed by the exchange.
+     * @throws IllegalArgumentException if either property is unknown to the engine.
+     */
+    @CyclomaticComplexity(3)
+    public SuggestionDelta acceptExchange(ExchangeSuggestion suggestion) {
+        PropertyPolygon a = propertyMap.get(suggestion.getPropertyFromA());
+        PropertyPolygon b = propertyMap.get(suggestion.getPropertyFromB());
+        if (a == null || b == null) throw new IllegalArgumentException("Unknown property in suggestion");
+
+        String ownerA = a.getOwner();
+        a.setOwner(b.getOwner());
+        b.setOwner(ownerA);
+        return propertiesChanged(List.of(a, b));
+    }
+
+    /**
+     * Updates the suggestions after the owners of some properties were changed with
+     * {@link PropertyPolygon#setOwner(String)}. Only the pairs of these properties are re-evaluated, and only
+     * the owner-pair groups those pairs left or joined are scored again. The owner listener is then notified.
+     *
+     * @param changed The properties whose owner changed.
+     * @return The suggestions added and removed by the change.
+     */
+    @CyclomaticComplexity(6)
+    public SuggestionDelta propertiesChanged(Collection<PropertyPolygon> changed) {
+        Set<Long> touchedPairs = new HashSet<>();
+        for (PropertyPolygon property : changed) {
+            int id = property.getObjectId();
+            for (int neighbour : index.getNeighbours(id)) touchedPairs.add(AdjacentPropertyPair.pairKey(id, neighbour));
+        }
+
+        Set<String> dirty = new HashSet<>();
+        for (long key : touchedPairs) {
+            String ownerPair = removePair(key);
+            if (ownerPair != null) dirty.add(ownerPair);
+        }
+        for (PropertyPolygon property : changed) {
+            propertyMap.put(property.getObjectId(), property);
+            index.updateProperty(property);
+        }
+        for (long key : touchedPairs) {
+            if (index.isValidPair(AdjacentPropertyPair.firstId(key), AdjacentPropertyPair.secondId(key))) {
+                dirty.add(addPair(key));
+            }
+        }
+        SuggestionDelta delta = rescore(dirty);
+        ownerListener.accept(changed);
+        return delta;
+    }
+
+    /**
+     * Scores the given owner-pair groups again and compares the results with their previous suggestions.
+     * A group whose suggestion keeps the same properties and score reports no change.
+     *
+     * @param ownerPairs The groups to score.
+     * @return The suggestions added and removed.
+     */
+    @CyclomaticComplexity(7)
+    private SuggestionDelta rescore(Set<String> ownerPairs) {
+        List<ExchangeSuggestion> added = new ArrayList<>();
+        List<ExchangeSuggestion> removed = new ArrayList<>();
+        for (String ownerPair : ownerPairs) {
+            ExchangeSuggestion before = suggestionByOwnerPair.remove(ownerPair);
+            ExchangeSuggestion after = score(ownerPair).orElse(null);
+            if (before != null && after != null && sameSuggestion(before, after)) {
+                suggestionByOwnerPair.put(ownerPair, before);
+                continue;
+            }
+            if (before != null) removed.add(before);
+            if (after != null) {
+                added.add(after);
+                suggestionByOwnerPair.put(ownerPair, after);
+            }
+        }
+        return new SuggestionDelta(added, removed);
+    }
+
+    /**
+     * Builds the suggestion of an owner-pair group from its first two pairs.
+     *
+     * @param ownerPair The owner-pair key.
+     * @return The suggestion, or empty if the group does not yield one.
+     */
+    @CyclomaticComplexity(3)
+    private Optional<ExchangeSuggestion> score(String ownerPair) {
+        TreeSet<Long> keys = pairsByOwnerPair.get(ownerPair);
+        if (keys == null) return Optional.empty();
+        List<AdjacentPropertyPair> pairList = new ArrayList<>(2);
+        for (long key : keys) {
+            pairList.add(new AdjacentPropertyPair(AdjacentPropertyPair.firstId(key), AdjacentPropertyPair.secondId(key)));
+            if (pairList.size() == 2) break;
+        }
+        return SuggestionGenerator.processPairList(pairList, propertyMap);
+    }
+
+    /**
+     * Adds a valid pair to the group of its owners.
+     *
+     * @param key The packed pair key.
+     * @return The owner-pair key of the group.
+     */
+    @CyclomaticComplexity(1)
+    private String addPair(long key) {
+        String ownerPair = ownerPairKey(propertyMap.get(AdjacentPropertyPair.firstId(key)).getOwner(),
+                propertyMap.get(AdjacentPropertyPair.secondId(key)).getOwner());
+        pairsByOwnerPair.computeIfAbsent(ownerPair, k -> new TreeSet<>()).add(key);
+        ownerPairOfPair.put(key, ownerPair);
+        return ownerPair;
+    }
+
+    /**
+     * Removes a pair from its group, dropping the group once it is empty.
+     *
+     * @param key The packed pair key.
+     * @return The owner-pair key of the group it left, or null if it was in none.
+     */
+    @CyclomaticComplexity(3)
+    private String removePair(long key) {
+        String ownerPair = ownerPairOfPair.remove(key);
+        if (ownerPair == null) return null;
+        TreeSet<Long> keys = pairsByOwnerPair.get(ownerPair);
+        keys.remove(key);
+        if (keys.isEmpty()) pairsByOwnerPair.remove(ownerPair);
+        return ownerPair;
+    }
+
+    /**
+     * Builds the order-independent key of two owners, as {@link SuggestionGenerator#groupPairsByOwner} does.
+     *
+     * @param owner1 The first owner.
+     * @param owner2 The second owner.
+     * @return The owner-pair key.
+     */
+    @CyclomaticComplexity(2)
+    static String ownerPairKey(String owner1, String owner2) {
+        return owner1.compareTo(owner2) < 0 ? owner1 + "|" + owner2 : owner2 + "|" + owner1;
+    }
+
+    /**
+     * Checks whether two suggestions exchange the same properties with the same score.
+     *
+     * @param a The first suggestion.
+     * @param b The second suggestion.
+     * @return true if they are equivalent, false otherwise.
+     */
+    @CyclomaticComplexity(3)
+    private static boolean sameSuggestion(ExchangeSuggestion a, ExchangeSuggestion b) {
+        return a.getPropertyFromA() == b.getPropertyFromA() && a.getPropertyFromB() == b.getPropertyFromB()
+                && Double.compare(a.getScore(), b.getScore()) == 0;
+    }
+}
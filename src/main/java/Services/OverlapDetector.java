@@ -0,0 +1,489 @@
+package Services;
+
+import Models.PropertyOverlap;
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Repository.CsvLogger;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code OverlapDetector} class finds properties whose interiors overlap, a common registry error.
+ * Candidate pairs come from a {@link PropertySpatialIndex} over the bounding boxes. For each candidate the overlap
+ * area is computed exactly by clipping edges: every edge of each polygon is cut where it meets the other polygon's
+ * boundary, and by Green's theorem the pieces lying inside the other polygon, together with the shared boundary
+ * pieces that run in the same direction in both, add up to the area of the intersection. Edge pairs that may meet
+ * are found by sorting both polygons' edges along the X axis, so only edges with overlapping extents are compared.
+ * Properties that only share edges or vertices have no overlap area and are not reported.
+ * Properties are processed in parallel.
+ */
+@Layer(LayerType.BACK_END)
+public class OverlapDetector {
+
+    private static final double BOUNDARY_EPSILON = 1e-9;
+    private static final double AREA_EPSILON = 1e-9;
+
+    /**
+     * Finds every pair of properties whose interiors overlap.
+     *
+     * @param properties The properties to check.
+     * @return The overlaps, ordered by the positions of the properties in the list.
+     */
+    @CyclomaticComplexity(1)
+    public static List<PropertyOverlap> findOverlaps(List<PropertyPolygon> properties) {
+        PropertySpatialIndex index = new PropertySpatialIndex(properties);
+        Map<PropertyPolygon, Integer> rows = new IdentityHashMap<>(properties.size() * 2);
+        for (int row = 0; row < properties.size(); row++) {
+            rows.put(properties.get(row), row);
+        }
+        return IntStream.range(0, properties.size()).parallel()
+                .mapToObj(row -> findOverlapsOf(properties.get(row), row, index, rows))
+                .flatMap(List::stream)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds the overlaps of a dataset and writes one line per overlap to the CSV error log.
+     *
+     * @param properties The properties to check.
+     * @return The overlaps found.
+     */
+    @CyclomaticComplexity(2)
+    public static List<PropertyOverlap> findAndLogOverlaps(List<PropertyPolygon> properties) {
+        List<PropertyOverlap> overlaps = findOverlaps(properties);
+        List<String> messages = new ArrayList<>(overlaps.size());
+        for (PropertyOverlap overlap : overlaps) {
+            messages.add(String.format(Locale.ROOT, "Properties %d and %d overlap by %.2f",
+                    overlap.propertyId1(), overlap.propertyId2(), overlap.area()));
+        }
+        if (!messages.isEmpty()) CsvLogger.logErrors(messages);
+        return overlaps;
+    }
+
+    /**
+     * Finds the overlaps between a property and the properties after it in the list.
+     *
+     * @param property The property.
+     * @param row      Its position in the list.
+     * @param index    The spatial index of all properties.
+     * @param rows     The position of every property.
+     * @return The overlaps found.
+     */
+    @CyclomaticComplexity(5)
+    private static List<PropertyOverlap> findOverlapsOf(PropertyPolygon property, int row, PropertySpatialIndex index,
+                                                        Map<PropertyPolygon, Integer> rows) {
+        if (property.getPolygon() == null || property.getPolygon().getBoundingBox() == null) return List.of();
+        Ring ring = new Ring(property.getPolygon().getVertices());
+        List<PropertyPolygon> candidates = index.queryBox(property.getPolygon().getBoundingBox());
+        candidates.sort(Comparator.comparingInt(rows::get));
+        List<PropertyOverlap> overlaps = new ArrayList<>();
+        for (PropertyPolygon other : candidates) {
+            if (rows.get(other) <= row) continue;
+            OptionalDouble area = overlapArea(ring, new Ring(other.getPolygon().getVertices()));
+            if (area.isPresent()) overlaps.add(new PropertyOverlap(property.getObjectId(), other.getObjectId(), area.getAsDouble()));
+        }
+        return overlaps;
+    }
+
+    /**
+     * Computes the area of the intersection of two polygons.
+     *
+     * @param a The vertices of the first polygon.
+     * @param b The vertices of the second polygon.
+     * @return The overlap area, or empty if the interiors do not overlap.
+     */
+    @CyclomaticComplexity(5)
+    static OptionalDouble overlapArea(Ring a, Ring b) {
+        if (a.size < 3 || b.size < 3) return OptionalDouble.empty();
+        if (!(Math.max(a.minX, b.minX) < Math.min(a.maxX, b.maxX) && Math.max(a.minY, b.minY) < Math.min(a.maxY, b.maxY))) {
+            return OptionalDouble.empty();
+        }
+
+        EdgeCuts cutsA = new EdgeCuts(a.size);
+        EdgeCuts cutsB = new EdgeCuts(b.size);
+        cutCrossingEdges(a, b, cutsA, cutsB);
+        double area = (clippedBoundary(a, b, cutsA, true) + clippedBoundary(b, a, cutsB, false)) / 2;
+        double smaller = Math.min(Math.abs(a.signedArea), Math.abs(b.signedArea));
+        return area > AREA_EPSILON * smaller ? OptionalDouble.of(area) : OptionalDouble.empty();
+    }
+
+    /**
+     * Cuts every edge of two polygons where it meets the other polygon's boundary. The edges of both polygons are
+     * sorted by their smallest X coordinate, and each edge is compared only with the edges of the other polygon
+     * whose X extent starts within its own, which finds every pair with overlapping extents exactly once.
+     *
+     * @param a     The first polygon.
+     * @param b     The second polygon.
+     * @param cutsA Receives the cuts of the first polygon's edges.
+     * @param cutsB Receives the cuts of the second polygon's edges.
+     */
+    @CyclomaticComplexity(7)
+    private static void cutCrossingEdges(Ring a, Ring b, EdgeCuts cutsA, EdgeCuts cutsB) {
+        int[] orderA = a.edgesByMinX();
+        int[] orderB = b.edgesByMinX();
+        for (int edge : orderA) {
+            double minX = a.edgeMinX(edge);
+            double maxX = a.edgeMaxX(edge);
+            for (int i = firstEdgeFrom(b, orderB, minX, false); i < orderB.length && b.edgeMinX(orderB[i]) <= maxX; i++) {
+                cutPair(a, edge, b, orderB[i], cutsA, cutsB);
+            }
+        }
+        for (int edge : orderB) {
+            double minX = b.edgeMinX(edge);
+            double maxX = b.edgeMaxX(edge);
+            for (int i = firstEdgeFrom(a, orderA, minX, true); i < orderA.length && a.edgeMinX(orderA[i]) <= maxX; i++) {
+                cutPair(a, orderA[i], b, edge, cutsA, cutsB);
+            }
+        }
+    }
+
+    /**
+     * Finds, by binary search, the first edge in X order starting at or after a coordinate.
+     *
+     * @param ring   The polygon.
+     * @param order  Its edges sorted by smallest X coordinate.
+     * @param x      The coordinate.
+     * @param strict Whether edges starting exactly at the coordinate are skipped.
+     * @return The position in {@code order} of the first such edge, or its length if there is none.
+     */
+    @CyclomaticComplexity(4)
+    private static int firstEdgeFrom(Ring ring, int[] order, double x, boolean strict) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            double start = ring.edgeMinX(order[middle]);
+            if (start < x || (strict && start == x)) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Cuts two edges where they meet: at their crossing point, or where an endpoint of one lies on the other,
+     * which also covers edges running along each other.
+     *
+     * @param a     The first polygon.
+     * @param edgeA The edge of the first polygon.
+     * @param b     The second polygon.
+     * @param edgeB The edge of the second polygon.
+     * @param cutsA Receives the cuts of the first polygon's edges.
+     * @param cutsB Receives the cuts of the second polygon's edges.
+     */
+    @CyclomaticComplexity(8)
+    private static void cutPair(Ring a, int edgeA, Ring b, int edgeB, EdgeCuts cutsA, EdgeCuts cutsB) {
+        int nextA = (edgeA + 1) % a.size;
+        int nextB = (edgeB + 1) % b.size;
+        if (Math.max(a.ys[edgeA], a.ys[nextA]) < Math.min(b.ys[edgeB], b.ys[nextB])
+                || Math.max(b.ys[edgeB], b.ys[nextB]) < Math.min(a.ys[edgeA], a.ys[nextA])) return;
+
+        double d1 = Ring.orientation(a.xs[edgeA], a.ys[edgeA], a.xs[nextA], a.ys[nextA], b.xs[edgeB], b.ys[edgeB]);
+        double d2 = Ring.orientation(a.xs[edgeA], a.ys[edgeA], a.xs[nextA], a.ys[nextA], b.xs[nextB], b.ys[nextB]);
+        double d3 = Ring.orientation(b.xs[edgeB], b.ys[edgeB], b.xs[nextB], b.ys[nextB], a.xs[edgeA], a.ys[edgeA]);
+        double d4 = Ring.orientation(b.xs[edgeB], b.ys[edgeB], b.xs[nextB], b.ys[nextB], a.xs[nextA], a.ys[nextA]);
+        if (d1 * d2 < 0 && d3 * d4 < 0) {
+            cutsA.add(edgeA, d3 / (d3 - d4));
+            cutsB.add(edgeB, d1 / (d1 - d2));
+            return;
+        }
+        if (a.onEdge(edgeA, b.xs[edgeB], b.ys[edgeB])) cutsA.add(edgeA, a.parameterOn(edgeA, b.xs[edgeB], b.ys[edgeB]));
+        if (a.onEdge(edgeA, b.xs[nextB], b.ys[nextB])) cutsA.add(edgeA, a.parameterOn(edgeA, b.xs[nextB], b.ys[nextB]));
+        if (b.onEdge(edgeB, a.xs[edgeA], a.ys[edgeA])) cutsB.add(edgeB, b.parameterOn(edgeB, a.xs[edgeA], a.ys[edgeA]));
+        if (b.onEdge(edgeB, a.xs[nextA], a.ys[nextA])) cutsB.add(edgeB, b.parameterOn(edgeB, a.xs[nextA], a.ys[nextA]));
+    }
+
+    /**
+     * Sums, over the pieces of a polygon's edges that bound the intersection, twice the signed area they sweep
+     * from the origin, with the polygon taken counter-clockwise. A piece bounds the intersection if it lies inside
+     * the other polygon, or on its boundary running the same way; boundary pieces are only counted for the first
+     * polygon so that shared boundary is not counted twice.
+     *
+     * @param ring   The polygon whose edges are clipped.
+     * @param other  The other polygon.
+     * @param cuts   The cuts of the polygon's edges.
+     * @param shared Whether pieces on the other polygon's boundary are counted.
+     * @return Twice the area contributed by the polygon's boundary.
+     */
+    @CyclomaticComplexity(8)
+    private static double clippedBoundary(Ring ring, Ring other, EdgeCuts cuts, boolean shared) {
+        double sign = Math.signum(ring.signedArea);
+        double total = 0;
+        for (int edge = 0; edge < ring.size; edge++) {
+            int next = (edge + 1) % ring.size;
+            double[] params = cuts.sorted(edge);
+            double from = 0;
+            for (int i = 0; i <= params.length; i++) {
+                double to = i < params.length ? params[i] : 1;
+                if (to - from <= BOUNDARY_EPSILON) continue;
+                double x1 = ring.xs[edge] + from * (ring.xs[next] - ring.xs[edge]);
+                double y1 = ring.ys[edge] + from * (ring.ys[next] - ring.ys[edge]);
+                double x2 = ring.xs[edge] + to * (ring.xs[next] - ring.xs[edge]);
+                double y2 = ring.ys[edge] + to * (ring.ys[next] - ring.ys[edge]);
+                double midX = (x1 + x2) / 2;
+                double midY = (y1 + y2) / 2;
+                int boundaryEdge = other.edgeThrough(midX, midY);
+                boolean inside = boundaryEdge >= 0
+                        ? shared && sign * Math.signum(other.signedArea) * other.alignment(boundaryEdge, x2 - x1, y2 - y1) > 0
+                        : other.contains(midX, midY);
+                if (inside) total += sign * (x1 * y2 - x2 * y1);
+                from = to;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * The positions along each edge of a polygon at which it is cut, as fractions of the edge from its start.
+     */
+    private static final class EdgeCuts {
+        private final double[][] params;
+        private final int[] counts;
+
+        /**
+         * Constructs the cuts of a polygon without any.
+         *
+         * @param edges The number of edges.
+         */
+        EdgeCuts(int edges) {
+            this.params = new double[edges][];
+            this.counts = new int[edges];
+        }
+
+        /**
+         * Adds a cut strictly inside an edge; cuts at its ends are ignored.
+         *
+         * @param edge  The edge.
+         * @param param The position along the edge.
+         */
+        @CyclomaticComplexity(4)
+        void add(int edge, double param) {
+            if (!(param > 0 && param < 1)) return;
+            if (params[edge] == null) params[edge] = new double[4];
+            if (counts[edge] == params[edge].length) params[edge] = Arrays.copyOf(params[edge], counts[edge] * 2);
+            params[edge][counts[edge]++] = param;
+        }
+
+        /**
+         * Gets the cuts of an edge in ascending order.
+         *
+         * @param edge The edge.
+         * @return The positions of the cuts.
+         */
+        @CyclomaticComplexity(2)
+        double[] sorted(int edge) {
+            if (counts[edge] == 0) return new double[0];
+            double[] sorted = Arrays.copyOf(params[edge], counts[edge]);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+
+    /**
+     * The vertices of a polygon in primitive arrays, with its bounding box. The ring is implicitly closed.
+     */
+    static final class Ring {
+        private final double[] xs;
+        private final double[] ys;
+        private final int size;
+        private double minX = Double.POSITIVE_INFINITY;
+        private double minY = Double.POSITIVE_INFINITY;
+        private double maxX = Double.NEGATIVE_INFINITY;
+        private double maxY = Double.NEGATIVE_INFINITY;
+        private double signedArea;
+
+        /**
+         * Copies the vertices of a polygon, dropping a repeated closing vertex.
+         *
+         * @param vertices The vertices of the polygon.
+         */
+        Ring(List<VertexCoordinate> vertices) {
+            int count = vertices.size();
+            if (count > 1 && vertices.get(0).equals(vertices.get(count - 1))) count--;
+            this.size = count;
+            this.xs = new double[count];
+            this.ys = new double[count];
+            for (int i = 0; i < count; i++) {
+                xs[i] = vertices.get(i).x();
+                ys[i] = vertices.get(i).y();
+                minX = Math.min(minX, xs[i]);
+                minY = Math.min(minY, ys[i]);
+                maxX = Math.max(maxX, xs[i]);
+                maxY = Math.max(maxY, ys[i]);
+            }
+            for (int i = 0, j = count - 1; i < count; j = i++) {
+                signedArea += (xs[j] * ys[i] - xs[i] * ys[j]) / 2;
+            }
+        }
+
+        /**
+         * Sorts the edges by their smallest X coordinate with an in-place quicksort.
+         *
+         * @return The edges, each identified by its starting vertex index, in ascending order of smallest X.
+         */
+        @CyclomaticComplexity(2)
+        int[] edgesByMinX() {
+            int[] order = new int[size];
+            double[] keys = new double[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+                keys[i] = edgeMinX(i);
+            }
+            sort(order, keys, 0, size - 1);
+            return order;
+        }
+
+        /**
+         * Sorts a range of edges by key, recursing on the smaller side.
+         *
+         * @param order The edges.
+         * @param keys  The key of each position in {@code order}, permuted with it.
+         * @param low   The first index of the range.
+         * @param high  The last index of the range.
+         */
+        @CyclomaticComplexity(6)
+        private static void sort(int[] order, double[] keys, int low, int high) {
+            while (low < high) {
+                double pivot = keys[(low + high) >>> 1];
+                int i = low;
+                int j = high;
+                while (i <= j) {
+                    while (keys[i] < pivot) i++;
+                    while (keys[j] > pivot) j--;
+                    if (i <= j) {
+                        double key = keys[i];
+                        keys[i] = keys[j];
+                        keys[j] = key;
+                        int edge = order[i];
+                        order[i++] = order[j];
+                        order[j--] = edge;
+                    }
+                }
+                if (j - low < high - i) {
+                    sort(order, keys, low, j);
+                    low = i;
+                } else {
+                    sort(order, keys, i, high);
+                    high = j;
+                }
+            }
+        }
+
+        /**
+         * Gets the smallest X coordinate of an edge.
+         *
+         * @param edge The edge starting at this vertex index.
+         * @return The smallest X coordinate.
+         */
+        @CyclomaticComplexity(1)
+        double edgeMinX(int edge) {
+            return Math.min(xs[edge], xs[(edge + 1) % size]);
+        }
+
+        /**
+         * Gets the largest X coordinate of an edge.
+         *
+         * @param edge The edge starting at this vertex index.
+         * @return The largest X coordinate.
+         */
+        @CyclomaticComplexity(1)
+        double edgeMaxX(int edge) {
+            return Math.max(xs[edge], xs[(edge + 1) % size]);
+        }
+
+        /**
+         * Checks whether a point lies on an edge, within a small tolerance.
+         *
+         * @param edge The edge.
+         * @param x    The X coordinate of the point.
+         * @param y    The Y coordinate of the point.
+         * @return true if the point is on the edge, false otherwise.
+         */
+        @CyclomaticComplexity(5)
+        boolean onEdge(int edge, double x, double y) {
+            int next = (edge + 1) % size;
+            double length = Math.abs(xs[next] - xs[edge]) + Math.abs(ys[next] - ys[edge]);
+            return Math.abs(orientation(xs[edge], ys[edge], xs[next], ys[next], x, y)) <= BOUNDARY_EPSILON * Math.max(length, 1)
+                    && x >= Math.min(xs[edge], xs[next]) - BOUNDARY_EPSILON && x <= Math.max(xs[edge], xs[next]) + BOUNDARY_EPSILON
+                    && y >= Math.min(ys[edge], ys[next]) - BOUNDARY_EPSILON && y <= Math.max(ys[edge], ys[next]) + BOUNDARY_EPSILON;
+        }
+
+        /**
+         * Gets the position of a point projected onto an edge.
+         *
+         * @param edge The edge.
+         * @param x    The X coordinate of the point.
+         * @param y    The Y coordinate of the point.
+         * @return The position as a fraction of the edge from its start.
+         */
+        @CyclomaticComplexity(2)
+        double parameterOn(int edge, double x, double y) {
+            int next = (edge + 1) % size;
+            double dx = xs[next] - xs[edge];
+            double dy = ys[next] - ys[edge];
+            double squared = dx * dx + dy * dy;
+            return squared == 0 ? 0 : ((x - xs[edge]) * dx + (y - ys[edge]) * dy) / squared;
+        }
+
+        /**
+         * Finds an edge on which a point lies.
+         *
+         * @param x The X coordinate of the point.
+         * @param y The Y coordinate of the point.
+         * @return The edge, or -1 if the point is not on the boundary.
+         */
+        @CyclomaticComplexity(3)
+        int edgeThrough(double x, double y) {
+            for (int edge = 0; edge < size; edge++) {
+                if (onEdge(edge, x, y)) return edge;
+            }
+            return -1;
+        }
+
+        /**
+         * Computes the dot product of an edge's direction with a vector.
+         *
+         * @param edge The edge.
+         * @param dx   The X component of the vector.
+         * @param dy   The Y component of the vector.
+         * @return A positive value if the vector runs the same way as the edge, negative if the opposite way.
+         */
+        @CyclomaticComplexity(1)
+        double alignment(int edge, double dx, double dy) {
+            int next = (edge + 1) % size;
+            return (xs[next] - xs[edge]) * dx + (ys[next] - ys[edge]) * dy;
+        }
+
+        /**
+         * Checks with ray casting whether a point is inside the ring. Points on the boundary may go either way.
+         *
+         * @param x The X coordinate of the point.
+         * @param y The Y coordinate of the point.
+         * @return true if the point is inside, false otherwise.
+         */
+        @CyclomaticComplexity(4)
+        boolean contains(double x, double y) {
+            boolean inside = false;
+            for (int i = 0, j = size - 1; i < size; j = i++) {
+                if ((ys[i] > y) != (ys[j] > y) && x < (xs[j] - xs[i]) * (y - ys[i]) / (ys[j] - ys[i]) + xs[i]) {
+                    inside = !inside;
+                }
+            }
+            return inside;
+        }
+
+        /**
+         * Computes twice the signed area of the triangle (a, b, c).
+         *
+         * @return A positive value if c is left of the line from a to b, negative if right, zero if collinear.
+         */
+        @CyclomaticComplexity(1)
+        static double orientation(double ax, double ay, double bx, double by, double cx, double cy) {
+            return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package Services;
+
+import DetectAdjacentProperties.AdjacentPairStore;
+import DetectAdjacentProperties.AdjacentPropertyPair;
+import Models.PropertyPolygon;
+import Models.SuggestionParameters;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * The {@code PairFeatureStore} class holds the features of property pairs that exchange scoring needs, computed once
+ * per dataset version: the area of each property, their area feasibility and the similarity of their urbanization
+ * and tourism scores. Pairs are identified by their packed key from {@link AdjacentPropertyPair#pairKey(int, int)};
+ * the keys are kept sorted next to primitive feature columns, so a lookup is a binary search and scoring never has to
+ * touch the {@link PropertyPolygon} objects again. The value similarity is the weighted sum of the stored
+ * similarities, so the same store serves every {@link SuggestionParameters} configuration and every filtered view
+ * of the dataset.
+ */
+@Layer(LayerType.BACK_END)
+public class PairFeatureStore {
+
+    private final long datasetVersion;
+    private final long[] keys;
+    private final double[] area1;
+    private final double[] area2;
+    private final double[] areaFeasibility;
+    private final double[] urbanizationSimilarity;
+    private final double[] tourismSimilarity;
+
+    /**
+     * Computes the features of the given pairs.
+     *
+     * @param pairKeys       The packed keys of the pairs, possibly repeated.
+     * @param propertyMap    A map of property IDs to PropertyPolygon objects holding every property of the pairs.
+     * @param datasetVersion The version of the dataset the properties belong to.
+     */
+    private PairFeatureStore(long[] pairKeys, Map<Integer, PropertyPolygon> propertyMap, long datasetVersion) {
+        this.datasetVersion = datasetVersion;
+        this.keys = Arrays.stream(pairKeys).sorted().distinct().toArray();
+        this.area1 = new double[keys.length];
+        this.area2 = new double[keys.length];
+        this.areaFeasibility = new double[keys.length];
+        this.urbanizationSimilarity = new double[keys.length];
+        this.tourismSimilarity = new double[keys.length];
+        IntStream.range(0, keys.length).parallel().forEach(i -> {
+            PropertyPolygon p1 = propertyMap.get(AdjacentPropertyPair.firstId(keys[i]));
+            PropertyPolygon p2 = propertyMap.get(AdjacentPropertyPair.secondId(keys[i]));
+            area1[i] = p1.getShapeArea();
+            area2[i] = p2.getShapeArea();
+            areaFeasibility[i] = SuggestionGenerator.calculateAreaFeasibility(area1[i], area2[i]);
+            urbanizationSimilarity[i] = 1 - Math.abs(p1.getUrbanizationScore() - p2.getUrbanizationScore());
+            tourismSimilarity[i] = 1 - Math.abs(p1.getTourismScore() - p2.getTourismScore());
+        });
+    }
+
+    /**
+     * Builds a store for a set of pairs. Pairs that reference properties missing from the list are skipped.
+     *
+     * @param pairs          The pairs.
+     * @param properties     The properties the pairs refer to.
+     * @param datasetVersion The version of the dataset the properties belong to.
+     * @return The store.
+     */
+    @CyclomaticComplexity(3)
+    public static PairFeatureStore of(Collection<AdjacentPropertyPair> pairs, List<PropertyPolygon> properties,
+                                      long datasetVersion) {
+        Map<Integer, PropertyPolygon> propertyMap = SuggestionGenerator.mapProperties(properties);
+        long[] pairKeys = pairs.stream()
+                .filter(p -> propertyMap.containsKey(p.getPropertyId1()) && propertyMap.containsKey(p.getPropertyId2()))
+                .mapToLong(p -> AdjacentPropertyPair.pairKey(p.getPropertyId1(), p.getPropertyId2()))
+                .toArray();
+        return new PairFeatureStore(pairKeys, propertyMap, datasetVersion);
+    }
+
+    /**
+     * Builds a store for every exchange {@link SuggestionGenerator} can evaluate from adjacent pairs: for each
+     * owner-pair group, all pairs between a property of one owner and a property of the other.
+     *
+     * @param adjacentPairs  The list of adjacent property pairs.
+     * @param properties     The list of properties.
+     * @param datasetVersion The version of the dataset the properties belong to.
+     * @return The store.
+     */
+    @CyclomaticComplexity(5)
+    public static PairFeatureStore forExchanges(List<AdjacentPropertyPair> adjacentPairs, List<PropertyPolygon> properties,
+                                                long datasetVersion) {
+        Map<Integer, PropertyPolygon> propertyMap = SuggestionGenerator.mapProperties(properties);
+        AdjacentPairStore store = AdjacentPairStore.of(adjacentPairs, properties);
+        store.groupByOwnerPair();
+
+        long[] pairKeys = new long[store.sliceCount() * 4];
+        int size = 0;
+        for (int slice = 0; slice < store.sliceCount(); slice++) {
+            SuggestionGenerator.ExchangeGroups groups = SuggestionGenerator.splitGroups(
+                    store.toPairs(store.sliceStart(slice), store.sliceEnd(slice)), propertyMap);
+            if (groups == null) continue;
+            for (PropertyPolygon a : groups.groupA()) {
+                for (PropertyPolygon b : groups.groupB()) {
+                    pairKeys[size++] = AdjacentPropertyPair.pairKey(a.getObjectId(), b.getObjectId());
+                }
+            }
+        }
+        return new PairFeatureStore(Arrays.copyOf(pairKeys, size), propertyMap, datasetVersion);
+    }
+
+    /**
+     * Gets the dataset version the features were computed for.
+     *
+     * @return The dataset version.
+     */
+    @CyclomaticComplexity(1)
+    public long getDatasetVersion() {
+        return datasetVersion;
+    }
+
+    /**
+     * Gets the number of pairs in the store.
+     *
+     * @return The number of pairs.
+     */
+    @CyclomaticComplexity(1)
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Finds the index of a pair, in either order of its properties.
+     *
+     * @param id1 The ID of one property.
+     * @param id2 The ID of the other property.
+     * @return The index of the pair, or -1 if it is not stored.
+     */
+    @CyclomaticComplexity(2)
+    public int indexOf(int id1, int id2) {
+        int index = Arrays.binarySearch(keys, AdjacentPropertyPair.pairKey(id1, id2));
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Gets the area of one property of a pair.
+     *
+     * @param index      The index of the pair.
+     * @param propertyId The ID of the property, which must belong to the pair.
+     * @return The area of the property.
+     */
+    @CyclomaticComplexity(2)
+    public double getArea(int index, int propertyId) {
+        return AdjacentPropertyPair.firstId(keys[index]) == propertyId ? area1[index] : area2[index];
+    }
+
+    /**
+     * Gets the area feasibility of a pair.
+     *
+     * @param index The index of the pair.
+     * @return The area feasibility, as {@link SuggestionGenerator#calculateAreaFeasibility} computes it.
+     */
+    @CyclomaticComplexity(1)
+    public double getAreaFeasibility(int index) {
+        return areaFeasibility[index];
+    }
+
+    /**
+     * Gets the similarity of the urbanization scores of a pair.
+     *
+     * @param index The index of the pair.
+     * @return One minus the absolute difference of the urbanization scores.
+     */
+    @CyclomaticComplexity(1)
+    public double getUrbanizationSimilarity(int index) {
+        return urbanizationSimilarity[index];
+    }
+
+    /**
+     * Gets the similarity of the tourism scores of a pair.
+     *
+     * @param index The index of the pair.
+     * @return One minus the absolute difference of the tourism scores.
+     */
+    @CyclomaticComplexity(1)
+    public double getTourismSimilarity(int index) {
+        return tourismSimilarity[index];
+    }
+
+    /**
+     * Gets the value similarity of a pair under a configuration.
+     *
+     * @param index      The index of the pair.
+     * @param parameters The configuration holding the weights.
+     * @return The value similarity, as {@link Models.ExchangeSuggestion#computeValueSimilarity} computes it.
+     */
+    @CyclomaticComplexity(1)
+    public double getValueSimilarity(int index, SuggestionParameters parameters) {
+        return parameters.urbanizationWeight() * urbanizationSimilarity[index]
+                + parameters.tourismWeight() * tourismSimilarity[index];
+    }
+}
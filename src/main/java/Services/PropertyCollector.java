@@ -1,27 +1,38 @@
 package Services;
 
+import Models.BoundingBox;
 import Models.Municipality;
 import Models.Parish;
 import Models.PropertyPolygon;
 import Models.District;
+import Models.RegionId;
+import Models.VertexCoordinate;
 import Utils.Annotations.CyclomaticComplexity;
 import Utils.Annotations.Layer;
 import Utils.Enums.LayerType;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
  * The {@code PropertyCollector} class is responsible for collecting and filtering property data
  * from a list of districts. It provides methods to collect properties by owner, district, municipality,
  * and parish, as well as methods to retrieve unique owner IDs and names of districts, municipalities,
- * and parishes.
+ * and parishes. Spatial queries are answered by a {@link PropertySpatialIndex} built on first use; nearest-property
+ * queries for an owner use a separate index over that owner's properties, so they do not scan other owners.
+ * The owner indexes reflect the owners at the time they were built, so code that changes owners must call
+ * {@link #invalidateOwnerIndexes()} afterwards.
  */
 @Layer(LayerType.BACK_END)
 public class PropertyCollector {
 
     private final List<District> districts;
+    private PropertySpatialIndex spatialIndex;
+    private Map<String, List<PropertyPolygon>> propertiesByOwner;
+    private final Map<String, PropertySpatialIndex> ownerIndexes = new HashMap<>();
 
     /**
      * Constructs a PropertyCollector with the given list of districts.
@@ -186,6 +197,28 @@ public class PropertyCollector {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Returns the names of all parishes in the specified municipality of a district.
+     * Unlike {@link #getParishNames(String)}, parishes of same-named municipalities in other districts are excluded.
+     *
+     * @param districtName     The name of the district holding the municipality.
+     * @param municipalityName The name of the municipality to filter parishes by.
+     * @return A list of parish names in the specified municipality.
+     */
+    @CyclomaticComplexity(5)
+    public List<String> getParishNames(String districtName, String municipalityName) {
+        if (districtName == null || districtName.isBlank() || municipalityName == null || municipalityName.isBlank()) {
+            throw new IllegalArgumentException("District and municipality names cannot be null or empty");
+        }
+        return districts.stream()
+                .filter(district -> district.name().equalsIgnoreCase(districtName))
+                .flatMap(district -> district.getMunicipalities().stream())
+                .filter(municipality -> municipality.name().equalsIgnoreCase(municipalityName))
+                .flatMap(municipality -> municipality.getParishes().stream())
+                .map(Parish::name)
+                .collect(Collectors.toList());
+    }
+
     /**
      * Filters PropertyPolygons by district name.
      *
@@ -240,4 +273,107 @@ public class PropertyCollector {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Filters PropertyPolygons by region, following the region's full district, municipality and parish path,
+     * so same-named municipalities or parishes in other parents are excluded.
+     *
+     * @param region The region to filter by.
+     * @return A list of PropertyPolygon objects in the specified region.
+     */
+    @CyclomaticComplexity(3)
+    public List<PropertyPolygon> filterByRegion(RegionId region) {
+        if (region == null) {
+            throw new IllegalArgumentException("Region cannot be null");
+        }
+        if (region.level() == RegionId.Level.ALL) return collectAllProperties();
+        return districts.stream()
+                .filter(district -> district.name().equalsIgnoreCase(region.district()))
+                .flatMap(district -> district.getAllPropertyPolygons().stream())
+                .filter(region::contains)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Collects the properties whose bounding box intersects a rectangle.
+     *
+     * @param minX The smallest X coordinate of the rectangle.
+     * @param minY The smallest Y coordinate of the rectangle.
+     * @param maxX The largest X coordinate of the rectangle.
+     * @param maxY The largest Y coordinate of the rectangle.
+     * @return A list of PropertyPolygon objects inside or crossing the rectangle.
+     */
+    @CyclomaticComplexity(1)
+    public List<PropertyPolygon> collectWithinBox(double minX, double minY, double maxX, double maxY) {
+        return getSpatialIndex().queryBox(new BoundingBox(minX, minY, maxX, maxY));
+    }
+
+    /**
+     * Collects the properties within a distance of a property, measured between their polygons.
+     *
+     * @param origin   The property to measure from.
+     * @param distance The maximum distance, in dataset units.
+     * @return A list of PropertyPolygon objects near the origin, excluding the origin.
+     */
+    @CyclomaticComplexity(2)
+    public List<PropertyPolygon> collectWithinDistance(PropertyPolygon origin, double distance) {
+        if (distance < 0) {
+            throw new IllegalArgumentException("Distance cannot be negative");
+        }
+        return getSpatialIndex().queryWithinDistance(origin, distance);
+    }
+
+    /**
+     * Collects the properties of an owner whose centroids are nearest to a point.
+     *
+     * @param point   The point to measure from.
+     * @param ownerId The ID of the owner.
+     * @param k       The maximum number of properties to return.
+     * @return The owner's properties in increasing order of distance.
+     */
+    @CyclomaticComplexity(1)
+    public List<PropertyPolygon> collectNearestByOwner(VertexCoordinate point, String ownerId, int k) {
+        return getOwnerIndex(ownerId).nearest(point.x(), point.y(), k, property -> true);
+    }
+
+    /**
+     * Discards the per-owner spatial indexes, so the next nearest-by-owner query groups the properties by their
+     * current owners again. Must be called after any owner changes.
+     */
+    @CyclomaticComplexity(1)
+    public synchronized void invalidateOwnerIndexes() {
+        propertiesByOwner = null;
+        ownerIndexes.clear();
+    }
+
+    /**
+     * Gets the spatial index of an owner's properties, building it on first use. The properties of every owner are
+     * grouped in one pass the first time any owner is requested.
+     *
+     * @param ownerId The ID of the owner.
+     * @return The spatial index of the owner's properties, empty for an unknown owner.
+     */
+    @CyclomaticComplexity(3)
+    private synchronized PropertySpatialIndex getOwnerIndex(String ownerId) {
+        if (propertiesByOwner == null) {
+            propertiesByOwner = new HashMap<>();
+            for (PropertyPolygon property : collectAllProperties()) {
+                propertiesByOwner.computeIfAbsent(property.getOwner(), owner -> new ArrayList<>()).add(property);
+            }
+        }
+        return ownerIndexes.computeIfAbsent(ownerId,
+                owner -> new PropertySpatialIndex(propertiesByOwner.getOrDefault(owner, List.of())));
+    }
+
+    /**
+     * Gets the spatial index of all properties, building it on first use.
+     *
+     * @return The spatial index.
+     */
+    @CyclomaticComplexity(2)
+    private synchronized PropertySpatialIndex getSpatialIndex() {
+        if (spatialIndex == null) {
+            spatialIndex = new PropertySpatialIndex(collectAllProperties());
+        }
+        return spatialIndex;
+    }
 }
@@ -5,9 +5,9 @@ import Utils.Annotations.Layer;
 import Utils.Enums.LayerType;
 import edu.uci.ics.jung.graph.Graph;
 import edu.uci.ics.jung.graph.SparseGraph;
+import DetectAdjacentProperties.PropertyAdjacencyGraph;
 import Models.PropertyPolygon;
-import Models.VertexCoordinate;
-import java.util.*;
+import java.util.List;
 
 /**
  * The {@code PropertyGraphJungBuilder} class is responsible for building a graph representation
@@ -24,36 +24,40 @@ public class PropertyGraphJungBuilder {
      * @param properties A list of PropertyPolygon objects to be added to the graph.
      * @return A JUNG graph with PropertyPolygon objects as vertices and edges representing shared coordinates.
      */
-    @CyclomaticComplexity(9)
+    @CyclomaticComplexity(1)
     public static Graph<PropertyPolygon, String> buildGraph(List<PropertyPolygon> properties) {
+        return buildGraph(PropertyAdjacencyGraph.fromProperties(properties));
+    }
+
+    /**
+     * Builds a JUNG graph from an existing adjacency graph, so visualization reuses the canonical
+     * adjacency instead of detecting shared vertices again.
+     *
+     * @param adjacency The adjacency graph of the properties.
+     * @return A JUNG graph with PropertyPolygon objects as vertices and edges between adjacent properties.
+     */
+    @CyclomaticComplexity(5)
+    public static Graph<PropertyPolygon, String> buildGraph(PropertyAdjacencyGraph adjacency) {
         Graph<PropertyPolygon, String> graph = new SparseGraph<>();
         int edgeId = 0;
 
         // Add all properties as vertices
-        for (PropertyPolygon property : properties) {
+        for (PropertyPolygon property : adjacency.getProperties()) {
             graph.addVertex(property);
         }
 
-        // Map each vertex coordinate to the properties it belongs to
-        Map<VertexCoordinate, List<PropertyPolygon>> vertexMap = new HashMap<>();
-        for (PropertyPolygon property : properties) {
-            for (VertexCoordinate vertex : property.getPolygon().getVertices()) {
-                vertexMap.computeIfAbsent(vertex, k -> new ArrayList<>()).add(property);
-            }
-        }
-
-        // Create edges between properties sharing at least one vertex
-        for (List<PropertyPolygon> sharedProps : vertexMap.values()) {
-            for (int i = 0; i < sharedProps.size(); i++) {
-                for (int j = i + 1; j < sharedProps.size(); j++) {
-                    PropertyPolygon p1 = sharedProps.get(i);
-                    PropertyPolygon p2 = sharedProps.get(j);
-                    if (!p1.equals(p2) && !graph.isNeighbor(p1, p2)) {
-                        graph.addEdge("e" + (edgeId++), p1, p2);
-                    }
+        // Create one edge per adjacent pair of rows
+        for (int row = 0; row < adjacency.size(); row++) {
+            PropertyPolygon p1 = adjacency.getProperty(row);
+            for (int i = 0; i < adjacency.degree(row); i++) {
+                int neighbour = adjacency.neighbourAt(row, i);
+                if (neighbour <= row) continue;
+                PropertyPolygon p2 = adjacency.getProperty(neighbour);
+                if (!graph.isNeighbor(p1, p2)) {
+                    graph.addEdge("e" + (edgeId++), p1, p2);
                 }
             }
         }
         return graph;
     }
-}
\ No newline at end of file
+}
@@ -4,18 +4,23 @@ import Models.District;
 import Models.Municipality;
 import Models.Parish;
 import Models.PropertyPolygon;
+import Models.RegionId;
 import Utils.Annotations.CyclomaticComplexity;
 import Utils.Annotations.Layer;
 import Utils.Enums.LayerType;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.stream.IntStream;
 
 /**
  * The {@code PropertyScoreCalculator} class is responsible for assigning tourism and urbanization scores
  * to municipalities and parishes based on the number of properties and monuments in each region.
+ * Regions are identified by their full path in the hierarchy, as a {@link RegionId}, so parishes or municipalities that share a name
+ * in different places are counted separately. Every region gets a dense ID, the properties are counted in
+ * parallel into per-thread primitive counters that are then merged, and the scores are written in one pass.
  */
 @Layer(LayerType.BACK_END)
 public class PropertyScoreCalculator {
@@ -25,79 +30,132 @@ public class PropertyScoreCalculator {
      * @param districts List of Districts containing municipalities and parishes.
      * @param allProperties Flat list of all PropertyPolygons.
      */
-    @CyclomaticComplexity(13)
+    @CyclomaticComplexity(3)
     public static void assignScoresToRegions(List<District> districts, List<PropertyPolygon> allProperties) {
-        // === 1. Count monuments (negative ID) per municipality ===
-        Map<String, Integer> tourismByMunicipality = new HashMap<>();
+        RegionIds regions = new RegionIds(districts);
 
-        for (PropertyPolygon property : allProperties) {
-            if (property.getObjectId() < 0) {
-                String municipality = property.getMunicipio();
-                tourismByMunicipality.merge(municipality, 1, Integer::sum);
-            }
-        }
+        // === 1. Count monuments (negative ID) per municipality and properties per parish ===
+        RegionCounts counts = IntStream.range(0, allProperties.size()).parallel()
+                .collect(() -> new RegionCounts(regions),
+                        (partial, i) -> partial.count(allProperties.get(i)),
+                        RegionCounts::merge);
 
-        // === 2. Count number of properties per parish ===
-        Map<String, Integer> urbanizationByParish = new HashMap<>();
+        // === 2. Normalize both scores between 0 and 1 ===
+        int maxTourism = Math.max(1, IntStream.of(counts.monuments).max().orElse(1));
+        int maxUrbanization = Math.max(1, IntStream.of(counts.properties).max().orElse(1));
 
-        for (PropertyPolygon property : allProperties) {
-            String parish = property.getFreguesia();
-            urbanizationByParish.merge(parish, 1, Integer::sum);
+        // === 3. Assign scores to the corresponding models ===
+        for (int m = 0; m < regions.municipalities.size(); m++) {
+            regions.municipalities.get(m).setTourismScore((double) counts.monuments[regions.municipalityRegion[m]] / maxTourism);
         }
+        IntStream.range(0, regions.parishes.size()).parallel().forEach(p -> {
+            double normalizedTourism = regions.municipalities.get(regions.municipalityOfParish[p]).getTourismScore();
+            double normalizedUrban = (double) counts.properties[regions.parishRegion[p]] / maxUrbanization;
+            Parish parish = regions.parishes.get(p);
+            parish.setUrbanizationScore(normalizedUrban);
+            for (PropertyPolygon property : parish.getPropertyPolygons()) {
+                property.setTourismScore(normalizedTourism);
+                property.setUrbanizationScore(normalizedUrban);
+            }
+        });
+    }
 
-        // === 3. Normalize both scores between 0 and 1 ===
-        int maxTourism = tourismByMunicipality.values().stream().max(Integer::compare).orElse(1);
-        int maxUrbanization = urbanizationByParish.values().stream().max(Integer::compare).orElse(1);
-
-        // === 4. Assign scores to the corresponding models ===
-        for (District district : districts) {
-            for (Municipality municipality : district.getMunicipalities()) {
-                int rawTourism = tourismByMunicipality.getOrDefault(municipality.name(), 0);
-                double normalizedTourism = (double) rawTourism / maxTourism;
-                municipality.setTourismScore(normalizedTourism);
-
-                for (Parish parish : municipality.getParishes()) {
-                    int rawUrban = urbanizationByParish.getOrDefault(parish.name(), 0);
-                    double normalizedUrban = (double) rawUrban / maxUrbanization;
-                    parish.setUrbanizationScore(normalizedUrban);
-
-                    for (PropertyPolygon property : parish.getPropertyPolygons()) {
-                        property.setTourismScore(normalizedTourism);
-                        property.setUrbanizationScore(normalizedUrban);
+    /**
+     * Dense IDs for the municipalities and parishes of a hierarchy, in hierarchy order.
+     * Model objects whose {@link RegionId} is the same, such as parishes whose names differ only in case, share the
+     * dense ID of the first of them, so they are counted together and get the same score.
+     */
+    private static final class RegionIds {
+        private final List<Municipality> municipalities = new ArrayList<>();
+        private final List<Parish> parishes = new ArrayList<>();
+        private final Map<RegionId, Integer> municipalityIds = new HashMap<>();
+        private final Map<RegionId, Integer> parishIds = new HashMap<>();
+        private final int[] municipalityRegion;
+        private final int[] parishRegion;
+        private final int[] municipalityOfParish;
+
+        /**
+         * Numbers the regions of a hierarchy.
+         *
+         * @param districts The districts with their municipalities and parishes.
+         */
+        RegionIds(List<District> districts) {
+            List<Integer> municipalityRegions = new ArrayList<>();
+            List<Integer> parishRegions = new ArrayList<>();
+            List<Integer> parents = new ArrayList<>();
+            for (District district : districts) {
+                for (Municipality municipality : district.getMunicipalities()) {
+                    int m = municipalities.size();
+                    municipalities.add(municipality);
+                    municipalityRegions.add(denseId(municipalityIds, RegionId.municipality(district.name(), municipality.name())));
+                    for (Parish parish : municipality.getParishes()) {
+                        parishes.add(parish);
+                        parishRegions.add(denseId(parishIds, RegionId.parish(district.name(), municipality.name(), parish.name())));
+                        parents.add(m);
                     }
                 }
             }
+            this.municipalityRegion = municipalityRegions.stream().mapToInt(Integer::intValue).toArray();
+            this.parishRegion = parishRegions.stream().mapToInt(Integer::intValue).toArray();
+            this.municipalityOfParish = parents.stream().mapToInt(Integer::intValue).toArray();
         }
-        //TODO Retirar depois de testar
-        System.out.println("\n--- Tourism Scores by Municipality ---");
-        for (Map.Entry<String, Integer> entry : tourismByMunicipality.entrySet()) {
-            System.out.println("Municipality: " + entry.getKey() + ", Tourism Score: " + entry.getValue());
-            double normalized = (double) entry.getValue() / maxTourism;
-            System.out.printf("Municipality: %s, Tourism Score: %.3f%n", entry.getKey(), normalized);
 
+        /**
+         * Gets the dense ID of a region, numbering it after the regions already seen if it is new.
+         *
+         * @param ids    The dense IDs of the regions seen so far.
+         * @param region The region.
+         * @return The dense ID of the region.
+         */
+        @CyclomaticComplexity(1)
+        private static int denseId(Map<RegionId, Integer> ids, RegionId region) {
+            return ids.computeIfAbsent(region, key -> ids.size());
         }
-        System.out.println("\n--- Urbanization Scores by Parish ---");
-        for (Map.Entry<String, Integer> entry : urbanizationByParish.entrySet()) {
-            System.out.println("Parish: " + entry.getKey() + ", Urbanization Score: " + entry.getValue());
-            double normalized = (double) entry.getValue() / maxUrbanization;
-            System.out.printf("Parish: %s, Urbanization Score: %.3f%n", entry.getKey(), normalized);
-        }
-
-        System.out.println("\n--- Tourism & Urbanization Scores by Property ---");
-        for (PropertyPolygon property : allProperties) {
-            if(Objects.equals(property.getMunicipio(), "Funchal") || Objects.equals(property.getMunicipio(), "Machico") ){
-                System.out.printf("Property ID: %d | Municipality: %s | Parish: %s | Tourism Score: %.3f | Urbanization Score: %.3f%n",
-                        property.getObjectId(),
-                        property.getMunicipio(),
-                        property.getFreguesia(),
-                        property.getTourismScore(),
-                        property.getUrbanizationScore());
-            }
-
-
-            }
+    }
 
+    /**
+     * Per-thread counters of monuments per municipality and properties per parish.
+     */
+    private static final class RegionCounts {
+        private final RegionIds regions;
+        private final int[] monuments;
+        private final int[] properties;
+
+        /**
+         * Constructs zeroed counters.
+         *
+         * @param regions The region IDs to count by.
+         */
+        RegionCounts(RegionIds regions) {
+            this.regions = regions;
+            this.monuments = new int[regions.municipalityIds.size()];
+            this.properties = new int[regions.parishIds.size()];
+        }
 
+        /**
+         * Counts a property in its parish and, if it is a monument, in its municipality.
+         * Properties outside the hierarchy are not counted.
+         *
+         * @param property The property to count.
+         */
+        @CyclomaticComplexity(4)
+        void count(PropertyPolygon property) {
+            Integer parish = regions.parishIds.get(RegionId.of(RegionId.Level.PARISH, property));
+            if (parish != null) properties[parish]++;
+            if (property.getObjectId() >= 0) return;
+            Integer municipality = regions.municipalityIds.get(RegionId.of(RegionId.Level.MUNICIPALITY, property));
+            if (municipality != null) monuments[municipality]++;
+        }
 
+        /**
+         * Adds the counters of another thread to these.
+         *
+         * @param other The other counters.
+         */
+        @CyclomaticComplexity(3)
+        void merge(RegionCounts other) {
+            for (int i = 0; i < monuments.length; i++) monuments[i] += other.monuments[i];
+            for (int i = 0; i < properties.length; i++) properties[i] += other.properties[i];
+        }
     }
 }
@@ -0,0 +1,218 @@
+package Services;
+
+import Models.BoundingBox;
+import Models.Polygon;
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * The {@code PropertySpatialIndex} class is a static R-tree over the bounding boxes of properties, packed with the
+ * Sort-Tile-Recursive (STR) method. Rectangle and distance queries only descend into nodes whose box can contain a
+ * result, so their cost grows with the size of the result rather than with the size of the dataset.
+ * Nearest-neighbour queries use a best-first search ordered by the distance to each node's box.
+ * Properties without vertices are not indexed.
+ */
+@Layer(LayerType.BACK_END)
+public class PropertySpatialIndex {
+
+    static final int NODE_CAPACITY = 16;
+
+    private final Node root;
+    private final int size;
+
+    /**
+     * Constructs a spatial index over the given properties.
+     *
+     * @param properties The properties to index.
+     */
+    public PropertySpatialIndex(List<PropertyPolygon> properties) {
+        List<Node> leaves = new ArrayList<>();
+        for (PropertyPolygon property : properties) {
+            if (property.getPolygon() == null) continue;
+            BoundingBox box = property.getPolygon().getBoundingBox();
+            if (box != null) leaves.add(new Node(box, property, property.getPolygon().getCentroid()));
+        }
+        this.size = leaves.size();
+        this.root = leaves.isEmpty() ? null : pack(leaves);
+    }
+
+    /**
+     * Gets the number of indexed properties.
+     *
+     * @return The number of properties with at least one vertex.
+     */
+    @CyclomaticComplexity(1)
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the properties whose bounding box intersects a rectangle.
+     *
+     * @param box The query rectangle.
+     * @return A list of PropertyPolygon objects intersecting the rectangle.
+     */
+    @CyclomaticComplexity(2)
+    public List<PropertyPolygon> queryBox(BoundingBox box) {
+        List<PropertyPolygon> result = new ArrayList<>();
+        if (root != null) search(root, box, 0, result);
+        return result;
+    }
+
+    /**
+     * Finds the properties whose polygon lies within a distance of the polygon of an origin property.
+     * The tree is searched with the gap between bounding boxes, which never exceeds the gap between polygons, and
+     * each candidate is then checked with {@link Polygon#distanceTo(Polygon)}.
+     * The origin itself is excluded from the result.
+     *
+     * @param origin   The property to measure from.
+     * @param distance The maximum distance between polygons.
+     * @return A list of PropertyPolygon objects near the origin.
+     */
+    @CyclomaticComplexity(4)
+    public List<PropertyPolygon> queryWithinDistance(PropertyPolygon origin, double distance) {
+        List<PropertyPolygon> result = new ArrayList<>();
+        Polygon polygon = origin.getPolygon();
+        BoundingBox box = polygon == null ? null : polygon.getBoundingBox();
+        if (root == null || box == null) return result;
+        search(root, box, distance, result);
+        result.removeIf(property -> property == origin || polygon.distanceTo(property.getPolygon()) > distance);
+        return result;
+    }
+
+    /**
+     * Finds the k properties whose centroids are nearest to a point and that satisfy a filter.
+     *
+     * @param x      The X coordinate of the point.
+     * @param y      The Y coordinate of the point.
+     * @param k      The maximum number of properties to return.
+     * @param filter The condition the returned properties must satisfy.
+     * @return The matching properties in increasing order of centroid distance.
+     */
+    @CyclomaticComplexity(7)
+    public List<PropertyPolygon> nearest(double x, double y, int k, Predicate<PropertyPolygon> filter) {
+        List<PropertyPolygon> result = new ArrayList<>();
+        if (root == null || k <= 0) return result;
+
+        PriorityQueue<QueueEntry> queue = new PriorityQueue<>(Comparator.comparingDouble(QueueEntry::distance));
+        queue.add(new QueueEntry(root, root.box.distanceTo(x, y)));
+        while (!queue.isEmpty() && result.size() < k) {
+            Node node = queue.poll().node;
+            if (node.property != null) {
+                if (filter.test(node.property)) result.add(node.property);
+                continue;
+            }
+            for (Node child : node.children) {
+                double d = child.property != null
+                        ? Math.hypot(child.centroid.x() - x, child.centroid.y() - y)
+                        : child.box.distanceTo(x, y);
+                queue.add(new QueueEntry(child, d));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Collects the leaf properties of a subtree whose box lies within a distance of a query box.
+     *
+     * @param node     The subtree root.
+     * @param box      The query box.
+     * @param distance The maximum gap between the query box and a result box; zero for intersection.
+     * @param result   The list the matches are added to.
+     */
+    @CyclomaticComplexity(4)
+    private static void search(Node node, BoundingBox box, double distance, List<PropertyPolygon> result) {
+        if (node.box.distanceTo(box) > distance) return;
+        if (node.property != null) {
+            result.add(node.property);
+            return;
+        }
+        for (Node child : node.children) {
+            search(child, box, distance, result);
+        }
+    }
+
+    /**
+     * Packs a level of nodes into parents with the Sort-Tile-Recursive method until a single root remains.
+     * Each level is sorted by centre X, cut into vertical slices, and each slice is sorted by centre Y
+     * before being cut into nodes of at most {@link #NODE_CAPACITY} children.
+     *
+     * @param level The nodes of the lowest level.
+     * @return The root node.
+     */
+    @CyclomaticComplexity(5)
+    private static Node pack(List<Node> level) {
+        while (level.size() > 1) {
+            int parentCount = (level.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+            int sliceCount = (int) Math.ceil(Math.sqrt(parentCount));
+            int sliceSize = sliceCount * NODE_CAPACITY;
+
+            level.sort(Comparator.comparingDouble(n -> n.box.minX() + n.box.maxX()));
+            List<Node> parents = new ArrayList<>(parentCount);
+            for (int start = 0; start < level.size(); start += sliceSize) {
+                List<Node> slice = new ArrayList<>(level.subList(start, Math.min(start + sliceSize, level.size())));
+                slice.sort(Comparator.comparingDouble(n -> n.box.minY() + n.box.maxY()));
+                for (int i = 0; i < slice.size(); i += NODE_CAPACITY) {
+                    parents.add(new Node(slice.subList(i, Math.min(i + NODE_CAPACITY, slice.size()))));
+                }
+            }
+            level = parents;
+        }
+        return level.get(0);
+    }
+
+    /**
+     * A node of the R-tree: a leaf holding one property, or an inner node holding child nodes.
+     */
+    private static final class Node {
+        private final BoundingBox box;
+        private final PropertyPolygon property;
+        private final VertexCoordinate centroid;
+        private final Node[] children;
+
+        /**
+         * Constructs a leaf node for a property.
+         *
+         * @param box      The bounding box of the property.
+         * @param property The property.
+         * @param centroid The centroid of the property.
+         */
+        Node(BoundingBox box, PropertyPolygon property, VertexCoordinate centroid) {
+            this.box = box;
+            this.property = property;
+            this.centroid = centroid;
+            this.children = null;
+        }
+
+        /**
+         * Constructs an inner node covering the given children.
+         *
+         * @param children The child nodes.
+         */
+        Node(List<Node> children) {
+            BoundingBox union = children.get(0).box;
+            for (Node child : children) {
+                union = union.union(child.box);
+            }
+            this.box = union;
+            this.property = null;
+            this.centroid = null;
+            this.children = children.toArray(new Node[0]);
+        }
+    }
+
+    /**
+     * A node waiting in the best-first search queue, with a lower bound of its distance to the query point.
+     *
+     * @param node     The node.
+     * @param distance The distance used to order the queue.
+     */
+    private record QueueEntry(Node node, double distance) {
+    }
+}
@@ -1,13 +1,17 @@
 package Services;
 
+import DetectAdjacentProperties.AdjacentPairStore;
 import DetectAdjacentProperties.AdjacentPropertyPair;
+import DetectAdjacentProperties.PropertyAdjacencyGraph;
 import Models.ExchangeSuggestion;
 import Models.PropertyPolygon;
+import Models.SuggestionPage;
 import Utils.Annotations.CyclomaticComplexity;
 import Utils.Annotations.Layer;
 import Utils.Enums.LayerType;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 
 /**
@@ -17,6 +21,18 @@ import java.util.*;
 @Layer(LayerType.BACK_END)
 public class SuggestionGenerator {
 
+    private static final int GROUPS_PER_BATCH = 1024;
+    private static final int INITIAL_HEAP_CAPACITY = 1024;
+
+    /**
+     * The ranking of suggestions: by descending score, and by ascending property IDs among equal scores, so the
+     * ranking does not depend on the order in which the adjacent pairs were found.
+     */
+    static final Comparator<ExchangeSuggestion> RANKING = Comparator
+            .comparingDouble(ExchangeSuggestion::getScore).reversed()
+            .thenComparingInt(ExchangeSuggestion::getPropertyFromA)
+            .thenComparingInt(ExchangeSuggestion::getPropertyFromB);
+
     /**
      * Generates exchange suggestions based on adjacent property pairs and their properties.
      *
@@ -24,24 +40,213 @@ public class SuggestionGenerator {
      * @param properties    The list of properties.
      * @return A list of exchange suggestions.
      */
-    @CyclomaticComplexity(2)
+    @CyclomaticComplexity(1)
     public static List<ExchangeSuggestion> generateSuggestions(
             List<AdjacentPropertyPair> adjacentPairs,
             List<PropertyPolygon> properties) {
 
-        Map<Integer, PropertyPolygon> propertyMap = mapProperties(properties);
-        Map<String, List<AdjacentPropertyPair>> pairsByOwnerPair = groupPairsByOwner(adjacentPairs, propertyMap);
+        return generateSuggestions(AdjacentPairStore.of(adjacentPairs, properties), mapProperties(properties));
+    }
+
+    /**
+     * Generates exchange suggestions reading the pair features from a {@link PairFeatureStore} built for the same
+     * dataset version, so the areas, area feasibility and score similarities of the pairs are not computed
+     * again. Candidates whose pairs the store does not hold are read from their properties. The suggestions are
+     * the same as those of {@link #generateSuggestions(List, List)}.
+     *
+     * @param adjacentPairs The list of adjacent property pairs.
+     * @param properties    The list of properties.
+     * @param features      The pair features of the dataset, or null to read every feature from the properties.
+     * @return A list of exchange suggestions.
+     */
+    @CyclomaticComplexity(1)
+    public static List<ExchangeSuggestion> generateSuggestions(
+            List<AdjacentPropertyPair> adjacentPairs,
+            List<PropertyPolygon> properties,
+            PairFeatureStore features) {
+
         List<ExchangeSuggestion> suggestions = new ArrayList<>();
+        forEachSuggestion(AdjacentPairStore.of(adjacentPairs, properties), mapProperties(properties), features,
+                suggestions::add);
 
-        for (List<AdjacentPropertyPair> pairList : pairsByOwnerPair.values()) {
-            Optional<ExchangeSuggestion> bestSuggestion = processPairList(pairList, propertyMap);
-            bestSuggestion.ifPresent(suggestions::add);
+        suggestions.sort(RANKING);
+        return suggestions;
+    }
+
+    /**
+     * Generates exchange suggestions from adjacent pairs together with nearby candidate pairs,
+     * such as those from {@link ExchangeCandidateGenerator}. Pairs present in both lists are used once.
+     *
+     * @param adjacentPairs  The list of adjacent property pairs.
+     * @param candidatePairs The list of additional candidate pairs.
+     * @param properties     The list of properties.
+     * @return A list of exchange suggestions.
+     */
+    @CyclomaticComplexity(3)
+    public static List<ExchangeSuggestion> generateSuggestions(
+            List<AdjacentPropertyPair> adjacentPairs,
+            List<AdjacentPropertyPair> candidatePairs,
+            List<PropertyPolygon> properties) {
+
+        Set<Long> seen = new HashSet<>();
+        List<AdjacentPropertyPair> pairs = new ArrayList<>(adjacentPairs.size() + candidatePairs.size());
+        for (List<AdjacentPropertyPair> source : List.of(adjacentPairs, candidatePairs)) {
+            for (AdjacentPropertyPair pair : source) {
+                if (seen.add(AdjacentPropertyPair.pairKey(pair.getPropertyId1(), pair.getPropertyId2()))) pairs.add(pair);
+            }
         }
+        return generateSuggestions(pairs, properties);
+    }
 
-        suggestions.sort(Comparator.comparingDouble(ExchangeSuggestion::getScore).reversed());
+    /**
+     * Generates exchange suggestions directly from an adjacency graph, using its edges between
+     * valid properties with different owners as the adjacent pairs.
+     *
+     * @param adjacency The adjacency graph of the properties.
+     * @return A list of exchange suggestions.
+     */
+    @CyclomaticComplexity(1)
+    public static List<ExchangeSuggestion> generateSuggestions(PropertyAdjacencyGraph adjacency) {
+        return generateSuggestions(adjacency.differentOwnerPairStore(), mapProperties(adjacency.getProperties()));
+    }
+
+    /**
+     * Generates exchange suggestions from a pair store whose owners are already resolved.
+     * The store is grouped by owner pair and each slice is processed as one candidate exchange.
+     *
+     * @param store       The adjacent pairs with their owners.
+     * @param propertyMap A map of property IDs to PropertyPolygon objects.
+     * @return A list of exchange suggestions.
+     */
+    @CyclomaticComplexity(1)
+    static List<ExchangeSuggestion> generateSuggestions(AdjacentPairStore store, Map<Integer, PropertyPolygon> propertyMap) {
+        List<ExchangeSuggestion> suggestions = new ArrayList<>();
+        forEachSuggestion(store, propertyMap, suggestions::add);
+
+        suggestions.sort(RANKING);
         return suggestions;
     }
 
+    /**
+     * Generates only the best exchange suggestions, keeping a heap of at most {@code k} of them while the
+     * owner-pair groups are processed, so memory does not grow with the number of candidates. The heap grows as
+     * suggestions are found, so a large {@code k}, such as {@link Integer#MAX_VALUE} for all of them, costs no more
+     * than the suggestions actually kept.
+     *
+     * @param adjacentPairs The list of adjacent property pairs.
+     * @param properties    The list of properties.
+     * @param k             The maximum number of suggestions to return.
+     * @return The best suggestions, in the same order as {@link #generateSuggestions(List, List)} would rank them.
+     * @throws IllegalArgumentException if k is negative.
+     */
+    @CyclomaticComplexity(4)
+    public static List<ExchangeSuggestion> topSuggestions(List<AdjacentPropertyPair> adjacentPairs,
+                                                          List<PropertyPolygon> properties, int k) {
+        if (k < 0) throw new IllegalArgumentException("Suggestion count must not be negative");
+        if (k == 0) return new ArrayList<>();
+        PriorityQueue<ExchangeSuggestion> heap = new PriorityQueue<>(Math.min(k, INITIAL_HEAP_CAPACITY) + 1, RANKING.reversed());
+
+        forEachSuggestion(AdjacentPairStore.of(adjacentPairs, properties), mapProperties(properties), suggestion -> {
+            heap.add(suggestion);
+            if (heap.size() > k) heap.poll();
+        });
+
+        List<ExchangeSuggestion> best = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) best.add(heap.poll());
+        Collections.reverse(best);
+        return best;
+    }
+
+    /**
+     * Generates one page of the ranked exchange suggestions. Only the suggestions up to the end of the page
+     * are kept while generating, plus one more to tell whether a next page exists.
+     *
+     * @param adjacentPairs The list of adjacent property pairs.
+     * @param properties    The list of properties.
+     * @param cursor        The rank of the first suggestion of the page, 0 for the first page.
+     * @param pageSize      The maximum number of suggestions of the page.
+     * @return The page, with the cursor of the next one.
+     * @throws IllegalArgumentException if the cursor is negative, the page size is not positive or the end of the
+     *                                  page exceeds {@link Integer#MAX_VALUE}.
+     */
+    @CyclomaticComplexity(5)
+    public static SuggestionPage suggestionPage(List<AdjacentPropertyPair> adjacentPairs,
+                                                List<PropertyPolygon> properties, int cursor, int pageSize) {
+        if (cursor < 0 || pageSize <= 0) throw new IllegalArgumentException("Invalid page cursor or size");
+        int end;
+        try {
+            end = Math.addExact(cursor, pageSize);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Page end exceeds the largest rank", e);
+        }
+        List<ExchangeSuggestion> ranked = topSuggestions(adjacentPairs, properties,
+                end == Integer.MAX_VALUE ? end : end + 1);
+        return SuggestionPage.of(ranked, cursor, pageSize);
+    }
+
+    /**
+     * Processes every owner-pair group of a pair store as one candidate exchange, passing each suggestion found
+     * to an action. The candidates of up to {@link #GROUPS_PER_BATCH} groups are scored together by a
+     * {@link SuggestionScoringKernel}, so memory stays bounded while the scoring runs over primitive arrays.
+     * Each group is split by {@link #splitGroups}, so the suggestions depend only on the set of pairs.
+     *
+     * @param store       The adjacent pairs with their owners.
+     * @param propertyMap A map of property IDs to PropertyPolygon objects.
+     * @param action      Receives the suggestions, in owner-pair order.
+     */
+    @CyclomaticComplexity(1)
+    static void forEachSuggestion(AdjacentPairStore store, Map<Integer, PropertyPolygon> propertyMap,
+                                  Consumer<ExchangeSuggestion> action) {
+        forEachSuggestion(store, propertyMap, null, action);
+    }
+
+    /**
+     * Processes every owner-pair group of a pair store as one candidate exchange, reading the candidate features
+     * from a {@link PairFeatureStore} when one is given.
+     *
+     * @param store       The adjacent pairs with their owners.
+     * @param propertyMap A map of property IDs to PropertyPolygon objects.
+     * @param features    The pair features of the dataset, or null to read every feature from the properties.
+     * @param action      Receives the suggestions, in owner-pair order.
+     */
+    @CyclomaticComplexity(5)
+    static void forEachSuggestion(AdjacentPairStore store, Map<Integer, PropertyPolygon> propertyMap,
+                                  PairFeatureStore features, Consumer<ExchangeSuggestion> action) {
+        store.groupByOwnerPair();
+        SuggestionScoringKernel kernel = new SuggestionScoringKernel(GROUPS_PER_BATCH * 4);
+        List<ExchangeGroups> batch = new ArrayList<>(GROUPS_PER_BATCH);
+
+        for (int slice = 0; slice < store.sliceCount(); slice++) {
+            List<AdjacentPropertyPair> pairList = store.toPairs(store.sliceStart(slice), store.sliceEnd(slice));
+            ExchangeGroups groups = splitGroups(pairList, propertyMap);
+            if (groups == null) continue;
+            addCandidates(kernel, groups.groupA(), groups.groupB(), features);
+            batch.add(groups);
+            if (batch.size() == GROUPS_PER_BATCH) flush(kernel, batch, action);
+        }
+        flush(kernel, batch, action);
+    }
+
+    /**
+     * Scores a batch of owner-pair groups and passes the best suggestion of each to an action.
+     *
+     * @param kernel The kernel holding the candidates of the batch, in group order.
+     * @param batch  The groups of the batch; emptied afterwards together with the kernel.
+     * @param action Receives the suggestions.
+     */
+    @CyclomaticComplexity(2)
+    private static void flush(SuggestionScoringKernel kernel, List<ExchangeGroups> batch,
+                              Consumer<ExchangeSuggestion> action) {
+        kernel.scoreAll();
+        int start = 0;
+        for (ExchangeGroups groups : batch) {
+            selectBest(kernel, start, groups.groupA(), groups.groupB()).ifPresent(action);
+            start += groups.groupA().size() * groups.groupB().size();
+        }
+        kernel.clear();
+        batch.clear();
+    }
+
     /**
      * Maps property IDs to PropertyPolygon objects for quick access.
      *
@@ -72,8 +277,8 @@ public class SuggestionGenerator {
         Map<String, List<AdjacentPropertyPair>> pairsByOwnerPair = new HashMap<>();
 
         for (AdjacentPropertyPair pair : adjacentPairs) {
-            PropertyPolygon p1 = propertyMap.get((int) pair.getPropertyId1());
-            PropertyPolygon p2 = propertyMap.get((int) pair.getPropertyId2());
+            PropertyPolygon p1 = propertyMap.get(pair.getPropertyId1());
+            PropertyPolygon p2 = propertyMap.get(pair.getPropertyId2());
 
             if (p1 == null || p2 == null) continue;
 
@@ -94,20 +299,51 @@ public class SuggestionGenerator {
      * @param propertyMap A map of property IDs to PropertyPolygon objects.
      * @return An Optional containing the best exchange suggestion, or empty if no valid suggestion is found.
      */
-    @CyclomaticComplexity(10)
+    @CyclomaticComplexity(2)
     static Optional<ExchangeSuggestion> processPairList(
             List<AdjacentPropertyPair> pairList,
             Map<Integer, PropertyPolygon> propertyMap) {
 
-        if (pairList.size() < 2) return Optional.empty();
+        ExchangeGroups groups = splitGroups(pairList, propertyMap);
+        if (groups == null) return Optional.empty();
+
+        return findBestSuggestion(groups.groupA(), groups.groupB());
+    }
+
+    /**
+     * Splits the properties of the two pairs of an owner-pair group with the smallest packed IDs by owner, so the
+     * exchange does not depend on the order in which the pairs were found.
+     *
+     * @param pairList    The list of adjacent property pairs.
+     * @param propertyMap A map of property IDs to PropertyPolygon objects.
+     * @return The two properties of each owner, or null if the pairs do not involve four properties.
+     */
+    @CyclomaticComplexity(12)
+    static ExchangeGroups splitGroups(
+            List<AdjacentPropertyPair> pairList,
+            Map<Integer, PropertyPolygon> propertyMap) {
+
+        if (pairList.size() < 2) return null;
+
+        long first = Long.MAX_VALUE;
+        long second = Long.MAX_VALUE;
+        for (AdjacentPropertyPair pair : pairList) {
+            long key = AdjacentPropertyPair.pairKey(pair.getPropertyId1(), pair.getPropertyId2());
+            if (key < first) {
+                second = first;
+                first = key;
+            } else if (key < second) {
+                second = key;
+            }
+        }
 
         Set<Integer> allIds = new HashSet<>();
-        for (AdjacentPropertyPair pair : pairList.subList(0, 2)) {
-            allIds.add((int) pair.getPropertyId1());
-            allIds.add((int) pair.getPropertyId2());
+        for (long key : new long[]{first, second}) {
+            allIds.add(AdjacentPropertyPair.firstId(key));
+            allIds.add(AdjacentPropertyPair.secondId(key));
         }
 
-        if (allIds.size() < 4) return Optional.empty();
+        if (allIds.size() < 4) return null;
 
         List<PropertyPolygon> groupA = new ArrayList<>();
         List<PropertyPolygon> groupB = new ArrayList<>();
@@ -122,9 +358,9 @@ public class SuggestionGenerator {
             }
         }
 
-        if (groupA.size() != 2 || groupB.size() != 2) return Optional.empty();
+        if (groupA.size() != 2 || groupB.size() != 2) return null;
 
-        return findBestSuggestion(groupA, groupB);
+        return new ExchangeGroups(groupA, groupB);
     }
 
     /**
@@ -134,47 +370,113 @@ public class SuggestionGenerator {
      * @param groupB The second group of properties.
      * @return An Optional containing the best suggestion, or empty if no valid suggestion is found.
      */
-    @CyclomaticComplexity(7)
+    @CyclomaticComplexity(1)
     static Optional<ExchangeSuggestion> findBestSuggestion(
             List<PropertyPolygon> groupA, List<PropertyPolygon> groupB) {
 
-        double bestFeasibility = -1;
-        ExchangeSuggestion bestSuggestion = null;
+        SuggestionScoringKernel kernel = new SuggestionScoringKernel(groupA.size() * groupB.size());
+        addCandidates(kernel, groupA, groupB);
+        kernel.scoreAll();
+        return selectBest(kernel, 0, groupA, groupB);
+    }
 
+    /**
+     * Adds every exchange between a property of each group to a scoring kernel, in the order
+     * {@link #selectBest} reads them back.
+     *
+     * @param kernel The scoring kernel.
+     * @param groupA The first group of properties.
+     * @param groupB The second group of properties.
+     */
+    @CyclomaticComplexity(5)
+    static void addCandidates(SuggestionScoringKernel kernel, List<PropertyPolygon> groupA, List<PropertyPolygon> groupB) {
         for (PropertyPolygon a : groupA) {
             for (PropertyPolygon b : groupB) {
-                double areaFeasibility = calculateAreaFeasibility(a.getShapeArea(), b.getShapeArea());
-                if (areaFeasibility < 0.85 || areaFeasibility <= bestFeasibility) continue;
-
                 PropertyPolygon otherA = groupA.get(0).equals(a) ? groupA.get(1) : groupA.get(0);
                 PropertyPolygon otherB = groupB.get(0).equals(b) ? groupB.get(1) : groupB.get(0);
+                kernel.add(a, otherA, b, otherB);
+            }
+        }
+    }
 
-                double percentA = calculateNetAreaChange(a.getShapeArea() + otherA.getShapeArea(), b.getShapeArea() + otherA.getShapeArea());
-                double percentB = calculateNetAreaChange(b.getShapeArea() + otherB.getShapeArea(), a.getShapeArea() + otherB.getShapeArea());
-
-                ExchangeSuggestion suggestion = new ExchangeSuggestion(a.getObjectId(), b.getObjectId(), areaFeasibility);
-                suggestion.setPercentChangeA(percentA);
-                suggestion.setPercentChangeB(percentB);
-                suggestion.computeValueSimilarity(a, b);
-
-                double fiability = areaFeasibility * suggestion.getValueSimilarity();
-                suggestion.setFeability(fiability);
+    /**
+     * Adds every exchange between a property of each group to a scoring kernel, reading the features of each
+     * exchange from a {@link PairFeatureStore}: the area feasibility, similarities and areas of the given properties
+     * from their pair, and the area each owner keeps from the pair of the kept property with the other given one.
+     * An exchange whose pairs are not all stored is read from its properties.
+     *
+     * @param kernel   The scoring kernel.
+     * @param groupA   The first group of properties.
+     * @param groupB   The second group of properties.
+     * @param features The pair features, or null to read every exchange from its properties.
+     */
+    @CyclomaticComplexity(9)
+    static void addCandidates(SuggestionScoringKernel kernel, List<PropertyPolygon> groupA, List<PropertyPolygon> groupB,
+                              PairFeatureStore features) {
+        if (features == null) {
+            addCandidates(kernel, groupA, groupB);
+            return;
+        }
+        for (PropertyPolygon a : groupA) {
+            for (PropertyPolygon b : groupB) {
+                PropertyPolygon otherA = groupA.get(0).equals(a) ? groupA.get(1) : groupA.get(0);
+                PropertyPolygon otherB = groupB.get(0).equals(b) ? groupB.get(1) : groupB.get(0);
+                int given = features.indexOf(a.getObjectId(), b.getObjectId());
+                int keptA = features.indexOf(otherA.getObjectId(), b.getObjectId());
+                int keptB = features.indexOf(a.getObjectId(), otherB.getObjectId());
+                if (given < 0 || keptA < 0 || keptB < 0) {
+                    kernel.add(a, otherA, b, otherB);
+                } else {
+                    kernel.addPrecomputed(features.getArea(given, a.getObjectId()), features.getArea(keptA, otherA.getObjectId()),
+                            features.getArea(given, b.getObjectId()), features.getArea(keptB, otherB.getObjectId()),
+                            features.getAreaFeasibility(given), features.getUrbanizationSimilarity(given),
+                            features.getTourismSimilarity(given));
+                }
+            }
+        }
+    }
 
-                double equidade = 100.0 - Math.abs(percentA * 100.0 - percentB * 100.0);
-                double areaMedia = (a.getShapeArea() + b.getShapeArea()) / 2.0;
-                double areaFactor = Math.min(1.0, areaMedia / 1000.0);
+    /**
+     * Selects the best of the scored exchanges between two groups.
+     *
+     * @param kernel The scoring kernel, already scored.
+     * @param start  The index of the first exchange of the groups in the kernel.
+     * @param groupA The first group of properties.
+     * @param groupB The second group of properties.
+     * @return An Optional containing the best suggestion, or empty if no valid suggestion is found.
+     */
+    @CyclomaticComplexity(2)
+    private static Optional<ExchangeSuggestion> selectBest(SuggestionScoringKernel kernel, int start,
+                                                           List<PropertyPolygon> groupA, List<PropertyPolygon> groupB) {
+        int best = bestCandidate(kernel, start, groupA.size() * groupB.size());
+        if (best < 0) return Optional.empty();
+        return Optional.of(kernel.toSuggestion(start + best, groupA.get(best / groupB.size()).getObjectId(),
+                groupB.get(best % groupB.size()).getObjectId()));
+    }
 
-                System.out.println("areaFeasibility"+ areaFeasibility+ "getValueSimilarity"+ suggestion.getValueSimilarity()+ "fiability"
-                        + fiability);
-                double score = equidade * areaFactor * fiability;
-                suggestion.setScore(score);
+    /**
+     * Finds the best of the scored exchanges of one owner-pair group. An exchange needs an area feasibility of
+     * at least the minimum of the parameters it was scored with, and above the feasibility of the exchange
+     * selected before it.
+     *
+     * @param kernel The scoring kernel, already scored.
+     * @param start  The index of the first exchange of the group in the kernel.
+     * @param count  The number of exchanges of the group.
+     * @return The offset of the best exchange from {@code start}, or -1 if there is none.
+     */
+    @CyclomaticComplexity(4)
+    static int bestCandidate(SuggestionScoringKernel kernel, int start, int count) {
+        double minAreaFeasibility = kernel.getParameters().minAreaFeasibility();
+        double bestFeasibility = -1;
+        int best = -1;
 
-                bestSuggestion = suggestion;
-                bestFeasibility = (fiability);
-            }
+        for (int i = 0; i < count; i++) {
+            double areaFeasibility = kernel.getAreaFeasibility(start + i);
+            if (areaFeasibility < minAreaFeasibility || areaFeasibility <= bestFeasibility) continue;
+            best = i;
+            bestFeasibility = kernel.getFeasibility(start + i);
         }
-
-        return Optional.ofNullable(bestSuggestion);
+        return best;
     }
 
     /**
@@ -202,4 +504,13 @@ public class SuggestionGenerator {
         if (before <= 0) return 0.0;
         return (after - before) / before;
     }
-}
\ No newline at end of file
+
+    /**
+     * The properties of the two owners of an owner-pair group that take part in its exchange.
+     *
+     * @param groupA The two properties of the first owner.
+     * @param groupB The two properties of the second owner.
+     */
+    record ExchangeGroups(List<PropertyPolygon> groupA, List<PropertyPolygon> groupB) {
+    }
+}
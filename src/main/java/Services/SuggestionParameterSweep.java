@@ -0,0 +1,135 @@
+package Services;
+
+import DetectAdjacentProperties.AdjacentPairStore;
+import DetectAdjacentProperties.AdjacentPropertyPair;
+import Models.PropertyPolygon;
+import Models.SuggestionParameters;
+import Models.SuggestionSweepResult;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.*;
+
+/**
+ * The {@code SuggestionParameterSweep} class evaluates many {@link SuggestionParameters} configurations in one run,
+ * to calibrate the feasibility threshold, the value similarity weights and the reference area.
+ * The owner-pair groups are formed and the features of their candidate exchanges are loaded into a
+ * {@link SuggestionScoringKernel} once. Each configuration is then scored in parallel over the shared features,
+ * selecting the suggestion of every group as {@link SuggestionGenerator} would, and summarised by the number of
+ * suggestions and the distribution of their scores.
+ */
+@Layer(LayerType.BACK_END)
+public class SuggestionParameterSweep {
+
+    /**
+     * Builds every combination of the given values. The tourism weight of each combination is the complement of
+     * its urbanization weight, so the value similarity stays between 0 and 1.
+     *
+     * @param minAreaFeasibilities The feasibility thresholds to try.
+     * @param urbanizationWeights  The urbanization weights to try, each between 0 and 1.
+     * @param referenceAreas       The reference areas to try.
+     * @return The configurations, varying the reference area fastest.
+     */
+    @CyclomaticComplexity(4)
+    public static List<SuggestionParameters> grid(double[] minAreaFeasibilities, double[] urbanizationWeights,
+                                                  double[] referenceAreas) {
+        List<SuggestionParameters> grid = new ArrayList<>();
+        for (double minAreaFeasibility : minAreaFeasibilities) {
+            for (double urbanizationWeight : urbanizationWeights) {
+                for (double referenceArea : referenceAreas) {
+                    grid.add(new SuggestionParameters(minAreaFeasibility, urbanizationWeight, 1.0 - urbanizationWeight, referenceArea));
+                }
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Evaluates configurations over the same adjacent pairs.
+     *
+     * @param adjacentPairs  The list of adjacent property pairs.
+     * @param properties     The list of properties.
+     * @param configurations The configurations to evaluate.
+     * @return One result per configuration, in the same order.
+     */
+    @CyclomaticComplexity(1)
+    public static List<SuggestionSweepResult> sweep(List<AdjacentPropertyPair> adjacentPairs, List<PropertyPolygon> properties,
+                                                    List<SuggestionParameters> configurations) {
+        return sweep(adjacentPairs, properties, null, configurations);
+    }
+
+    /**
+     * Evaluates configurations over the same adjacent pairs, reading the candidate features from a
+     * {@link PairFeatureStore} of the dataset.
+     *
+     * @param adjacentPairs  The list of adjacent property pairs.
+     * @param properties     The list of properties.
+     * @param features       The pair features of the dataset, or null to read them from the properties.
+     * @param configurations The configurations to evaluate.
+     * @return One result per configuration, in the same order.
+     */
+    @CyclomaticComplexity(2)
+    public static List<SuggestionSweepResult> sweep(List<AdjacentPropertyPair> adjacentPairs, List<PropertyPolygon> properties,
+                                                    PairFeatureStore features, List<SuggestionParameters> configurations) {
+        AdjacentPairStore store = AdjacentPairStore.of(adjacentPairs, properties);
+        Map<Integer, PropertyPolygon> propertyMap = SuggestionGenerator.mapProperties(properties);
+        store.groupByOwnerPair();
+
+        SuggestionScoringKernel kernel = new SuggestionScoringKernel(store.sliceCount() * 4);
+        List<Integer> groupSizes = new ArrayList<>();
+        for (int slice = 0; slice < store.sliceCount(); slice++) {
+            List<AdjacentPropertyPair> pairList = store.toPairs(store.sliceStart(slice), store.sliceEnd(slice));
+            SuggestionGenerator.ExchangeGroups groups = SuggestionGenerator.splitGroups(pairList, propertyMap);
+            if (groups == null) continue;
+            SuggestionGenerator.addCandidates(kernel, groups.groupA(), groups.groupB(), features);
+            groupSizes.add(groups.groupA().size() * groups.groupB().size());
+        }
+        int[] sizes = groupSizes.stream().mapToInt(Integer::intValue).toArray();
+
+        return configurations.parallelStream()
+                .map(parameters -> evaluate(kernel.shareFeatures(), sizes, parameters))
+                .toList();
+    }
+
+    /**
+     * Scores the candidates with one configuration and summarises the selected suggestions.
+     *
+     * @param kernel     A kernel over the candidate features.
+     * @param groupSizes The number of candidates of each group, in kernel order.
+     * @param parameters The configuration.
+     * @return The summary of the configuration.
+     */
+    @CyclomaticComplexity(4)
+    private static SuggestionSweepResult evaluate(SuggestionScoringKernel kernel, int[] groupSizes,
+                                                  SuggestionParameters parameters) {
+        kernel.scoreAll(parameters);
+        double[] scores = new double[groupSizes.length];
+        int count = 0;
+        int start = 0;
+        for (int size : groupSizes) {
+            int best = SuggestionGenerator.bestCandidate(kernel, start, size);
+            if (best >= 0) scores[count++] = kernel.getScore(start + best);
+            start += size;
+        }
+        if (count == 0) return new SuggestionSweepResult(parameters, 0, 0, 0, 0, 0, 0);
+
+        Arrays.sort(scores, 0, count);
+        double mean = Arrays.stream(scores, 0, count).sum() / count;
+        return new SuggestionSweepResult(parameters, count, scores[0], percentile(scores, count, 0.5),
+                percentile(scores, count, 0.9), scores[count - 1], mean);
+    }
+
+    /**
+     * Gets a percentile of sorted scores by the nearest-rank method.
+     *
+     * @param sorted The scores, sorted ascending in their first {@code count} entries.
+     * @param count  The number of scores.
+     * @param p      The percentile, between 0 and 1.
+     * @return The score at that percentile.
+     */
+    @CyclomaticComplexity(1)
+    private static double percentile(double[] sorted, int count, double p) {
+        return sorted[Math.max(0, (int) Math.ceil(p * count) - 1)];
+    }
+}
@@ -0,0 +1,304 @@
+package Services;
+
+import Models.ExchangeSuggestion;
+import Models.PropertyPolygon;
+import Models.SuggestionParameters;
+import Utils.Annotations.CyclomaticComplexity;
+import Utils.Annotations.Layer;
+import Utils.Enums.LayerType;
+
+import java.util.Arrays;
+
+/**
+ * The {@code SuggestionScoringKernel} class scores a batch of candidate exchanges held in primitive arrays.
+ * A candidate exchanges property {@code a} of one owner for property {@code b} of another, each owner keeping one
+ * other property. Its features are stored column by column: the four areas, the area feasibility of the given
+ * properties and the similarity of their urbanization and tourism scores. Those pair features are either computed
+ * when the candidate is added or taken precomputed from a {@link PairFeatureStore} by
+ * {@link #addPrecomputed}. {@link #scoreAll()} then evaluates value similarity, the area changes of both owners,
+ * equity and the area factor in one counted loop over the columns, without objects, calls that cannot be inlined
+ * or logging. The loop body is straight-line arithmetic, so the JIT can unroll and vectorize it. The formulas are
+ * the ones of {@link SuggestionGenerator} and {@link ExchangeSuggestion}, evaluated in the same order, so the
+ * results are identical. Its weights and reference area come from {@link SuggestionParameters}.
+ */
+@Layer(LayerType.BACK_END)
+public class SuggestionScoringKernel {
+
+    private double[] areaA;
+    private double[] otherAreaA;
+    private double[] areaB;
+    private double[] otherAreaB;
+    private double[] areaFeasibility;
+    private double[] urbanizationSimilarity;
+    private double[] tourismSimilarity;
+
+    private double[] valueSimilarity;
+    private double[] feasibility;
+    private double[] percentChangeA;
+    private double[] percentChangeB;
+    private double[] score;
+    private int size;
+    private SuggestionParameters parameters = SuggestionParameters.DEFAULTS;
+
+    /**
+     * Constructs an empty kernel.
+     *
+     * @param capacity The number of candidates to reserve room for; the kernel grows beyond it if needed.
+     */
+    public SuggestionScoringKernel(int capacity) {
+        resize(Math.max(capacity, 1));
+    }
+
+    /**
+     * Constructs a kernel that reads the candidate features of another one and has its own scores, so several
+     * configurations can be scored over the same features at the same time.
+     *
+     * @param features The kernel whose candidates are shared; it must not be added to afterwards.
+     */
+    private SuggestionScoringKernel(SuggestionScoringKernel features) {
+        this.areaA = features.areaA;
+        this.otherAreaA = features.otherAreaA;
+        this.areaB = features.areaB;
+        this.otherAreaB = features.otherAreaB;
+        this.areaFeasibility = features.areaFeasibility;
+        this.urbanizationSimilarity = features.urbanizationSimilarity;
+        this.tourismSimilarity = features.tourismSimilarity;
+        this.size = features.size;
+        int capacity = areaA.length;
+        this.valueSimilarity = new double[capacity];
+        this.feasibility = new double[capacity];
+        this.percentChangeA = new double[capacity];
+        this.percentChangeB = new double[capacity];
+        this.score = new double[capacity];
+    }
+
+    /**
+     * Creates a kernel sharing the candidates of this one, with separate scores.
+     * Neither kernel may have candidates added or be cleared while the other is in use.
+     *
+     * @return The new kernel.
+     */
+    @CyclomaticComplexity(1)
+    public SuggestionScoringKernel shareFeatures() {
+        return new SuggestionScoringKernel(this);
+    }
+
+    /**
+     * Adds a candidate exchange from its properties.
+     *
+     * @param a      The property given by the first owner.
+     * @param otherA The property the first owner keeps.
+     * @param b      The property given by the second owner.
+     * @param otherB The property the second owner keeps.
+     * @return The index of the candidate.
+     */
+    @CyclomaticComplexity(1)
+    public int add(PropertyPolygon a, PropertyPolygon otherA, PropertyPolygon b, PropertyPolygon otherB) {
+        return add(a.getShapeArea(), otherA.getShapeArea(), b.getShapeArea(), otherB.getShapeArea(),
+                a.getUrbanizationScore(), b.getUrbanizationScore(), a.getTourismScore(), b.getTourismScore());
+    }
+
+    /**
+     * Adds a candidate exchange from its areas and scores, computing the features of the given pair.
+     *
+     * @param areaA         The area of the property given by the first owner.
+     * @param otherAreaA    The area of the property the first owner keeps.
+     * @param areaB         The area of the property given by the second owner.
+     * @param otherAreaB    The area of the property the second owner keeps.
+     * @param urbanizationA The urbanization score of the first given property.
+     * @param urbanizationB The urbanization score of the second given property.
+     * @param tourismA      The tourism score of the first given property.
+     * @param tourismB      The tourism score of the second given property.
+     * @return The index of the candidate.
+     */
+    @CyclomaticComplexity(1)
+    public int add(double areaA, double otherAreaA, double areaB, double otherAreaB,
+                   double urbanizationA, double urbanizationB, double tourismA, double tourismB) {
+        return addPrecomputed(areaA, otherAreaA, areaB, otherAreaB,
+                SuggestionGenerator.calculateAreaFeasibility(areaA, areaB),
+                1 - Math.abs(urbanizationA - urbanizationB), 1 - Math.abs(tourismA - tourismB));
+    }
+
+    /**
+     * Adds a candidate exchange whose pair features were computed beforehand, such as those of a
+     * {@link PairFeatureStore}.
+     *
+     * @param areaA                  The area of the property given by the first owner.
+     * @param otherAreaA             The area of the property the first owner keeps.
+     * @param areaB                  The area of the property given by the second owner.
+     * @param otherAreaB             The area of the property the second owner keeps.
+     * @param areaFeasibility        The area feasibility of the given properties.
+     * @param urbanizationSimilarity One minus the difference of the urbanization scores of the given properties.
+     * @param tourismSimilarity      One minus the difference of the tourism scores of the given properties.
+     * @return The index of the candidate.
+     */
+    @CyclomaticComplexity(2)
+    public int addPrecomputed(double areaA, double otherAreaA, double areaB, double otherAreaB,
+                              double areaFeasibility, double urbanizationSimilarity, double tourismSimilarity) {
+        if (size == this.areaA.length) resize(size * 2);
+        this.areaA[size] = areaA;
+        this.otherAreaA[size] = otherAreaA;
+        this.areaB[size] = areaB;
+        this.otherAreaB[size] = otherAreaB;
+        this.areaFeasibility[size] = areaFeasibility;
+        this.urbanizationSimilarity[size] = urbanizationSimilarity;
+        this.tourismSimilarity[size] = tourismSimilarity;
+        return size++;
+    }
+
+    /**
+     * Gets the number of candidates in the batch.
+     *
+     * @return The number of candidates.
+     */
+    @CyclomaticComplexity(1)
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Empties the batch, keeping its arrays for reuse.
+     */
+    @CyclomaticComplexity(1)
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Scores every candidate in the batch with the default parameters.
+     */
+    @CyclomaticComplexity(1)
+    public void scoreAll() {
+        scoreAll(SuggestionParameters.DEFAULTS);
+    }
+
+    /**
+     * Scores every candidate in the batch.
+     *
+     * @param parameters The weights and reference area to score with.
+     */
+    @CyclomaticComplexity(3)
+    public void scoreAll(SuggestionParameters parameters) {
+        this.parameters = parameters;
+        double urbanizationWeight = parameters.urbanizationWeight();
+        double tourismWeight = parameters.tourismWeight();
+        double referenceArea = parameters.referenceArea();
+        for (int i = 0; i < size; i++) {
+            double a = areaA[i];
+            double b = areaB[i];
+            double feasible = areaFeasibility[i];
+
+            double beforeA = a + otherAreaA[i];
+            double beforeB = b + otherAreaB[i];
+            double changeA = beforeA > 0 ? ((b + otherAreaA[i]) - beforeA) / beforeA : 0.0;
+            double changeB = beforeB > 0 ? ((a + otherAreaB[i]) - beforeB) / beforeB : 0.0;
+
+            double similarity = urbanizationWeight * urbanizationSimilarity[i]
+                    + tourismWeight * tourismSimilarity[i];
+            double fiability = feasible * similarity;
+            double equidade = 100.0 - Math.abs(changeA * 100.0 - changeB * 100.0);
+            double areaFactor = Math.min(1.0, ((a + b) / 2.0) / referenceArea);
+
+            percentChangeA[i] = changeA;
+            percentChangeB[i] = changeB;
+            valueSimilarity[i] = similarity;
+            feasibility[i] = fiability;
+            score[i] = equidade * areaFactor * fiability;
+        }
+    }
+
+    /**
+     * Gets the parameters the candidates were last scored with.
+     *
+     * @return The parameters.
+     */
+    @CyclomaticComplexity(1)
+    public SuggestionParameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * Gets the area feasibility of a scored candidate.
+     *
+     * @param index The index of the candidate.
+     * @return The area feasibility.
+     */
+    @CyclomaticComplexity(1)
+    public double getAreaFeasibility(int index) {
+        return areaFeasibility[index];
+    }
+
+    /**
+     * Gets the combined feasibility of a scored candidate.
+     *
+     * @param index The index of the candidate.
+     * @return The area feasibility multiplied by the value similarity.
+     */
+    @CyclomaticComplexity(1)
+    public double getFeasibility(int index) {
+        return feasibility[index];
+    }
+
+    /**
+     * Gets the score of a scored candidate.
+     *
+     * @param index The index of the candidate.
+     * @return The score.
+     */
+    @CyclomaticComplexity(1)
+    public double getScore(int index) {
+        return score[index];
+    }
+
+    /**
+     * Builds the suggestion of a scored candidate.
+     *
+     * @param index         The index of the candidate.
+     * @param propertyFromA The ID of the property given by the first owner.
+     * @param propertyFromB The ID of the property given by the second owner.
+     * @return The suggestion, with all of its scores set.
+     */
+    @CyclomaticComplexity(1)
+    public ExchangeSuggestion toSuggestion(int index, int propertyFromA, int propertyFromB) {
+        ExchangeSuggestion suggestion = new ExchangeSuggestion(propertyFromA, propertyFromB, areaFeasibility[index]);
+        suggestion.setPercentChangeA(percentChangeA[index]);
+        suggestion.setPercentChangeB(percentChangeB[index]);
+        suggestion.setValueSimilarity(valueSimilarity[index]);
+        suggestion.setFeability(feasibility[index]);
+        suggestion.setScore(score[index]);
+        return suggestion;
+    }
+
+    /**
+     * Resizes every column to a new capacity.
+     *
+     * @param capacity The new capacity.
+     */
+    @CyclomaticComplexity(1)
+    private void resize(int capacity) {
+        areaA = grow(areaA, capacity);
+        otherAreaA = grow(otherAreaA, capacity);
+        areaB = grow(areaB, capacity);
+        otherAreaB = grow(otherAreaB, capacity);
+        areaFeasibility = grow(areaFeasibility, capacity);
+        urbanizationSimilarity = grow(urbanizationSimilarity, capacity);
+        tourismSimilarity = grow(tourismSimilarity, capacity);
+        valueSimilarity = grow(valueSimilarity, capacity);
+        feasibility = grow(feasibility, capacity);
+        percentChangeA = grow(percentChangeA, capacity);
+        percentChangeB = grow(percentChangeB, capacity);
+        score = grow(score, capacity);
+    }
+
+    /**
+     * Copies a column into an array of a new capacity.
+     *
+     * @param column   The column, or null before the first allocation.
+     * @param capacity The new capacity.
+     * @return The resized column.
+     */
+    @CyclomaticComplexity(2)
+    private static double[] grow(double[] column, int capacity) {
+        return column == null ? new double[capacity] : Arrays.copyOf(column, capacity);
+    }
+}
@@ -1,9 +1,13 @@
 package UserInterface;
 
 import DetectAdjacentProperties.AdjacentPropertyPair;
+import Services.ConsolidationScorer;
+import Services.ExchangeSelectionEngine;
+import Services.PairFeatureStore;
 import Services.SuggestionGenerator;
 import Models.ExchangeSuggestion;
 import Models.PropertyPolygon;
+import Models.SuggestionPage;
 import Utils.Annotations.CyclomaticComplexity;
 import Utils.Annotations.Layer;
 import Utils.Enums.LayerType;
@@ -20,22 +24,46 @@ import java.util.List;
 @Layer(LayerType.FRONT_END)
 public class ChangeSuggestionsFrame extends JFrame {
 
+    private static final int PAGE_SIZE = 20;
+
+    private final List<ExchangeSuggestion> suggestions;
+    private final JPanel mainPanel = new JPanel();
+    private final JButton moreButton = new JButton("Show more suggestions");
+    private int nextCursor;
+
     /**
      * Constructor to initialize the ChangeSuggestionsFrame.
+     * Suggestions are rendered one page at a time; further pages are added on request.
      *
      * @param displayedProperties The list of properties to be displayed.
      * @param adjacentPairs      The list of adjacent property pairs.
      * @param location           The location for which suggestions are generated.
      */
     public ChangeSuggestionsFrame(List<PropertyPolygon> displayedProperties, List<AdjacentPropertyPair> adjacentPairs, String location) {
+        this(displayedProperties, adjacentPairs, null, null, location);
+    }
+
+    /**
+     * Constructor to initialize the ChangeSuggestionsFrame, scoring the suggestions from precomputed pair features
+     * and ranking them by how much they reduce owner fragmentation when a consolidation scorer is given.
+     *
+     * @param displayedProperties The list of properties to be displayed.
+     * @param adjacentPairs      The list of adjacent property pairs.
+     * @param features           The pair features of the current dataset, or null to compute them.
+     * @param consolidation      The consolidation scorer of the current dataset, or null to rank by score.
+     * @param location           The location for which suggestions are generated.
+     */
+    public ChangeSuggestionsFrame(List<PropertyPolygon> displayedProperties, List<AdjacentPropertyPair> adjacentPairs,
+                                  PairFeatureStore features, ConsolidationScorer consolidation, String location) {
         setTitle("Suggested changes to: " + location);
         setSize(500, 600);
         setLocationRelativeTo(null); // centra a janela
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE); // fecha só esta janela
 
-        List<ExchangeSuggestion> suggestions = SuggestionGenerator.generateSuggestions(adjacentPairs, displayedProperties);
+        List<ExchangeSuggestion> selected = ExchangeSelectionEngine.selectExchanges(
+                SuggestionGenerator.generateSuggestions(adjacentPairs, displayedProperties, features));
+        suggestions = consolidation != null ? consolidation.rankByConsolidation(selected) : selected;
 
-        JPanel mainPanel = new JPanel();
         mainPanel.setLayout(new BoxLayout(mainPanel, BoxLayout.Y_AXIS));
         mainPanel.setBackground(Color.LIGHT_GRAY);
 
@@ -43,23 +71,27 @@ public class ChangeSuggestionsFrame extends JFrame {
             JLabel noSuggestionsLabel = new JLabel("No suggestions available.");
             noSuggestionsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
             mainPanel.add(noSuggestionsLabel);
-
         } else {
-            for (ExchangeSuggestion sugestao : suggestions) {
-                JPanel sugestaoPanel = createSuggestionPanel(sugestao);
-                sugestaoPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
-                sugestaoPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, sugestaoPanel.getPreferredSize().height));
-                sugestaoPanel.setBorder(BorderFactory.createLineBorder(Color.GRAY, 1));
-                mainPanel.add(sugestaoPanel);
-                mainPanel.add(Box.createVerticalStrut(10)); // espaço entre sugestões
-            }
-
-            JScrollPane scrollPane = new JScrollPane(mainPanel);
-            scrollPane.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
-            add(scrollPane, BorderLayout.CENTER);
+            moreButton.setAlignmentX(Component.LEFT_ALIGNMENT);
+            moreButton.addActionListener(e -> showPage(nextCursor));
+            showPage(0);
         }
 
-        for (ExchangeSuggestion sugestao : suggestions) {
+        JScrollPane scrollPane = new JScrollPane(mainPanel);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        add(scrollPane, BorderLayout.CENTER);
+    }
+
+    /**
+     * Appends a page of suggestions to the panel, followed by the button for the next page when there is one.
+     *
+     * @param cursor The rank of the first suggestion of the page.
+     */
+    @CyclomaticComplexity(3)
+    private void showPage(int cursor) {
+        SuggestionPage page = SuggestionPage.of(suggestions, cursor, PAGE_SIZE);
+        mainPanel.remove(moreButton);
+        for (ExchangeSuggestion sugestao : page.suggestions()) {
             JPanel sugestaoPanel = createSuggestionPanel(sugestao);
             sugestaoPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
             sugestaoPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, sugestaoPanel.getPreferredSize().height));
@@ -67,10 +99,10 @@ public class ChangeSuggestionsFrame extends JFrame {
             mainPanel.add(sugestaoPanel);
             mainPanel.add(Box.createVerticalStrut(10)); // espaço entre sugestões
         }
-
-        JScrollPane scrollPane = new JScrollPane(mainPanel);
-        scrollPane.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
-        add(scrollPane, BorderLayout.CENTER);
+        nextCursor = page.nextCursor();
+        if (page.hasMore()) mainPanel.add(moreButton);
+        mainPanel.revalidate();
+        mainPanel.repaint();
     }
 
     /**
@@ -79,7 +111,7 @@ public class ChangeSuggestionsFrame extends JFrame {
      * @param sugestao The suggestion to be displayed.
      * @return A JPanel containing the suggestion details.
      */
-    @CyclomaticComplexity(1)
+    @CyclomaticComplexity(2)
     private JPanel createSuggestionPanel(ExchangeSuggestion sugestao) {
         JPanel panel = new JPanel();
         panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
@@ -95,6 +127,9 @@ public class ChangeSuggestionsFrame extends JFrame {
         panel.add(new JLabel("• Value Feasibility: " + format2Decimals(sugestao.getValueSimilarity())));
         panel.add(new JLabel("• Feasibility: " + format2Decimals(sugestao.getFeability())));
         panel.add(new JLabel("• Score: " + format2Decimals(sugestao.getScore())));
+        if (sugestao.hasComponentChange()) {
+            panel.add(new JLabel("• Owner Components: " + String.format("%+d", sugestao.getComponentChange())));
+        }
 
         return panel;
     }
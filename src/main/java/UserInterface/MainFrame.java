@@ -1,6 +1,5 @@
 package UserInterface;
 
-import DetectAdjacentProperties.AdjacencyDetector;
 import DetectAdjacentProperties.AdjacentPropertyPair;
 import Models.*;
 import Repository.*;
@@ -17,6 +16,7 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.File;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import javax.swing.SwingWorker;
@@ -73,6 +73,15 @@ public class MainFrame extends JFrame {
     private boolean mergeActive = false;
     private List<PropertyPolygon> currentDisplayedProperties;
 
+    private final AdjacencyCache adjacencyCache = new AdjacencyCache(AdjacencyCache.DEFAULT_MAX_ENTRIES);
+    private long datasetVersion = 0;
+    private PropertyAdjacencyGraph datasetAdjacency;
+    private OwnerComponentIndex ownerComponents;
+    private BoundaryPairIndex boundaryPairs;
+    private PairFeatureStore pairFeatures;
+    private ConsolidationScorer consolidation;
+    private long overlapsLoggedVersion = -1;
+
     public List<PropertyPolygon> getCurrentDisplayedProperties() {
         return currentDisplayedProperties;
     }
@@ -239,6 +248,18 @@ public class MainFrame extends JFrame {
         changeSuggestions.setAlignmentX(Component.CENTER_ALIGNMENT);
         changeSuggestions.setVisible(false);
 
+// === BOTÃO DE DETETAR SOBREPOSIÇÕES ===
+        JButton detectOverlaps = new JButton("Detect Overlaps");
+        detectOverlaps.setForeground(Color.WHITE);
+        detectOverlaps.setOpaque(true);
+        detectOverlaps.setBackground(new Color(30, 30, 30));
+        detectOverlaps.setBorderPainted(false);
+        detectOverlaps.setFocusPainted(false);
+        detectOverlaps.setPreferredSize(new Dimension(180, 50));
+        detectOverlaps.setFont(new Font("SansSerif", Font.BOLD, 18));
+        detectOverlaps.setAlignmentX(Component.CENTER_ALIGNMENT);
+        detectOverlaps.setVisible(false);
+
 // Hover effect
         importCsvButton.addMouseListener(new MouseAdapter() {
             @Override
@@ -263,8 +284,58 @@ public class MainFrame extends JFrame {
             }
         });
 
+        // Hover effect
+        detectOverlaps.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseEntered(MouseEvent evt) {
+                detectOverlaps.setBackground(new Color(50, 50, 50));
+            }
+            @Override
+            public void mouseExited(MouseEvent evt) {
+                detectOverlaps.setBackground(new Color(30, 30, 30));
+            }
+        });
+
+        // Overlaps are only searched on request, off the EDT, and logged once per imported dataset
+        detectOverlaps.addActionListener(e -> {
+            if (collector == null) return;
+            PropertyCollector datasetCollector = collector;
+            long version = datasetVersion;
+            LoadingDialogSpinner loading = new LoadingDialogSpinner(MainFrame.this);
+
+            SwingWorker<List<PropertyOverlap>, Void> worker = new SwingWorker<>() {
+                @Override
+                protected List<PropertyOverlap> doInBackground() {
+                    List<PropertyPolygon> properties = datasetCollector.collectAllProperties();
+                    return version == overlapsLoggedVersion
+                            ? OverlapDetector.findOverlaps(properties)
+                            : OverlapDetector.findAndLogOverlaps(properties);
+                }
+
+                @Override
+                protected void done() {
+                    loading.dispose();
+                    try {
+                        List<PropertyOverlap> overlaps = get();
+                        overlapsLoggedVersion = version;
+                        showSuccessDialog(overlaps.isEmpty()
+                                ? "No overlapping properties found."
+                                : overlaps.size() + " overlapping property pairs found and logged.");
+                    } catch (Exception ex) {
+                        CsvLogger.logError("Error detecting overlaps: " + ex.getMessage());
+                        JOptionPane.showMessageDialog(MainFrame.this, "Error: " + ex.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+                    }
+                }
+            };
+
+            worker.execute();
+            loading.setVisible(true);
+        });
+
         changeSuggestions.addActionListener(e -> {
             LoadingDialogSpinner loading = new LoadingDialogSpinner(MainFrame.this);
+            RegionId region = RegionId.fromFilter(activeFilterType, (String) districtJComboBox.getSelectedItem(),
+                    (String) municipalityJComboBox.getSelectedItem(), (String) parishJComboBox.getSelectedItem());
 
             SwingWorker<Void, Void> worker = new SwingWorker<>() {
                 @Override
@@ -275,11 +346,17 @@ public class MainFrame extends JFrame {
                             return null;
                         }
 
-                        List<AdjacentPropertyPair> adjacentPairs = AdjacencyDetector.findValidAdjacentPairs(getCurrentDisplayedProperties());
+                        List<AdjacentPropertyPair> adjacentPairs = boundaryPairs != null && region != null
+                                ? boundaryPairs.pairsIn(region)
+                                : adjacencyCache.getValidAdjacentPairs(region != null ? region.toString()
+                                : activeFilterType + ":" + activeFilterValue, getCurrentDisplayedProperties(), datasetVersion);
 
                         SwingUtilities.invokeLater(() -> {
                             showSuccessDialog("Suggestions generated successfully to " + activeFilterValue);
-                            ChangeSuggestionsFrame csf = new ChangeSuggestionsFrame(getCurrentDisplayedProperties(), adjacentPairs, "Location");
+                            PairFeatureStore features = pairFeatures != null && pairFeatures.getDatasetVersion() == datasetVersion
+                                    ? pairFeatures : null;
+                            ChangeSuggestionsFrame csf = new ChangeSuggestionsFrame(getCurrentDisplayedProperties(), adjacentPairs, features,
+                                    consolidation, "Location");
                             csf.setVisible(true);
                         });
                     } catch (Exception ex) {
@@ -343,9 +420,18 @@ public class MainFrame extends JFrame {
 
                             List<District> properties = CsvProcessor.convertToRegionsAndProperties(selectedFile.getAbsolutePath());
                             collector = new PropertyCollector(properties);
+                            datasetVersion++;
+                            datasetAdjacency = AdjacencySidecar.loadOrBuild(selectedFile.getAbsolutePath(),
+                                    collector.collectAllProperties());
+                            ownerComponents = new OwnerComponentIndex(collector.collectAllProperties());
+                            boundaryPairs = new BoundaryPairIndex(datasetAdjacency, datasetVersion);
+                            pairFeatures = PairFeatureStore.forExchanges(datasetAdjacency.differentOwnerPairs(),
+                                    collector.collectAllProperties(), datasetVersion);
+                            consolidation = new ConsolidationScorer(datasetAdjacency);
                             updateGraph(collector.collectAllProperties());
 
                             toggleShowOwnerId.setVisible(true);
+                            detectOverlaps.setVisible(true);
 
                             districtLabel.setVisible(true);
                             districtJComboBox.setVisible(true);
@@ -463,9 +549,10 @@ public class MainFrame extends JFrame {
                                                     "<span style='color: rgb(101,104,69);'>(" + activeFilterType + ")</span></html>"
                                     );
 
-                                    List<PropertyPolygon> p = collector.filterByMunicipality(selectedMunicipality);
+                                    String district = (String) districtJComboBox.getSelectedItem();
+                                    List<PropertyPolygon> p = collector.filterByRegion(RegionId.municipality(district, selectedMunicipality));
                                     updateGraph(p);
-                                    List<String> parishes = collector.getParishNames(selectedMunicipality);
+                                    List<String> parishes = collector.getParishNames(district, selectedMunicipality);
                                     parishJComboBox.removeAllItems();
                                     parishJComboBox.addItem(null);
                                     for (String parish : parishes) parishJComboBox.addItem(parish);
@@ -494,7 +581,8 @@ public class MainFrame extends JFrame {
                                             "<html><span style='color: rgb(50,72,75); font-weight: bold;'>" + activeFilterValue + "</span> " +
                                                     "<span style='color: rgb(101,104,69);'>(" + activeFilterType + ")</span></html>"
                                     );
-                                    List<PropertyPolygon> p = collector.filterByParish(selectedParish);
+                                    List<PropertyPolygon> p = collector.filterByRegion(RegionId.parish((String) districtJComboBox.getSelectedItem(),
+                                            (String) municipalityJComboBox.getSelectedItem(), selectedParish));
                                     updateGraph(p);
                                 } else {
                                     clearParishInfo();
@@ -532,6 +620,7 @@ public class MainFrame extends JFrame {
 
 // === ADICIONA BOTÃO À SIDEBAR ===
         sidebar.add(changeSuggestions);
+        sidebar.add(detectOverlaps);
         sidebar.add(importCsvButton);
 
 //######################################################################################################################//
@@ -776,6 +865,20 @@ public class MainFrame extends JFrame {
         add(graphInfoPanel, BorderLayout.EAST);
     }
 
+    /**
+     * Brings the indexes built from the owners of the imported dataset up to date after owners changed, for
+     * example as the owner listener of an {@link IncrementalSuggestionEngine}. The owner component index is
+     * rebuilt, as on import, since its buckets and outlines are fixed when it is built.
+     *
+     * @param changed The properties whose owner changed.
+     */
+    @CyclomaticComplexity(2)
+    public void ownersChanged(Collection<PropertyPolygon> changed) {
+        if (collector == null) return;
+        collector.invalidateOwnerIndexes();
+        ownerComponents = new OwnerComponentIndex(collector.collectAllProperties());
+    }
+
     //FUNÇÕES AUXILIARES
     @CyclomaticComplexity(1)
     public void showSuccessDialog(String message) {
@@ -910,15 +1013,19 @@ public class MainFrame extends JFrame {
         avgPropsByOwnerLabel.setText("Average Area: - NA");
     }
 
-    @CyclomaticComplexity(8)
+    @CyclomaticComplexity(12)
     public void updateGraph(List<PropertyPolygon> propriedades) {
         currentDisplayedProperties = propriedades;
 
-        List<PropertyPolygon> toDisplay = mergeActive
-                ? PropertyMerger.mergeOwnerAdjacentProperties(propriedades)
-                : propriedades;
+        List<PropertyPolygon> toDisplay = !mergeActive
+                ? propriedades
+                : ownerComponents != null
+                ? ownerComponents.mergeView(propriedades)
+                : UnionFindPropertyMerger.mergeOwnerAdjacentProperties(propriedades);
 
-        jungGraph = PropertyGraphJungBuilder.buildGraph(toDisplay);
+        jungGraph = activeFilterType == null && !mergeActive && datasetAdjacency != null
+                ? PropertyGraphJungBuilder.buildGraph(datasetAdjacency)
+                : PropertyGraphJungBuilder.buildGraph(toDisplay);
         graphPanel = GraphViewer.createGraphPanel(jungGraph, 1024, 1024, showOwnerIds);
 
         if (activeFilterType != null) {
@@ -0,0 +1,120 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link AdjacencyCache} class.
+ * It validates cache hits, least-recently-used eviction, dataset version
+ * invalidation and the fingerprint of property sets.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Detect adjacent properties")
+@DisplayName("Adjacency Cache Tests")
+class AdjacencyCacheTests {
+
+    @Nested
+    @DisplayName("Cache Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Repeated request is served from the cache")
+        @Description("Validates that a second request for the same region returns the cached result.")
+        @Severity(SeverityLevel.CRITICAL)
+        void cacheHit() {
+            AdjacencyCache cache = new AdjacencyCache(4);
+            List<PropertyPolygon> properties = List.of(TestUtils.createSquareProperty(1, 0, 0, "A"), TestUtils.createSquareProperty(2, 1, 0, "B"));
+
+            List<AdjacentPropertyPair> first = cache.getValidAdjacentPairs("District:Madeira", properties, 1);
+            List<AdjacentPropertyPair> second = cache.getValidAdjacentPairs("District:Madeira", properties, 1);
+
+            assertEquals(1, first.size());
+            assertSame(first, second);
+            assertEquals(1, cache.size());
+        }
+
+        @Test
+        @DisplayName("Dataset version change invalidates entries")
+        @Description("Validates that a new dataset version discards previously cached results.")
+        @Severity(SeverityLevel.CRITICAL)
+        void versionChange() {
+            AdjacencyCache cache = new AdjacencyCache(4);
+            List<PropertyPolygon> properties = List.of(TestUtils.createSquareProperty(1, 0, 0, "A"), TestUtils.createSquareProperty(2, 1, 0, "B"));
+
+            List<AdjacentPropertyPair> first = cache.getValidAdjacentPairs(properties, 1);
+            List<AdjacentPropertyPair> second = cache.getValidAdjacentPairs(properties, 2);
+
+            assertNotSame(first, second);
+            assertEquals(1, cache.size());
+        }
+
+        @Test
+        @DisplayName("Least recently used entry is evicted")
+        @Description("Validates that the cache never exceeds its maximum size and keeps recently used entries.")
+        @Severity(SeverityLevel.NORMAL)
+        void lruEviction() {
+            AdjacencyCache cache = new AdjacencyCache(2);
+            List<PropertyPolygon> a = List.of(TestUtils.createSquareProperty(1, 0, 0, "A"));
+            List<PropertyPolygon> b = List.of(TestUtils.createSquareProperty(2, 0, 0, "B"));
+            List<PropertyPolygon> c = List.of(TestUtils.createSquareProperty(3, 0, 0, "C"));
+
+            List<AdjacentPropertyPair> cachedA = cache.getValidAdjacentPairs("a", a, 1);
+            cache.getValidAdjacentPairs("b", b, 1);
+            cache.getValidAdjacentPairs("a", a, 1);
+            cache.getValidAdjacentPairs("c", c, 1);
+
+            assertEquals(2, cache.size());
+            assertSame(cachedA, cache.getValidAdjacentPairs("a", a, 1));
+        }
+
+        @Test
+        @DisplayName("Invalid cache size is rejected")
+        @Description("Validates that a cache cannot be created with a non-positive size.")
+        @Severity(SeverityLevel.MINOR)
+        void invalidSize() {
+            assertThrows(IllegalArgumentException.class, () -> new AdjacencyCache(0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Fingerprint Tests")
+    class FingerprintTests {
+
+        @Test
+        @DisplayName("Fingerprint ignores order")
+        @Description("Validates that the same properties in a different order produce the same fingerprint.")
+        @Severity(SeverityLevel.NORMAL)
+        void orderIndependent() {
+            PropertyPolygon p1 = TestUtils.createSquareProperty(1, 0, 0, "A");
+            PropertyPolygon p2 = TestUtils.createSquareProperty(2, 1, 0, "B");
+
+            assertEquals(AdjacencyCache.fingerprint(List.of(p1, p2)), AdjacencyCache.fingerprint(List.of(p2, p1)));
+        }
+
+        @Test
+        @DisplayName("Fingerprint reflects owner changes")
+        @Description("Validates that changing an owner produces a different fingerprint.")
+        @Severity(SeverityLevel.NORMAL)
+        void ownerChange() {
+            PropertyPolygon p1 = TestUtils.createSquareProperty(1, 0, 0, "A");
+            PropertyPolygon p2 = TestUtils.createSquareProperty(2, 1, 0, "B");
+            String before = AdjacencyCache.fingerprint(List.of(p1, p2));
+
+            p2.setOwner("A");
+
+            assertNotEquals(before, AdjacencyCache.fingerprint(List.of(p1, p2)));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import Utils.Mocks.MockedPropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link AdjacencyIndex} class.
+ * It validates that the index keeps adjacency and the different-owner pair set
+ * consistent when properties are added, removed or changed.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Detect adjacent properties")
+@DisplayName("Adjacency Index Tests")
+class AdjacencyIndexTests {
+
+    @Nested
+    @DisplayName("Index Construction Tests")
+    class ConstructionTests {
+
+        @Test
+        @DisplayName("Builds the same valid pairs as the detector")
+        @Description("Validates that an index built from a list reports the same valid pairs as AdjacencyDetector.")
+        @Severity(SeverityLevel.CRITICAL)
+        void matchesDetector() {
+            List<PropertyPolygon> properties = List.of(TestUtils.createSquareProperty(1, 0, 0, "A"), TestUtils.createSquareProperty(2, 1, 0, "B"), TestUtils.createSquareProperty(3, 2, 0, "B"), TestUtils.createSquareProperty(4, 10, 0, "C"));
+            AdjacencyIndex index = new AdjacencyIndex(properties);
+
+            assertEquals(AdjacencyDetector.findValidAdjacentPairs(properties).size(), index.getValidAdjacentPairs().size());
+            assertEquals(2, index.getAdjacentPairs().size());
+            assertEquals(1, index.getValidAdjacentPairs().size());
+            assertTrue(index.getNeighbours(4).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Empty index has no pairs")
+        @Description("Validates that an empty index reports no properties and no pairs.")
+        @Severity(SeverityLevel.MINOR)
+        void emptyIndex() {
+            AdjacencyIndex index = new AdjacencyIndex();
+
+            assertEquals(0, index.size());
+            assertTrue(index.getAdjacentPairs().isEmpty());
+            assertTrue(index.getValidAdjacentPairs().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Incremental Update Tests")
+    class IncrementalUpdateTests {
+
+        @Test
+        @DisplayName("Owner change refreshes valid pairs")
+        @Description("Validates that setting the same owner on both neighbours removes their pair after an update.")
+        @Severity(SeverityLevel.CRITICAL)
+        void ownerChange() {
+            PropertyPolygon p1 = TestUtils.createSquareProperty(1, 0, 0, "A");
+            PropertyPolygon p2 = TestUtils.createSquareProperty(2, 1, 0, "B");
+            AdjacencyIndex index = new AdjacencyIndex(List.of(p1, p2));
+            assertEquals(1, index.getValidAdjacentPairs().size());
+
+            p2.setOwner("A");
+            index.updateProperty(p2);
+            assertTrue(index.getValidAdjacentPairs().isEmpty());
+            assertEquals(1, index.getAdjacentPairs().size(), "Adjacency itself should not change.");
+
+            p2.setOwner("C");
+            index.updateProperty(p2);
+            assertEquals(1, index.getValidAdjacentPairs().size());
+        }
+
+        @Test
+        @DisplayName("Geometry change re-indexes the property")
+        @Description("Validates that moving a property away drops its adjacency and moving it back restores it.")
+        @Severity(SeverityLevel.CRITICAL)
+        void geometryChange() {
+            AdjacencyIndex index = new AdjacencyIndex(List.of(TestUtils.createSquareProperty(1, 0, 0, "A"), TestUtils.createSquareProperty(2, 1, 0, "B")));
+
+            index.updateProperty(TestUtils.createSquareProperty(2, 5, 0, "B"));
+            assertTrue(index.getNeighbours(1).isEmpty());
+            assertTrue(index.getValidAdjacentPairs().isEmpty());
+
+            index.updateProperty(TestUtils.createSquareProperty(2, 1, 0, "B"));
+            assertEquals(List.of(2), new ArrayList<>(index.getNeighbours(1)));
+        }
+
+        @Test
+        @DisplayName("Add and remove properties")
+        @Description("Validates that adding and removing a property only affects its own pairs.")
+        @Severity(SeverityLevel.NORMAL)
+        void addAndRemove() {
+            AdjacencyIndex index = new AdjacencyIndex(List.of(TestUtils.createSquareProperty(1, 0, 0, "A"), TestUtils.createSquareProperty(2, 1, 0, "B")));
+
+            index.addProperty(TestUtils.createSquareProperty(3, 2, 0, "C"));
+            assertEquals(2, index.getValidAdjacentPairs().size());
+
+            assertTrue(index.removeProperty(2));
+            assertFalse(index.removeProperty(2));
+            assertFalse(index.contains(2));
+            assertTrue(index.getValidAdjacentPairs().isEmpty());
+            assertTrue(index.getNeighbours(1).isEmpty());
+            assertTrue(index.getNeighbours(3).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Invalid properties are not paired")
+        @Description("Validates that properties without a positive area are excluded from the valid pair set.")
+        @Severity(SeverityLevel.NORMAL)
+        void invalidProperty() {
+            PropertyPolygon zeroArea = new MockedPropertyPolygon(2, TestUtils.createSquareProperty(2, 1, 0, "B").getPolygon());
+            AdjacencyIndex index = new AdjacencyIndex(List.of(TestUtils.createSquareProperty(1, 0, 0, "A"), zeroArea));
+
+            assertEquals(1, index.getAdjacentPairs().size());
+            assertTrue(index.getValidAdjacentPairs().isEmpty());
+        }
+    }
+}
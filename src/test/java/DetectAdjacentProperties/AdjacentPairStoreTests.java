@@ -0,0 +1,113 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link AdjacentPairStore} class.
+ * It validates owner resolution, growth beyond the initial capacity, bulk iteration,
+ * and grouping of pairs into contiguous owner pair slices.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Detect adjacent properties")
+@DisplayName("Adjacent Pair Store Tests")
+class AdjacentPairStoreTests {
+
+    @Nested
+    @DisplayName("Resolution Tests")
+    class ResolutionTests {
+
+        @Test
+        @DisplayName("Owners are resolved once per pair")
+        @Description("Validates that pairs built from a property list carry their owner codes and skip unknown IDs.")
+        @Severity(SeverityLevel.CRITICAL)
+        void resolvesOwners() {
+            List<PropertyPolygon> properties = List.of(TestUtils.createSquareProperty(1, 1, 0, "A"), TestUtils.createSquareProperty(2, 2, 0, "B"), TestUtils.createSquareProperty(3, 3, 0, "A"));
+            List<AdjacentPropertyPair> pairs = List.of(new AdjacentPropertyPair(1, 2),
+                    new AdjacentPropertyPair(2, 3), new AdjacentPropertyPair(3, 99));
+
+            AdjacentPairStore store = AdjacentPairStore.of(pairs, properties);
+
+            assertEquals(2, store.size());
+            assertEquals(2, store.ownerCount());
+            assertEquals(1, store.getId1(0));
+            assertEquals(3, store.getId2(1));
+            assertEquals("A", store.getOwner(store.getOwnerCode1(0)));
+            assertEquals("B", store.getOwner(store.getOwnerCode2(0)));
+            assertEquals(store.ownerPairKey(0), store.ownerPairKey(1));
+        }
+
+        @Test
+        @DisplayName("Store grows beyond its initial capacity")
+        @Description("Validates that many added pairs are kept in order and visited by bulk iteration.")
+        @Severity(SeverityLevel.NORMAL)
+        void growsAndIterates() {
+            AdjacentPairStore store = new AdjacentPairStore();
+            for (int i = 0; i < 100; i++) {
+                store.add(TestUtils.createSquareProperty(i, i, 0, "A"), TestUtils.createSquareProperty(i + 1, i + 1, 0, "B"));
+            }
+            List<Integer> firstIds = new ArrayList<>();
+            store.forEach((index, id1, id2, owner1, owner2) -> firstIds.add(id1));
+
+            assertEquals(100, store.size());
+            assertEquals(100, firstIds.size());
+            assertEquals(99, firstIds.get(99));
+            assertEquals(100, store.toPairs().get(99).getPropertyId2());
+        }
+    }
+
+    @Nested
+    @DisplayName("Grouping Tests")
+    class GroupingTests {
+
+        @Test
+        @DisplayName("Owner pairs become contiguous slices")
+        @Description("Validates that grouping is stable, orientation independent and in first-seen order.")
+        @Severity(SeverityLevel.CRITICAL)
+        void groupsByOwnerPair() {
+            PropertyPolygon a = TestUtils.createSquareProperty(1, 1, 0, "A");
+            PropertyPolygon b = TestUtils.createSquareProperty(2, 2, 0, "B");
+            PropertyPolygon c = TestUtils.createSquareProperty(3, 3, 0, "C");
+            PropertyPolygon b2 = TestUtils.createSquareProperty(4, 4, 0, "B");
+            AdjacentPairStore store = new AdjacentPairStore();
+            store.add(a, b);
+            store.add(b, c);
+            store.add(b2, a);
+            store.add(c, b2);
+
+            store.groupByOwnerPair();
+
+            assertEquals(2, store.sliceCount());
+            List<AdjacentPropertyPair> first = store.toPairs(store.sliceStart(0), store.sliceEnd(0));
+            List<AdjacentPropertyPair> second = store.toPairs(store.sliceStart(1), store.sliceEnd(1));
+            assertEquals(List.of(1, 4), List.of(first.get(0).getPropertyId1(), first.get(1).getPropertyId1()));
+            assertEquals(List.of(2, 3), List.of(second.get(0).getPropertyId1(), second.get(1).getPropertyId1()));
+        }
+
+        @Test
+        @DisplayName("Slicing requires grouping")
+        @Description("Validates that slices are unavailable before grouping and after a new pair is added.")
+        @Severity(SeverityLevel.MINOR)
+        void slicingRequiresGrouping() {
+            AdjacentPairStore store = new AdjacentPairStore();
+            assertThrows(IllegalStateException.class, store::sliceCount);
+            store.groupByOwnerPair();
+            assertEquals(0, store.sliceCount());
+            store.add(TestUtils.createSquareProperty(1, 1, 0, "A"), TestUtils.createSquareProperty(2, 2, 0, "B"));
+            assertThrows(IllegalStateException.class, () -> store.sliceStart(0));
+        }
+    }
+}
@@ -66,6 +66,18 @@ class AdjacentPropertyPairTests {
         }
     }
 
+    @Test
+    @DisplayName("pairKey is order independent and reversible")
+    @Description("Validates that pairKey packs both IDs regardless of order and that firstId and secondId unpack them.")
+    @Severity(SeverityLevel.NORMAL)
+    void pairKey() {
+        long key = AdjacentPropertyPair.pairKey(202, -101);
+
+        assertEquals(key, AdjacentPropertyPair.pairKey(-101, 202));
+        assertEquals(-101, AdjacentPropertyPair.firstId(key));
+        assertEquals(202, AdjacentPropertyPair.secondId(key));
+    }
+
     @Test
     @DisplayName("toString returns correct string representation")
     @Description("Validates that the toString method returns the correct string representation of the AdjacentPropertyPair object.")
@@ -0,0 +1,189 @@
+package DetectAdjacentProperties;
+
+import Models.District;
+import Models.ExchangeSuggestion;
+import Models.Municipality;
+import Models.Parish;
+import Models.PropertyPolygon;
+import Models.RegionId;
+import Services.PropertyCollector;
+import Services.SuggestionGenerator;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link BoundaryPairIndex} class.
+ * It validates that the pairs sliced for every district, municipality and parish match
+ * adjacency detection run on the properties of that region alone, even when region names repeat in other parents.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Detect adjacent properties")
+@DisplayName("Boundary Pair Index Tests")
+class BoundaryPairIndexTests {
+
+    private List<PropertyPolygon> properties;
+    private BoundaryPairIndex index;
+
+    /**
+     * Creates a unit square property in the regions given by its position on a 12 by 12 grid.
+     * Municipality names repeat in both districts and parish names in every municipality.
+     */
+    private static PropertyPolygon square(int i, int j) {
+        String district = i < 6 ? "Madeira" : "Porto Santo";
+        String municipality = j < 6 ? "Norte" : "Sul";
+        String parish = "Parish " + (i % 6 < 3 ? "A" : "B");
+        return TestUtils.createSquareProperty(i * 12 + j + 1, i, j, 1, 1, "Owner" + ((i * 5 + j * 3) % 4),
+                parish, municipality, district);
+    }
+
+    /**
+     * Collects the pairs as order-independent keys.
+     */
+    private static Set<Long> keys(List<AdjacentPropertyPair> pairs) {
+        return pairs.stream().map(p -> AdjacentPropertyPair.pairKey(p.getPropertyId1(), p.getPropertyId2()))
+                .collect(Collectors.toSet());
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            for (int j = 0; j < 12; j++) {
+                properties.add(square(i, j));
+            }
+        }
+        index = new BoundaryPairIndex(PropertyAdjacencyGraph.fromProperties(properties), 3);
+    }
+
+    @Nested
+    @DisplayName("Region Slice Tests")
+    class RegionSliceTests {
+
+        @Test
+        @DisplayName("Slices match detection per region")
+        @Description("Validates every region at every level against findValidAdjacentPairs on the region's properties.")
+        @Severity(SeverityLevel.CRITICAL)
+        void slicesMatchDetection() {
+            for (RegionId.Level level : RegionId.Level.values()) {
+                Set<RegionId> regions = properties.stream().map(p -> RegionId.of(level, p)).collect(Collectors.toSet());
+                for (RegionId region : regions) {
+                    List<PropertyPolygon> inRegion = properties.stream().filter(region::contains).toList();
+
+                    Set<Long> expected = keys(AdjacencyDetector.findValidAdjacentPairs(inRegion));
+                    assertEquals(expected, keys(index.pairsIn(region)), region.toString());
+                    assertEquals(expected.size(), index.countIn(region));
+                }
+            }
+            assertEquals(3, index.getDatasetVersion());
+        }
+
+        @Test
+        @DisplayName("Region names are case-insensitive and unknown regions are empty")
+        @Description("Validates that filters built from the main window select the same slice regardless of case.")
+        @Severity(SeverityLevel.NORMAL)
+        void filterRegions() {
+            RegionId upper = RegionId.fromFilter("Parish", "MADEIRA", "NORTE", "PARISH A");
+
+            assertEquals(keys(index.pairsIn(RegionId.parish("madeira", "norte", "parish a"))), keys(index.pairsIn(upper)));
+            assertFalse(index.pairsIn(upper).isEmpty());
+            assertTrue(index.pairsIn(RegionId.fromFilter("Parish", "Madeira", "Norte", "Nowhere")).isEmpty());
+            assertNull(RegionId.fromFilter("Parish", "Madeira", null, "Parish A"));
+            assertNull(RegionId.fromFilter("Owner", null, null, null));
+            assertEquals(index.size(), index.pairsIn(RegionId.fromFilter(null, null, null, null)).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Duplicated Name Tests")
+    class DuplicatedNameTests {
+
+        /**
+         * Builds the district, municipality and parish hierarchy the properties name.
+         */
+        private List<District> districts() {
+            Map<String, District> districts = new LinkedHashMap<>();
+            Map<String, Municipality> municipalities = new HashMap<>();
+            Map<String, Parish> parishes = new HashMap<>();
+            for (PropertyPolygon property : properties) {
+                String municipalityPath = property.getIlha() + "/" + property.getMunicipio();
+                String parishPath = municipalityPath + "/" + property.getFreguesia();
+                District district = districts.computeIfAbsent(property.getIlha(), District::new);
+                Municipality municipality = municipalities.computeIfAbsent(municipalityPath, path -> {
+                    Municipality created = new Municipality(property.getMunicipio());
+                    district.addMunicipality(created);
+                    return created;
+                });
+                parishes.computeIfAbsent(parishPath, path -> {
+                    Parish created = new Parish(property.getFreguesia());
+                    municipality.addParish(created);
+                    return created;
+                }).addPropertyPolygon(property);
+            }
+            return new ArrayList<>(districts.values());
+        }
+
+        /**
+         * Describes suggestions by their properties and scores, in ranked order.
+         */
+        private List<String> describe(List<ExchangeSuggestion> suggestions) {
+            return suggestions.stream()
+                    .map(s -> s.getPropertyFromA() + ">" + s.getPropertyFromB() + "@" + s.getScore())
+                    .toList();
+        }
+
+        @Test
+        @DisplayName("Same-named regions in different parents stay apart")
+        @Description("Validates that a region filter and the index slice exclude same-named regions of other parents.")
+        @Severity(SeverityLevel.CRITICAL)
+        void sameNamedRegionsApart() {
+            PropertyCollector collector = new PropertyCollector(districts());
+            RegionId region = RegionId.parish("Porto Santo", "Sul", "Parish B");
+            List<PropertyPolygon> inRegion = collector.filterByRegion(region);
+
+            assertEquals(18, inRegion.size());
+            assertTrue(inRegion.stream().allMatch(region::contains));
+            assertEquals(72, collector.filterByParish("Parish B").size());
+            assertEquals(keys(AdjacencyDetector.findValidAdjacentPairs(inRegion)), keys(index.pairsIn(region)));
+            assertEquals(2, collector.getParishNames("Madeira", "Norte").size());
+        }
+
+        @Test
+        @DisplayName("Index and detection paths give identical suggestions")
+        @Description("Validates that suggestions from the index slice and from detection over shuffled region "
+                + "properties are the same, in the same order, for every region whose name is duplicated.")
+        @Severity(SeverityLevel.CRITICAL)
+        void identicalSuggestions() {
+            PropertyCollector collector = new PropertyCollector(districts());
+            Random random = new Random(40);
+            boolean anySuggestion = false;
+            for (PropertyPolygon property : properties) {
+                for (RegionId region : List.of(RegionId.of(RegionId.Level.MUNICIPALITY, property),
+                        RegionId.of(RegionId.Level.PARISH, property))) {
+                    List<PropertyPolygon> shuffled = new ArrayList<>(collector.filterByRegion(region));
+                    Collections.shuffle(shuffled, random);
+
+                    List<ExchangeSuggestion> fromIndex = SuggestionGenerator.generateSuggestions(index.pairsIn(region), shuffled);
+                    List<ExchangeSuggestion> fromDetection = SuggestionGenerator.generateSuggestions(
+                            AdjacencyDetector.findValidAdjacentPairs(shuffled), shuffled);
+
+                    assertEquals(describe(fromIndex), describe(fromDetection), region.toString());
+                    anySuggestion |= !fromIndex.isEmpty();
+                }
+            }
+            assertTrue(anySuggestion);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link DatasetStatistics} class.
+ * It validates bounds, counts, the extent histogram and tile densities, and checks
+ * that the spatial grid sized from them still finds neighbours of large properties.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Detect adjacent properties")
+@DisplayName("Dataset Statistics Tests")
+class DatasetStatisticsTests {
+
+    @Nested
+    @DisplayName("Reduction Tests")
+    class ReductionTests {
+
+        @Test
+        @DisplayName("Bounds and counts")
+        @Description("Validates that bounds and counts are reduced correctly across a large parallel input.")
+        @Severity(SeverityLevel.CRITICAL)
+        void boundsAndCounts() {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            for (int i = 0; i < 5000; i++) {
+                properties.add(TestUtils.createSquareProperty(i, i * 3.0, -i, 2, "Owner"));
+            }
+            properties.add(null);
+
+            DatasetStatistics statistics = DatasetStatistics.compute(properties);
+
+            assertEquals(0, statistics.getMinX());
+            assertEquals(-4999, statistics.getMinY());
+            assertEquals(4999 * 3.0 + 2, statistics.getMaxX());
+            assertEquals(2, statistics.getMaxY());
+            assertEquals(5000, statistics.getPropertyCount());
+            assertEquals(20000, statistics.getVertexCount());
+            assertEquals(2.0, statistics.getExtentQuantile(0.5));
+        }
+
+        @Test
+        @DisplayName("Extent quantiles and tile densities")
+        @Description("Validates that extent quantiles round up to powers of two and tiles count first vertices.")
+        @Severity(SeverityLevel.NORMAL)
+        void quantilesAndTiles() {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            for (int i = 0; i < 99; i++) {
+                properties.add(TestUtils.createSquareProperty(i, i * 5.0, 0, 3, "Owner"));
+            }
+            properties.add(TestUtils.createSquareProperty(99, 50000, 50000, 700, "Owner"));
+
+            DatasetStatistics statistics = DatasetStatistics.compute(properties);
+
+            assertEquals(4.0, statistics.getExtentQuantile(0.95));
+            assertEquals(1024.0, statistics.getExtentQuantile(1.0));
+            assertEquals(2, statistics.getTileCounts().size());
+            assertEquals(99, statistics.getMaxTileDensity());
+        }
+
+        @Test
+        @DisplayName("Empty input")
+        @Description("Validates that empty and null inputs produce empty statistics.")
+        @Severity(SeverityLevel.MINOR)
+        void empty() {
+            assertTrue(DatasetStatistics.compute(List.of()).isEmpty());
+            assertTrue(DatasetStatistics.compute(null).isEmpty());
+            assertTrue(Double.isNaN(DatasetStatistics.compute(List.of()).getExtentQuantile(0.5)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Adaptive Grid Tests")
+    class AdaptiveGridTests {
+
+        @Test
+        @DisplayName("Large properties are found through the coarse level")
+        @Description("Validates that a small property finds a much larger neighbour whose first vertex is far away.")
+        @Severity(SeverityLevel.CRITICAL)
+        void largeNeighbour() {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                properties.add(TestUtils.createSquareProperty(i, i, 0, 1, "Owner"));
+            }
+            PropertyPolygon large = TestUtils.createSquareProperty(100, -500, 1, 500, "Owner");
+            properties.add(large);
+            SpatialGrid grid = new SpatialGrid(properties);
+            properties.forEach(grid::insert);
+
+            assertTrue(grid.getNearbyProperties(properties.get(0)).contains(large));
+            assertTrue(grid.getNearbyProperties(large).contains(properties.get(0)));
+        }
+    }
+}
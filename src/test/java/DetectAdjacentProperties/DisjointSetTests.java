@@ -0,0 +1,57 @@
+package DetectAdjacentProperties;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link DisjointSet} class.
+ * It validates union, find and component counting.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Detect adjacent properties")
+@DisplayName("Disjoint Set Tests")
+class DisjointSetTests {
+
+    @Test
+    @DisplayName("Union joins components")
+    @Description("Validates that unions join components transitively and repeated unions are ignored.")
+    @Severity(SeverityLevel.CRITICAL)
+    void union() {
+        DisjointSet set = new DisjointSet(6);
+
+        assertTrue(set.union(0, 1));
+        assertTrue(set.union(2, 3));
+        assertTrue(set.union(1, 3));
+        assertFalse(set.union(0, 2));
+
+        assertTrue(set.connected(0, 3));
+        assertFalse(set.connected(0, 4));
+        assertEquals(3, set.componentCount());
+        assertEquals(6, set.size());
+    }
+
+    @Test
+    @DisplayName("Long chains share one representative")
+    @Description("Validates that every element of a long chain resolves to the same representative.")
+    @Severity(SeverityLevel.NORMAL)
+    void longChain() {
+        DisjointSet set = new DisjointSet(10_000);
+        for (int i = 1; i < 10_000; i++) {
+            set.union(i - 1, i);
+        }
+
+        int root = set.find(0);
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(root, set.find(i));
+        }
+        assertEquals(1, set.componentCount());
+    }
+}
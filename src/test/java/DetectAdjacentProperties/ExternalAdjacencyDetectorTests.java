@@ -0,0 +1,173 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link ExternalAdjacencyDetector} class.
+ * It validates that the external sort finds the same pairs as in-memory detection, even when the
+ * data is split into many small runs, and that no temporary files are left behind.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Detect adjacent properties")
+@DisplayName("External Adjacency Detector Tests")
+class ExternalAdjacencyDetectorTests {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Collects the pairs as order-independent keys.
+     */
+    private static Set<Long> keys(List<AdjacentPropertyPair> pairs) {
+        Set<Long> keys = new HashSet<>();
+        for (AdjacentPropertyPair pair : pairs) {
+            keys.add(AdjacentPropertyPair.pairKey(pair.getPropertyId1(), pair.getPropertyId2()));
+        }
+        return keys;
+    }
+
+    @Nested
+    @DisplayName("External Sort Tests")
+    class ExternalSortTests {
+
+        @Test
+        @DisplayName("Matches in-memory detection across many runs")
+        @Description("Validates that a grid split into runs of seven tuples yields the in-memory pairs once each, in key order.")
+        @Severity(SeverityLevel.CRITICAL)
+        void matchesInMemory() throws IOException {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            for (int i = 0; i < 12; i++) {
+                for (int j = 0; j < 12; j++) {
+                    properties.add(TestUtils.createSquareProperty(i * 12 + j + 1, i, j, "Owner"));
+                }
+            }
+            List<AdjacentPropertyPair> pairs = new ArrayList<>();
+
+            ExternalAdjacencyDetector.findAdjacentProperties(properties, tempDir, 7, pairs::add);
+
+            assertEquals(keys(AdjacencyDetector.findAdjacentProperties(properties)), keys(pairs));
+            assertEquals(keys(pairs).size(), pairs.size());
+            for (int i = 1; i < pairs.size(); i++) {
+                assertTrue(AdjacentPropertyPair.pairKey(pairs.get(i - 1).getPropertyId1(), pairs.get(i - 1).getPropertyId2())
+                        < AdjacentPropertyPair.pairKey(pairs.get(i).getPropertyId1(), pairs.get(i).getPropertyId2()));
+            }
+        }
+
+        @Test
+        @DisplayName("Temporary runs are deleted")
+        @Description("Validates that the temporary directory is empty after detection.")
+        @Severity(SeverityLevel.NORMAL)
+        void runsDeleted() throws IOException {
+            List<PropertyPolygon> properties = List.of(TestUtils.createSquareProperty(1, 0, 0, "Owner"),
+                    TestUtils.createSquareProperty(2, 1, 0, "Owner"), TestUtils.createSquareProperty(3, 5, 5, "Owner"));
+
+            List<AdjacentPropertyPair> pairs = ExternalAdjacencyDetector.findAdjacentProperties(properties, tempDir);
+
+            assertEquals(1, pairs.size());
+            try (Stream<Path> files = Files.list(tempDir)) {
+                assertEquals(0, files.count());
+            }
+        }
+
+        @Test
+        @DisplayName("Bounded fan-in merges over several passes")
+        @Description("Validates that merging at most two or three runs at once yields the same pairs and deletes every run.")
+        @Severity(SeverityLevel.CRITICAL)
+        void boundedFanIn() throws IOException {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                for (int j = 0; j < 10; j++) {
+                    properties.add(TestUtils.createSquareProperty(i * 10 + j + 1, i, j, "Owner"));
+                }
+            }
+            List<AdjacentPropertyPair> expected = new ArrayList<>();
+            ExternalAdjacencyDetector.findAdjacentProperties(properties, tempDir, 5, expected::add);
+
+            for (int fanIn : new int[]{2, 3}) {
+                List<AdjacentPropertyPair> pairs = new ArrayList<>();
+                ExternalAdjacencyDetector.findAdjacentProperties(properties, tempDir, 5, fanIn, pairs::add);
+
+                assertEquals(expected.size(), pairs.size());
+                for (int i = 0; i < pairs.size(); i++) {
+                    assertEquals(expected.get(i).getPropertyId1(), pairs.get(i).getPropertyId1());
+                    assertEquals(expected.get(i).getPropertyId2(), pairs.get(i).getPropertyId2());
+                }
+            }
+            try (Stream<Path> files = Files.list(tempDir)) {
+                assertEquals(0, files.count());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Edge Case Tests")
+    class EdgeCaseTests {
+
+        @Test
+        @DisplayName("Only identical coordinates are shared")
+        @Description("Validates that vertices differing in the last bits are not matched and negative zero equals zero.")
+        @Severity(SeverityLevel.NORMAL)
+        void exactCoordinates() throws IOException {
+            List<PropertyPolygon> properties = List.of(TestUtils.createSquareProperty(1, -1, -1, "Owner"),
+                    TestUtils.createSquareProperty(2, -0.0, -1, "Owner"),
+                    TestUtils.createSquareProperty(3, Math.nextUp(-2.0), 0, "Owner"));
+
+            List<AdjacentPropertyPair> pairs = new ArrayList<>();
+            ExternalAdjacencyDetector.findAdjacentProperties(properties, tempDir, 3, pairs::add);
+
+            assertEquals(1, pairs.size());
+            assertEquals(Set.of(AdjacentPropertyPair.pairKey(1, 2)), keys(pairs));
+        }
+
+        @Test
+        @DisplayName("Failing sink leaves no runs behind")
+        @Description("Validates that an exception thrown by the sink is propagated and every run is closed and deleted.")
+        @Severity(SeverityLevel.NORMAL)
+        void failingSink() throws IOException {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                properties.add(TestUtils.createSquareProperty(i + 1, i, 0, "Owner"));
+            }
+
+            IllegalStateException failure = assertThrows(IllegalStateException.class,
+                    () -> ExternalAdjacencyDetector.findAdjacentProperties(properties, tempDir, 3, 2, p -> {
+                        throw new IllegalStateException("sink failed");
+                    }));
+
+            assertEquals("sink failed", failure.getMessage());
+            try (Stream<Path> files = Files.list(tempDir)) {
+                assertEquals(0, files.count());
+            }
+        }
+
+        @Test
+        @DisplayName("Empty input and invalid run size or fan-in")
+        @Description("Validates that no pairs are found without properties and that a non-positive run size or a fan-in below two is rejected.")
+        @Severity(SeverityLevel.MINOR)
+        void emptyAndInvalid() throws IOException {
+            assertTrue(ExternalAdjacencyDetector.findAdjacentProperties(List.of(), tempDir).isEmpty());
+            assertThrows(IllegalArgumentException.class,
+                    () -> ExternalAdjacencyDetector.findAdjacentProperties(List.of(), tempDir, 0, p -> { }));
+            assertThrows(IllegalArgumentException.class,
+                    () -> ExternalAdjacencyDetector.findAdjacentProperties(List.of(), tempDir, 4, 1, p -> { }));
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link OwnerComponentIndex} class.
+ * It validates that merging a view through the precomputed index gives the same groups
+ * as merging the view from scratch, including views that cut through a component, and
+ * that dissolved outlines are reused.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Detect adjacent properties")
+@DisplayName("Owner Component Index Tests")
+class OwnerComponentIndexTests {
+
+    /**
+     * Asserts that two merge results contain the same properties in the same order.
+     */
+    private static void assertSameResult(List<PropertyPolygon> expected, List<PropertyPolygon> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getObjectId(), actual.get(i).getObjectId());
+            assertEquals(expected.get(i).getShapeArea(), actual.get(i).getShapeArea());
+            assertEquals(expected.get(i).getPolygon().getVertices(), actual.get(i).getPolygon().getVertices());
+        }
+    }
+
+    /**
+     * Asserts that two merge results contain the same properties in the same order, allowing the index to keep
+     * vertices shared with properties outside the view.
+     */
+    private static void assertSameGroups(List<PropertyPolygon> expected, List<PropertyPolygon> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getObjectId(), actual.get(i).getObjectId());
+            assertEquals(expected.get(i).getShapeArea(), actual.get(i).getShapeArea());
+            assertTrue(actual.get(i).getPolygon().getVertices().containsAll(expected.get(i).getPolygon().getVertices()));
+        }
+    }
+
+    @Nested
+    @DisplayName("View Merge Tests")
+    class ViewMergeTests {
+
+        @Test
+        @DisplayName("Views match merging from scratch")
+        @Description("Validates that the dataset merged through the index matches PropertyMerger and that owner and region views give the same groups.")
+        @Severity(SeverityLevel.CRITICAL)
+        void viewsMatchMerger() {
+            Random random = new Random(3);
+            List<PropertyPolygon> dataset = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                for (int j = 0; j < 20; j++) {
+                    dataset.add(TestUtils.createSquareProperty(i * 20 + j + 1, i, j, "Owner" + random.nextInt(3)));
+                }
+            }
+            OwnerComponentIndex index = new OwnerComponentIndex(dataset);
+
+            List<PropertyPolygon> ownerView = dataset.stream()
+                    .filter(p -> p.getOwner().equals("Owner1")).collect(Collectors.toList());
+            List<PropertyPolygon> regionView = dataset.subList(100, 250);
+
+            assertSameResult(PropertyMerger.mergeOwnerAdjacentProperties(dataset), index.mergeView(dataset));
+            assertSameGroups(PropertyMerger.mergeOwnerAdjacentProperties(ownerView), index.mergeView(ownerView));
+            assertSameGroups(PropertyMerger.mergeOwnerAdjacentProperties(regionView), index.mergeView(regionView));
+        }
+
+        @Test
+        @DisplayName("Outlines are reused across merges")
+        @Description("Validates that merging a component again returns the cached outline and keeps vertices shared outside the view.")
+        @Severity(SeverityLevel.NORMAL)
+        void outlinesReused() {
+            PropertyPolygon a = TestUtils.createSquareProperty(1, 0, 0, "A");
+            PropertyPolygon b = TestUtils.createSquareProperty(2, 1, 0, "A");
+            PropertyPolygon other = TestUtils.createSquareProperty(3, 0, 1, "B");
+            OwnerComponentIndex index = new OwnerComponentIndex(List.of(a, b, other));
+
+            List<PropertyPolygon> first = index.mergeView(List.of(a, b, other));
+            List<PropertyPolygon> second = index.mergeView(List.of(a, b));
+
+            assertEquals(2, first.size());
+            assertEquals(1, second.size());
+            assertSame(first.get(0).getPolygon(), second.get(0).getPolygon());
+            VertexCoordinate corner = new VertexCoordinate(1, 1);
+            assertTrue(second.get(0).getPolygon().getVertices().contains(corner));
+            assertFalse(PropertyMerger.mergeOwnerAdjacentProperties(List.of(a, b)).get(0).getPolygon().getVertices().contains(corner));
+        }
+
+        @Test
+        @DisplayName("Connections outside the view are ignored")
+        @Description("Validates that two properties joined only through a property outside the view stay separate.")
+        @Severity(SeverityLevel.CRITICAL)
+        void outsideConnection() {
+            PropertyPolygon left = TestUtils.createSquareProperty(1, 0, 0, "A");
+            PropertyPolygon middle = TestUtils.createSquareProperty(2, 1, 0, "A");
+            PropertyPolygon right = TestUtils.createSquareProperty(3, 2, 0, "A");
+            OwnerComponentIndex index = new OwnerComponentIndex(List.of(left, middle, right));
+
+            assertEquals(1, index.mergeView(List.of(left, middle, right)).size());
+            assertEquals(2, index.mergeView(List.of(left, right)).size());
+        }
+
+        @Test
+        @DisplayName("Shared vertex inside the view is found through an outside bucket member")
+        @Description("Validates that two view properties sharing a vertex with an outside property are still merged.")
+        @Severity(SeverityLevel.NORMAL)
+        void sharedBucket() {
+            PropertyPolygon outside = TestUtils.createSquareProperty(1, 0, 0, "A");
+            PropertyPolygon a = TestUtils.createSquareProperty(2, 1, 0, "A");
+            PropertyPolygon b = TestUtils.createSquareProperty(3, 1, 1, "A");
+            OwnerComponentIndex index = new OwnerComponentIndex(List.of(outside, a, b));
+
+            assertEquals(1, index.mergeView(List.of(a, b)).size());
+            assertTrue(index.bucketCount() > 0);
+        }
+
+        @Test
+        @DisplayName("Owner changes need a rebuilt index")
+        @Description("Validates that an index keeps the owners it was built with and that a rebuilt index merges the new owner's properties.")
+        @Severity(SeverityLevel.CRITICAL)
+        void rebuildAfterOwnerChange() {
+            PropertyPolygon a = TestUtils.createSquareProperty(1, 0, 0, "A");
+            PropertyPolygon b = TestUtils.createSquareProperty(2, 1, 0, "B");
+            List<PropertyPolygon> dataset = List.of(a, b);
+            OwnerComponentIndex index = new OwnerComponentIndex(dataset);
+
+            b.setOwner("A");
+
+            assertEquals(2, index.mergeView(dataset).size());
+            assertEquals(1, new OwnerComponentIndex(dataset).mergeView(dataset).size());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package DetectAdjacentProperties;
+
+import Models.Polygon;
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Mocks.MockedPropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link PolygonDissolver} class.
+ * It validates that shared edges are removed, the outer boundary is re-chained into closed rings,
+ * vertices shared with other properties are kept so adjacency survives a merge,
+ * and degenerate input is reported instead of dissolved.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Detect adjacent properties")
+@DisplayName("Polygon Dissolver Tests")
+class PolygonDissolverTests {
+
+    /**
+     * Creates a unit square with its lower-left corner at (x, y), optionally clockwise.
+     */
+    private static Polygon square(double x, double y, boolean clockwise) {
+        List<VertexCoordinate> vertices = new ArrayList<>(List.of(new VertexCoordinate(x, y), new VertexCoordinate(x + 1, y),
+                new VertexCoordinate(x + 1, y + 1), new VertexCoordinate(x, y + 1), new VertexCoordinate(x, y)));
+        if (clockwise) Collections.reverse(vertices);
+        return new Polygon(vertices);
+    }
+
+    /**
+     * Computes the signed area of a dissolved ring, ignoring the repeated closing vertex.
+     */
+    private static double area(Polygon polygon) {
+        List<VertexCoordinate> vertices = polygon.getVertices();
+        return Math.abs(PolygonDissolver.signedArea(vertices.subList(0, vertices.size() - 1)));
+    }
+
+    @Nested
+    @DisplayName("Dissolve Tests")
+    class DissolveTests {
+
+        @Test
+        @DisplayName("Two squares dissolve into a rectangle")
+        @Description("Validates that the shared edge is removed and collinear vertices are dropped.")
+        @Severity(SeverityLevel.CRITICAL)
+        void twoSquares() {
+            Polygon result = PolygonDissolver.dissolve(List.of(square(0, 0, false), square(1, 0, true)));
+
+            assertNotNull(result);
+            assertEquals(5, result.getVertices().size(), "Four corners plus the closing vertex.");
+            assertEquals(result.getVertices().get(0), result.getVertices().get(4));
+            assertEquals(2.0, area(result), 1e-9);
+        }
+
+        @Test
+        @DisplayName("2x2 block dissolves into one square ring")
+        @Description("Validates that all interior edges of a block of four squares are removed.")
+        @Severity(SeverityLevel.NORMAL)
+        void block() {
+            Polygon result = PolygonDissolver.dissolve(List.of(square(0, 0, false), square(1, 0, false),
+                    square(0, 1, false), square(1, 1, false)));
+
+            assertNotNull(result);
+            assertEquals(5, result.getVertices().size());
+            assertEquals(4.0, area(result), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Squares touching at a corner keep two rings")
+        @Description("Validates that polygons sharing only a vertex keep separate closed rings.")
+        @Severity(SeverityLevel.NORMAL)
+        void cornerTouch() {
+            Polygon result = PolygonDissolver.dissolve(List.of(square(0, 0, false), square(1, 1, false)));
+
+            assertNotNull(result);
+            assertEquals(10, result.getVertices().size());
+            assertEquals(2, result.getRings().size(), "Each square stays its own closed ring.");
+            for (List<VertexCoordinate> ring : result.getRings()) {
+                assertEquals(5, ring.size());
+                assertEquals(ring.get(0), ring.get(4));
+            }
+        }
+
+        @Test
+        @DisplayName("Preserved collinear vertices stay on the outline")
+        @Description("Validates that a collinear vertex passed as preserved is kept while the others are removed.")
+        @Severity(SeverityLevel.CRITICAL)
+        void preservedVertex() {
+            Polygon result = PolygonDissolver.dissolve(List.of(square(0, 0, false), square(1, 0, false)),
+                    Set.of(new VertexCoordinate(1, 1)));
+
+            assertNotNull(result);
+            assertEquals(6, result.getVertices().size(), "Four corners, the preserved vertex and the closing vertex.");
+            assertTrue(result.getVertices().contains(new VertexCoordinate(1, 1)));
+            assertFalse(result.getVertices().contains(new VertexCoordinate(1, 0)));
+            assertEquals(2.0, area(result), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Degenerate polygons are not dissolved")
+        @Description("Validates that a polygon with fewer than three distinct vertices makes dissolve return null.")
+        @Severity(SeverityLevel.MINOR)
+        void degenerate() {
+            Polygon line = new Polygon(List.of(new VertexCoordinate(0, 0), new VertexCoordinate(1, 1)));
+
+            assertNull(PolygonDissolver.dissolve(List.of(square(0, 0, false), line)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Merger Integration Tests")
+    class MergerIntegrationTests {
+
+        @Test
+        @DisplayName("Merged properties carry the dissolved outline")
+        @Description("Validates that PropertyMerger stores the dissolved outline instead of every member vertex.")
+        @Severity(SeverityLevel.CRITICAL)
+        void mergedOutline() {
+            PropertyPolygon p1 = new MockedPropertyPolygon(1, 1, "1", 4.0, 1.0, square(0, 0, false),
+                    "OwnerA", "Parish", "Municipality", "Island");
+            PropertyPolygon p2 = new MockedPropertyPolygon(2, 2, "2", 4.0, 1.0, square(1, 0, false),
+                    "OwnerA", "Parish", "Municipality", "Island");
+
+            List<PropertyPolygon> merged = PropertyMerger.mergeOwnerAdjacentProperties(List.of(p1, p2));
+
+            assertEquals(1, merged.size());
+            assertEquals(5, merged.get(0).getPolygon().getVertices().size());
+        }
+
+        @Test
+        @DisplayName("A neighbour touching a collinear vertex stays adjacent")
+        @Description("Validates that a vertex shared with a property of another owner is kept on the merged outline.")
+        @Severity(SeverityLevel.CRITICAL)
+        void neighbourOnCollinearVertex() {
+            PropertyPolygon a1 = TestUtils.createSquareProperty(1, 0, 0, "OwnerA");
+            PropertyPolygon a2 = TestUtils.createSquareProperty(2, 1, 0, "OwnerA");
+            PropertyPolygon b = new MockedPropertyPolygon(3, 3, "3", 3.0, 0.5, new Polygon(List.of(new VertexCoordinate(1, 1),
+                    new VertexCoordinate(1.5, 2), new VertexCoordinate(0.5, 2), new VertexCoordinate(1, 1))),
+                    "OwnerB", "Parish", "Municipality", "Island");
+
+            List<PropertyPolygon> merged = PropertyMerger.mergeOwnerAdjacentProperties(List.of(a1, a2, b));
+
+            assertEquals(2, merged.size());
+            assertTrue(merged.get(0).getPolygon().getVertices().contains(new VertexCoordinate(1, 1)));
+            List<AdjacentPropertyPair> pairs = AdjacencyDetector.findAdjacentProperties(merged);
+            assertEquals(1, pairs.size());
+            assertEquals(AdjacentPropertyPair.pairKey(1, 3), AdjacentPropertyPair.pairKey(pairs.get(0).getPropertyId1(), pairs.get(0).getPropertyId2()));
+        }
+
+        @Test
+        @DisplayName("Adjacency between owners is unchanged across a merge")
+        @Description("Validates that merging a grid of blocks keeps every adjacency between properties of different owners.")
+        @Severity(SeverityLevel.CRITICAL)
+        void adjacencyUnchanged() {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            for (int x = 0; x < 9; x++) {
+                for (int y = 0; y < 6; y++) {
+                    properties.add(TestUtils.createSquareProperty(x * 6 + y + 1, x, y, "Owner" + ((x / 3 + y / 2) % 3)));
+                }
+            }
+            List<AdjacentPropertyPair> before = AdjacencyDetector.findAdjacentProperties(properties);
+            DisjointSet owners = new DisjointSet(properties.size() + 1);
+            for (AdjacentPropertyPair pair : before) {
+                PropertyPolygon p1 = properties.get(pair.getPropertyId1() - 1);
+                PropertyPolygon p2 = properties.get(pair.getPropertyId2() - 1);
+                if (p1.getOwner().equals(p2.getOwner())) owners.union(pair.getPropertyId1(), pair.getPropertyId2());
+            }
+            Map<Integer, Integer> mergedId = new HashMap<>();
+            for (PropertyPolygon property : properties) {
+                mergedId.merge(owners.find(property.getObjectId()), property.getObjectId(), Math::min);
+            }
+            Set<Long> expected = new HashSet<>();
+            for (AdjacentPropertyPair pair : before) {
+                int id1 = mergedId.get(owners.find(pair.getPropertyId1()));
+                int id2 = mergedId.get(owners.find(pair.getPropertyId2()));
+                if (id1 != id2) expected.add(AdjacentPropertyPair.pairKey(id1, id2));
+            }
+
+            List<PropertyPolygon> merged = PropertyMerger.mergeOwnerAdjacentProperties(properties);
+            Set<Long> actual = new HashSet<>();
+            for (AdjacentPropertyPair pair : AdjacencyDetector.findAdjacentProperties(merged)) {
+                actual.add(AdjacentPropertyPair.pairKey(pair.getPropertyId1(), pair.getPropertyId2()));
+            }
+
+            assertEquals(new HashSet<>(mergedId.values()).size(), merged.size());
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, actual);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link PropertyAdjacencyGraph} class.
+ * It validates construction of the CSR graph from properties and from pairs,
+ * degree and neighbour lookups, k-hop queries and pair extraction.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Detect adjacent properties")
+@DisplayName("Property Adjacency Graph Tests")
+class PropertyAdjacencyGraphTests {
+
+    /**
+     * Creates a row of four squares, 10 - 20 - 30 - 40, plus an isolated square 50.
+     */
+    private static List<PropertyPolygon> chain() {
+        return List.of(TestUtils.createSquareProperty(10, 0, 0, "A"), TestUtils.createSquareProperty(20, 1, 0, "B"), TestUtils.createSquareProperty(30, 2, 0, "B"), TestUtils.createSquareProperty(40, 3, 0, "C"), TestUtils.createSquareProperty(50, 9, 0, "D"));
+    }
+
+    @Nested
+    @DisplayName("Construction Tests")
+    class ConstructionTests {
+
+        @Test
+        @DisplayName("Builds edges between properties sharing vertices")
+        @Description("Validates the degrees and sorted neighbours of a graph built from properties.")
+        @Severity(SeverityLevel.CRITICAL)
+        void fromProperties() {
+            PropertyAdjacencyGraph graph = PropertyAdjacencyGraph.fromProperties(chain());
+
+            assertEquals(5, graph.size());
+            assertEquals(3, graph.edgeCount());
+            assertEquals(1, graph.degree(0));
+            assertEquals(2, graph.degree(1));
+            assertEquals(0, graph.degree(4));
+            assertEquals(0, graph.neighbourAt(1, 0));
+            assertEquals(2, graph.neighbourAt(1, 1));
+            assertTrue(graph.areAdjacent(2, 3));
+            assertFalse(graph.areAdjacent(0, 2));
+        }
+
+        @Test
+        @DisplayName("Builds the same graph from pairs")
+        @Description("Validates that a graph built from detected pairs matches one built from geometry.")
+        @Severity(SeverityLevel.NORMAL)
+        void fromPairs() {
+            List<PropertyPolygon> properties = chain();
+            PropertyAdjacencyGraph fromGeometry = PropertyAdjacencyGraph.fromProperties(properties);
+            PropertyAdjacencyGraph fromPairs = PropertyAdjacencyGraph.fromPairs(properties, fromGeometry.toAdjacentPairs());
+
+            assertEquals(fromGeometry.edgeCount(), fromPairs.edgeCount());
+            for (int row = 0; row < properties.size(); row++) {
+                assertEquals(fromGeometry.degree(row), fromPairs.degree(row));
+            }
+        }
+
+        @Test
+        @DisplayName("Empty list produces an empty graph")
+        @Description("Validates that no rows or edges are created for an empty list.")
+        @Severity(SeverityLevel.MINOR)
+        void emptyGraph() {
+            PropertyAdjacencyGraph graph = PropertyAdjacencyGraph.fromProperties(List.of());
+
+            assertEquals(0, graph.size());
+            assertEquals(0, graph.edgeCount());
+            assertTrue(graph.toAdjacentPairs().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Query Tests")
+    class QueryTests {
+
+        @Test
+        @DisplayName("k-hop neighbourhood")
+        @Description("Validates that k-hop queries return rows ordered by hop distance.")
+        @Severity(SeverityLevel.NORMAL)
+        void kHop() {
+            PropertyAdjacencyGraph graph = PropertyAdjacencyGraph.fromProperties(chain());
+
+            assertArrayEquals(new int[]{1}, graph.kHopNeighbourhood(0, 1));
+            assertArrayEquals(new int[]{1, 2}, graph.kHopNeighbourhood(0, 2));
+            assertArrayEquals(new int[]{1, 2, 3}, graph.kHopNeighbourhood(0, 10));
+            assertEquals(0, graph.kHopNeighbourhood(4, 3).length);
+        }
+
+        @Test
+        @DisplayName("Row lookup and neighbour iteration")
+        @Description("Validates rowOf and forEachNeighbour.")
+        @Severity(SeverityLevel.NORMAL)
+        void rowLookup() {
+            PropertyAdjacencyGraph graph = PropertyAdjacencyGraph.fromProperties(chain());
+            List<Integer> visited = new ArrayList<>();
+
+            graph.forEachNeighbour(graph.rowOf(30), visited::add);
+
+            assertEquals(List.of(1, 3), visited);
+            assertEquals(-1, graph.rowOf(99));
+            assertEquals(30, graph.getProperty(2).getObjectId());
+        }
+
+        @Test
+        @DisplayName("Different-owner pairs")
+        @Description("Validates that only edges between different owners are returned as suggestion pairs.")
+        @Severity(SeverityLevel.CRITICAL)
+        void differentOwnerPairs() {
+            PropertyAdjacencyGraph graph = PropertyAdjacencyGraph.fromProperties(chain());
+            List<AdjacentPropertyPair> pairs = graph.differentOwnerPairs();
+
+            assertEquals(2, pairs.size());
+            assertEquals(10, pairs.get(0).getPropertyId1());
+            assertEquals(20, pairs.get(0).getPropertyId2());
+            assertEquals(30, pairs.get(1).getPropertyId1());
+            assertEquals(40, pairs.get(1).getPropertyId2());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package DetectAdjacentProperties;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link RollbackDisjointSet} class.
+ * It validates union, find, component counting and rolling back to checkpoints.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Detect adjacent properties")
+@DisplayName("Rollback Disjoint Set Tests")
+class RollbackDisjointSetTests {
+
+    @Test
+    @DisplayName("Union joins components")
+    @Description("Validates that unions join components transitively and repeated unions are ignored.")
+    @Severity(SeverityLevel.CRITICAL)
+    void union() {
+        RollbackDisjointSet set = new RollbackDisjointSet(6);
+
+        assertTrue(set.union(0, 1));
+        assertTrue(set.union(2, 3));
+        assertTrue(set.union(1, 3));
+        assertFalse(set.union(0, 2));
+
+        assertTrue(set.connected(0, 3));
+        assertFalse(set.connected(0, 4));
+        assertEquals(3, set.componentCount());
+        assertEquals(6, set.size());
+    }
+
+    @Test
+    @DisplayName("Rollback restores a checkpoint")
+    @Description("Validates that rolling back undoes exactly the unions made after the checkpoint, in nested order.")
+    @Severity(SeverityLevel.CRITICAL)
+    void rollback() {
+        RollbackDisjointSet set = new RollbackDisjointSet(5);
+        set.union(0, 1);
+        int outer = set.checkpoint();
+        set.union(1, 2);
+        int inner = set.checkpoint();
+        set.union(3, 4);
+        set.union(2, 4);
+        assertEquals(1, set.componentCount());
+
+        set.rollback(inner);
+        assertEquals(3, set.componentCount());
+        assertTrue(set.connected(0, 2));
+        assertFalse(set.connected(3, 4));
+
+        set.rollback(outer);
+        assertEquals(4, set.componentCount());
+        assertTrue(set.connected(0, 1));
+        assertFalse(set.connected(1, 2));
+    }
+
+    @Test
+    @DisplayName("Invalid checkpoints are rejected")
+    @Description("Validates that a checkpoint beyond the recorded history throws an exception.")
+    @Severity(SeverityLevel.MINOR)
+    void invalidCheckpoint() {
+        RollbackDisjointSet set = new RollbackDisjointSet(3);
+        set.union(0, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> set.rollback(2));
+        assertThrows(IllegalArgumentException.class, () -> set.rollback(-1));
+    }
+}
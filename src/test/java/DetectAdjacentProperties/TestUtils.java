@@ -59,6 +59,66 @@ public class TestUtils {
         return new MockedPropertyPolygon(1, createPolygon(new double[][]{{0, 0}, {1, 0}, {1, 1}, {0, 1}}));
     }
 
+    /**
+     * Creates a unit square property with the default region.
+     *
+     * @param id    The object ID, also used as parcel ID and number.
+     * @param x     The x coordinate of the lower-left corner.
+     * @param y     The y coordinate of the lower-left corner.
+     * @param owner The owner of the property.
+     * @return A {@link PropertyPolygon} with an area of 1.
+     */
+    public static PropertyPolygon createSquareProperty(int id, double x, double y, String owner) {
+        return createSquareProperty(id, x, y, 1, owner);
+    }
+
+    /**
+     * Creates a square property with the default region, whose area follows from its side.
+     *
+     * @param id    The object ID, also used as parcel ID and number.
+     * @param x     The x coordinate of the lower-left corner.
+     * @param y     The y coordinate of the lower-left corner.
+     * @param side  The length of a side.
+     * @param owner The owner of the property.
+     * @return A {@link PropertyPolygon} with an area of {@code side * side}.
+     */
+    public static PropertyPolygon createSquareProperty(int id, double x, double y, double side, String owner) {
+        return createSquareProperty(id, x, y, side, side * side, owner, "Parish", "Municipality", "Island");
+    }
+
+    /**
+     * Creates a unit square property at {@code (id, 0)} with a given area, for tests where only the area matters
+     * and adjacency is given by explicit pairs.
+     *
+     * @param id    The object ID, also used as parcel ID and number.
+     * @param area  The area of the property.
+     * @param owner The owner of the property.
+     * @return A {@link PropertyPolygon} with the given area.
+     */
+    public static PropertyPolygon createPropertyWithArea(int id, double area, String owner) {
+        return createSquareProperty(id, id, 0, 1, area, owner, "Parish", "Municipality", "Island");
+    }
+
+    /**
+     * Creates a square property with every attribute given.
+     *
+     * @param id           The object ID, also used as parcel ID and number.
+     * @param x            The x coordinate of the lower-left corner.
+     * @param y            The y coordinate of the lower-left corner.
+     * @param side         The length of a side.
+     * @param area         The area of the property.
+     * @param owner        The owner of the property.
+     * @param parish       The parish of the property.
+     * @param municipality The municipality of the property.
+     * @param island       The island or district of the property.
+     * @return A {@link PropertyPolygon} with the given attributes.
+     */
+    public static PropertyPolygon createSquareProperty(int id, double x, double y, double side, double area, String owner,
+                                                       String parish, String municipality, String island) {
+        Polygon polygon = createPolygon(new double[][]{{x, y}, {x + side, y}, {x + side, y + side}, {x, y + side}});
+        return new MockedPropertyPolygon(id, id, String.valueOf(id), 4 * side, area, polygon, owner, parish, municipality, island);
+    }
+
     /**
      * Helper method to create a polygon from an array of coordinates.
      *
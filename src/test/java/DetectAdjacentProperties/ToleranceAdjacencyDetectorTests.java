@@ -0,0 +1,117 @@
+package DetectAdjacentProperties;
+
+import Models.PropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link ToleranceAdjacencyDetector} class.
+ * It validates that neighbours whose shared vertices differ by less than the tolerance are detected,
+ * that matches across cell boundaries are found, and that results agree with exact detection when vertices coincide.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Detect adjacent properties")
+@DisplayName("Tolerance Adjacency Detector Tests")
+class ToleranceAdjacencyDetectorTests {
+
+    /**
+     * Collects the pairs as order-independent keys.
+     */
+    private static Set<Long> keys(List<AdjacentPropertyPair> pairs) {
+        Set<Long> keys = new HashSet<>();
+        for (AdjacentPropertyPair pair : pairs) {
+            keys.add(AdjacentPropertyPair.pairKey(pair.getPropertyId1(), pair.getPropertyId2()));
+        }
+        return keys;
+    }
+
+    @Nested
+    @DisplayName("Snapping Tests")
+    class SnappingTests {
+
+        @Test
+        @DisplayName("Near-coincident vertices are shared")
+        @Description("Validates that a neighbour offset by a millimetre is adjacent within a centimetre tolerance only.")
+        @Severity(SeverityLevel.CRITICAL)
+        void nearCoincident() {
+            List<PropertyPolygon> properties = List.of(TestUtils.createSquareProperty(1, 0, 0, "A"), TestUtils.createSquareProperty(2, 1.001, 0.0005, "B"));
+
+            assertTrue(AdjacencyDetector.findAdjacentProperties(properties).isEmpty());
+            assertEquals(1, ToleranceAdjacencyDetector.findAdjacentProperties(properties, 0.01).size());
+            assertTrue(ToleranceAdjacencyDetector.findAdjacentProperties(properties, 0.0005).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Matches across cell boundaries")
+        @Description("Validates that vertices on either side of a grid line are still matched.")
+        @Severity(SeverityLevel.NORMAL)
+        void acrossCells() {
+            List<PropertyPolygon> properties = List.of(TestUtils.createSquareProperty(1, 0.0, 0.0, "A"), TestUtils.createSquareProperty(2, 0.995, 0.0, "B"),
+                    TestUtils.createSquareProperty(3, 10, 10, "C"));
+
+            List<AdjacentPropertyPair> pairs = ToleranceAdjacencyDetector.findAdjacentProperties(properties, 0.01);
+
+            assertEquals(Set.of(AdjacentPropertyPair.pairKey(1, 2)), keys(pairs));
+        }
+
+        @Test
+        @DisplayName("Agrees with exact detection on a perfect grid")
+        @Description("Validates that snapping finds the same pairs as the exact detector when vertices coincide.")
+        @Severity(SeverityLevel.NORMAL)
+        void agreesWithExact() {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                for (int j = 0; j < 10; j++) {
+                    properties.add(TestUtils.createSquareProperty(i * 10 + j + 1, i, j, "Owner" + ((i + j) % 3)));
+                }
+            }
+
+            assertEquals(keys(AdjacencyDetector.findAdjacentProperties(properties)),
+                    keys(AdjacencyDetector.findAdjacentProperties(properties, 0.001)));
+            assertEquals(keys(AdjacencyDetector.findValidAdjacentPairs(properties)),
+                    keys(AdjacencyDetector.findValidAdjacentPairs(properties, 0.001)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Validation Tests")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Valid pairs exclude same owners")
+        @Description("Validates that snapped neighbours with the same owner are not returned as valid pairs.")
+        @Severity(SeverityLevel.NORMAL)
+        void sameOwner() {
+            List<PropertyPolygon> properties = List.of(TestUtils.createSquareProperty(1, 0, 0, "A"), TestUtils.createSquareProperty(2, 1.001, 0, "A"));
+
+            assertEquals(1, ToleranceAdjacencyDetector.findAdjacentProperties(properties, 0.01).size());
+            assertTrue(ToleranceAdjacencyDetector.findValidAdjacentPairs(properties, 0.01).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Invalid tolerances are rejected")
+        @Description("Validates that negative, zero and too small tolerances throw an exception.")
+        @Severity(SeverityLevel.MINOR)
+        void invalidTolerance() {
+            List<PropertyPolygon> properties = List.of(TestUtils.createSquareProperty(1, 0, 0, "A"), TestUtils.createSquareProperty(2, 1e9, 0, "B"));
+
+            assertThrows(IllegalArgumentException.class, () -> ToleranceAdjacencyDetector.findAdjacentProperties(properties, -1));
+            assertThrows(IllegalArgumentException.class, () -> ToleranceAdjacencyDetector.findAdjacentProperties(properties, 0));
+            assertThrows(IllegalArgumentException.class, () -> ToleranceAdjacencyDetector.findAdjacentProperties(properties, 1e-6));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package DetectAdjacentProperties;
+
+import Models.Polygon;
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Mocks.MockedPropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link UnionFindPropertyMerger} class.
+ * It validates that the union-find merger produces exactly the same properties as
+ * {@link PropertyMerger}, both sequentially and with the parallel union phase.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Detect adjacent properties")
+@DisplayName("Union-Find Property Merger Tests")
+class UnionFindPropertyMergerTests {
+
+    /**
+     * Creates a grid of unit squares with owners chosen at random from a small set.
+     */
+    private static List<PropertyPolygon> grid(int size, long seed) {
+        Random random = new Random(seed);
+        List<PropertyPolygon> properties = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int id = i * size + j + 1;
+                properties.add(new MockedPropertyPolygon(id, id, String.valueOf(id), 4.0, 1.0,
+                        new Polygon(List.of(new VertexCoordinate(i, j), new VertexCoordinate(i + 1, j),
+                                new VertexCoordinate(i + 1, j + 1), new VertexCoordinate(i, j + 1))),
+                        "Owner" + random.nextInt(4), "Parish", "Municipality", "Island"));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Asserts that two merge results contain the same properties in the same order.
+     */
+    private static void assertSameResult(List<PropertyPolygon> expected, List<PropertyPolygon> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getObjectId(), actual.get(i).getObjectId());
+            assertEquals(expected.get(i).getOwner(), actual.get(i).getOwner());
+            assertEquals(expected.get(i).getShapeArea(), actual.get(i).getShapeArea());
+            assertEquals(expected.get(i).getShapeLength(), actual.get(i).getShapeLength());
+            assertEquals(expected.get(i).getPolygon().getVertices(), actual.get(i).getPolygon().getVertices());
+        }
+    }
+
+    @Nested
+    @DisplayName("Equivalence Tests")
+    class EquivalenceTests {
+
+        @Test
+        @DisplayName("Sequential merge matches PropertyMerger")
+        @Description("Validates that the sequential union-find merge produces the same properties as the BFS merger.")
+        @Severity(SeverityLevel.CRITICAL)
+        void sequentialMatchesLegacy() {
+            List<PropertyPolygon> properties = grid(30, 7);
+
+            assertSameResult(PropertyMerger.mergeOwnerAdjacentProperties(properties),
+                    UnionFindPropertyMerger.mergeOwnerAdjacentProperties(properties, false));
+        }
+
+        @Test
+        @DisplayName("Parallel merge matches PropertyMerger")
+        @Description("Validates that the parallel union phase produces the same properties as the BFS merger.")
+        @Severity(SeverityLevel.CRITICAL)
+        void parallelMatchesLegacy() {
+            List<PropertyPolygon> properties = grid(70, 11);
+
+            assertSameResult(PropertyMerger.mergeOwnerAdjacentProperties(properties),
+                    UnionFindPropertyMerger.mergeOwnerAdjacentProperties(properties, true));
+        }
+
+        @Test
+        @DisplayName("Different owners are not merged")
+        @Description("Validates that adjacent properties of different owners stay separate.")
+        @Severity(SeverityLevel.NORMAL)
+        void differentOwners() {
+            List<PropertyPolygon> properties = List.of(
+                    new MockedPropertyPolygon(1, "OwnerA", new Polygon(List.of(new VertexCoordinate(0, 0), new VertexCoordinate(1, 1)))),
+                    new MockedPropertyPolygon(2, "OwnerB", new Polygon(List.of(new VertexCoordinate(1, 1), new VertexCoordinate(2, 2)))));
+
+            assertEquals(2, UnionFindPropertyMerger.mergeOwnerAdjacentProperties(properties).size());
+            assertTrue(UnionFindPropertyMerger.mergeOwnerAdjacentProperties(List.of()).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package Models;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link BoundingBox} record.
+ * It validates intersection, distance and union of bounding boxes.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Object Models")
+@DisplayName("Bounding Box Object Tests")
+class BoundingBoxTests {
+
+    @Test
+    @DisplayName("Touching boxes intersect")
+    @Description("Validates that boxes sharing an edge intersect and separated boxes do not.")
+    @Severity(SeverityLevel.CRITICAL)
+    void intersects() {
+        BoundingBox box = new BoundingBox(0, 0, 1, 1);
+
+        assertTrue(box.intersects(new BoundingBox(1, 0, 2, 1)));
+        assertFalse(box.intersects(new BoundingBox(1.5, 0, 2, 1)));
+    }
+
+    @Test
+    @DisplayName("Distance between boxes and to points")
+    @Description("Validates the gap distance to another box and to a point.")
+    @Severity(SeverityLevel.NORMAL)
+    void distance() {
+        BoundingBox box = new BoundingBox(0, 0, 1, 1);
+
+        assertEquals(0, box.distanceTo(new BoundingBox(0.5, 0.5, 3, 3)));
+        assertEquals(5, box.distanceTo(new BoundingBox(4, 5, 6, 6)), 1e-9);
+        assertEquals(0, box.distanceTo(0.5, 0.5));
+        assertEquals(2, box.distanceTo(3, 1), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Union and validation")
+    @Description("Validates that the union spans both boxes and inverted boxes are rejected.")
+    @Severity(SeverityLevel.MINOR)
+    void unionAndValidation() {
+        assertEquals(new BoundingBox(-1, 0, 2, 3),
+                new BoundingBox(0, 0, 2, 1).union(new BoundingBox(-1, 2, 0, 3)));
+        assertThrows(IllegalArgumentException.class, () -> new BoundingBox(1, 0, 0, 1));
+    }
+}
@@ -49,6 +49,19 @@ class ExchangeSuggestionTests {
         assertEquals(0.75, suggestion.getFeability(), "Feability should be retrieved correctly after being set.");
     }
 
+    @Test
+    @DisplayName("Component change is only reported once computed")
+    @Description("Ensures that hasComponentChange is false for a new suggestion and true once a change, even zero, is set.")
+    @Severity(SeverityLevel.NORMAL)
+    void componentChange() {
+        ExchangeSuggestion suggestion = new ExchangeSuggestion(1, 2, 0.85);
+
+        assertFalse(suggestion.hasComponentChange(), "A new suggestion should have no component change.");
+        suggestion.setComponentChange(0);
+        assertTrue(suggestion.hasComponentChange(), "A set component change should be reported.");
+        assertEquals(0, suggestion.getComponentChange());
+    }
+
     @Nested
     @DisplayName("Exchange Suggestion's Percentage Change Tests")
     class PercentageChangeTests {
@@ -73,4 +73,54 @@ class PolygonTests {
         assertEquals(expected, polygon.toString(), "toString should return the correct string representation.");
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("getBoundingBox and getCentroid describe the vertices")
+    @Description("Validates that the bounding box spans all vertices and the centroid is their average.")
+    @Severity(SeverityLevel.NORMAL)
+    void boundingBoxAndCentroid() {
+        Polygon polygon = new Polygon(List.of(
+                new VertexCoordinate(0, 0),
+                new VertexCoordinate(4, 0),
+                new VertexCoordinate(4, 2),
+                new VertexCoordinate(0, 2)
+        ));
+
+        assertEquals(new BoundingBox(0, 0, 4, 2), polygon.getBoundingBox());
+        assertEquals(new VertexCoordinate(2, 1), polygon.getCentroid());
+    }
+
+    @Test
+    @DisplayName("getBoundingBox and getCentroid of an empty polygon")
+    @Description("Validates that a polygon without vertices has no bounding box or centroid.")
+    @Severity(SeverityLevel.MINOR)
+    void emptyBoundingBox() {
+        Polygon polygon = new Polygon(List.of());
+
+        assertNull(polygon.getBoundingBox());
+        assertNull(polygon.getCentroid());
+    }
+
+    @Test
+    @DisplayName("distanceTo measures the gap between edges")
+    @Description("Validates that the distance between polygons is the smallest gap between their edges, zero when they touch, cross or nest.")
+    @Severity(SeverityLevel.NORMAL)
+    void distanceTo() {
+        Polygon square = square(0, 0, 2);
+
+        assertEquals(1.0, square.distanceTo(square(3, 0, 2)), 1e-9);
+        assertEquals(Math.sqrt(2), square.distanceTo(square(3, 3, 1)), 1e-9);
+        assertEquals(0.0, square.distanceTo(square(2, 1, 1)), 1e-9);
+        assertEquals(0.0, square.distanceTo(square(1, 1, 2)), 1e-9);
+        assertEquals(0.0, square(-5, -5, 20).distanceTo(square), 1e-9);
+        assertEquals(Double.POSITIVE_INFINITY, square.distanceTo(new Polygon(List.of())));
+    }
+
+    private static Polygon square(double x, double y, double side) {
+        return new Polygon(List.of(
+                new VertexCoordinate(x, y),
+                new VertexCoordinate(x + side, y),
+                new VertexCoordinate(x + side, y + side),
+                new VertexCoordinate(x, y + side)
+        ));
+    }
+}
@@ -0,0 +1,115 @@
+package Repository;
+
+import DetectAdjacentProperties.PropertyAdjacencyGraph;
+import DetectAdjacentProperties.TestUtils;
+import Models.PropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link AdjacencySidecar} class.
+ * It validates that adjacency graphs survive a write and read round trip, and that
+ * stale or corrupt sidecar files are discarded instead of being used.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("CSV Importation")
+@DisplayName("Adjacency Sidecar Tests")
+class AdjacencySidecarTests {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<PropertyPolygon> dataset() {
+        return List.of(TestUtils.createSquareProperty(1, 0, 0, "A"), TestUtils.createSquareProperty(2, 1, 0, "B"), TestUtils.createSquareProperty(3, 2, 0, "C"), TestUtils.createSquareProperty(4, 8, 0, "D"));
+    }
+
+    @Nested
+    @DisplayName("Round Trip Tests")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("Sidecar is written and read back")
+        @Description("Validates that the first load writes a sidecar and the second load reads the same graph from it.")
+        @Severity(SeverityLevel.CRITICAL)
+        void roundTrip() {
+            String dataset = tempDir.resolve("island.csv").toString();
+            List<PropertyPolygon> properties = dataset();
+
+            PropertyAdjacencyGraph built = AdjacencySidecar.loadOrBuild(dataset, properties);
+            assertTrue(Files.exists(AdjacencySidecar.sidecarPath(dataset)));
+
+            PropertyAdjacencyGraph loaded = AdjacencySidecar.read(AdjacencySidecar.sidecarPath(dataset), properties,
+                    AdjacencySidecar.geometryHash(properties));
+
+            assertNotNull(loaded);
+            assertArrayEquals(built.getOffsets(), loaded.getOffsets());
+            assertArrayEquals(built.getNeighbours(), loaded.getNeighbours());
+            assertEquals(2, loaded.edgeCount());
+        }
+
+        @Test
+        @DisplayName("Missing sidecar reads as null")
+        @Description("Validates that reading a sidecar that does not exist returns null.")
+        @Severity(SeverityLevel.MINOR)
+        void missingSidecar() {
+            assertNull(AdjacencySidecar.read(tempDir.resolve("none.csv.adj"), dataset(), 0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation Tests")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Changed geometry discards the sidecar")
+        @Description("Validates that a sidecar written for different geometry is deleted and the graph is rebuilt.")
+        @Severity(SeverityLevel.CRITICAL)
+        void changedGeometry() {
+            String dataset = tempDir.resolve("island.csv").toString();
+            AdjacencySidecar.loadOrBuild(dataset, dataset());
+
+            List<PropertyPolygon> moved = List.of(TestUtils.createSquareProperty(1, 0, 0, "A"), TestUtils.createSquareProperty(2, 5, 0, "B"), TestUtils.createSquareProperty(3, 2, 0, "C"), TestUtils.createSquareProperty(4, 8, 0, "D"));
+            assertNull(AdjacencySidecar.read(AdjacencySidecar.sidecarPath(dataset), moved, AdjacencySidecar.geometryHash(moved)));
+            assertFalse(Files.exists(AdjacencySidecar.sidecarPath(dataset)));
+
+            assertEquals(0, AdjacencySidecar.loadOrBuild(dataset, moved).edgeCount());
+        }
+
+        @Test
+        @DisplayName("Corrupt sidecar is discarded")
+        @Description("Validates that a truncated sidecar file is deleted instead of being read.")
+        @Severity(SeverityLevel.NORMAL)
+        void corruptSidecar() throws IOException {
+            Path sidecar = tempDir.resolve("island.csv.adj");
+            Files.write(sidecar, new byte[]{1, 2, 3});
+
+            assertNull(AdjacencySidecar.read(sidecar, dataset(), AdjacencySidecar.geometryHash(dataset())));
+            assertFalse(Files.exists(sidecar));
+        }
+
+        @Test
+        @DisplayName("Geometry hash depends on coordinates")
+        @Description("Validates that moving a vertex changes the geometry hash.")
+        @Severity(SeverityLevel.NORMAL)
+        void hashChanges() {
+            assertEquals(AdjacencySidecar.geometryHash(dataset()), AdjacencySidecar.geometryHash(dataset()));
+            assertNotEquals(AdjacencySidecar.geometryHash(dataset()),
+                    AdjacencySidecar.geometryHash(List.of(TestUtils.createSquareProperty(1, 0.5, 0, "A"))));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package Services;
+
+import DetectAdjacentProperties.TestUtils;
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link CentroidKdTree} class.
+ * It validates nearest-neighbour queries with radius and filter limits against a brute-force scan
+ * over randomly placed properties, including duplicated centroids.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Property Collection")
+@DisplayName("Centroid Kd-Tree Tests")
+class CentroidKdTreeTests {
+
+    /**
+     * Computes the squared distance from a point to the centroid of a property.
+     */
+    private static double distanceSquared(PropertyPolygon property, double x, double y) {
+        VertexCoordinate centroid = property.getPolygon().getCentroid();
+        return (centroid.x() - x) * (centroid.x() - x) + (centroid.y() - y) * (centroid.y() - y);
+    }
+
+    @Nested
+    @DisplayName("Nearest Neighbour Tests")
+    class NearestNeighbourTests {
+
+        @Test
+        @DisplayName("Matches a brute-force scan")
+        @Description("Validates that k-nearest queries with radius and filter return the same distances as a scan.")
+        @Severity(SeverityLevel.CRITICAL)
+        void matchesBruteForce() {
+            Random random = new Random(11);
+            List<PropertyPolygon> properties = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                double x = random.nextInt(200);
+                properties.add(TestUtils.createSquareProperty(i, x, i % 7 == 0 ? 5 : random.nextInt(200), "Owner"));
+            }
+            CentroidKdTree tree = new CentroidKdTree(properties);
+
+            for (int query = 0; query < 50; query++) {
+                double x = random.nextDouble() * 200;
+                double y = random.nextDouble() * 200;
+                double radius = 5 + random.nextDouble() * 30;
+                int[] result = tree.nearest(x, y, 8, radius, row -> row % 3 != 0);
+
+                double[] expected = IntStream.range(0, properties.size())
+                        .filter(row -> row % 3 != 0)
+                        .mapToDouble(row -> distanceSquared(properties.get(row), x, y))
+                        .filter(d -> d <= radius * radius)
+                        .sorted().limit(8).toArray();
+                double[] actual = IntStream.of(result).mapToDouble(row -> distanceSquared(properties.get(row), x, y)).toArray();
+                assertArrayEquals(expected, actual, 1e-9);
+            }
+        }
+
+        @Test
+        @DisplayName("Empty tree and zero neighbours")
+        @Description("Validates that empty trees and k of zero return no neighbours.")
+        @Severity(SeverityLevel.MINOR)
+        void emptyResults() {
+            CentroidKdTree empty = new CentroidKdTree(List.of());
+            CentroidKdTree tree = new CentroidKdTree(List.of(TestUtils.createSquareProperty(1, 0, 0, "Owner")));
+
+            assertEquals(0, empty.nearest(0, 0, 3, Double.POSITIVE_INFINITY, row -> true).length);
+            assertEquals(0, tree.nearest(0, 0, 0, Double.POSITIVE_INFINITY, row -> true).length);
+            assertArrayEquals(new int[]{0}, tree.nearest(0, 0, 3, Double.POSITIVE_INFINITY, row -> true));
+            assertEquals(1, tree.size());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package Services;
+
+import DetectAdjacentProperties.AdjacentPropertyPair;
+import DetectAdjacentProperties.PropertyAdjacencyGraph;
+import DetectAdjacentProperties.TestUtils;
+import Models.ConsolidationSettings;
+import Models.ExchangeSuggestion;
+import Models.PropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link ConsolidationOptimizer} class.
+ * It validates that plans reduce fragmentation, use each property once, respect the area change limit and the
+ * time budget, and that the reported component count matches rebuilding the components.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Property Suggestions")
+@DisplayName("Consolidation Optimizer Tests")
+class ConsolidationOptimizerTests {
+
+    /**
+     * Builds a grid of properties where each one is adjacent to its horizontal and vertical neighbours.
+     *
+     * @param side   The number of properties per side.
+     * @param owners The number of owners, assigned at random.
+     * @param random The random source of owners and areas.
+     * @return The properties, with IDs starting at 1 in row order.
+     */
+    private static List<PropertyPolygon> grid(int side, int owners, Random random) {
+        List<PropertyPolygon> properties = new ArrayList<>();
+        for (int i = 0; i < side * side; i++) {
+            properties.add(TestUtils.createPropertyWithArea(i + 1, 400 + random.nextInt(200), "Owner" + random.nextInt(owners)));
+        }
+        return properties;
+    }
+
+    /**
+     * Builds the adjacency graph of a grid of properties.
+     *
+     * @param properties The properties of the grid.
+     * @param side       The number of properties per side.
+     * @return The graph.
+     */
+    private static PropertyAdjacencyGraph gridGraph(List<PropertyPolygon> properties, int side) {
+        List<AdjacentPropertyPair> pairs = new ArrayList<>();
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) {
+                int id = r * side + c + 1;
+                if (c + 1 < side) pairs.add(new AdjacentPropertyPair(id, id + 1));
+                if (r + 1 < side) pairs.add(new AdjacentPropertyPair(id, id + side));
+            }
+        }
+        return PropertyAdjacencyGraph.fromPairs(properties, pairs);
+    }
+
+    /**
+     * Sums the area of each owner.
+     *
+     * @param properties The properties.
+     * @return The total area of each owner.
+     */
+    private static Map<String, Double> ownerAreas(List<PropertyPolygon> properties) {
+        Map<String, Double> areas = new HashMap<>();
+        for (PropertyPolygon property : properties) areas.merge(property.getOwner(), property.getShapeArea(), Double::sum);
+        return areas;
+    }
+
+    @Nested
+    @DisplayName("Plan Tests")
+    class PlanTests {
+
+        @Test
+        @DisplayName("Alternating strip is consolidated")
+        @Description("Validates that the plan for A-B-A-B joins both owners into one cluster each.")
+        @Severity(SeverityLevel.CRITICAL)
+        void consolidatesStrip() {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            String[] owners = {"A", "B", "A", "B"};
+            for (int i = 0; i < owners.length; i++) {
+                properties.add(TestUtils.createPropertyWithArea(i + 1, 500.0, owners[i]));
+            }
+            PropertyAdjacencyGraph graph = PropertyAdjacencyGraph.fromPairs(properties, List.of(
+                    new AdjacentPropertyPair(1, 2), new AdjacentPropertyPair(2, 3), new AdjacentPropertyPair(3, 4)));
+
+            List<ExchangeSuggestion> plan = ConsolidationOptimizer.optimize(graph,
+                    new ConsolidationSettings(0.0, 2, 2_000, 10_000, 1L));
+
+            assertEquals(1, plan.size());
+            assertEquals(2, ConsolidationOptimizer.componentCountAfter(graph, plan));
+            assertEquals(-2, plan.get(0).getComponentChange());
+        }
+
+        @Test
+        @DisplayName("Random grid plans are valid and reduce fragmentation")
+        @Description("Validates disjointness, area limits and the component count of a plan on a random grid.")
+        @Severity(SeverityLevel.CRITICAL)
+        void gridPlan() {
+            int side = 15;
+            List<PropertyPolygon> properties = grid(side, 6, new Random(50));
+            PropertyAdjacencyGraph graph = gridGraph(properties, side);
+            int before = new ConsolidationScorer(graph).getComponentCount();
+            Map<String, Double> areasBefore = ownerAreas(properties);
+
+            List<ExchangeSuggestion> plan = ConsolidationOptimizer.optimize(graph,
+                    new ConsolidationSettings(0.1, 4, 50_000, 10_000, 7L));
+            int after = ConsolidationOptimizer.componentCountAfter(graph, plan);
+
+            assertFalse(plan.isEmpty());
+            assertTrue(after < before);
+            Set<Integer> used = new HashSet<>();
+            for (ExchangeSuggestion exchange : plan) {
+                assertTrue(used.add(exchange.getPropertyFromA()));
+                assertTrue(used.add(exchange.getPropertyFromB()));
+                PropertyPolygon a = properties.get(exchange.getPropertyFromA() - 1);
+                PropertyPolygon b = properties.get(exchange.getPropertyFromB() - 1);
+                String owner = a.getOwner();
+                a.setOwner(b.getOwner());
+                b.setOwner(owner);
+            }
+            assertEquals(after, new ConsolidationScorer(gridGraph(properties, side)).getComponentCount());
+            ownerAreas(properties).forEach((owner, area) ->
+                    assertTrue(Math.abs(area - areasBefore.get(owner)) <= 0.1 * areasBefore.get(owner) + 1e-9));
+        }
+
+        @Test
+        @DisplayName("No area change allows only equal areas")
+        @Description("Validates that a zero area change limit rejects every exchange of unequal properties.")
+        @Severity(SeverityLevel.NORMAL)
+        void zeroAreaChange() {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            String[] owners = {"A", "B", "A", "B"};
+            for (int i = 0; i < owners.length; i++) {
+                properties.add(TestUtils.createPropertyWithArea(i + 1, 100.0 * (i + 1), owners[i]));
+            }
+            PropertyAdjacencyGraph graph = PropertyAdjacencyGraph.fromPairs(properties, List.of(
+                    new AdjacentPropertyPair(1, 2), new AdjacentPropertyPair(2, 3), new AdjacentPropertyPair(3, 4)));
+
+            assertTrue(ConsolidationOptimizer.optimize(graph, new ConsolidationSettings(0.0, 2, 2_000, 10_000, 1L)).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Budget Tests")
+    class BudgetTests {
+
+        @Test
+        @DisplayName("Time budget stops the searches")
+        @Description("Validates that a short time budget ends a search with a very large iteration count, "
+                + "returning the best plan found so far.")
+        @Severity(SeverityLevel.NORMAL)
+        void timeBudget() {
+            int side = 30;
+            List<PropertyPolygon> properties = grid(side, 8, new Random(51));
+            PropertyAdjacencyGraph graph = gridGraph(properties, side);
+            int before = new ConsolidationScorer(graph).getComponentCount();
+
+            List<ExchangeSuggestion> plan = ConsolidationOptimizer.optimize(graph,
+                    new ConsolidationSettings(0.2, 2, Integer.MAX_VALUE, 200, 3L));
+
+            assertTrue(ConsolidationOptimizer.componentCountAfter(graph, plan) <= before);
+        }
+
+        @Test
+        @DisplayName("Invalid settings are rejected")
+        @Description("Validates that negative area changes and non-positive budgets throw exceptions.")
+        @Severity(SeverityLevel.MINOR)
+        void invalidSettings() {
+            assertThrows(IllegalArgumentException.class, () -> new ConsolidationSettings(-0.1, 1, 1, 1, 0L));
+            assertThrows(IllegalArgumentException.class, () -> new ConsolidationSettings(0.1, 0, 1, 1, 0L));
+            assertThrows(IllegalArgumentException.class, () -> new ConsolidationSettings(0.1, 1, 0, 1, 0L));
+            assertThrows(IllegalArgumentException.class, () -> new ConsolidationSettings(0.1, 1, 1, 0, 0L));
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package Services;
+
+import DetectAdjacentProperties.AdjacentPropertyPair;
+import DetectAdjacentProperties.PropertyAdjacencyGraph;
+import DetectAdjacentProperties.TestUtils;
+import Models.ExchangeSuggestion;
+import Models.PropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link ConsolidationScorer} class.
+ * It validates the component count of a dataset, the component change of single exchanges, and that a batch of
+ * exchanges gives the same changes as rebuilding the components after each one.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Property Suggestions")
+@DisplayName("Consolidation Scorer Tests")
+class ConsolidationScorerTests {
+
+    /**
+     * Builds a row of properties where each one is adjacent to the next.
+     *
+     * @param owners The owner of each property.
+     * @return The properties, with IDs starting at 1.
+     */
+    private static List<PropertyPolygon> strip(String... owners) {
+        List<PropertyPolygon> properties = new ArrayList<>();
+        for (int i = 0; i < owners.length; i++) {
+            properties.add(TestUtils.createPropertyWithArea(i + 1, 500.0, owners[i]));
+        }
+        return properties;
+    }
+
+    /**
+     * Builds the adjacency graph of a strip of properties.
+     *
+     * @param properties The properties of the strip.
+     * @return The graph.
+     */
+    private static PropertyAdjacencyGraph stripGraph(List<PropertyPolygon> properties) {
+        List<AdjacentPropertyPair> pairs = new ArrayList<>();
+        for (int i = 1; i < properties.size(); i++) pairs.add(new AdjacentPropertyPair(i, i + 1));
+        return PropertyAdjacencyGraph.fromPairs(properties, pairs);
+    }
+
+    @Nested
+    @DisplayName("Single Exchange Tests")
+    class SingleExchangeTests {
+
+        @Test
+        @DisplayName("Components are counted per owner")
+        @Description("Validates the number of same-owner clusters of a strip.")
+        @Severity(SeverityLevel.NORMAL)
+        void countsComponents() {
+            ConsolidationScorer scorer = new ConsolidationScorer(stripGraph(strip("A", "B", "A", "B")));
+
+            assertEquals(4, scorer.getComponentCount());
+        }
+
+        @Test
+        @DisplayName("Consolidating exchange reduces components")
+        @Description("Validates that swapping the middle properties of A-B-A-B joins both owners.")
+        @Severity(SeverityLevel.CRITICAL)
+        void consolidatingExchange() {
+            ConsolidationScorer scorer = new ConsolidationScorer(stripGraph(strip("A", "B", "A", "B")));
+
+            int[] changes = scorer.componentChanges(List.of(new ExchangeSuggestion(2, 3, 1.0)));
+
+            assertArrayEquals(new int[]{-2}, changes);
+        }
+
+        @Test
+        @DisplayName("Fragmenting exchange increases components")
+        @Description("Validates that swapping properties out of two solid blocks splits them.")
+        @Severity(SeverityLevel.NORMAL)
+        void fragmentingExchange() {
+            ConsolidationScorer scorer = new ConsolidationScorer(stripGraph(strip("A", "A", "A", "B", "B", "B")));
+
+            int[] changes = scorer.componentChanges(List.of(new ExchangeSuggestion(2, 5, 1.0)));
+
+            assertArrayEquals(new int[]{4}, changes);
+        }
+
+        @Test
+        @DisplayName("Unknown properties produce no change")
+        @Description("Validates that an exchange with a property outside the graph has a change of zero.")
+        @Severity(SeverityLevel.MINOR)
+        void unknownProperty() {
+            ConsolidationScorer scorer = new ConsolidationScorer(stripGraph(strip("A", "B", "A")));
+
+            assertArrayEquals(new int[]{0, 0}, scorer.componentChanges(List.of(
+                    new ExchangeSuggestion(1, 99, 1.0), new ExchangeSuggestion(2, 2, 1.0))));
+        }
+    }
+
+    @Nested
+    @DisplayName("Batch Tests")
+    class BatchTests {
+
+        @Test
+        @DisplayName("Batch changes match rebuilding the components")
+        @Description("Validates every change of a random batch against a scorer built after applying the exchange.")
+        @Severity(SeverityLevel.CRITICAL)
+        void batchMatchesRebuild() {
+            Random random = new Random(49);
+            int side = 12;
+            List<PropertyPolygon> properties = new ArrayList<>();
+            for (int i = 0; i < side * side; i++) {
+                properties.add(TestUtils.createPropertyWithArea(i + 1, 500.0, "Owner" + random.nextInt(4)));
+            }
+            List<AdjacentPropertyPair> pairs = new ArrayList<>();
+            for (int r = 0; r < side; r++) {
+                for (int c = 0; c < side; c++) {
+                    int id = r * side + c + 1;
+                    if (c + 1 < side) pairs.add(new AdjacentPropertyPair(id, id + 1));
+                    if (r + 1 < side) pairs.add(new AdjacentPropertyPair(id, id + side));
+                }
+            }
+            PropertyAdjacencyGraph graph = PropertyAdjacencyGraph.fromPairs(properties, pairs);
+            ConsolidationScorer scorer = new ConsolidationScorer(graph);
+
+            List<ExchangeSuggestion> suggestions = new ArrayList<>();
+            for (int i = 0; i < 300; i++) {
+                suggestions.add(new ExchangeSuggestion(random.nextInt(side * side) + 1, random.nextInt(side * side) + 1, 1.0));
+            }
+            scorer.score(suggestions);
+
+            for (ExchangeSuggestion suggestion : suggestions) {
+                PropertyPolygon a = properties.get(suggestion.getPropertyFromA() - 1);
+                PropertyPolygon b = properties.get(suggestion.getPropertyFromB() - 1);
+                String ownerA = a.getOwner();
+                a.setOwner(b.getOwner());
+                b.setOwner(ownerA);
+                int expected = new ConsolidationScorer(graph).getComponentCount() - scorer.getComponentCount();
+                b.setOwner(a.getOwner());
+                a.setOwner(ownerA);
+
+                assertEquals(expected, suggestion.getComponentChange());
+            }
+        }
+
+        @Test
+        @DisplayName("Ranking puts consolidation first")
+        @Description("Validates that suggestions are ranked by component change and then by score.")
+        @Severity(SeverityLevel.NORMAL)
+        void rankByConsolidation() {
+            ConsolidationScorer scorer = new ConsolidationScorer(stripGraph(strip("A", "B", "A", "B", "C")));
+            ExchangeSuggestion neutral = new ExchangeSuggestion(1, 5, 1.0);
+            neutral.setScore(90);
+            ExchangeSuggestion consolidating = new ExchangeSuggestion(2, 3, 1.0);
+            consolidating.setScore(10);
+
+            List<ExchangeSuggestion> ranked = scorer.rankByConsolidation(List.of(neutral, consolidating));
+
+            assertEquals(0, neutral.getComponentChange());
+            assertSame(consolidating, ranked.get(0));
+            assertSame(neutral, ranked.get(1));
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package Services;
+
+import DetectAdjacentProperties.AdjacentPropertyPair;
+import DetectAdjacentProperties.TestUtils;
+import Models.ExchangeSuggestion;
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link ExchangeCandidateGenerator} class.
+ * It validates that candidates respect the owner, radius and per-property limits, and that
+ * non-adjacent candidates can produce exchange suggestions.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Property Suggestions")
+@DisplayName("Exchange Candidate Generator Tests")
+class ExchangeCandidateGeneratorTests {
+
+    @Nested
+    @DisplayName("Candidate Tests")
+    class CandidateTests {
+
+        @Test
+        @DisplayName("Candidates respect owner, radius and k")
+        @Description("Validates that pairs join different owners within the radius and that each property proposes at most k.")
+        @Severity(SeverityLevel.CRITICAL)
+        void limits() {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                for (int j = 0; j < 40; j++) {
+                    properties.add(TestUtils.createSquareProperty(i * 40 + j + 1, i * 3, j * 3, 1, "Owner" + ((i + j) % 4)));
+                }
+            }
+            Map<Integer, PropertyPolygon> byId = new HashMap<>();
+            properties.forEach(p -> byId.put(p.getObjectId(), p));
+
+            List<AdjacentPropertyPair> candidates = ExchangeCandidateGenerator.generateCandidates(properties, 3, 4.5);
+
+            Map<Integer, Integer> degree = new HashMap<>();
+            Set<Long> keys = new HashSet<>();
+            for (AdjacentPropertyPair pair : candidates) {
+                PropertyPolygon p1 = byId.get(pair.getPropertyId1());
+                PropertyPolygon p2 = byId.get(pair.getPropertyId2());
+                assertNotEquals(p1.getOwner(), p2.getOwner());
+                VertexCoordinate c1 = p1.getPolygon().getCentroid();
+                VertexCoordinate c2 = p2.getPolygon().getCentroid();
+                assertTrue(Math.hypot(c1.x() - c2.x(), c1.y() - c2.y()) <= 4.5);
+                assertTrue(keys.add(AdjacentPropertyPair.pairKey(pair.getPropertyId1(), pair.getPropertyId2())));
+                degree.merge(pair.getPropertyId1(), 1, Integer::sum);
+            }
+            assertFalse(candidates.isEmpty());
+            assertTrue(degree.values().stream().allMatch(d -> d <= 3));
+        }
+
+        @Test
+        @DisplayName("Non-adjacent candidates produce suggestions")
+        @Description("Validates that two owners with nearby but separated parcels receive an exchange suggestion.")
+        @Severity(SeverityLevel.NORMAL)
+        void nonAdjacentSuggestion() {
+            List<PropertyPolygon> properties = List.of(
+                    TestUtils.createSquareProperty(1, 0, 0, 40, "A"), TestUtils.createSquareProperty(2, 45, 0, 40, "B"),
+                    TestUtils.createSquareProperty(3, 0, 45, 40, "A"), TestUtils.createSquareProperty(4, 45, 45, 40, "B"));
+
+            List<AdjacentPropertyPair> candidates = ExchangeCandidateGenerator.generateCandidates(properties, 1, 100);
+            List<ExchangeSuggestion> suggestions = SuggestionGenerator.generateSuggestions(List.of(), candidates, properties);
+
+            assertTrue(SuggestionGenerator.generateSuggestions(List.of(), properties).isEmpty());
+            assertEquals(1, suggestions.size());
+        }
+
+        @Test
+        @DisplayName("Invalid limits are rejected")
+        @Description("Validates that a negative k or radius throws an exception.")
+        @Severity(SeverityLevel.MINOR)
+        void invalidLimits() {
+            assertThrows(IllegalArgumentException.class, () -> ExchangeCandidateGenerator.generateCandidates(List.of(), -1, 1));
+            assertThrows(IllegalArgumentException.class, () -> ExchangeCandidateGenerator.generateCandidates(List.of(), 1, -1));
+        }
+    }
+}
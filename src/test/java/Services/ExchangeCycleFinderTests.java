@@ -0,0 +1,133 @@
+package Services;
+
+import DetectAdjacentProperties.AdjacentPropertyPair;
+import DetectAdjacentProperties.TestUtils;
+import Models.ExchangeCycle;
+import Models.PropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link ExchangeCycleFinder} class.
+ * It validates that exchanges among three and four owners are found in both directions, that infeasible
+ * areas prune them, that the gifts of each owner are capped, and that the maximum cycle length is respected.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Property Suggestions")
+@DisplayName("Exchange Cycle Finder Tests")
+class ExchangeCycleFinderTests {
+
+    /**
+     * Creates the pairs of a ring of properties, each adjacent to the next and the last to the first.
+     */
+    private static List<AdjacentPropertyPair> ring(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj(i -> new AdjacentPropertyPair(i, i % count + 1)).toList();
+    }
+
+    @Nested
+    @DisplayName("Cycle Discovery Tests")
+    class CycleDiscoveryTests {
+
+        @Test
+        @DisplayName("Three owners exchange in both directions")
+        @Description("Validates that three mutually adjacent properties of different owners form two 3-way cycles.")
+        @Severity(SeverityLevel.CRITICAL)
+        void threeOwnerCycles() {
+            List<PropertyPolygon> properties = List.of(TestUtils.createPropertyWithArea(1, 500, "OwnerA"), TestUtils.createPropertyWithArea(2, 480, "OwnerB"),
+                    TestUtils.createPropertyWithArea(3, 520, "OwnerC"));
+
+            List<ExchangeCycle> cycles = ExchangeCycleFinder.findCycles(ring(3), properties);
+
+            assertEquals(2, cycles.size());
+            for (ExchangeCycle cycle : cycles) {
+                assertEquals(3, cycle.length());
+                assertEquals("OwnerA", cycle.getOwners().get(0));
+                for (int i = 0; i < cycle.length(); i++) {
+                    assertEquals(cycle.getOwners().get(i), "Owner" + (char) ('A' + cycle.getPropertyGivenBy(i) - 1));
+                    assertEquals(cycle.getPropertyGivenBy((i + 2) % 3), cycle.getPropertyReceivedBy(i));
+                }
+                assertTrue(cycle.getAreafeasibility() >= 0.85);
+                assertTrue(cycle.getScore() > 0);
+            }
+            assertTrue(cycles.get(0).getScore() >= cycles.get(1).getScore());
+        }
+
+        @Test
+        @DisplayName("Infeasible areas prune the cycle")
+        @Description("Validates that a property much smaller than the one its owner gives prevents the exchange.")
+        @Severity(SeverityLevel.NORMAL)
+        void infeasibleAreas() {
+            List<PropertyPolygon> properties = List.of(TestUtils.createPropertyWithArea(1, 500, "OwnerA"), TestUtils.createPropertyWithArea(2, 500, "OwnerB"),
+                    TestUtils.createPropertyWithArea(3, 100, "OwnerC"));
+
+            assertTrue(ExchangeCycleFinder.findCycles(ring(3), properties).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Four-owner cycles respect the maximum length")
+        @Description("Validates that a ring of four owners is only found when cycles of four owners are allowed.")
+        @Severity(SeverityLevel.NORMAL)
+        void maximumLength() {
+            List<PropertyPolygon> properties = List.of(TestUtils.createPropertyWithArea(1, 500, "OwnerA"), TestUtils.createPropertyWithArea(2, 500, "OwnerB"),
+                    TestUtils.createPropertyWithArea(3, 500, "OwnerC"), TestUtils.createPropertyWithArea(4, 500, "OwnerD"));
+
+            assertTrue(ExchangeCycleFinder.findCycles(ring(4), properties, 3).isEmpty());
+            List<ExchangeCycle> cycles = ExchangeCycleFinder.findCycles(ring(4), properties, 4);
+            assertEquals(2, cycles.size());
+            assertEquals(4, cycles.get(0).length());
+            assertThrows(IllegalArgumentException.class, () -> ExchangeCycleFinder.findCycles(ring(4), properties, 2));
+        }
+
+        @Test
+        @DisplayName("Owners with many gifts keep only their largest ones")
+        @Description("Validates that an owner adjacent to the others through many properties gives one of the "
+                + "largest ones, and that each cycle of owners is found once.")
+        @Severity(SeverityLevel.NORMAL)
+        void giftsCappedPerArc() {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            List<AdjacentPropertyPair> pairs = new ArrayList<>();
+            properties.add(TestUtils.createPropertyWithArea(101, 510, "OwnerB"));
+            properties.add(TestUtils.createPropertyWithArea(102, 510, "OwnerC"));
+            pairs.add(new AdjacentPropertyPair(101, 102));
+            for (int id = 1; id <= 20; id++) {
+                properties.add(TestUtils.createPropertyWithArea(id, 500 + id, "OwnerA"));
+                pairs.add(new AdjacentPropertyPair(id, 101));
+                pairs.add(new AdjacentPropertyPair(id, 102));
+            }
+
+            List<ExchangeCycle> cycles = ExchangeCycleFinder.findCycles(pairs, properties);
+
+            assertEquals(2, cycles.size());
+            for (ExchangeCycle cycle : cycles) {
+                int ownerA = cycle.getOwners().indexOf("OwnerA");
+                assertTrue(ownerA >= 0);
+                assertTrue(cycle.getPropertyGivenBy(ownerA) > 20 - ExchangeCycleFinder.MAX_GIFTS_PER_ARC);
+            }
+        }
+
+        @Test
+        @DisplayName("Two owners do not form a cycle")
+        @Description("Validates that swaps between two owners are left to the suggestion generator.")
+        @Severity(SeverityLevel.MINOR)
+        void twoOwners() {
+            List<PropertyPolygon> properties = List.of(TestUtils.createPropertyWithArea(1, 500, "OwnerA"), TestUtils.createPropertyWithArea(2, 500, "OwnerB"),
+                    TestUtils.createPropertyWithArea(3, 500, "OwnerA"));
+
+            assertTrue(ExchangeCycleFinder.findCycles(ring(3), properties).isEmpty());
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package Services;
+
+import Models.ExchangeSuggestion;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link ExchangeSelectionEngine} class.
+ * It validates that selected exchanges never share a property, that local improvement beats the greedy
+ * choice when it can, and that large candidate sets are handled quickly.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Property Suggestions")
+@DisplayName("Exchange Selection Engine Tests")
+class ExchangeSelectionEngineTests {
+
+    /**
+     * Creates a suggestion between two properties with a given score.
+     */
+    private static ExchangeSuggestion suggestion(int a, int b, double score) {
+        ExchangeSuggestion suggestion = new ExchangeSuggestion(a, b, 1.0);
+        suggestion.setScore(score);
+        return suggestion;
+    }
+
+    /**
+     * Checks that no property is used twice and returns the total score.
+     */
+    private static double totalOfConflictFree(List<ExchangeSuggestion> selected) {
+        Set<Integer> used = new HashSet<>();
+        double total = 0;
+        for (ExchangeSuggestion s : selected) {
+            assertTrue(used.add(s.getPropertyFromA()), "Property used twice: " + s.getPropertyFromA());
+            assertTrue(used.add(s.getPropertyFromB()), "Property used twice: " + s.getPropertyFromB());
+            total += s.getScore();
+        }
+        return total;
+    }
+
+    /**
+     * Finds the best conflict-free total by trying every subset.
+     */
+    private static double optimum(List<ExchangeSuggestion> candidates) {
+        double best = 0;
+        for (int mask = 0; mask < 1 << candidates.size(); mask++) {
+            Set<Integer> used = new HashSet<>();
+            double total = 0;
+            boolean valid = true;
+            for (int i = 0; i < candidates.size() && valid; i++) {
+                if ((mask & 1 << i) == 0) continue;
+                ExchangeSuggestion s = candidates.get(i);
+                valid = used.add(s.getPropertyFromA()) && used.add(s.getPropertyFromB());
+                total += s.getScore();
+            }
+            if (valid) best = Math.max(best, total);
+        }
+        return best;
+    }
+
+    @Nested
+    @DisplayName("Selection Tests")
+    class SelectionTests {
+
+        @Test
+        @DisplayName("Two exchanges replace a better single one")
+        @Description("Validates that local improvement drops a greedy choice blocking two exchanges worth more.")
+        @Severity(SeverityLevel.CRITICAL)
+        void improvesGreedyChoice() {
+            List<ExchangeSuggestion> candidates = List.of(suggestion(1, 2, 10), suggestion(1, 3, 6),
+                    suggestion(2, 4, 6), suggestion(5, 6, 1));
+
+            List<ExchangeSuggestion> selected = ExchangeSelectionEngine.selectExchanges(candidates);
+
+            assertEquals(List.of(candidates.get(1), candidates.get(2), candidates.get(3)), selected);
+            assertEquals(13, totalOfConflictFree(selected), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Non-positive scores and empty input select nothing")
+        @Description("Validates that suggestions which cannot raise the total are left out.")
+        @Severity(SeverityLevel.MINOR)
+        void nonPositiveScores() {
+            assertTrue(ExchangeSelectionEngine.selectExchanges(List.of()).isEmpty());
+            assertTrue(ExchangeSelectionEngine.selectExchanges(List.of(suggestion(1, 2, 0), suggestion(3, 4, -5))).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Selections are conflict-free and close to optimal")
+        @Description("Validates random small instances against an exhaustive search.")
+        @Severity(SeverityLevel.NORMAL)
+        void closeToOptimal() {
+            Random random = new Random(41);
+            for (int round = 0; round < 200; round++) {
+                List<ExchangeSuggestion> candidates = new ArrayList<>();
+                for (int i = 0; i < 12; i++) {
+                    int a = random.nextInt(8);
+                    int b = (a + 1 + random.nextInt(7)) % 8;
+                    candidates.add(suggestion(a, b, 1 + random.nextInt(20)));
+                }
+
+                double total = totalOfConflictFree(ExchangeSelectionEngine.selectExchanges(candidates));
+
+                assertTrue(total >= optimum(candidates) * 2 / 3, "Round " + round);
+            }
+        }
+
+        @Test
+        @DisplayName("Large candidate sets are selected without conflicts")
+        @Description("Validates that a selection from two hundred thousand candidates is non-empty and conflict-free.")
+        @Severity(SeverityLevel.NORMAL)
+        void largeCandidateSet() {
+            Random random = new Random(7);
+            List<ExchangeSuggestion> candidates = new ArrayList<>();
+            for (int i = 0; i < 200_000; i++) {
+                int a = random.nextInt(100_000);
+                candidates.add(suggestion(a, a + 1 + random.nextInt(50), random.nextDouble() * 100));
+            }
+
+            List<ExchangeSuggestion> selected = ExchangeSelectionEngine.selectExchanges(candidates);
+
+            totalOfConflictFree(selected);
+            assertFalse(selected.isEmpty());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package Services;
+
+import DetectAdjacentProperties.AdjacencyDetector;
+import Models.ExchangeSuggestion;
+import Models.Polygon;
+import Models.PropertyPolygon;
+import Models.SuggestionDelta;
+import Models.VertexCoordinate;
+import Utils.Mocks.MockedDistrict;
+import Utils.Mocks.MockedMunicipality;
+import Utils.Mocks.MockedParish;
+import Utils.Mocks.MockedPropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link IncrementalSuggestionEngine} class.
+ * It validates that the suggestions kept after accepted exchanges match the suggestions built from scratch,
+ * and the ranked output of a from-scratch generation, and that the reported deltas account for every difference.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Property Suggestions")
+@DisplayName("Incremental Suggestion Engine Tests")
+class IncrementalSuggestionEngineTests {
+
+    /**
+     * Creates a grid of unit squares with a few owners and slightly different areas.
+     */
+    private static List<PropertyPolygon> grid(int size, int owners) {
+        List<PropertyPolygon> properties = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                int id = i * size + j + 1;
+                properties.add(new MockedPropertyPolygon(id, id, "ParNum" + id, 4.0, 500 + (id % 7) * 10,
+                        new Polygon(List.of(new VertexCoordinate(i, j), new VertexCoordinate(i + 1, j),
+                                new VertexCoordinate(i + 1, j + 1), new VertexCoordinate(i, j + 1))),
+                        "Owner" + ((i / 2 + j * 3) % owners), "Parish1", "Funchal", "Madeira"));
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Describes suggestions by their properties and score, since separate engines create distinct objects.
+     */
+    private static Set<String> describe(Collection<ExchangeSuggestion> suggestions) {
+        return suggestions.stream()
+                .map(s -> s.getPropertyFromA() + "-" + s.getPropertyFromB() + "@" + s.getScore())
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Describes suggestions by their properties and score, in order.
+     */
+    private static List<String> ranked(List<ExchangeSuggestion> suggestions) {
+        return suggestions.stream()
+                .map(s -> s.getPropertyFromA() + "-" + s.getPropertyFromB() + "@" + s.getScore())
+                .toList();
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Accepted exchanges match a full rebuild")
+        @Description("Validates that after each accepted exchange the kept suggestions equal those of a new engine, and the delta explains the change.")
+        @Severity(SeverityLevel.CRITICAL)
+        void matchesRebuild() {
+            List<PropertyPolygon> properties = grid(12, 5);
+            IncrementalSuggestionEngine engine = new IncrementalSuggestionEngine(properties);
+            assertFalse(engine.getSuggestions().isEmpty());
+
+            for (int step = 0; step < 10 && !engine.getSuggestions().isEmpty(); step++) {
+                List<ExchangeSuggestion> before = engine.getSuggestions();
+                SuggestionDelta delta = engine.acceptExchange(before.get(0));
+
+                Set<ExchangeSuggestion> expectedAfter = Collections.newSetFromMap(new IdentityHashMap<>());
+                expectedAfter.addAll(before);
+                delta.removed().forEach(expectedAfter::remove);
+                expectedAfter.addAll(delta.added());
+
+                assertFalse(delta.isEmpty());
+                assertEquals(describe(expectedAfter), describe(engine.getSuggestions()));
+                assertEquals(describe(new IncrementalSuggestionEngine(properties).getSuggestions()),
+                        describe(engine.getSuggestions()), "Step " + step);
+            }
+        }
+
+        @Test
+        @DisplayName("Updated suggestions equal a from-scratch generation")
+        @Description("Validates that after each accepted exchange the suggestions, in order, equal those generated "
+                + "from scratch by detecting the adjacent pairs of the updated properties.")
+        @Severity(SeverityLevel.CRITICAL)
+        void matchesGenerator() {
+            List<PropertyPolygon> properties = grid(12, 5);
+            IncrementalSuggestionEngine engine = new IncrementalSuggestionEngine(properties);
+
+            for (int step = 0; step < 10 && !engine.getSuggestions().isEmpty(); step++) {
+                List<ExchangeSuggestion> expected = SuggestionGenerator.generateSuggestions(
+                        AdjacencyDetector.findValidAdjacentPairs(properties), properties);
+                assertEquals(ranked(expected), ranked(engine.getSuggestions()), "Step " + step);
+
+                engine.acceptExchange(engine.getSuggestions().get(step % engine.getSuggestions().size()));
+            }
+            assertEquals(ranked(SuggestionGenerator.generateSuggestions(
+                    AdjacencyDetector.findValidAdjacentPairs(properties), properties)), ranked(engine.getSuggestions()));
+        }
+
+        @Test
+        @DisplayName("Owner changes reach the listener and the collector's owner indexes")
+        @Description("Validates that an accepted exchange reports both properties to the owner listener, so a collector "
+                + "invalidated by it answers nearest-by-owner queries with the new owners.")
+        @Severity(SeverityLevel.NORMAL)
+        void ownerListener() {
+            List<PropertyPolygon> properties = grid(12, 5);
+            PropertyCollector collector = new PropertyCollector(List.of(new MockedDistrict("District",
+                    List.of(new MockedMunicipality("Municipality", List.of(new MockedParish("Parish", properties)))))));
+            List<PropertyPolygon> reported = new ArrayList<>();
+            IncrementalSuggestionEngine engine = new IncrementalSuggestionEngine(properties, changed -> {
+                reported.addAll(changed);
+                collector.invalidateOwnerIndexes();
+            });
+            ExchangeSuggestion suggestion = engine.getSuggestions().get(0);
+            PropertyPolygon given = properties.stream()
+                    .filter(p -> p.getObjectId() == suggestion.getPropertyFromA()).findFirst().orElseThrow();
+            String oldOwner = given.getOwner();
+            VertexCoordinate centroid = given.getPolygon().getCentroid();
+            assertTrue(collector.collectNearestByOwner(centroid, oldOwner, 1).contains(given));
+
+            engine.acceptExchange(suggestion);
+
+            assertEquals(Set.of(suggestion.getPropertyFromA(), suggestion.getPropertyFromB()),
+                    reported.stream().map(PropertyPolygon::getObjectId).collect(Collectors.toSet()));
+            assertEquals(List.of(given), collector.collectNearestByOwner(centroid, given.getOwner(), 1));
+            assertFalse(collector.collectNearestByOwner(centroid, oldOwner, properties.size()).contains(given));
+        }
+
+        @Test
+        @DisplayName("Unrelated owner changes leave other suggestions untouched")
+        @Description("Validates that changing an isolated property reports an empty delta.")
+        @Severity(SeverityLevel.NORMAL)
+        void isolatedChange() {
+            List<PropertyPolygon> properties = new ArrayList<>(grid(6, 3));
+            PropertyPolygon isolated = new MockedPropertyPolygon(1000, 1000, "ParNum1000", 4.0, 500,
+                    new Polygon(List.of(new VertexCoordinate(50, 50), new VertexCoordinate(51, 50),
+                            new VertexCoordinate(51, 51), new VertexCoordinate(50, 51))),
+                    "Owner0", "Parish1", "Funchal", "Madeira");
+            properties.add(isolated);
+            IncrementalSuggestionEngine engine = new IncrementalSuggestionEngine(properties);
+            List<ExchangeSuggestion> before = engine.getSuggestions();
+
+            isolated.setOwner("Owner9");
+            SuggestionDelta delta = engine.propertiesChanged(List.of(isolated));
+
+            assertTrue(delta.isEmpty());
+            assertEquals(before, engine.getSuggestions());
+        }
+
+        @Test
+        @DisplayName("Unknown properties are rejected")
+        @Description("Validates that accepting a suggestion about properties outside the engine fails.")
+        @Severity(SeverityLevel.MINOR)
+        void unknownProperty() {
+            IncrementalSuggestionEngine engine = new IncrementalSuggestionEngine(grid(3, 2));
+
+            assertThrows(IllegalArgumentException.class, () -> engine.acceptExchange(new ExchangeSuggestion(1, 999, 1.0)));
+        }
+    }
+}
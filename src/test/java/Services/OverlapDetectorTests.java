@@ -0,0 +1,154 @@
+package Services;
+
+import Models.Polygon;
+import Models.PropertyOverlap;
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Mocks.MockedPropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link OverlapDetector} class.
+ * It validates that adjacent properties are not reported, that crossing, nested and duplicated
+ * properties are, and that the overlap area is exact, including for thin slivers and non-convex properties.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Detect overlapping properties")
+@DisplayName("Overlap Detector Tests")
+class OverlapDetectorTests {
+
+    /**
+     * Creates a rectangular property with its lower-left corner at (x, y).
+     */
+    private static PropertyPolygon rectangle(int id, double x, double y, double width, double height) {
+        return new MockedPropertyPolygon(id, new Polygon(List.of(new VertexCoordinate(x, y), new VertexCoordinate(x + width, y),
+                new VertexCoordinate(x + width, y + height), new VertexCoordinate(x, y + height))));
+    }
+
+    @Nested
+    @DisplayName("Detection Tests")
+    class DetectionTests {
+
+        @Test
+        @DisplayName("Adjacent properties do not overlap")
+        @Description("Validates that a grid of properties sharing edges and vertices produces no overlaps.")
+        @Severity(SeverityLevel.CRITICAL)
+        void adjacentGrid() {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                for (int j = 0; j < 30; j++) {
+                    properties.add(rectangle(i * 30 + j + 1, i, j, 1, 1));
+                }
+            }
+
+            assertTrue(OverlapDetector.findOverlaps(properties).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Shifted, nested, crossing and duplicated properties overlap")
+        @Description("Validates each kind of overlap together with its exact area.")
+        @Severity(SeverityLevel.CRITICAL)
+        void overlapKinds() {
+            List<PropertyPolygon> properties = List.of(
+                    rectangle(1, 0, 0, 1, 1), rectangle(2, 0.5, 0, 1, 1),
+                    rectangle(3, 10, 10, 4, 4), rectangle(4, 11, 11, 1, 1),
+                    rectangle(5, 20, 21, 3, 1), rectangle(6, 21, 20, 1, 3),
+                    rectangle(7, 30, 30, 1, 1), rectangle(8, 30, 30, 1, 1));
+
+            List<PropertyOverlap> overlaps = OverlapDetector.findOverlaps(properties);
+
+            assertEquals(List.of(1, 3, 5, 7), overlaps.stream().map(PropertyOverlap::propertyId1).toList());
+            assertEquals(List.of(2, 4, 6, 8), overlaps.stream().map(PropertyOverlap::propertyId2).toList());
+            for (PropertyOverlap overlap : overlaps) {
+                double expected = overlap.propertyId1() == 1 ? 0.5 : 1.0;
+                assertEquals(expected, overlap.area(), 1e-9);
+            }
+        }
+
+        @Test
+        @DisplayName("Overlaps are found in a large dataset")
+        @Description("Validates that overlaps injected into a large grid are all found once.")
+        @Severity(SeverityLevel.NORMAL)
+        void largeDataset() {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                for (int j = 0; j < 100; j++) {
+                    properties.add(rectangle(i * 100 + j + 1, i, j, 1, 1));
+                }
+            }
+            for (int k = 0; k < 10; k++) {
+                properties.add(rectangle(20000 + k, k * 10 + 0.25, 50.25, 0.5, 0.5));
+            }
+
+            List<PropertyOverlap> overlaps = OverlapDetector.findOverlaps(properties);
+
+            assertEquals(10, overlaps.size());
+            assertEquals(0.25, overlaps.get(0).area(), 1e-9);
+        }
+    }
+
+    @Nested
+    @DisplayName("Area Tests")
+    class AreaTests {
+
+        @Test
+        @DisplayName("Thin slivers have their exact area")
+        @Description("Validates that a long overlap a thousandth of a unit wide is reported with its exact area.")
+        @Severity(SeverityLevel.CRITICAL)
+        void sliver() {
+            List<PropertyPolygon> properties = List.of(rectangle(1, 0, 0, 100, 1), rectangle(2, 0, 0.999, 100, 1));
+
+            List<PropertyOverlap> overlaps = OverlapDetector.findOverlaps(properties);
+
+            assertEquals(1, overlaps.size());
+            assertEquals(0.1, overlaps.get(0).area(), 1e-9);
+        }
+
+        @Test
+        @DisplayName("Non-convex properties are clipped exactly")
+        @Description("Validates the overlap of an L-shaped property with a square covering its corner and notch, "
+                + "in either orientation.")
+        @Severity(SeverityLevel.NORMAL)
+        void nonConvex() {
+            List<VertexCoordinate> outline = new ArrayList<>(List.of(new VertexCoordinate(0, 0), new VertexCoordinate(2, 0),
+                    new VertexCoordinate(2, 1), new VertexCoordinate(1, 1), new VertexCoordinate(1, 2),
+                    new VertexCoordinate(0, 2)));
+            PropertyPolygon counterClockwise = new MockedPropertyPolygon(1, new Polygon(outline));
+            List<VertexCoordinate> reversed = new ArrayList<>(outline);
+            Collections.reverse(reversed);
+            PropertyPolygon clockwise = new MockedPropertyPolygon(1, new Polygon(reversed));
+            PropertyPolygon square = rectangle(2, 0.5, 0.5, 1, 1);
+
+            for (PropertyPolygon shape : List.of(counterClockwise, clockwise)) {
+                List<PropertyOverlap> overlaps = OverlapDetector.findOverlaps(List.of(shape, square));
+
+                assertEquals(1, overlaps.size());
+                assertEquals(0.75, overlaps.get(0).area(), 1e-9);
+            }
+        }
+
+        @Test
+        @DisplayName("Properties touching along part of an edge do not overlap")
+        @Description("Validates that properties sharing only part of an edge have no overlap area.")
+        @Severity(SeverityLevel.NORMAL)
+        void partialSharedEdge() {
+            List<PropertyPolygon> properties = List.of(rectangle(1, 0, 0, 2, 1), rectangle(2, 0.5, 1, 1, 1));
+
+            assertTrue(OverlapDetector.findOverlaps(properties).isEmpty());
+        }
+    }
+}
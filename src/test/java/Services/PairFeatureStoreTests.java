@@ -0,0 +1,189 @@
+package Services;
+
+import DetectAdjacentProperties.AdjacentPropertyPair;
+import DetectAdjacentProperties.TestUtils;
+import Models.ExchangeSuggestion;
+import Models.PropertyPolygon;
+import Models.SuggestionParameters;
+import Models.SuggestionSweepResult;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link PairFeatureStore} class.
+ * It validates the stored features and lookups, and that suggestions and parameter sweeps scored from the store
+ * are the same as those scored from the properties.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Property Suggestions")
+@DisplayName("Pair Feature Store Tests")
+class PairFeatureStoreTests {
+
+    private final List<AdjacentPropertyPair> pairs = new ArrayList<>();
+    private final List<PropertyPolygon> properties = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(48);
+        for (int g = 0; g < 200; g++) {
+            int id = g * 4 + 1;
+            for (int i = 0; i < 4; i++) {
+                PropertyPolygon property = TestUtils.createPropertyWithArea(id + i,
+                        200 + random.nextDouble() * 1500, (i % 2 == 0 ? "OwnerA" : "OwnerB") + g);
+                property.setUrbanizationScore(random.nextDouble());
+                property.setTourismScore(random.nextDouble());
+                properties.add(property);
+            }
+            pairs.add(new AdjacentPropertyPair(id, id + 1));
+            pairs.add(new AdjacentPropertyPair(id + 2, id + 3));
+        }
+    }
+
+    @Nested
+    @DisplayName("Feature Tests")
+    class FeatureTests {
+
+        @Test
+        @DisplayName("Features are stored per pair in either order")
+        @Description("Validates the areas, feasibility, score similarities and version of a stored pair.")
+        @Severity(SeverityLevel.NORMAL)
+        void storesPairFeatures() {
+            PairFeatureStore store = PairFeatureStore.of(pairs, properties, 7);
+            PropertyPolygon p1 = properties.get(0);
+            PropertyPolygon p2 = properties.get(1);
+
+            int index = store.indexOf(2, 1);
+            assertEquals(index, store.indexOf(1, 2));
+            assertEquals(7, store.getDatasetVersion());
+            assertEquals(pairs.size(), store.size());
+            assertEquals(p1.getShapeArea(), store.getArea(index, 1));
+            assertEquals(p2.getShapeArea(), store.getArea(index, 2));
+            assertEquals(SuggestionGenerator.calculateAreaFeasibility(p1.getShapeArea(), p2.getShapeArea()),
+                    store.getAreaFeasibility(index));
+            assertEquals(1 - Math.abs(p1.getUrbanizationScore() - p2.getUrbanizationScore()), store.getUrbanizationSimilarity(index));
+            assertEquals(1 - Math.abs(p1.getTourismScore() - p2.getTourismScore()), store.getTourismSimilarity(index));
+
+            ExchangeSuggestion suggestion = new ExchangeSuggestion(1, 2, 0);
+            suggestion.computeValueSimilarity(p1, p2);
+            assertEquals(suggestion.getValueSimilarity(), store.getValueSimilarity(index, SuggestionParameters.DEFAULTS), 1e-12);
+        }
+
+        @Test
+        @DisplayName("Unknown pairs are not found")
+        @Description("Validates that a lookup of a pair that is not stored returns -1.")
+        @Severity(SeverityLevel.MINOR)
+        void missingPair() {
+            PairFeatureStore store = PairFeatureStore.of(pairs, properties, 1);
+
+            assertEquals(-1, store.indexOf(1, 3));
+            assertEquals(-1, store.indexOf(1, 100000));
+        }
+
+        @Test
+        @DisplayName("Exchange store holds every cross pair of a group")
+        @Description("Validates that forExchanges stores the four pairs between the properties of the two owners.")
+        @Severity(SeverityLevel.NORMAL)
+        void exchangeStoreHoldsCrossPairs() {
+            PairFeatureStore store = PairFeatureStore.forExchanges(pairs, properties, 1);
+
+            assertEquals(pairs.size() * 2, store.size());
+            assertTrue(store.indexOf(1, 2) >= 0);
+            assertTrue(store.indexOf(1, 4) >= 0);
+            assertTrue(store.indexOf(3, 2) >= 0);
+            assertTrue(store.indexOf(3, 4) >= 0);
+            assertEquals(-1, store.indexOf(1, 3));
+        }
+    }
+
+    @Nested
+    @DisplayName("Scoring Tests")
+    class ScoringTests {
+
+        @Test
+        @DisplayName("Store-backed suggestions match the generated ones")
+        @Description("Validates that suggestions scored from the store have the same properties and scores, and that the store holds the pair of every suggestion.")
+        @Severity(SeverityLevel.CRITICAL)
+        void suggestionsMatchGenerator() {
+            PairFeatureStore store = PairFeatureStore.forExchanges(pairs, properties, 1);
+
+            List<ExchangeSuggestion> expected = SuggestionGenerator.generateSuggestions(pairs, properties);
+            List<ExchangeSuggestion> actual = SuggestionGenerator.generateSuggestions(pairs, properties, store);
+
+            assertFalse(expected.isEmpty());
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getPropertyFromA(), actual.get(i).getPropertyFromA());
+                assertEquals(expected.get(i).getPropertyFromB(), actual.get(i).getPropertyFromB());
+                assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+                assertEquals(expected.get(i).getValueSimilarity(), actual.get(i).getValueSimilarity());
+                assertTrue(store.indexOf(actual.get(i).getPropertyFromA(), actual.get(i).getPropertyFromB()) >= 0);
+            }
+        }
+
+        @Test
+        @DisplayName("Store-backed scoring reads the precomputed features")
+        @Description("Validates that suggestions scored from the store keep the scores of its dataset version after the properties' scores change.")
+        @Severity(SeverityLevel.NORMAL)
+        void scoringUsesStoredFeatures() {
+            PairFeatureStore store = PairFeatureStore.forExchanges(pairs, properties, 1);
+            List<ExchangeSuggestion> expected = SuggestionGenerator.generateSuggestions(pairs, properties);
+
+            for (PropertyPolygon property : properties) {
+                property.setUrbanizationScore(0);
+                property.setTourismScore(0);
+            }
+            List<ExchangeSuggestion> actual = SuggestionGenerator.generateSuggestions(pairs, properties, store);
+
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+                assertEquals(expected.get(i).getValueSimilarity(), actual.get(i).getValueSimilarity());
+            }
+        }
+
+        @Test
+        @DisplayName("Filtered views fall back to the properties")
+        @Description("Validates that a store missing some pairs still yields the generated suggestions.")
+        @Severity(SeverityLevel.NORMAL)
+        void partialStoreMatchesGenerator() {
+            PairFeatureStore store = PairFeatureStore.of(pairs.subList(0, 100), properties, 1);
+
+            List<ExchangeSuggestion> expected = SuggestionGenerator.generateSuggestions(pairs, properties);
+            List<ExchangeSuggestion> actual = SuggestionGenerator.generateSuggestions(pairs, properties, store);
+
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getScore(), actual.get(i).getScore());
+            }
+        }
+
+        @Test
+        @DisplayName("Sweeps over the store match sweeps over the properties")
+        @Description("Validates the sweep results of a grid with and without the store.")
+        @Severity(SeverityLevel.NORMAL)
+        void sweepMatches() {
+            PairFeatureStore store = PairFeatureStore.forExchanges(pairs, properties, 1);
+            List<SuggestionParameters> grid = SuggestionParameterSweep.grid(
+                    new double[]{0.7, 0.85}, new double[]{0.3, 0.6}, new double[]{500, 1000});
+
+            List<SuggestionSweepResult> expected = SuggestionParameterSweep.sweep(pairs, properties, grid);
+            List<SuggestionSweepResult> actual = SuggestionParameterSweep.sweep(pairs, properties, store, grid);
+
+            assertEquals(expected, actual);
+        }
+    }
+}
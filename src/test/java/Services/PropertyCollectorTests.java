@@ -1,9 +1,11 @@
 package Services;
 
+import DetectAdjacentProperties.TestUtils;
 import Models.District;
 import Models.Municipality;
 import Models.Parish;
 import Models.PropertyPolygon;
+import Models.VertexCoordinate;
 import Utils.Mocks.MockedDistrict;
 import Utils.Mocks.MockedMunicipality;
 import Utils.Mocks.MockedParish;
@@ -294,4 +296,65 @@ class PropertyCollectorTests {
         }
     }
 
-}
\ No newline at end of file
+    @Nested
+    @DisplayName("Spatial Query Tests")
+    class SpatialQueryTests {
+
+        private PropertyCollector spatialCollector;
+        private PropertyPolygon near;
+        private PropertyPolygon far;
+        private PropertyPolygon origin;
+
+        @BeforeEach
+        void setUp() {
+            origin = TestUtils.createSquareProperty(10, 0, 0, "Owner1");
+            near = TestUtils.createSquareProperty(11, 3, 0, "Owner2");
+            far = TestUtils.createSquareProperty(12, 50, 0, "Owner2");
+            Parish parish = new MockedParish("ParishS", List.of(origin, near, far));
+            Municipality municipality = new MockedMunicipality("MunicipalityS", List.of(parish));
+            spatialCollector = new PropertyCollector(List.of(new MockedDistrict("DistrictS", List.of(municipality))));
+        }
+
+        @Test
+        @DisplayName("Should collect properties within a rectangle")
+        @Description("Ensures that only properties crossing the rectangle are returned.")
+        @Severity(SeverityLevel.NORMAL)
+        void collectWithinBox() {
+            assertEquals(List.of(near), spatialCollector.collectWithinBox(2, 0, 10, 1));
+        }
+
+        @Test
+        @DisplayName("Should collect properties within a distance")
+        @Description("Ensures that properties within the distance of the origin are returned, excluding the origin.")
+        @Severity(SeverityLevel.NORMAL)
+        void collectWithinDistance() {
+            assertEquals(List.of(near), spatialCollector.collectWithinDistance(origin, 2));
+            assertThrows(IllegalArgumentException.class, () -> spatialCollector.collectWithinDistance(origin, -1));
+        }
+
+        @Test
+        @DisplayName("Should collect the nearest properties of an owner")
+        @Description("Ensures that the nearest properties of the owner are returned in order of distance.")
+        @Severity(SeverityLevel.NORMAL)
+        void collectNearestByOwner() {
+            assertEquals(List.of(near, far), spatialCollector.collectNearestByOwner(new VertexCoordinate(0, 0), "Owner2", 5));
+            assertEquals(List.of(near), spatialCollector.collectNearestByOwner(new VertexCoordinate(0, 0), "Owner2", 1));
+            assertEquals(List.of(origin), spatialCollector.collectNearestByOwner(new VertexCoordinate(60, 0), "Owner1", 5));
+            assertTrue(spatialCollector.collectNearestByOwner(new VertexCoordinate(0, 0), "Unknown", 5).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should follow owner changes after invalidating the owner indexes")
+        @Description("Ensures that a nearest-by-owner query after an owner change returns the parcels the owner now holds.")
+        @Severity(SeverityLevel.NORMAL)
+        void collectNearestByOwnerAfterOwnerChange() {
+            assertEquals(List.of(near, far), spatialCollector.collectNearestByOwner(new VertexCoordinate(0, 0), "Owner2", 5));
+
+            near.setOwner("Owner1");
+            spatialCollector.invalidateOwnerIndexes();
+
+            assertEquals(List.of(origin, near), spatialCollector.collectNearestByOwner(new VertexCoordinate(0, 0), "Owner1", 5));
+            assertEquals(List.of(far), spatialCollector.collectNearestByOwner(new VertexCoordinate(0, 0), "Owner2", 5));
+        }
+    }
+}
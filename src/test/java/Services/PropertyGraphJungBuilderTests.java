@@ -2,6 +2,7 @@ package Services;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import DetectAdjacentProperties.PropertyAdjacencyGraph;
 import Models.Polygon;
 import Models.PropertyPolygon;
 import Models.VertexCoordinate;
@@ -97,6 +98,32 @@ class PropertyGraphJungBuilderTests {
         }
     }
 
+    @Nested
+    @DisplayName("Adjacency Graph Input Tests")
+    class AdjacencyGraphInputTests {
+
+        @Test
+        @DisplayName("Should reuse the edges of an adjacency graph")
+        @Description("Ensures that a JUNG graph built from a PropertyAdjacencyGraph has the same vertices and edges.")
+        @Severity(SeverityLevel.NORMAL)
+        void buildGraphFromAdjacencyGraph() {
+            VertexCoordinate vertex1 = new VertexCoordinate(0.8, 0.6);
+            VertexCoordinate vertex2 = new VertexCoordinate(0.7, 0.5);
+
+            PropertyPolygon property1 = new MockedPropertyPolygon(1, "OwnerA", new Polygon(List.of(vertex1, vertex2)));
+            PropertyPolygon property2 = new MockedPropertyPolygon(2, "OwnerB", new Polygon(List.of(vertex1)));
+            PropertyPolygon property3 = new MockedPropertyPolygon(3, "OwnerC", new Polygon(List.of(vertex2)));
+
+            PropertyAdjacencyGraph adjacency = PropertyAdjacencyGraph.fromProperties(List.of(property1, property2, property3));
+            Graph<PropertyPolygon, String> graph = PropertyGraphJungBuilder.buildGraph(adjacency);
+
+            assertEquals(3, graph.getVertexCount());
+            assertEquals(2, graph.getEdgeCount());
+            assertTrue(graph.isNeighbor(property1, property2));
+            assertFalse(graph.isNeighbor(property2, property3));
+        }
+    }
+
     @Nested
     @DisplayName("No Shared Vertices Graph Tests")
     class NoSharedVerticesGraphTests {
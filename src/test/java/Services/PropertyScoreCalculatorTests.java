@@ -76,4 +76,53 @@ class PropertyScoreCalculatorTests {
         assertDoesNotThrow(() -> PropertyScoreCalculator.assignScoresToRegions(districts, allProperties));
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Should keep parishes with the same name in different municipalities apart")
+    @Description("Ensures that regions are counted by their place in the hierarchy rather than by their bare name.")
+    @Severity(SeverityLevel.NORMAL)
+    void assignScoresToSameNamedParishes() {
+        MockedPropertyPolygon monument = new MockedPropertyPolygon(-1, 100.0, "ParNum1", 0.0, 0.0, new Polygon(List.of()), "OwnerA", "Santa Cruz", "Funchal", "Madeira");
+        MockedPropertyPolygon property1 = new MockedPropertyPolygon(1, 200.0, "ParNum2", 0.0, 0.0, new Polygon(List.of()), "OwnerB", "Santa Cruz", "Funchal", "Madeira");
+        MockedPropertyPolygon property2 = new MockedPropertyPolygon(2, 300.0, "ParNum3", 0.0, 0.0, new Polygon(List.of()), "OwnerC", "Santa Cruz", "Machico", "Madeira");
+
+        Parish funchalParish = new MockedParish("Santa Cruz", List.of(monument, property1));
+        Parish machicoParish = new MockedParish("Santa Cruz", List.of(property2));
+        Municipality funchal = new MockedMunicipality("Funchal", List.of(funchalParish));
+        Municipality machico = new MockedMunicipality("Machico", List.of(machicoParish));
+        District district = new MockedDistrict("Madeira", List.of(funchal, machico));
+
+        PropertyScoreCalculator.assignScoresToRegions(List.of(district), List.of(monument, property1, property2));
+
+        assertEquals(1.0, funchalParish.getUrbanizationScore(), 0.001);
+        assertEquals(0.5, machicoParish.getUrbanizationScore(), 0.001);
+        assertEquals(1.0, funchal.getTourismScore(), 0.001);
+        assertEquals(0.0, machico.getTourismScore(), 0.001);
+        assertEquals(0.0, property2.getTourismScore(), 0.001);
+        assertEquals(0.5, property2.getUrbanizationScore(), 0.001);
+    }
+
+    @Test
+    @DisplayName("Should score parishes whose names differ only in case as one region")
+    @Description("Ensures that parishes sharing a case-insensitive region ID are counted together and both get the region's score.")
+    @Severity(SeverityLevel.NORMAL)
+    void assignScoresToCaseVariantParishes() {
+        MockedPropertyPolygon monument = new MockedPropertyPolygon(-1, 100.0, "ParNum1", 0.0, 0.0, new Polygon(List.of()), "OwnerA", "Sé", "Funchal", "Madeira");
+        MockedPropertyPolygon property1 = new MockedPropertyPolygon(1, 200.0, "ParNum2", 0.0, 0.0, new Polygon(List.of()), "OwnerB", "SÉ", "Funchal", "Madeira");
+        MockedPropertyPolygon property2 = new MockedPropertyPolygon(2, 300.0, "ParNum3", 0.0, 0.0, new Polygon(List.of()), "OwnerC", "Monte", "Funchal", "Madeira");
+
+        Parish upperParish = new MockedParish("SÉ", List.of(property1));
+        Parish lowerParish = new MockedParish("Sé", List.of(monument));
+        Parish otherParish = new MockedParish("Monte", List.of(property2));
+        Municipality funchal = new MockedMunicipality("Funchal", List.of(upperParish, lowerParish, otherParish));
+        District district = new MockedDistrict("Madeira", List.of(funchal));
+
+        PropertyScoreCalculator.assignScoresToRegions(List.of(district), List.of(monument, property1, property2));
+
+        assertEquals(1.0, upperParish.getUrbanizationScore(), 0.001);
+        assertEquals(1.0, lowerParish.getUrbanizationScore(), 0.001);
+        assertEquals(0.5, otherParish.getUrbanizationScore(), 0.001);
+        assertEquals(1.0, monument.getUrbanizationScore(), 0.001);
+        assertEquals(1.0, property1.getUrbanizationScore(), 0.001);
+        assertEquals(1.0, property1.getTourismScore(), 0.001);
+    }
+}
@@ -0,0 +1,147 @@
+package Services;
+
+import DetectAdjacentProperties.TestUtils;
+import Models.BoundingBox;
+import Models.Polygon;
+import Models.PropertyPolygon;
+import Models.VertexCoordinate;
+import Utils.Mocks.MockedPropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link PropertySpatialIndex} class.
+ * It validates rectangle, distance and nearest-neighbour queries against a brute-force scan
+ * over a grid of properties large enough to build several levels of the tree.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Property Collection")
+@DisplayName("Property Spatial Index Tests")
+class PropertySpatialIndexTests {
+
+    private List<PropertyPolygon> properties;
+    private PropertySpatialIndex index;
+
+    private static List<Integer> ids(List<PropertyPolygon> properties) {
+        return properties.stream().map(PropertyPolygon::getObjectId).sorted().collect(Collectors.toList());
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            for (int j = 0; j < 30; j++) {
+                properties.add(TestUtils.createSquareProperty(i * 30 + j, i * 2, j * 2, (i + j) % 3 == 0 ? "A" : "B"));
+            }
+        }
+        index = new PropertySpatialIndex(properties);
+    }
+
+    @Nested
+    @DisplayName("Range Query Tests")
+    class RangeQueryTests {
+
+        @Test
+        @DisplayName("Rectangle query matches a full scan")
+        @Description("Validates that a rectangle query returns exactly the properties whose box intersects it.")
+        @Severity(SeverityLevel.CRITICAL)
+        void queryBox() {
+            BoundingBox query = new BoundingBox(10.5, 20.5, 17, 24);
+            List<PropertyPolygon> expected = properties.stream()
+                    .filter(p -> p.getPolygon().getBoundingBox().intersects(query))
+                    .collect(Collectors.toList());
+
+            assertEquals(900, index.size());
+            assertEquals(ids(expected), ids(index.queryBox(query)));
+        }
+
+        @Test
+        @DisplayName("Distance query matches a full scan")
+        @Description("Validates that a distance query returns the properties within the distance, excluding the origin.")
+        @Severity(SeverityLevel.CRITICAL)
+        void queryWithinDistance() {
+            PropertyPolygon origin = properties.get(15 * 30 + 15);
+            List<PropertyPolygon> expected = properties.stream()
+                    .filter(p -> p != origin && p.getPolygon().distanceTo(origin.getPolygon()) <= 2.5)
+                    .collect(Collectors.toList());
+
+            List<PropertyPolygon> result = index.queryWithinDistance(origin, 2.5);
+
+            assertEquals(ids(expected), ids(result));
+            assertFalse(result.contains(origin));
+        }
+
+        @Test
+        @DisplayName("Distance query measures polygons, not boxes")
+        @Description("Validates that a property inside the bounding box of a diagonal parcel but far from its edges is not within the distance.")
+        @Severity(SeverityLevel.CRITICAL)
+        void queryWithinDistanceDiagonal() {
+            PropertyPolygon diagonal = new MockedPropertyPolygon(1, "A", new Polygon(List.of(
+                    new VertexCoordinate(0, 0), new VertexCoordinate(1, 0), new VertexCoordinate(10, 9),
+                    new VertexCoordinate(10, 10), new VertexCoordinate(9, 10), new VertexCoordinate(0, 1))));
+            PropertyPolygon near = TestUtils.createSquareProperty(2, 3, 0, "B");
+            PropertyPolygon corner = TestUtils.createSquareProperty(3, 8, 0, "B");
+            PropertySpatialIndex diagonalIndex = new PropertySpatialIndex(List.of(diagonal, near, corner));
+
+            assertEquals(0.0, corner.getPolygon().getBoundingBox().distanceTo(diagonal.getPolygon().getBoundingBox()));
+            assertEquals(List.of(near), diagonalIndex.queryWithinDistance(diagonal, 2));
+            assertEquals(ids(List.of(near, corner)), ids(diagonalIndex.queryWithinDistance(diagonal, 5)));
+        }
+
+        @Test
+        @DisplayName("Empty index returns nothing")
+        @Description("Validates that properties without vertices are not indexed.")
+        @Severity(SeverityLevel.MINOR)
+        void emptyIndex() {
+            PropertySpatialIndex empty = new PropertySpatialIndex(List.of(new MockedPropertyPolygon(1, "A", null)));
+
+            assertEquals(0, empty.size());
+            assertTrue(empty.queryBox(new BoundingBox(0, 0, 10, 10)).isEmpty());
+            assertTrue(empty.nearest(0, 0, 3, p -> true).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Nearest Neighbour Tests")
+    class NearestTests {
+
+        @Test
+        @DisplayName("Nearest properties of an owner")
+        @Description("Validates that the k nearest properties satisfying a filter match a sorted full scan.")
+        @Severity(SeverityLevel.CRITICAL)
+        void nearestByOwner() {
+            double x = 31.2, y = 17.9;
+            List<Double> expected = properties.stream()
+                    .filter(p -> p.getOwner().equals("A"))
+                    .map(p -> distance(p, x, y))
+                    .sorted()
+                    .limit(10)
+                    .collect(Collectors.toList());
+
+            List<PropertyPolygon> result = index.nearest(x, y, 10, p -> p.getOwner().equals("A"));
+
+            assertEquals(10, result.size());
+            assertTrue(result.stream().allMatch(p -> p.getOwner().equals("A")));
+            assertEquals(expected, result.stream().map(p -> distance(p, x, y)).collect(Collectors.toList()));
+        }
+
+        private double distance(PropertyPolygon property, double x, double y) {
+            VertexCoordinate centroid = property.getPolygon().getCentroid();
+            return Math.hypot(centroid.x() - x, centroid.y() - y);
+        }
+    }
+}
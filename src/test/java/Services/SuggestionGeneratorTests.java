@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import DetectAdjacentProperties.AdjacentPropertyPair;
 import Models.ExchangeSuggestion;
 import Models.PropertyPolygon;
+import Models.SuggestionPage;
 import Utils.Mocks.MockedPropertyPolygon;
 import io.qameta.allure.Description;
 import io.qameta.allure.Feature;
@@ -13,6 +14,7 @@ import io.qameta.allure.SeverityLevel;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -252,4 +254,95 @@ class SuggestionGeneratorTests {
             assertTrue(suggestions.stream().anyMatch(s -> s.getPropertyFromA() == property1.getObjectId() && s.getPropertyFromB() == property2.getObjectId()), "Suggestion for pair1 should be present.");
         }
     }
+
+    @Nested
+    @DisplayName("Suggestion Generator's Top-K and Paging Tests")
+    class TopKTests {
+
+        /**
+         * Creates owner-pair groups that each produce one suggestion, with areas growing per group so scores differ
+         * and every few groups tie.
+         */
+        private List<PropertyPolygon> groupedProperties(int groups, List<AdjacentPropertyPair> pairs) {
+            List<PropertyPolygon> properties = new ArrayList<>();
+            for (int g = 0; g < groups; g++) {
+                double area = 100.0 + (g / 3) * 50.0;
+                int id = g * 4 + 1;
+                for (int i = 0; i < 4; i++) {
+                    String owner = (i % 2 == 0 ? "OwnerA" : "OwnerB") + g;
+                    properties.add(new MockedPropertyPolygon(id + i, id + i, "ParNum" + (id + i), 0.0, area, null, owner, "Parish1", "Funchal", "Madeira"));
+                }
+                pairs.add(new AdjacentPropertyPair(id, id + 1));
+                pairs.add(new AdjacentPropertyPair(id + 2, id + 3));
+            }
+            return properties;
+        }
+
+        /**
+         * Describes suggestions by their properties, since separate generations create distinct objects.
+         */
+        private List<String> describe(List<ExchangeSuggestion> suggestions) {
+            return suggestions.stream().map(x -> x.getPropertyFromA() + "-" + x.getPropertyFromB()).toList();
+        }
+
+        @Test
+        @DisplayName("Should return the best suggestions in full ranking order")
+        @Description("Validates that the bounded heap returns the same prefix as generating and sorting every suggestion.")
+        @Severity(SeverityLevel.CRITICAL)
+        void topSuggestionsMatchFullRanking() {
+            List<AdjacentPropertyPair> pairs = new ArrayList<>();
+            List<PropertyPolygon> properties = groupedProperties(30, pairs);
+            List<ExchangeSuggestion> all = SuggestionGenerator.generateSuggestions(pairs, properties);
+
+            assertEquals(30, all.size());
+            for (int k : new int[]{0, 1, 7, 30, 50, Integer.MAX_VALUE}) {
+                assertEquals(describe(all.subList(0, Math.min(k, all.size()))), describe(SuggestionGenerator.topSuggestions(pairs, properties, k)));
+            }
+            assertThrows(IllegalArgumentException.class, () -> SuggestionGenerator.topSuggestions(pairs, properties, -1));
+        }
+
+        @Test
+        @DisplayName("Should walk every suggestion page by page")
+        @Description("Validates that following the page cursors visits every ranked suggestion once and ends on the last page.")
+        @Severity(SeverityLevel.NORMAL)
+        void pagesCoverRanking() {
+            List<AdjacentPropertyPair> pairs = new ArrayList<>();
+            List<PropertyPolygon> properties = groupedProperties(25, pairs);
+            List<ExchangeSuggestion> all = SuggestionGenerator.generateSuggestions(pairs, properties);
+
+            List<ExchangeSuggestion> paged = new ArrayList<>();
+            int cursor = 0;
+            int pages = 0;
+            while (cursor >= 0) {
+                SuggestionPage page = SuggestionGenerator.suggestionPage(pairs, properties, cursor, 10);
+                assertEquals(cursor, page.cursor());
+                paged.addAll(page.suggestions());
+                cursor = page.nextCursor();
+                pages++;
+            }
+
+            assertEquals(3, pages);
+            assertEquals(describe(all), describe(paged));
+            assertThrows(IllegalArgumentException.class, () -> SuggestionGenerator.suggestionPage(pairs, properties, 0, 0));
+        }
+
+        @Test
+        @DisplayName("Should accept page bounds near the largest rank")
+        @Description("Validates that a page size meaning all suggestions returns them on one page and that a page ending past the largest rank is rejected.")
+        @Severity(SeverityLevel.NORMAL)
+        void largePageBounds() {
+            List<AdjacentPropertyPair> pairs = new ArrayList<>();
+            List<PropertyPolygon> properties = groupedProperties(12, pairs);
+            List<ExchangeSuggestion> all = SuggestionGenerator.generateSuggestions(pairs, properties);
+
+            SuggestionPage everything = SuggestionGenerator.suggestionPage(pairs, properties, 0, Integer.MAX_VALUE);
+            SuggestionPage tail = SuggestionGenerator.suggestionPage(pairs, properties, 5, Integer.MAX_VALUE - 5);
+
+            assertEquals(describe(all), describe(everything.suggestions()));
+            assertFalse(everything.hasMore());
+            assertEquals(describe(all.subList(5, all.size())), describe(tail.suggestions()));
+            assertThrows(IllegalArgumentException.class,
+                    () -> SuggestionGenerator.suggestionPage(pairs, properties, 6, Integer.MAX_VALUE - 5));
+        }
+    }
 }
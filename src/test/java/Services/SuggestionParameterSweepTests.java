@@ -0,0 +1,113 @@
+package Services;
+
+import DetectAdjacentProperties.AdjacentPropertyPair;
+import DetectAdjacentProperties.TestUtils;
+import Models.ExchangeSuggestion;
+import Models.PropertyPolygon;
+import Models.SuggestionParameters;
+import Models.SuggestionSweepResult;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link SuggestionParameterSweep} class.
+ * It validates that the default configuration reproduces the generated suggestions, that a grid is evaluated
+ * in order, and that a stricter feasibility threshold never yields more suggestions.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Property Suggestions")
+@DisplayName("Suggestion Parameter Sweep Tests")
+class SuggestionParameterSweepTests {
+
+    private final List<AdjacentPropertyPair> pairs = new ArrayList<>();
+    private final List<PropertyPolygon> properties = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(47);
+        for (int g = 0; g < 200; g++) {
+            int id = g * 4 + 1;
+            for (int i = 0; i < 4; i++) {
+                PropertyPolygon property = TestUtils.createPropertyWithArea(id + i,
+                        200 + random.nextDouble() * 1500, (i % 2 == 0 ? "OwnerA" : "OwnerB") + g);
+                property.setUrbanizationScore(random.nextDouble());
+                property.setTourismScore(random.nextDouble());
+                properties.add(property);
+            }
+            pairs.add(new AdjacentPropertyPair(id, id + 1));
+            pairs.add(new AdjacentPropertyPair(id + 2, id + 3));
+        }
+    }
+
+    @Nested
+    @DisplayName("Sweep Tests")
+    class SweepTests {
+
+        @Test
+        @DisplayName("Default parameters reproduce the generated suggestions")
+        @Description("Validates the count and score statistics of the default configuration against generateSuggestions.")
+        @Severity(SeverityLevel.CRITICAL)
+        void defaultsMatchGenerator() {
+            List<ExchangeSuggestion> suggestions = SuggestionGenerator.generateSuggestions(pairs, properties);
+
+            SuggestionSweepResult result = SuggestionParameterSweep.sweep(pairs, properties,
+                    List.of(SuggestionParameters.DEFAULTS)).get(0);
+
+            assertFalse(suggestions.isEmpty());
+            assertEquals(suggestions.size(), result.suggestionCount());
+            assertEquals(suggestions.get(0).getScore(), result.maxScore());
+            assertEquals(suggestions.get(suggestions.size() - 1).getScore(), result.minScore());
+            assertEquals(suggestions.stream().mapToDouble(ExchangeSuggestion::getScore).average().orElse(0),
+                    result.meanScore(), 1e-9);
+            assertTrue(result.minScore() <= result.medianScore() && result.medianScore() <= result.p90Score()
+                    && result.p90Score() <= result.maxScore());
+        }
+
+        @Test
+        @DisplayName("A grid is evaluated in order and stricter thresholds suggest less")
+        @Description("Validates one result per configuration and that counts never grow with the feasibility threshold.")
+        @Severity(SeverityLevel.NORMAL)
+        void gridResults() {
+            double[] thresholds = {0.7, 0.85, 0.95, 1.0};
+            List<SuggestionParameters> grid = SuggestionParameterSweep.grid(thresholds, new double[]{0.0, 0.6, 1.0},
+                    new double[]{500.0, 1000.0});
+
+            List<SuggestionSweepResult> results = SuggestionParameterSweep.sweep(pairs, properties, grid);
+
+            assertEquals(24, results.size());
+            for (int i = 0; i < grid.size(); i++) {
+                assertSame(grid.get(i), results.get(i).parameters());
+                assertEquals(1.0, grid.get(i).urbanizationWeight() + grid.get(i).tourismWeight(), 1e-12);
+            }
+            for (int t = 1; t < thresholds.length; t++) {
+                assertTrue(results.get(t * 6).suggestionCount() <= results.get((t - 1) * 6).suggestionCount());
+            }
+            assertEquals(0, results.get(18).suggestionCount());
+            assertEquals(0.0, results.get(18).maxScore());
+        }
+
+        @Test
+        @DisplayName("Invalid parameters are rejected")
+        @Description("Validates the ranges of SuggestionParameters.")
+        @Severity(SeverityLevel.MINOR)
+        void invalidParameters() {
+            assertThrows(IllegalArgumentException.class, () -> new SuggestionParameters(1.5, 0.6, 0.4, 1000));
+            assertThrows(IllegalArgumentException.class, () -> new SuggestionParameters(0.85, -0.1, 0.4, 1000));
+            assertThrows(IllegalArgumentException.class, () -> new SuggestionParameters(0.85, 0.6, 0.4, 0));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package Services;
+
+import DetectAdjacentProperties.TestUtils;
+import Models.ExchangeSuggestion;
+import Models.PropertyPolygon;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Severity;
+import io.qameta.allure.SeverityLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains unit tests for the {@link SuggestionScoringKernel} class.
+ * It validates that batch scoring over primitive arrays reproduces the object-based formulas exactly
+ * and that large batches score every candidate as a batch of its own would.
+ *
+ * <p><strong>Author:</strong> Ptome2000</p>
+ * <p><strong>Date:</strong> 19/10/2026</p>
+ */
+@Feature("Property Suggestions")
+@DisplayName("Suggestion Scoring Kernel Tests")
+class SuggestionScoringKernelTests {
+
+    @Nested
+    @DisplayName("Scoring Tests")
+    class ScoringTests {
+
+        @Test
+        @DisplayName("Batch scores equal the object-based formulas")
+        @Description("Validates every output of the kernel against SuggestionGenerator and ExchangeSuggestion on random candidates, growing past the initial capacity.")
+        @Severity(SeverityLevel.CRITICAL)
+        void matchesObjectFormulas() {
+            Random random = new Random(45);
+            SuggestionScoringKernel kernel = new SuggestionScoringKernel(4);
+            PropertyPolygon[][] candidates = new PropertyPolygon[500][];
+            for (int i = 0; i < candidates.length; i++) {
+                candidates[i] = new PropertyPolygon[4];
+                for (int j = 0; j < 4; j++) {
+                    double area = random.nextInt(10) == 0 ? 0.0 : 50 + random.nextDouble() * 2000;
+                    candidates[i][j] = TestUtils.createPropertyWithArea(i * 4 + j, area, "Owner" + (i * 4 + j));
+                    candidates[i][j].setUrbanizationScore(random.nextDouble());
+                    candidates[i][j].setTourismScore(random.nextDouble());
+                }
+                assertEquals(i, kernel.add(candidates[i][0], candidates[i][1], candidates[i][2], candidates[i][3]));
+            }
+
+            kernel.scoreAll();
+
+            for (int i = 0; i < candidates.length; i++) {
+                PropertyPolygon a = candidates[i][0], otherA = candidates[i][1], b = candidates[i][2], otherB = candidates[i][3];
+                double feasibility = SuggestionGenerator.calculateAreaFeasibility(a.getShapeArea(), b.getShapeArea());
+                double percentA = SuggestionGenerator.calculateNetAreaChange(a.getShapeArea() + otherA.getShapeArea(), b.getShapeArea() + otherA.getShapeArea());
+                double percentB = SuggestionGenerator.calculateNetAreaChange(b.getShapeArea() + otherB.getShapeArea(), a.getShapeArea() + otherB.getShapeArea());
+                ExchangeSuggestion expected = new ExchangeSuggestion(a.getObjectId(), b.getObjectId(), feasibility);
+                expected.computeValueSimilarity(a, b);
+                double fiability = feasibility * expected.getValueSimilarity();
+                double score = (100.0 - Math.abs(percentA * 100.0 - percentB * 100.0))
+                        * Math.min(1.0, ((a.getShapeArea() + b.getShapeArea()) / 2.0) / 1000.0) * fiability;
+
+                ExchangeSuggestion actual = kernel.toSuggestion(i, a.getObjectId(), b.getObjectId());
+                assertEquals(feasibility, actual.getAreafeasibility());
+                assertEquals(percentA, actual.getPercentChangeA());
+                assertEquals(percentB, actual.getPercentChangeB());
+                assertEquals(expected.getValueSimilarity(), actual.getValueSimilarity());
+                assertEquals(fiability, actual.getFeability());
+                assertEquals(score, actual.getScore());
+            }
+        }
+
+        @Test
+        @DisplayName("A million candidates are scored like small batches")
+        @Description("Validates that every thousandth score of a batch of one million candidates equals the score of the same candidate in a batch of its own.")
+        @Severity(SeverityLevel.NORMAL)
+        void millionCandidates() {
+            Random random = new Random(1);
+            SuggestionScoringKernel kernel = new SuggestionScoringKernel(1_000_000);
+            double[][] features = new double[1_000_000][];
+            for (int i = 0; i < features.length; i++) {
+                features[i] = new double[]{100 + random.nextDouble() * 900, 500, 100 + random.nextDouble() * 900, 500,
+                        random.nextDouble(), random.nextDouble(), random.nextDouble(), random.nextDouble()};
+                double[] f = features[i];
+                kernel.add(f[0], f[1], f[2], f[3], f[4], f[5], f[6], f[7]);
+            }
+
+            kernel.scoreAll();
+
+            assertEquals(1_000_000, kernel.size());
+            for (int i = 0; i < features.length; i += 1000) {
+                double[] f = features[i];
+                SuggestionScoringKernel single = new SuggestionScoringKernel(1);
+                single.add(f[0], f[1], f[2], f[3], f[4], f[5], f[6], f[7]);
+                single.scoreAll();
+                assertEquals(single.getScore(0), kernel.getScore(i), "Candidate " + i);
+            }
+            kernel.clear();
+            assertEquals(0, kernel.size());
+        }
+    }
+}